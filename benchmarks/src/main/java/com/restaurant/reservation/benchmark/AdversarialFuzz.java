@@ -0,0 +1,214 @@
+package com.restaurant.reservation.benchmark;
+
+import com.restaurant.reservation.metrics.LatencyHistogram;
+import com.restaurant.reservation.service.CustomerNameExtractionService;
+import com.restaurant.reservation.service.DateExtractionService;
+import com.restaurant.reservation.service.ExtractionLimits;
+import com.restaurant.reservation.service.GermanNumberParserService;
+import com.restaurant.reservation.service.MatchingEngine;
+import com.restaurant.reservation.service.PeopleCountExtractionService;
+import com.restaurant.reservation.service.ReservationExtractorService;
+import com.restaurant.reservation.service.TimeExtractionService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Erzeugt gezielt ungünstige Eingaben für jedes Muster (Namenswiederholungen ohne Abschluss, Ziffern- und
+ * Schlüsselwortfluten, Base64-Blöcke, Tabellen) und meldet p99.9 und Maximum der Latenz je Ziel und Form.
+ *
+ * <p>Aufruf: {@code java -cp target/benchmarks.jar com.restaurant.reservation.benchmark.AdversarialFuzz
+ * [--sizes 1024,16384,131072] [--iterations 200] [--budget-ms 5] [--seed 1]}
+ */
+public final class AdversarialFuzz {
+
+    private static final String BASE64 = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+    private static final String[] FRAGMENTS = {
+        "für", "mit", "zwei", "Personen", "Leute", "am", "um", "19.3.", "9.", "April", "20:00", "Uhr", "abends",
+        "p.m.", "Dank", "Gruß", "vG", "ich", "bin", "hier", "ist", "Klaus", "Müller", "und", ",", "\n", "4", "123"
+    };
+
+    private AdversarialFuzz() {
+    }
+
+    public static void main(String[] args) {
+        int[] sizes = {1024, 16 * 1024, 128 * 1024};
+        int iterations = 200;
+        long budgetMillis = 5;
+        long seed = 1;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--sizes":
+                    String[] parts = args[i + 1].split(",");
+                    sizes = new int[parts.length];
+                    for (int k = 0; k < parts.length; k++) {
+                        sizes[k] = Integer.parseInt(parts[k].trim());
+                    }
+                    break;
+                case "--iterations":
+                    iterations = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--budget-ms":
+                    budgetMillis = Long.parseLong(args[i + 1]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[i + 1]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unbekannte Option: " + args[i]);
+            }
+        }
+
+        List<Target> targets = targets(budgetMillis);
+        System.out.printf(Locale.ROOT, "%-28s %-14s %8s %10s %10s %10s%n", "Ziel", "Eingabe", "Zeichen", "p50 µs", "p99.9 µs", "max µs");
+        long worst = 0;
+        String worstCase = "";
+        for (Shape shape : Shape.values()) {
+            for (int size : sizes) {
+                Random random = new Random(seed);
+                List<String> inputs = new ArrayList<>();
+                for (int i = 0; i < 16; i++) {
+                    inputs.add(shape.generate(random, size));
+                }
+                for (Target target : targets) {
+                    LatencyHistogram histogram = measure(target.call, inputs, iterations);
+                    System.out.printf(Locale.ROOT, "%-28s %-14s %8d %10.1f %10.1f %10.1f%n", target.name, shape, size,
+                            histogram.getPercentile(50) / 1000.0, histogram.getPercentile(99.9) / 1000.0,
+                            histogram.getMax() / 1000.0);
+                    if (histogram.getMax() > worst) {
+                        worst = histogram.getMax();
+                        worstCase = target.name + " / " + shape + " / " + size;
+                    }
+                }
+            }
+        }
+        System.out.printf(Locale.ROOT, "Maximale Latenz: %.1f µs (%s)%n", worst / 1000.0, worstCase);
+    }
+
+    private static LatencyHistogram measure(Consumer<String> call, List<String> inputs, int iterations) {
+        // Aufwärmen, damit der JIT-Übergang nicht als Ausreißer zählt
+        for (int i = 0; i < Math.min(iterations, 50); i++) {
+            call.accept(inputs.get(i % inputs.size()));
+        }
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < iterations; i++) {
+            String input = inputs.get(i % inputs.size());
+            long start = System.nanoTime();
+            call.accept(input);
+            histogram.record(System.nanoTime() - start);
+        }
+        return histogram;
+    }
+
+    private static List<Target> targets(long budgetMillis) {
+        GermanNumberParserService parser = new GermanNumberParserService();
+        List<Target> targets = new ArrayList<>();
+        for (MatchingEngine engine : MatchingEngine.values()) {
+            String suffix = engine == MatchingEngine.REGEX ? " (regex)" : " (det.)";
+            CustomerNameExtractionService name = new CustomerNameExtractionService(engine);
+            DateExtractionService date = new DateExtractionService(engine);
+            TimeExtractionService time = new TimeExtractionService(engine);
+            PeopleCountExtractionService people = new PeopleCountExtractionService(parser, engine);
+            targets.add(new Target("name" + suffix, name::tryExtractCustomerName));
+            targets.add(new Target("date" + suffix, date::tryExtractDate));
+            targets.add(new Target("time" + suffix, time::tryExtractTime));
+            targets.add(new Target("people" + suffix, people::tryExtractNumberOfPeople));
+        }
+        ReservationExtractorService unlimited = new ReservationExtractorService();
+        ReservationExtractorService limited = ReservationExtractorService.builder()
+                .limits(new ExtractionLimits(Integer.MAX_VALUE, budgetMillis, TimeUnit.MILLISECONDS)).build();
+        targets.add(new Target("reservation", unlimited::tryExtractReservationInfo));
+        targets.add(new Target("reservation (" + budgetMillis + "ms)", limited::tryExtractReservationInfo));
+        return targets;
+    }
+
+    private static final class Target {
+        final String name;
+        final Consumer<String> call;
+
+        Target(String name, Consumer<String> call) {
+            this.name = name;
+            this.call = call;
+        }
+    }
+
+    /** Eingabeformen, jeweils auf eine Zielgröße aufgefüllt. */
+    enum Shape {
+        /** Grußformel gefolgt von vielen großgeschriebenen Wörtern ohne Abschluss: {0,2} und Lookahead scheitern. */
+        NAME_RUN {
+            @Override
+            void append(Random random, StringBuilder out) {
+                out.append(random.nextBoolean() ? "Dank " : "ich bin ");
+                for (int i = 0; i < 8; i++) {
+                    out.append((char) ('A' + random.nextInt(26))).append("aaaaaa ");
+                }
+                out.append("x ");
+            }
+        },
+        /** Dicht an dicht Grußwörter und Anfänge von Vorstellungen. */
+        KEYWORD_FLOOD {
+            @Override
+            void append(Random random, StringBuilder out) {
+                out.append(random.nextBoolean() ? "dankdank " : "für mit ich hier ");
+            }
+        },
+        /** Ziffern mit Punkten und Doppelpunkten, die Datum und Uhrzeit beinahe treffen. */
+        DIGIT_FLOOD {
+            @Override
+            void append(Random random, StringBuilder out) {
+                out.append(random.nextInt(100)).append(random.nextBoolean() ? ".1." : ":6").append(' ');
+                if (random.nextInt(4) == 0) {
+                    out.append("uhr ");
+                }
+            }
+        },
+        /** Ein einziges sehr langes Wort. */
+        LONG_WORD {
+            @Override
+            void append(Random random, StringBuilder out) {
+                out.append("aaaaaaaaaaaaaaaa");
+            }
+        },
+        /** Eingefügte Binärdaten als Base64. */
+        BASE64_BLOB {
+            @Override
+            void append(Random random, StringBuilder out) {
+                for (int i = 0; i < 76; i++) {
+                    out.append(BASE64.charAt(random.nextInt(BASE64.length())));
+                }
+                out.append('\n');
+            }
+        },
+        /** Eingefügte Tabelle mit Zahlen, Datumswerten und Trennzeichen. */
+        SPREADSHEET {
+            @Override
+            void append(Random random, StringBuilder out) {
+                out.append(random.nextInt(1000)).append('\t').append(1 + random.nextInt(28)).append('.')
+                        .append(1 + random.nextInt(12)).append(".2025\t").append(random.nextInt(24)).append(':')
+                        .append(random.nextInt(60)).append("\tfür ").append(random.nextInt(10)).append('\n');
+            }
+        },
+        /** Zufällige Folge typischer Fragmente. */
+        RANDOM_FRAGMENTS {
+            @Override
+            void append(Random random, StringBuilder out) {
+                out.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]).append(random.nextInt(4) == 0 ? "" : " ");
+            }
+        };
+
+        abstract void append(Random random, StringBuilder out);
+
+        String generate(Random random, int size) {
+            StringBuilder out = new StringBuilder(size + 128);
+            while (out.length() < size) {
+                append(random, out);
+            }
+            out.setLength(size);
+            return out.toString();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.restaurant.reservation.benchmark;
+
+/** Realistische deutsche Reservierungsanfragen als Eingaben für die Benchmarks. */
+public enum Corpus {
+
+    /** Kurze SMS- und Chat-Nachrichten. */
+    SMS(new String[] {
+        "Hallo, bitte einen Tisch für 4 Personen am 19.3. um 20:00 Uhr, Vielen Dank Max Mustermann",
+        "Tisch für zwei am 5.12.2025 um 19 Uhr bitte. Danke, Anna Schmidt",
+        "Hi, können wir morgen den 7. Juni um 18:30 mit 6 Leuten kommen? Gruß Peter Müller",
+        "Reservierung 3 Personen 24.12. 19:45 Uhr. Mit freundlichen Grüßen Jana Weber",
+        "Guten Abend, für acht Personen am 1. Mai 2025 um 12 Uhr. Vielen Dank, Lena Hoffmann",
+        "Tisch für zehn am 31.10. gegen 20 Uhr? Liebe Grüße Tom Becker",
+        "Wir sind 2 Mann, Freitag 14.2. um 21:15. Danke Paul Wagner",
+        "Bitte für fünf Leute am 3.3.2026 um 17:30 Uhr reservieren. Beste Grüße Sarah Koch"
+    }),
+
+    /** Lange E-Mails mit Anrede, Fließtext, Zitat und Grußformel. */
+    EMAIL(new String[] {
+        email("Max Mustermann", "am 19.3. um 20:00 Uhr", "4 Personen"),
+        email("Anna Schmidt", "am 5. Dezember 2025 um 19 Uhr", "zwölf Personen"),
+        email("Peter Müller", "am 7.6.2025 um 18:30", "sechs Leute"),
+        email("Jana Weber", "am 24.12. um 19:45 Uhr", "3 Menschen")
+    }),
+
+    /** Texte ohne verwertbare Angaben, bei denen jede Suche bis zum Ende läuft. */
+    NO_MATCH(new String[] {
+        "Hallo, haben Sie heute geöffnet? Ich wollte nur kurz nachfragen, ob es noch Plätze auf der Terrasse gibt.",
+        "Vielen Dank für den schönen Abend gestern, das Essen war hervorragend und der Service sehr aufmerksam.",
+        "Bitte senden Sie mir die aktuelle Speisekarte und die Preise für Getränke zu, am besten per Post.",
+        filler(40)
+    });
+
+    private final String[] texts;
+
+    Corpus(String[] texts) {
+        this.texts = texts;
+    }
+
+    public String[] texts() {
+        return texts.clone();
+    }
+
+    private static String email(String name, String dateTime, String people) {
+        return "Sehr geehrte Damen und Herren,\n\n"
+                + filler(6)
+                + "Wir möchten daher gerne einen Tisch " + dateTime + " für " + people + " reservieren. "
+                + "Falls möglich, hätten wir gerne einen Platz am Fenster, da wir etwas zu feiern haben.\n\n"
+                + filler(6)
+                + "> Am Montag schrieb das Restaurant:\n"
+                + "> Wir haben Ihre Anfrage erhalten und melden uns in Kürze bei Ihnen.\n\n"
+                + "Rückfragen gerne an Musterstraße 12 oder telefonisch.\n\n"
+                + "Mit freundlichen Grüßen\n"
+                + name;
+    }
+
+    // Fließtext ohne Datum, Uhrzeit, Personenzahl oder Grußformel
+    private static String filler(int sentences) {
+        String[] parts = {
+            "Wir waren bereits mehrfach bei Ihnen zu Gast und haben uns immer sehr wohl gefühlt. ",
+            "Besonders die saisonale Karte und die freundliche Bedienung haben uns überzeugt. ",
+            "Einige unserer Gäste ernähren sich vegetarisch, eine Person verträgt keine Nüsse. ",
+            "Wir würden uns freuen, wenn Sie uns eine kurze Bestätigung schicken könnten. ",
+            "Parkplätze in der Nähe wären ebenfalls hilfreich, da einige mit dem Auto anreisen. "
+        };
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < sentences; i++) {
+            text.append(parts[i % parts.length]);
+        }
+        return text.append("\n\n").toString();
+    }
+}
@@ -0,0 +1,108 @@
+package com.restaurant.reservation.benchmark;
+
+import com.restaurant.reservation.model.ExtractionResult;
+import com.restaurant.reservation.model.FieldResult;
+import com.restaurant.reservation.model.ReservationField;
+import com.restaurant.reservation.service.CustomerNameExtractionService;
+import com.restaurant.reservation.service.DateExtractionService;
+import com.restaurant.reservation.service.ExtractionPlan;
+import com.restaurant.reservation.service.GermanNumberParserService;
+import com.restaurant.reservation.service.MatchingEngine;
+import com.restaurant.reservation.service.PeopleCountExtractionService;
+import com.restaurant.reservation.service.ReservationExtractorService;
+import com.restaurant.reservation.service.TimeExtractionService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/** Durchsatz der einzelnen Extraktions-Services und des Gesamt-Extraktors je Korpus. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ExtractionServiceBenchmark {
+
+    @Param({"SMS", "EMAIL", "NO_MATCH"})
+    public Corpus corpus;
+
+    @Param({"REGEX", "DETERMINISTIC"})
+    public MatchingEngine engine;
+
+    private CustomerNameExtractionService nameService;
+    private DateExtractionService dateService;
+    private TimeExtractionService timeService;
+    private PeopleCountExtractionService peopleService;
+    private final ReservationExtractorService extractorService = new ReservationExtractorService();
+
+    private static final ExtractionPlan FAIL_FAST = ExtractionPlan.ALL.failFast();
+    private static final ExtractionPlan DATE_TIME = ExtractionPlan.of(ReservationField.DATE, ReservationField.TIME);
+
+    private String[] texts;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        texts = corpus.texts();
+        nameService = new CustomerNameExtractionService(engine);
+        dateService = new DateExtractionService(engine);
+        timeService = new TimeExtractionService(engine);
+        peopleService = new PeopleCountExtractionService(new GermanNumberParserService(), engine);
+    }
+
+    // Wechselt die Eingabe bei jedem Aufruf, damit der JIT nicht auf einen Text spezialisiert
+    private String nextText() {
+        String text = texts[next];
+        next = next + 1 == texts.length ? 0 : next + 1;
+        return text;
+    }
+
+    @Benchmark
+    public FieldResult<String> customerName() {
+        return nameService.tryExtractCustomerName(nextText());
+    }
+
+    @Benchmark
+    public FieldResult<LocalDate> date() {
+        return dateService.tryExtractDate(nextText());
+    }
+
+    @Benchmark
+    public FieldResult<LocalTime> time() {
+        return timeService.tryExtractTime(nextText());
+    }
+
+    @Benchmark
+    public FieldResult<Integer> numberOfPeople() {
+        return peopleService.tryExtractNumberOfPeople(nextText());
+    }
+
+    @Benchmark
+    public ExtractionResult reservation() {
+        return extractorService.tryExtractReservationInfo(nextText());
+    }
+
+    @Benchmark
+    public ExtractionResult reservationFailFast() {
+        return extractorService.tryExtractReservationInfo(nextText(), FAIL_FAST);
+    }
+
+    @Benchmark
+    public ExtractionResult dateAndTimeOnly() {
+        return extractorService.tryExtractReservationInfo(nextText(), DATE_TIME);
+    }
+}
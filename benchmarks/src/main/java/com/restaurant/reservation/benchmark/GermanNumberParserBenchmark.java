@@ -0,0 +1,47 @@
+package com.restaurant.reservation.benchmark;
+
+import com.restaurant.reservation.service.GermanNumberParserService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** Durchsatz des Zahlwort-Parsers für Ziffern, einfache und zusammengesetzte Zahlwörter sowie Fehlschläge. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GermanNumberParserBenchmark {
+
+    private static final String[] INPUTS = {
+        "4", "12", "zwei", "acht", "zwölf", "siebzehn", "einundzwanzig", "fünfundvierzig",
+        "neunundneunzig", "hundert", "zweihundertfünfzig", "personen", "abc", "dreiundfünfzigtausend"
+    };
+
+    private final GermanNumberParserService parser = new GermanNumberParserService();
+    private int next;
+
+    @Benchmark
+    public Integer parseNumberString() {
+        String input = INPUTS[next];
+        next = next + 1 == INPUTS.length ? 0 : next + 1;
+        return parser.parseNumberString(input);
+    }
+
+    @Benchmark
+    public int parseNumber() {
+        String input = INPUTS[next];
+        next = next + 1 == INPUTS.length ? 0 : next + 1;
+        return parser.parseNumber(input, 0, input.length());
+    }
+}
@@ -0,0 +1,62 @@
+package com.restaurant.reservation.benchmark;
+
+import com.restaurant.reservation.model.ExtractionResult;
+import com.restaurant.reservation.service.ParallelScanPolicy;
+import com.restaurant.reservation.service.ReservationExtractorService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latenz eines einzelnen Aufrufs auf langen Verläufen (weitergeleitete E-Mails, Chat-Protokolle), deren Angaben
+ * erst am Ende stehen: sequentiell gegenüber abschnittsweise parallel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LongInputBenchmark {
+
+    @Param({"4096", "16384", "65536", "262144", "1048576"})
+    public int length;
+
+    @Param({"SEQUENTIAL", "PARALLEL"})
+    public String mode;
+
+    private ReservationExtractorService service;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        ParallelScanPolicy policy = mode.equals("PARALLEL")
+                ? new ParallelScanPolicy(1, ParallelScanPolicy.DEFAULT.getSegmentLength())
+                : ParallelScanPolicy.SEQUENTIAL;
+        service = ReservationExtractorService.builder().parallelPolicy(policy).build();
+
+        String[] noise = Corpus.NO_MATCH.texts();
+        String request = Corpus.EMAIL.texts()[0];
+        StringBuilder thread = new StringBuilder(length + request.length());
+        for (int i = 0; thread.length() + request.length() < length; i++) {
+            thread.append("> ").append(noise[i % noise.length]).append('\n');
+        }
+        text = thread.append(request).toString();
+    }
+
+    @Benchmark
+    public ExtractionResult reservation() {
+        return service.tryExtractReservationInfo(text);
+    }
+}
@@ -0,0 +1,80 @@
+package com.restaurant.reservation.benchmark;
+
+import com.restaurant.reservation.metrics.ExtractorMetrics;
+import com.restaurant.reservation.metrics.LatencyHistogram;
+import com.restaurant.reservation.metrics.MetricsRegistry;
+import com.restaurant.reservation.model.FieldStatus;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kosten der Metriken je Extraktion: fünf Aufzeichnungen (Reservierung und vier Felder) mit ähnlicher Latenz, also
+ * in dieselben Buckets, auf einem Thread und auf allen Kernen gegen gemeinsame Histogramme.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MetricsBenchmark {
+
+    private static final String[] EXTRACTORS = {"reservation", "customerName", "date", "time", "numberOfPeople"};
+
+    private final ExtractorMetrics[] metrics = new ExtractorMetrics[EXTRACTORS.length];
+
+    public MetricsBenchmark() {
+        MetricsRegistry registry = new MetricsRegistry(false);
+        for (int i = 0; i < EXTRACTORS.length; i++) {
+            metrics[i] = registry.extractor(EXTRACTORS[i]);
+        }
+    }
+
+    /** Latenzen um 20 µs mit etwas Streuung je Thread. */
+    @State(Scope.Thread)
+    public static class Latencies {
+        private long next;
+
+        long next() {
+            next++;
+            return 20_000 + (next & 255);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void recordSingleThread(Latencies latencies) {
+        record(latencies.next());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void recordAllThreads(Latencies latencies) {
+        record(latencies.next());
+    }
+
+    /** Kosten eines Perzentils beim Dump, je Histogramm. */
+    @Benchmark
+    @Threads(1)
+    public long readPercentile() {
+        LatencyHistogram latency = metrics[0].getLatency();
+        return latency.getPercentile(99);
+    }
+
+    private void record(long nanos) {
+        for (ExtractorMetrics extractor : metrics) {
+            extractor.record(FieldStatus.FOUND, nanos);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.restaurant.reservation.app;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/** Liest Zeilen mit fester Maximallänge, damit auch Dateien ohne Zeilenumbrüche begrenzten Speicher brauchen. */
+class BoundedLineReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Reader reader;
+    private final int maxLineLength;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder line = new StringBuilder();
+    private int position;
+    private int limit;
+    private boolean truncated;
+    private boolean skipLineFeed;
+
+    BoundedLineReader(Reader reader, int maxLineLength) {
+        this.reader = reader;
+        this.maxLineLength = maxLineLength;
+    }
+
+    /** Liest die nächste Zeile ohne Zeilenumbruch oder null am Dateiende; Überlänge wird abgeschnitten. */
+    String readLine() throws IOException {
+        line.setLength(0);
+        truncated = false;
+        boolean read = false;
+        while (true) {
+            if (position == limit) {
+                limit = reader.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return read ? line.toString() : null;
+                }
+            }
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (buffer[position] == '\n') {
+                    position++;
+                    continue;
+                }
+            }
+            read = true;
+            int start = position;
+            while (position < limit && buffer[position] != '\n' && buffer[position] != '\r') {
+                position++;
+            }
+            append(start, position);
+            if (position < limit) {
+                skipLineFeed = buffer[position] == '\r';
+                position++;
+                return line.toString();
+            }
+        }
+    }
+
+    /** Prüft ob die zuletzt gelesene Zeile abgeschnitten wurde. */
+    boolean wasTruncated() {
+        return truncated;
+    }
+
+    private void append(int start, int end) {
+        int free = maxLineLength - line.length();
+        int length = end - start;
+        if (length > free) {
+            truncated = true;
+            length = free;
+        }
+        line.append(buffer, start, length);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,238 @@
+package com.restaurant.reservation.app;
+
+import com.restaurant.reservation.io.BinaryResultWriter;
+import com.restaurant.reservation.io.CsvResultWriter;
+import com.restaurant.reservation.io.NdjsonResultWriter;
+import com.restaurant.reservation.io.ResultWriter;
+import com.restaurant.reservation.io.TextResultWriter;
+import com.restaurant.reservation.mail.MailPreprocessor;
+import com.restaurant.reservation.mail.MboxReader;
+import com.restaurant.reservation.model.ExtractionResult;
+import com.restaurant.reservation.service.DuplicateFilter;
+import com.restaurant.reservation.service.ReservationExtractorService;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Nicht-interaktiver Modus: verarbeitet zeilenweise oder NDJSON-Eingabedateien sowie mbox-Dateien blockweise mit
+ * begrenztem Speicher.
+ */
+public class FileIngestRunner {
+
+    /** Ausgabeformat der Ergebnisdatei. */
+    public enum OutputFormat {
+        /** Zeilennummer, Tabulator und Reservierung bzw. Fehlermeldung. */
+        TEXT,
+        /** Ein JSON-Objekt pro Zeile. */
+        NDJSON,
+        /** CSV mit Kopfzeile. */
+        CSV,
+        /** Kompaktes Binärformat, lesbar mit BinaryResultReader. */
+        BINARY
+    }
+
+    public static final int DEFAULT_CHUNK_SIZE = 1024;
+    public static final int DEFAULT_MAX_LINE_LENGTH = 1 << 20;
+    public static final String DEFAULT_JSON_FIELD = "text";
+
+    private static final int WRITE_BUFFER_SIZE = 256 * 1024;
+
+    private final ReservationExtractorService service;
+    private final OutputFormat format;
+    private final int chunkSize;
+    private final int maxLineLength;
+    private final String jsonField;
+    private final int duplicateIndexSize;
+    private final MailPreprocessor mailPreprocessor = new MailPreprocessor();
+
+    public FileIngestRunner(ReservationExtractorService service, OutputFormat format) {
+        this(service, format, DEFAULT_CHUNK_SIZE, DEFAULT_MAX_LINE_LENGTH, DEFAULT_JSON_FIELD);
+    }
+
+    public FileIngestRunner(ReservationExtractorService service, OutputFormat format,
+                            int chunkSize, int maxLineLength, String jsonField) {
+        this(service, format, chunkSize, maxLineLength, jsonField, 0);
+    }
+
+    /**
+     * Wie oben; bei duplicateIndexSize &gt; 0 werden wiederholte und nahezu gleiche Datensätze eines Durchlaufs über
+     * einen {@link DuplicateFilter} mit so vielen Einträgen erkannt, nicht erneut extrahiert und als Duplikat
+     * geschrieben.
+     */
+    public FileIngestRunner(ReservationExtractorService service, OutputFormat format,
+                            int chunkSize, int maxLineLength, String jsonField, int duplicateIndexSize) {
+        if (chunkSize < 1 || maxLineLength < 1) {
+            throw new IllegalArgumentException("Blockgröße und Zeilenlänge müssen positiv sein");
+        }
+        if (duplicateIndexSize < 0) {
+            throw new IllegalArgumentException("Indexgröße darf nicht negativ sein");
+        }
+        this.service = service;
+        this.format = format;
+        this.chunkSize = chunkSize;
+        this.maxLineLength = maxLineLength;
+        this.jsonField = jsonField;
+        this.duplicateIndexSize = duplicateIndexSize;
+    }
+
+    /** Liest die Eingabedatei, extrahiert jeden Datensatz und schreibt die Ergebnisse laufend in die Ausgabedatei. */
+    public Summary run(Path input, Path output) throws IOException {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        Summary summary = new Summary();
+        Chunk chunk = new Chunk();
+
+        try (BoundedLineReader reader = new BoundedLineReader(
+                     Channels.newReader(FileChannel.open(input, StandardOpenOption.READ), decoder, -1), maxLineLength);
+             ResultWriter writer = newWriter(output)) {
+
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (reader.wasTruncated()) {
+                    summary.truncated++;
+                }
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                if (chunk.add(lineNumber, NdjsonCodec.textOfLine(line, jsonField))) {
+                    chunk.write(writer, summary);
+                }
+            }
+            chunk.write(writer, summary);
+        }
+        return summary;
+    }
+
+    /**
+     * Liest eine mbox-Datei Nachricht für Nachricht, extrahiert aus dem bereinigten Text jeder Nachricht (ohne
+     * Kopfzeilen, HTML, Zitate und Signatur) und schreibt die Ergebnisse mit der Nachrichtennummer statt der Zeile.
+     * Die maximale Zeilenlänge gilt hier je Nachricht in Bytes.
+     */
+    public Summary runMbox(Path input, Path output) throws IOException {
+        Summary summary = new Summary();
+        Chunk chunk = new Chunk();
+        try (MboxReader reader = new MboxReader(Channels.newInputStream(FileChannel.open(input, StandardOpenOption.READ)),
+                     maxLineLength);
+             ResultWriter writer = newWriter(output)) {
+
+            byte[] message;
+            while ((message = reader.read()) != null) {
+                if (reader.wasTruncated()) {
+                    summary.truncated++;
+                }
+                if (chunk.add(reader.getMessageNumber(), mailPreprocessor.process(message).toString())) {
+                    chunk.write(writer, summary);
+                }
+            }
+            chunk.write(writer, summary);
+        }
+        return summary;
+    }
+
+    private ResultWriter newWriter(Path output) throws IOException {
+        return newWriter(FileChannel.open(output, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+    }
+
+    private ResultWriter newWriter(WritableByteChannel channel) {
+        switch (format) {
+            case NDJSON:
+                return new NdjsonResultWriter(channel, WRITE_BUFFER_SIZE);
+            case CSV:
+                return new CsvResultWriter(channel, WRITE_BUFFER_SIZE);
+            case BINARY:
+                return new BinaryResultWriter(channel, WRITE_BUFFER_SIZE);
+            default:
+                return new TextResultWriter(channel, WRITE_BUFFER_SIZE);
+        }
+    }
+
+    /** Datensätze eines Blocks mit ihren Zeilen- bzw. Nachrichtennummern; der Duplikatfilter gilt für den ganzen Durchlauf. */
+    private final class Chunk {
+        private final List<String> texts = new ArrayList<>(chunkSize);
+        private final long[] lineNumbers = new long[chunkSize];
+        private final long[] duplicateOf = new long[chunkSize];
+        private final DuplicateFilter duplicates = duplicateIndexSize > 0
+                ? new DuplicateFilter(service, duplicateIndexSize) : null;
+
+        /** Nimmt einen Datensatz auf; true, wenn der Block voll ist. */
+        boolean add(long lineNumber, String text) {
+            lineNumbers[texts.size()] = lineNumber;
+            texts.add(text);
+            return texts.size() == chunkSize;
+        }
+
+        void write(ResultWriter writer, Summary summary) throws IOException {
+            if (texts.isEmpty()) {
+                return;
+            }
+            List<ExtractionResult> results = duplicates != null
+                    ? duplicates.extractAll(texts, lineNumbers, duplicateOf)
+                    : service.extractAll(texts);
+            for (int i = 0; i < results.size(); i++) {
+                ExtractionResult result = results.get(i);
+                if (duplicates != null && duplicateOf[i] >= 0) {
+                    writer.writeDuplicate(lineNumbers[i], result, duplicateOf[i]);
+                    summary.duplicates++;
+                } else {
+                    writer.write(lineNumbers[i], result);
+                }
+
+                summary.records++;
+                // Bei eingeschränktem Plan zählt ein Datensatz als vollständig, wenn alle angeforderten Felder gefunden wurden
+                if (service.getDefaultPlan().isSatisfiedBy(result)) {
+                    summary.complete++;
+                }
+            }
+            texts.clear();
+        }
+    }
+
+    /** Zähler eines Durchlaufs. */
+    public static final class Summary {
+        private long records;
+        private long complete;
+        private long truncated;
+        private long duplicates;
+
+        public long getRecords() {
+            return records;
+        }
+
+        public long getComplete() {
+            return complete;
+        }
+
+        public long getIncomplete() {
+            return records - complete;
+        }
+
+        public long getTruncated() {
+            return truncated;
+        }
+
+        /** Datensätze, deren Ergebnis von einem früheren gleichen oder nahezu gleichen Datensatz übernommen wurde. */
+        public long getDuplicates() {
+            return duplicates;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d Datensätze, %d vollständig, %d unvollständig, %d abgeschnitten, %d Duplikate",
+                    records, complete, getIncomplete(), truncated, duplicates);
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.restaurant.reservation.app;
+
+import com.restaurant.reservation.metrics.LatencyHistogram;
+import com.restaurant.reservation.model.ExtractionResult;
+import com.restaurant.reservation.model.FieldStatus;
+import com.restaurant.reservation.model.ReservationField;
+import com.restaurant.reservation.service.ReservationExtractorService;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lastgenerator: spielt einen Korpus deutscher Reservierungstexte mit fester Zielrate über mehrere Threads gegen
+ * einen {@link ReservationExtractorService} ab. Die Startzeitpunkte liegen gleichmäßig verteilt fest; die Latenz
+ * wird ab dem geplanten statt dem tatsächlichen Start gemessen, sodass ein hängender Aufruf auch die Wartezeit der
+ * nach ihm geplanten Aufrufe zeigt (Korrektur des Coordinated Omission).
+ */
+public final class LoadGenerator {
+
+    private static final ReservationField[] FIELDS = ReservationField.values();
+    private static final FieldStatus[] STATUSES = FieldStatus.values();
+
+    // Die letzte Strecke vor einem geplanten Start wird aktiv gewartet: parkNanos wacht oft Dutzende µs zu spät auf,
+    // und diese Verspätung des Generators soll nicht als Latenz des Services zählen. Nur mit freien Prozessoren,
+    // sonst nähmen die wartenden Last-Threads dem Service die Rechenzeit
+    private static final long SPIN_NANOS = 100_000;
+
+    private final ReservationExtractorService service;
+    private final int threads;
+    private final double ratePerSecond;
+    private final long spinNanos;
+
+    /**
+     * Erstellt den Generator.
+     *
+     * @param threads       Anzahl Last-Threads; sie teilen sich den Zeitplan reihum
+     * @param ratePerSecond Zielrate in Aufrufen je Sekunde über alle Threads
+     */
+    public LoadGenerator(ReservationExtractorService service, int threads, double ratePerSecond) {
+        if (service == null || threads < 1 || !(ratePerSecond > 0)) {
+            throw new IllegalArgumentException("Service erforderlich, Threads und Rate müssen positiv sein");
+        }
+        this.service = service;
+        this.threads = threads;
+        this.ratePerSecond = ratePerSecond;
+        this.spinNanos = threads < Runtime.getRuntime().availableProcessors() ? SPIN_NANOS : 0;
+    }
+
+    /** Liest einen Korpus: eine Anfrage je Zeile, bei NDJSON-Zeilen das Textfeld; leere Zeilen entfallen. */
+    public static List<String> readCorpus(Path file, String jsonField) throws IOException {
+        List<String> corpus = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String text = NdjsonCodec.textOfLine(line, jsonField);
+            if (text != null && !text.trim().isEmpty()) {
+                corpus.add(text);
+            }
+        }
+        if (corpus.isEmpty()) {
+            throw new IllegalArgumentException("Korpus enthält keine Anfragen: " + file);
+        }
+        return corpus;
+    }
+
+    /**
+     * Spielt den Korpus reihum ab: zuerst warmup ohne Aufzeichnung, dann duration mit Aufzeichnung.
+     *
+     * @return Bericht über die Messphase
+     */
+    public Report run(List<String> corpus, long warmup, long duration, TimeUnit unit) throws InterruptedException {
+        if (corpus == null || corpus.isEmpty() || warmup < 0 || duration <= 0) {
+            throw new IllegalArgumentException("Korpus darf nicht leer, Dauer muss positiv sein");
+        }
+        if (warmup > 0) {
+            runPhase(corpus, unit.toNanos(warmup), null);
+        }
+        Report report = new Report(threads, ratePerSecond);
+        long start = System.nanoTime();
+        runPhase(corpus, unit.toNanos(duration), report);
+        report.elapsedNanos = System.nanoTime() - start;
+        return report;
+    }
+
+    private void runPhase(List<String> corpus, long durationNanos, Report report) throws InterruptedException {
+        double periodNanos = 1e9 / ratePerSecond;
+        long start = System.nanoTime();
+        long end = start + durationNanos;
+        Worker[] workers = new Worker[threads];
+        Thread[] running = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(corpus, i, start, end, periodNanos, report);
+            running[i] = new Thread(workers[i], "reservation-load-" + (i + 1));
+            running[i].setDaemon(true);
+            running[i].start();
+        }
+        for (Thread thread : running) {
+            thread.join();
+        }
+        if (report != null) {
+            for (Worker worker : workers) {
+                report.add(worker);
+            }
+        }
+    }
+
+    // Ein Last-Thread: übernimmt jeden threads-ten Zeitschlitz des gemeinsamen Plans
+    private final class Worker implements Runnable {
+        private final List<String> corpus;
+        private final int index;
+        private final long start;
+        private final long end;
+        private final double periodNanos;
+        private final Report report;
+
+        long requests;
+        long complete;
+        long errors;
+        long maxLagNanos;
+        final long[][] failures = new long[FIELDS.length][STATUSES.length];
+
+        Worker(List<String> corpus, int index, long start, long end, double periodNanos, Report report) {
+            this.corpus = corpus;
+            this.index = index;
+            this.start = start;
+            this.end = end;
+            this.periodNanos = periodNanos;
+            this.report = report;
+        }
+
+        @Override
+        public void run() {
+            for (long slot = index; ; slot += threads) {
+                long intended = start + (long) (slot * periodNanos);
+                if (intended - end >= 0) {
+                    return;
+                }
+                long delay;
+                while ((delay = intended - System.nanoTime()) > 0) {
+                    if (delay > spinNanos) {
+                        LockSupport.parkNanos(delay - spinNanos);
+                    } else {
+                        Thread.onSpinWait();
+                    }
+                }
+                String text = corpus.get((int) (slot % corpus.size()));
+                long begin = System.nanoTime();
+                ExtractionResult result = null;
+                try {
+                    result = service.tryExtractReservationInfo(text);
+                } catch (RuntimeException e) {
+                    errors++;
+                }
+                long done = System.nanoTime();
+                if (report == null) {
+                    continue;
+                }
+                report.corrected.record(done - intended);
+                report.serviceTime.record(done - begin);
+                maxLagNanos = Math.max(maxLagNanos, begin - intended);
+                requests++;
+                if (result != null) {
+                    count(result);
+                }
+            }
+        }
+
+        private void count(ExtractionResult result) {
+            if (result.isComplete()) {
+                complete++;
+                return;
+            }
+            for (int f = 0; f < FIELDS.length; f++) {
+                FieldStatus status = result.getStatus(FIELDS[f]);
+                if (status != FieldStatus.FOUND) {
+                    failures[f][status.ordinal()]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Ergebnis eines Lastlaufs. {@link #write(Path)} schreibt ihn als Schlüssel-Wert-Zeilen in fester Reihenfolge, sodass
+     * Berichte verschiedener Hosts oder Versionen zeilenweise vergleichbar sind.
+     */
+    public static final class Report {
+
+        // Ausgewiesene Perzentile
+        private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+        private final int threads;
+        private final double targetRate;
+        private final LatencyHistogram corrected = new LatencyHistogram();
+        private final LatencyHistogram serviceTime = new LatencyHistogram();
+        private final long[][] failures = new long[FIELDS.length][STATUSES.length];
+        private long requests;
+        private long complete;
+        private long errors;
+        private long maxLagNanos;
+        private long elapsedNanos;
+
+        Report(int threads, double targetRate) {
+            this.threads = threads;
+            this.targetRate = targetRate;
+        }
+
+        private void add(Worker worker) {
+            requests += worker.requests;
+            complete += worker.complete;
+            errors += worker.errors;
+            maxLagNanos = Math.max(maxLagNanos, worker.maxLagNanos);
+            for (int f = 0; f < FIELDS.length; f++) {
+                for (int s = 0; s < STATUSES.length; s++) {
+                    failures[f][s] += worker.failures[f][s];
+                }
+            }
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getComplete() {
+            return complete;
+        }
+
+        /** Aufrufe, die mit einer Exception endeten. */
+        public long getErrors() {
+            return errors;
+        }
+
+        /** Erreichte Rate in Aufrufen je Sekunde. */
+        public double getThroughput() {
+            return elapsedNanos == 0 ? 0 : requests * 1e9 / elapsedNanos;
+        }
+
+        /** Latenz ab dem geplanten Start (korrigiert um Coordinated Omission). */
+        public LatencyHistogram getCorrectedLatency() {
+            return corrected;
+        }
+
+        /** Reine Laufzeit der Aufrufe ab dem tatsächlichen Start. */
+        public LatencyHistogram getServiceTime() {
+            return serviceTime;
+        }
+
+        /** Größte Verspätung eines Starts gegenüber dem Plan in Nanosekunden. */
+        public long getMaxStartLagNanos() {
+            return maxLagNanos;
+        }
+
+        /** Anzahl unvollständiger Ergebnisse, in denen das Feld mit diesem Status endete. */
+        public long getFailures(ReservationField field, FieldStatus status) {
+            return failures[field.ordinal()][status.ordinal()];
+        }
+
+        /** Schreibt den Bericht als Schlüssel-Wert-Zeilen (UTF-8). */
+        public void write(Path file) throws IOException {
+            Files.write(file, lines(), StandardCharsets.UTF_8);
+        }
+
+        // Feste Schlüsselreihenfolge; Latenzen in Nanosekunden
+        List<String> lines() {
+            List<String> lines = new ArrayList<>();
+            lines.add("threads=" + threads);
+            lines.add("rate.target=" + format(targetRate));
+            lines.add("rate.achieved=" + format(getThroughput()));
+            lines.add("duration.ms=" + TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            lines.add("requests=" + requests);
+            lines.add("complete=" + complete);
+            lines.add("errors=" + errors);
+            addLatency(lines, "latency.corrected", corrected);
+            addLatency(lines, "latency.service", serviceTime);
+            lines.add("start.lag.max.ns=" + maxLagNanos);
+            for (int f = 0; f < FIELDS.length; f++) {
+                for (int s = 0; s < STATUSES.length; s++) {
+                    if (STATUSES[s] != FieldStatus.FOUND) {
+                        lines.add("failures." + key(FIELDS[f]) + "." + key(STATUSES[s]) + "=" + failures[f][s]);
+                    }
+                }
+            }
+            return lines;
+        }
+
+        private static void addLatency(List<String> lines, String prefix, LatencyHistogram histogram) {
+            for (double percentile : PERCENTILES) {
+                lines.add(prefix + ".p" + format(percentile) + ".ns=" + histogram.getPercentile(percentile));
+            }
+            lines.add(prefix + ".max.ns=" + histogram.getMax());
+            lines.add(prefix + ".mean.ns=" + Math.round(histogram.getMean()));
+        }
+
+        private static String key(Enum<?> value) {
+            return value.name().toLowerCase(Locale.ROOT);
+        }
+
+        private static String format(double value) {
+            return value == Math.rint(value) ? String.valueOf((long) value) : String.format(Locale.ROOT, "%.1f", value);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder out = new StringBuilder();
+            out.append(String.format(Locale.ROOT, "%d Aufrufe in %d ms mit %d Threads: %.1f/s (Ziel %.1f/s), "
+                            + "%d vollständig, %d Exceptions%n", requests, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    threads, getThroughput(), targetRate, complete, errors));
+            out.append(String.format(Locale.ROOT, "Latenz ab Plan   p50 %s  p90 %s  p99 %s  p99.9 %s  max %s%n",
+                    micros(corrected.getPercentile(50)), micros(corrected.getPercentile(90)),
+                    micros(corrected.getPercentile(99)), micros(corrected.getPercentile(99.9)), micros(corrected.getMax())));
+            out.append(String.format(Locale.ROOT, "Laufzeit         p50 %s  p90 %s  p99 %s  p99.9 %s  max %s%n",
+                    micros(serviceTime.getPercentile(50)), micros(serviceTime.getPercentile(90)),
+                    micros(serviceTime.getPercentile(99)), micros(serviceTime.getPercentile(99.9)),
+                    micros(serviceTime.getMax())));
+            out.append("Größte Startverspätung ").append(micros(maxLagNanos)).append(System.lineSeparator());
+            for (int f = 0; f < FIELDS.length; f++) {
+                StringBuilder line = new StringBuilder();
+                for (int s = 0; s < STATUSES.length; s++) {
+                    if (failures[f][s] > 0) {
+                        line.append(' ').append(STATUSES[s]).append('=').append(failures[f][s]);
+                    }
+                }
+                if (line.length() > 0) {
+                    out.append("Fehlschläge ").append(FIELDS[f]).append(':').append(line).append(System.lineSeparator());
+                }
+            }
+            return out.toString();
+        }
+
+        private static String micros(long nanos) {
+            return String.format(Locale.ROOT, "%.1fµs", nanos / 1000.0);
+        }
+    }
+}
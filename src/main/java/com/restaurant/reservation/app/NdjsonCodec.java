@@ -0,0 +1,158 @@
+package com.restaurant.reservation.app;
+
+/** Minimaler JSON-Zugriff für NDJSON-Eingabezeilen; geschrieben wird mit NdjsonResultWriter. */
+final class NdjsonCodec {
+
+    private NdjsonCodec() {
+    }
+
+    /** Liefert den zu extrahierenden Text einer Eingabezeile: Textfeld bei NDJSON-Objekten, sonst die Zeile selbst. */
+    static String textOfLine(String line, String field) {
+        int first = 0;
+        while (first < line.length() && Character.isWhitespace(line.charAt(first))) {
+            first++;
+        }
+        return first < line.length() && line.charAt(first) == '{' ? readStringField(line, field) : line;
+    }
+
+    /** Liefert den Wert des String-Feldes auf oberster Ebene oder null, wenn es fehlt oder die Zeile ungültig ist. */
+    static String readStringField(String json, String field) {
+        Cursor cursor = new Cursor(json);
+        if (!cursor.consume('{')) {
+            return null;
+        }
+        if (cursor.consume('}')) {
+            return null;
+        }
+        do {
+            String key = cursor.readString();
+            if (key == null || !cursor.consume(':')) {
+                return null;
+            }
+            if (key.equals(field)) {
+                return cursor.peek() == '"' ? cursor.readString() : null;
+            }
+            if (!cursor.skipValue()) {
+                return null;
+            }
+        } while (cursor.consume(','));
+        return null;
+    }
+
+    private static final class Cursor {
+        private final String json;
+        private int pos;
+
+        Cursor(String json) {
+            this.json = json;
+        }
+
+        char peek() {
+            skipWhitespace();
+            return pos < json.length() ? json.charAt(pos) : 0;
+        }
+
+        boolean consume(char expected) {
+            if (peek() == expected) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        String readString() {
+            if (!consume('"')) {
+                return null;
+            }
+            StringBuilder value = new StringBuilder();
+            while (pos < json.length()) {
+                char c = json.charAt(pos++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                if (pos >= json.length()) {
+                    return null;
+                }
+                char escaped = json.charAt(pos++);
+                switch (escaped) {
+                    case 'n':
+                        value.append('\n');
+                        break;
+                    case 'r':
+                        value.append('\r');
+                        break;
+                    case 't':
+                        value.append('\t');
+                        break;
+                    case 'b':
+                        value.append('\b');
+                        break;
+                    case 'f':
+                        value.append('\f');
+                        break;
+                    case 'u':
+                        if (pos + 4 > json.length()) {
+                            return null;
+                        }
+                        int code = 0;
+                        for (int i = 0; i < 4; i++) {
+                            int digit = Character.digit(json.charAt(pos++), 16);
+                            if (digit < 0) {
+                                return null;
+                            }
+                            code = code * 16 + digit;
+                        }
+                        value.append((char) code);
+                        break;
+                    default:
+                        value.append(escaped);
+                }
+            }
+            return null;
+        }
+
+        // Überspringt einen beliebigen JSON-Wert inklusive verschachtelter Objekte und Arrays
+        boolean skipValue() {
+            char c = peek();
+            if (c == '"') {
+                return readString() != null;
+            }
+            if (c == '{' || c == '[') {
+                int depth = 0;
+                while (pos < json.length()) {
+                    char current = json.charAt(pos);
+                    if (current == '"') {
+                        if (readString() == null) {
+                            return false;
+                        }
+                        continue;
+                    }
+                    pos++;
+                    if (current == '{' || current == '[') {
+                        depth++;
+                    } else if (current == '}' || current == ']') {
+                        if (--depth == 0) {
+                            return true;
+                        }
+                    }
+                }
+                return false;
+            }
+            int start = pos;
+            while (pos < json.length() && ",}] \t\r\n".indexOf(json.charAt(pos)) < 0) {
+                pos++;
+            }
+            return pos > start;
+        }
+
+        private void skipWhitespace() {
+            while (pos < json.length() && " \t\r\n".indexOf(json.charAt(pos)) >= 0) {
+                pos++;
+            }
+        }
+    }
+}
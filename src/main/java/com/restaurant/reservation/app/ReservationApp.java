@@ -1,44 +1,253 @@
 package com.restaurant.reservation.app;
 
-import com.restaurant.reservation.model.Reservation;
+import com.restaurant.reservation.metrics.MetricsRegistry;
+import com.restaurant.reservation.model.ExtractionResult;
+import com.restaurant.reservation.model.ReservationField;
+import com.restaurant.reservation.service.ExtractionCache;
+import com.restaurant.reservation.service.ExtractionLimits;
+import com.restaurant.reservation.service.ExtractionPlan;
+import com.restaurant.reservation.service.ParallelScanPolicy;
 import com.restaurant.reservation.service.ReservationExtractorService;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 /** Hauptanwendung zur Extraktion von Reservierungsinformationen. */
 public class ReservationApp {
-    
+
+    private static final String USAGE = String.join(System.lineSeparator(),
+        "Verwendung:",
+        "  java -jar reservation-extractor.jar                  interaktiver Modus",
+        "  java -jar reservation-extractor.jar --input <datei> --output <datei>",
+        "       [--format text|ndjson|csv|binary] [--chunk-size <n>] [--max-line-length <n>]",
+        "       [--json-field <name>] [--threads <n>]           Dateiverarbeitung",
+        "       [--dedup <n>]                                   Duplikate über einen Index mit n Einträgen erkennen",
+        "  java -jar reservation-extractor.jar --mbox <datei> --output <datei> [...]",
+        "                                                       E-Mails (mbox) verarbeiten",
+        "  java -jar reservation-extractor.jar --server <port>",
+        "       [--workers <n>] [--queue <n>] [--virtual-threads true|false]",
+        "       [--idle-timeout <sekunden>] [--threads <n>]     HTTP-Server",
+        "  java -jar reservation-extractor.jar --load <korpus> [--rate <n/s>] [--duration <sekunden>]",
+        "       [--warmup <sekunden>] [--load-threads <n>] [--report <datei>]",
+        "                                                       Lastlauf mit fester Rate, Bericht je Lauf",
+        "  Alle Modi: [--metrics-interval <sekunden>]        Kennzahlen periodisch auf stderr",
+        "             [--cache-size <n>]                      Ergebnis-Cache für wiederkehrende Texte",
+        "             [--max-input-length <n>] [--time-budget-ms <n>]  Obergrenzen je Anfrage",
+        "             [--fields date,time,...] [--fail-fast true|false]  nur diese Felder, Abbruch beim ersten Fehlen",
+        "             [--parallel-min-length <n>]             lange Texte ab n Zeichen parallel auswerten");
+
     public static void main(String[] args) {
-        ReservationExtractorService service = new ReservationExtractorService();
+        if (args.length == 0) {
+            runInteractive(new ReservationExtractorService());
+            return;
+        }
+
+        Map<String, String> options = parseOptions(args);
+        boolean serverMode = options != null && options.containsKey("server");
+        boolean loadMode = options != null && options.containsKey("load");
+        if (options == null || (!serverMode && !loadMode
+                && (!(options.containsKey("input") || options.containsKey("mbox")) || !options.containsKey("output")))) {
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        try {
+            startMetricsDump(options);
+            if (serverMode) {
+                runServer(options);
+            } else if (loadMode) {
+                runLoad(options);
+            } else {
+                runFileIngest(options);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Fehler: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static void runServer(Map<String, String> options) throws IOException {
+        if (options.containsKey("idle-timeout")) {
+            // Keep-Alive-Leerlaufzeit des JDK-Servers; muss vor dem Erzeugen des Servers gesetzt sein
+            System.setProperty("sun.net.httpserver.idleInterval", options.get("idle-timeout"));
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        int workers = Integer.parseInt(options.getOrDefault("workers", String.valueOf(cores)));
+        ReservationHttpServer server = new ReservationHttpServer(
+                newService(options, batchPool(options)),
+                new InetSocketAddress(Integer.parseInt(options.get("server"))),
+                workers,
+                Integer.parseInt(options.getOrDefault("queue", String.valueOf(workers * 64))),
+                Boolean.parseBoolean(options.getOrDefault("virtual-threads", "false")));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(1)));
+        server.start();
+        System.err.println("HTTP-Server läuft auf Port " + server.getPort()
+                + " (POST /extract, POST /extract/batch, GET /health)");
+    }
+
+    // Spielt den Korpus mit fester Rate ab; Bericht auf stdout und optional als vergleichbare Datei
+    private static void runLoad(Map<String, String> options) throws IOException {
+        List<String> corpus = LoadGenerator.readCorpus(Paths.get(options.get("load")),
+                options.getOrDefault("json-field", FileIngestRunner.DEFAULT_JSON_FIELD));
+        ForkJoinPool pool = batchPool(options);
+        try {
+            LoadGenerator generator = new LoadGenerator(newService(options, pool),
+                    Integer.parseInt(options.getOrDefault("load-threads",
+                            String.valueOf(Runtime.getRuntime().availableProcessors()))),
+                    Double.parseDouble(options.getOrDefault("rate", "1000")));
+            LoadGenerator.Report report = generator.run(corpus,
+                    Long.parseLong(options.getOrDefault("warmup", "2")),
+                    Long.parseLong(options.getOrDefault("duration", "10")), TimeUnit.SECONDS);
+            System.out.print(report);
+            if (options.containsKey("report")) {
+                report.write(Paths.get(options.get("report")));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalArgumentException("Lastlauf unterbrochen");
+        } finally {
+            if (pool != ForkJoinPool.commonPool()) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    // Kennzahlen zusätzlich zu JMX periodisch als Text ausgeben (Daemon-Thread)
+    private static void startMetricsDump(Map<String, String> options) {
+        if (options.containsKey("metrics-interval")) {
+            MetricsRegistry.getDefault().startPeriodicDump(
+                    Long.parseLong(options.get("metrics-interval")), TimeUnit.SECONDS, System.err::print);
+        }
+    }
+
+    private static ReservationExtractorService newService(Map<String, String> options, ForkJoinPool pool) {
+        ExtractionCache cache = options.containsKey("cache-size")
+                ? new ExtractionCache(Integer.parseInt(options.get("cache-size")))
+                : null;
+        ExtractionLimits limits = options.containsKey("max-input-length") || options.containsKey("time-budget-ms")
+                ? new ExtractionLimits(
+                        Integer.parseInt(options.getOrDefault("max-input-length", String.valueOf(Integer.MAX_VALUE))),
+                        Long.parseLong(options.getOrDefault("time-budget-ms", "0")), TimeUnit.MILLISECONDS)
+                : ExtractionLimits.NONE;
+        ParallelScanPolicy parallel = options.containsKey("parallel-min-length")
+                ? new ParallelScanPolicy(Integer.parseInt(options.get("parallel-min-length")),
+                        ParallelScanPolicy.DEFAULT.getSegmentLength())
+                : ParallelScanPolicy.DEFAULT;
+        return ReservationExtractorService.builder().batchPool(pool).cache(cache).limits(limits)
+                .defaultPlan(plan(options)).parallelPolicy(parallel).build();
+    }
+
+    // "--fields" mit Feldnamen wie customer_name,date,time,number_of_people; ohne Angabe alle Felder
+    private static ExtractionPlan plan(Map<String, String> options) {
+        ExtractionPlan plan = ExtractionPlan.ALL;
+        if (options.containsKey("fields")) {
+            String[] names = options.get("fields").split(",");
+            ReservationField[] fields = new ReservationField[names.length];
+            for (int i = 0; i < names.length; i++) {
+                try {
+                    fields[i] = ReservationField.valueOf(names[i].trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unbekanntes Feld: " + names[i].trim());
+                }
+            }
+            plan = ExtractionPlan.of(fields);
+        }
+        return Boolean.parseBoolean(options.getOrDefault("fail-fast", "false")) ? plan.failFast() : plan;
+    }
+
+    private static ForkJoinPool batchPool(Map<String, String> options) {
+        return options.containsKey("threads")
+                ? new ForkJoinPool(Integer.parseInt(options.get("threads")))
+                : ForkJoinPool.commonPool();
+    }
+
+    private static void runFileIngest(Map<String, String> options) throws IOException {
+        ForkJoinPool pool = batchPool(options);
+        try {
+            ReservationExtractorService service = newService(options, pool);
+            FileIngestRunner runner = new FileIngestRunner(
+                    service,
+                    FileIngestRunner.OutputFormat.valueOf(options.getOrDefault("format", "text").toUpperCase(Locale.ROOT)),
+                    Integer.parseInt(options.getOrDefault("chunk-size", String.valueOf(FileIngestRunner.DEFAULT_CHUNK_SIZE))),
+                    Integer.parseInt(options.getOrDefault("max-line-length",
+                            String.valueOf(FileIngestRunner.DEFAULT_MAX_LINE_LENGTH))),
+                    options.getOrDefault("json-field", FileIngestRunner.DEFAULT_JSON_FIELD),
+                    Integer.parseInt(options.getOrDefault("dedup", "0")));
+
+            Path output = Paths.get(options.get("output"));
+            long start = System.nanoTime();
+            FileIngestRunner.Summary summary = options.containsKey("mbox")
+                    ? runner.runMbox(Paths.get(options.get("mbox")), output)
+                    : runner.run(Paths.get(options.get("input")), output);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            System.err.println(summary + " in " + millis + " ms");
+            if (service.getCache() != null) {
+                System.err.println(service.getCache());
+            }
+            if (options.containsKey("metrics-interval")) {
+                System.err.print(MetricsRegistry.getDefault().dump());
+            }
+        } finally {
+            if (pool != ForkJoinPool.commonPool()) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    // "--name wert"-Paare; null bei ungültigen Argumenten
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                return null;
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    private static void runInteractive(ReservationExtractorService service) {
         Scanner scanner = new Scanner(System.in, "UTF-8");
-        
+
         System.out.println("=== Restaurant Reservation Information Extractor ===");
         System.out.println("Geben Sie Ihre Reservierungsanfrage ein (oder 'exit' zum Beenden):\n");
-        
+
         try {
             while (true) {
                 try {
                     System.out.print("Eingabe: ");
                     String input = scanner.nextLine();
-                    
+
                     if (input.trim().equalsIgnoreCase("exit")) {
                         System.out.println("\nAnwendung wird beendet. Auf Wiedersehen!");
                         break;
                     }
-                    
+
                     if (input.trim().isEmpty()) {
                         continue;
                     }
-                    
+
                     try {
-                        Reservation reservation = service.extractReservationInfo(input);
-                        System.out.println("Extrahiert: " + reservation);
-                    } catch (IllegalArgumentException e) {
-                        System.out.println("Fehler: " + e.getMessage());
+                        ExtractionResult result = service.tryExtractReservationInfo(input);
+                        if (result.isComplete()) {
+                            System.out.println("Extrahiert: " + result.getReservation());
+                        } else {
+                            System.out.println("Fehler: " + result.getErrorMessage());
+                        }
                     } catch (Exception e) {
                         System.out.println("Fehler: Unerwarteter Fehler bei der Verarbeitung");
                     }
-                    
+
                     System.out.println();
                 } catch (java.util.NoSuchElementException e) {
                     break;  // Ctrl+C
@@ -48,4 +257,4 @@ public class ReservationApp {
             scanner.close();
         }
     }
-}
\ No newline at end of file
+}
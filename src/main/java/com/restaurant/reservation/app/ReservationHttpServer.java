@@ -0,0 +1,220 @@
+package com.restaurant.reservation.app;
+
+import com.restaurant.reservation.io.NdjsonResultWriter;
+import com.restaurant.reservation.model.ExtractionResult;
+import com.restaurant.reservation.service.ReservationExtractorService;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Eingebetteter HTTP-Server (nur JDK) für Einzel- und Batch-Extraktion mit begrenzter Warteschlange. */
+public class ReservationHttpServer {
+
+    public static final int DEFAULT_MAX_BODY_BYTES = 16 * 1024 * 1024;
+
+    private static final int RESPONSE_BUFFER_SIZE = 8192;
+
+    // Über dem Limit wird die Anfrage noch im Dispatcher-Thread mit 503 beantwortet
+    private static final ThreadLocal<Boolean> OVERLOADED = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final ReservationExtractorService service;
+    private final HttpServer server;
+    private final ExecutorService workers;
+    private final Semaphore permits;
+    private final int maxBodyBytes;
+    private final AtomicInteger rejected = new AtomicInteger();
+
+    /**
+     * Erstellt den Server.
+     *
+     * @param workerThreads  Anzahl Worker-Threads (ignoriert bei virtuellen Threads)
+     * @param queueCapacity  Anfragen, die zusätzlich zu den laufenden warten dürfen
+     * @param virtualThreads virtuelle Threads verwenden, falls die JVM sie anbietet (JDK 21+)
+     */
+    public ReservationHttpServer(ReservationExtractorService service, InetSocketAddress address,
+                                 int workerThreads, int queueCapacity, boolean virtualThreads) throws IOException {
+        if (workerThreads < 1 || queueCapacity < 0) {
+            throw new IllegalArgumentException("Ungültige Worker- oder Warteschlangengröße");
+        }
+        this.service = service;
+        this.maxBodyBytes = DEFAULT_MAX_BODY_BYTES;
+        this.permits = new Semaphore(workerThreads + queueCapacity);
+
+        ExecutorService virtual = virtualThreads ? newVirtualThreadExecutor() : null;
+        this.workers = virtual != null ? virtual : Executors.newFixedThreadPool(workerThreads, workerThreadFactory());
+
+        this.server = HttpServer.create(address, 0);
+        this.server.setExecutor(new BoundedExecutor());
+        this.server.createContext("/extract", this::handleExtract);
+        this.server.createContext("/extract/batch", this::handleBatch);
+        this.server.createContext("/health", exchange -> respond(exchange, 200, "text/plain", "OK"));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /** Stoppt den Server und wartet höchstens delaySeconds auf laufende Anfragen. */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        workers.shutdown();
+        try {
+            workers.awaitTermination(delaySeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /** Anzahl der wegen Überlast mit 503 abgewiesenen Anfragen. */
+    public int getRejectedCount() {
+        return rejected.get();
+    }
+
+    private void handleExtract(HttpExchange exchange) throws IOException {
+        String body = readBody(exchange);
+        if (body == null) {
+            return;
+        }
+        String text = isJson(exchange, body) ? NdjsonCodec.readStringField(body, FileIngestRunner.DEFAULT_JSON_FIELD) : body;
+        ExtractionResult result = service.tryExtractReservationInfo(text);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try (NdjsonResultWriter writer = new NdjsonResultWriter(Channels.newChannel(out), RESPONSE_BUFFER_SIZE)) {
+            writer.writeObject(-1, result);
+        }
+        respond(exchange, 200, "application/json; charset=utf-8", out.toByteArray());
+    }
+
+    // Eine Anfrage pro Zeile (Text oder NDJSON), Antwort als NDJSON in derselben Reihenfolge
+    private void handleBatch(HttpExchange exchange) throws IOException {
+        String body = readBody(exchange);
+        if (body == null) {
+            return;
+        }
+        List<String> texts = new ArrayList<>();
+        List<Long> lineNumbers = new ArrayList<>();
+        String[] lines = body.split("\r?\n");
+        for (int i = 0; i < lines.length; i++) {
+            if (!lines[i].trim().isEmpty()) {
+                texts.add(NdjsonCodec.textOfLine(lines[i], FileIngestRunner.DEFAULT_JSON_FIELD));
+                lineNumbers.add((long) i + 1);
+            }
+        }
+
+        List<ExtractionResult> results = service.extractAll(texts);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(results.size() * 128);
+        try (NdjsonResultWriter writer = new NdjsonResultWriter(Channels.newChannel(out), RESPONSE_BUFFER_SIZE)) {
+            for (int i = 0; i < results.size(); i++) {
+                writer.write(lineNumbers.get(i), results.get(i));
+            }
+        }
+        respond(exchange, 200, "application/x-ndjson; charset=utf-8", out.toByteArray());
+    }
+
+    // Liest den Body vollständig (Voraussetzung für Keep-Alive); null wenn bereits geantwortet wurde
+    private String readBody(HttpExchange exchange) throws IOException {
+        if (OVERLOADED.get()) {
+            rejected.incrementAndGet();
+            respond(exchange, 503, "text/plain", "Server ausgelastet");
+            return null;
+        }
+        if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Allow", "POST");
+            respond(exchange, 405, "text/plain", "Nur POST erlaubt");
+            return null;
+        }
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        try (InputStream in = exchange.getRequestBody()) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                if (body.size() + read > maxBodyBytes) {
+                    respond(exchange, 413, "text/plain", "Anfrage zu groß");
+                    return null;
+                }
+                body.write(buffer, 0, read);
+            }
+        }
+        return new String(body.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static boolean isJson(HttpExchange exchange, String body) {
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        return (contentType != null && contentType.contains("json")) || body.trim().startsWith("{");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        respond(exchange, status, contentType, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, byte[] bytes) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);  // feste Länge erhält die Verbindung
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static ThreadFactory workerThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "reservation-http-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() per Reflection, damit der Code mit Java 11 kompiliert
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    // Begrenzt laufende plus wartende Anfragen; darüber hinaus wird sofort abgewiesen statt gepuffert
+    private final class BoundedExecutor implements Executor {
+        @Override
+        public void execute(Runnable exchange) {
+            if (!permits.tryAcquire()) {
+                OVERLOADED.set(Boolean.TRUE);
+                try {
+                    exchange.run();
+                } finally {
+                    OVERLOADED.set(Boolean.FALSE);
+                }
+                return;
+            }
+            workers.execute(() -> {
+                try {
+                    exchange.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+    }
+}
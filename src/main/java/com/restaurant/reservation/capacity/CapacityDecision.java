@@ -0,0 +1,11 @@
+package com.restaurant.reservation.capacity;
+
+/** Entscheidung des {@link CapacityLedger} über eine Reservierung. */
+public enum CapacityDecision {
+    /** Plätze sind für die ganze Verweildauer gebucht. */
+    ACCEPTED,
+    /** Kein Platz frei, die Reservierung steht auf der Warteliste des Start-Slots. */
+    WAITLISTED,
+    /** Weder Platz noch Warteliste frei, Gruppe zu groß oder Tag außerhalb des Zeitraums. */
+    REJECTED
+}
@@ -0,0 +1,251 @@
+package com.restaurant.reservation.capacity;
+
+import com.restaurant.reservation.model.CompactReservation;
+import com.restaurant.reservation.model.Reservation;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Kapazitätsbuch im Speicher: belegte Sitzplätze und Warteliste je Tag und 15-Minuten-Slot in primitiven Arrays
+ * über einen festen Zeitraum. Eine Reservierung belegt ab ihrem Slot die Verweildauer der {@link CapacityPolicy},
+ * längstens bis Mitternacht; sie wird angenommen, wenn in jedem dieser Slots genug Plätze frei sind, sonst auf die
+ * Warteliste ihres Start-Slots gesetzt oder abgelehnt. Jeder Tag ist einer von 64 Sperren zugeordnet,
+ * sodass Buchungen verschiedener Tage kaum konkurrieren.
+ */
+public final class CapacityLedger {
+
+    /** Länge eines Slots in Minuten. */
+    public static final int SLOT_MINUTES = 15;
+
+    /** Slots je Tag. */
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    // Anzahl der Sperren; Zweierpotenz, aufeinanderfolgende Tage landen auf verschiedenen Sperren
+    static final int STRIPES = 64;
+
+    private final CapacityPolicy policy;
+    private final LocalDate firstDay;
+    private final long firstEpochDay;
+    private final int days;
+
+    // Index (Tag - erster Tag) * SLOTS_PER_DAY + Slot
+    private final int[] booked;
+    private final int[] waitlisted;
+    private final Object[] locks = new Object[STRIPES];
+
+    /**
+     * Erstellt ein leeres Kapazitätsbuch.
+     *
+     * @param firstDay erster Tag des Zeitraums
+     * @param days     Anzahl Tage; Reservierungen außerhalb werden abgelehnt
+     */
+    public CapacityLedger(CapacityPolicy policy, LocalDate firstDay, int days) {
+        if (policy == null || firstDay == null) {
+            throw new IllegalArgumentException("Richtlinie und erster Tag dürfen nicht null sein");
+        }
+        if (days < 1 || (long) days * SLOTS_PER_DAY > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Anzahl Tage muss zwischen 1 und "
+                    + Integer.MAX_VALUE / SLOTS_PER_DAY + " liegen");
+        }
+        this.policy = policy;
+        this.firstDay = firstDay;
+        this.firstEpochDay = firstDay.toEpochDay();
+        this.days = days;
+        this.booked = new int[days * SLOTS_PER_DAY];
+        this.waitlisted = new int[days * SLOTS_PER_DAY];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    public CapacityPolicy getPolicy() {
+        return policy;
+    }
+
+    public LocalDate getFirstDay() {
+        return firstDay;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    /** Bucht Datum, Uhrzeit und Personenanzahl der Reservierung. */
+    public CapacityDecision book(Reservation reservation) {
+        checkReservation(reservation);
+        return book(reservation.getDate(), reservation.getTime(), reservation.getNumberOfPeople());
+    }
+
+    /** Wie {@link #book(Reservation)} für die kompakte Darstellung, ohne LocalDate und LocalTime. */
+    public CapacityDecision book(CompactReservation reservation) {
+        if (reservation == null) {
+            throw new IllegalArgumentException("Reservierung darf nicht null sein");
+        }
+        return book(reservation.getEpochDay(), reservation.getMinuteOfDay(), reservation.getNumberOfPeople());
+    }
+
+    public CapacityDecision book(LocalDate date, LocalTime time, int people) {
+        return book(date.toEpochDay(), minuteOf(time), people);
+    }
+
+    /**
+     * Bucht people Plätze ab der Minute des Tages (0 bis 1439) für die Verweildauer.
+     *
+     * @return ACCEPTED, WAITLISTED oder REJECTED; bei REJECTED bleibt das Buch unverändert
+     */
+    public CapacityDecision book(long epochDay, int minuteOfDay, int people) {
+        checkArguments(minuteOfDay, people);
+        int day = dayIndex(epochDay);
+        if (day < 0 || people > policy.getMaxPartySize()) {
+            return CapacityDecision.REJECTED;
+        }
+        int first = day * SLOTS_PER_DAY + minuteOfDay / SLOT_MINUTES;
+        int end = endOfStay(day, first);
+        int seats = policy.getSeatsPerSlot();
+        synchronized (lockOf(day)) {
+            boolean fits = true;
+            for (int i = first; i < end && fits; i++) {
+                fits = booked[i] + people <= seats;
+            }
+            if (fits) {
+                for (int i = first; i < end; i++) {
+                    booked[i] += people;
+                }
+                return CapacityDecision.ACCEPTED;
+            }
+            if (waitlisted[first] + people <= policy.getWaitlistSeatsPerSlot()) {
+                waitlisted[first] += people;
+                return CapacityDecision.WAITLISTED;
+            }
+            return CapacityDecision.REJECTED;
+        }
+    }
+
+    /** Gibt die Plätze einer angenommenen Reservierung wieder frei. */
+    public boolean cancel(Reservation reservation) {
+        checkReservation(reservation);
+        return cancel(reservation.getDate().toEpochDay(), minuteOf(reservation.getTime()),
+                reservation.getNumberOfPeople());
+    }
+
+    /**
+     * Gibt people Plätze ab der Minute des Tages für die Verweildauer frei.
+     *
+     * @return false ohne Änderung, wenn in einem der Slots weniger Plätze gebucht sind oder der Tag außerhalb liegt
+     */
+    public boolean cancel(long epochDay, int minuteOfDay, int people) {
+        checkArguments(minuteOfDay, people);
+        int day = dayIndex(epochDay);
+        if (day < 0) {
+            return false;
+        }
+        int first = day * SLOTS_PER_DAY + minuteOfDay / SLOT_MINUTES;
+        int end = endOfStay(day, first);
+        synchronized (lockOf(day)) {
+            for (int i = first; i < end; i++) {
+                if (booked[i] < people) {
+                    return false;
+                }
+            }
+            for (int i = first; i < end; i++) {
+                booked[i] -= people;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Nimmt people Plätze von der Warteliste des Slots, z. B. nach Rückzug oder erfolgreicher Neubuchung.
+     *
+     * @return false ohne Änderung, wenn weniger Plätze auf der Warteliste stehen oder der Tag außerhalb liegt
+     */
+    public boolean removeFromWaitlist(long epochDay, int minuteOfDay, int people) {
+        checkArguments(minuteOfDay, people);
+        int day = dayIndex(epochDay);
+        if (day < 0) {
+            return false;
+        }
+        int slot = day * SLOTS_PER_DAY + minuteOfDay / SLOT_MINUTES;
+        synchronized (lockOf(day)) {
+            if (waitlisted[slot] < people) {
+                return false;
+            }
+            waitlisted[slot] -= people;
+            return true;
+        }
+    }
+
+    /** Plätze, die eine Reservierung ab diesem Zeitpunkt noch für die ganze Verweildauer erhielte; 0 außerhalb. */
+    public int getAvailableSeats(LocalDate date, LocalTime time) {
+        int day = dayIndex(date.toEpochDay());
+        if (day < 0) {
+            return 0;
+        }
+        int first = day * SLOTS_PER_DAY + minuteOf(time) / SLOT_MINUTES;
+        int end = endOfStay(day, first);
+        synchronized (lockOf(day)) {
+            int maxBooked = 0;
+            for (int i = first; i < end; i++) {
+                maxBooked = Math.max(maxBooked, booked[i]);
+            }
+            return policy.getSeatsPerSlot() - maxBooked;
+        }
+    }
+
+    /** Belegte Plätze im Slot des Zeitpunkts, auch durch früher beginnende Reservierungen; 0 außerhalb. */
+    public int getBookedSeats(LocalDate date, LocalTime time) {
+        return read(booked, date, time);
+    }
+
+    /** Plätze auf der Warteliste des Slots; 0 außerhalb. */
+    public int getWaitlistedSeats(LocalDate date, LocalTime time) {
+        return read(waitlisted, date, time);
+    }
+
+    private int read(int[] counts, LocalDate date, LocalTime time) {
+        int day = dayIndex(date.toEpochDay());
+        if (day < 0) {
+            return 0;
+        }
+        synchronized (lockOf(day)) {
+            return counts[day * SLOTS_PER_DAY + minuteOf(time) / SLOT_MINUTES];
+        }
+    }
+
+    // Index des Tages im Zeitraum oder -1
+    private int dayIndex(long epochDay) {
+        long day = epochDay - firstEpochDay;
+        return day >= 0 && day < days ? (int) day : -1;
+    }
+
+    // Ende der Belegung (exklusiv), längstens bis Mitternacht
+    private int endOfStay(int day, int first) {
+        return Math.min(first + policy.getSlotsPerBooking(), (day + 1) * SLOTS_PER_DAY);
+    }
+
+    private Object lockOf(int day) {
+        return locks[day & (STRIPES - 1)];
+    }
+
+    private static int minuteOf(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static void checkArguments(int minuteOfDay, int people) {
+        if (minuteOfDay < 0 || minuteOfDay >= 24 * 60 || people < 1) {
+            throw new IllegalArgumentException("Minute muss zwischen 0 und 1439 liegen und Personenanzahl positiv sein");
+        }
+    }
+
+    private static void checkReservation(Reservation reservation) {
+        if (reservation == null || reservation.getDate() == null || reservation.getTime() == null) {
+            throw new IllegalArgumentException("Reservierung mit Datum und Uhrzeit erforderlich");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Kapazitätsbuch ab " + firstDay + " für " + days + " Tage, " + policy;
+    }
+}
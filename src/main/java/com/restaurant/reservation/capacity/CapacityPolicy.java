@@ -0,0 +1,52 @@
+package com.restaurant.reservation.capacity;
+
+/** Kapazität je 15-Minuten-Slot: Sitzplätze, Warteliste, Verweildauer einer Reservierung und größte Gruppe. */
+public final class CapacityPolicy {
+
+    private final int seatsPerSlot;
+    private final int waitlistSeatsPerSlot;
+    private final int slotsPerBooking;
+    private final int maxPartySize;
+
+    /**
+     * Erstellt die Richtlinie.
+     *
+     * @param seatsPerSlot         gleichzeitig belegbare Sitzplätze
+     * @param waitlistSeatsPerSlot Plätze auf der Warteliste je Start-Slot, 0 für keine Warteliste
+     * @param slotsPerBooking      Verweildauer einer Reservierung in 15-Minuten-Slots, z. B. 8 für zwei Stunden
+     * @param maxPartySize         größere Gruppen werden abgelehnt
+     */
+    public CapacityPolicy(int seatsPerSlot, int waitlistSeatsPerSlot, int slotsPerBooking, int maxPartySize) {
+        if (seatsPerSlot < 1 || waitlistSeatsPerSlot < 0 || slotsPerBooking < 1
+                || slotsPerBooking > CapacityLedger.SLOTS_PER_DAY || maxPartySize < 1) {
+            throw new IllegalArgumentException("Plätze, Verweildauer (1 bis " + CapacityLedger.SLOTS_PER_DAY
+                    + " Slots) und Gruppengröße müssen positiv, die Warteliste darf nicht negativ sein");
+        }
+        this.seatsPerSlot = seatsPerSlot;
+        this.waitlistSeatsPerSlot = waitlistSeatsPerSlot;
+        this.slotsPerBooking = slotsPerBooking;
+        this.maxPartySize = maxPartySize;
+    }
+
+    public int getSeatsPerSlot() {
+        return seatsPerSlot;
+    }
+
+    public int getWaitlistSeatsPerSlot() {
+        return waitlistSeatsPerSlot;
+    }
+
+    public int getSlotsPerBooking() {
+        return slotsPerBooking;
+    }
+
+    public int getMaxPartySize() {
+        return maxPartySize;
+    }
+
+    @Override
+    public String toString() {
+        return seatsPerSlot + " Plätze je Slot, Warteliste " + waitlistSeatsPerSlot + ", Verweildauer "
+                + slotsPerBooking * CapacityLedger.SLOT_MINUTES + " min, Gruppen bis " + maxPartySize;
+    }
+}
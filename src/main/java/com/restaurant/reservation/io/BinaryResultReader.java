@@ -0,0 +1,105 @@
+package com.restaurant.reservation.io;
+
+import com.restaurant.reservation.model.ExtractionResult;
+import com.restaurant.reservation.model.FieldStatus;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/** Liest das Binärformat von {@link BinaryResultWriter} Datensatz für Datensatz. */
+public class BinaryResultReader implements Closeable {
+
+    private static final FieldStatus[] STATUSES = FieldStatus.values();
+
+    // Feste Länge eines Datensatzes vor den Namensbytes
+    private static final int FIXED_LENGTH = 8 + 4 + 4 + 2 + 1 + 2;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(ResultWriter.DEFAULT_BUFFER_SIZE);
+    private boolean magicRead;
+    private boolean endOfInput;
+    private long line;
+
+    public BinaryResultReader(ReadableByteChannel channel) {
+        if (channel == null) {
+            throw new IllegalArgumentException("Kanal darf nicht null sein");
+        }
+        this.channel = channel;
+        buffer.limit(0);
+    }
+
+    /** Liest den nächsten Datensatz oder liefert null am Ende der Eingabe. */
+    public ExtractionResult read() throws IOException {
+        if (!magicRead) {
+            if (!fill(BinaryResultWriter.MAGIC.length)) {
+                throw new IOException("Keine Ergebnisdatei: Kennung fehlt");
+            }
+            for (byte b : BinaryResultWriter.MAGIC) {
+                if (buffer.get() != b) {
+                    throw new IOException("Keine Ergebnisdatei: falsche Kennung");
+                }
+            }
+            magicRead = true;
+        }
+        if (!fill(1)) {
+            return null;
+        }
+        if (!fill(FIXED_LENGTH)) {
+            throw new EOFException("Datensatz unvollständig");
+        }
+        line = buffer.getLong();
+        FieldStatus nameStatus = status(buffer.get());
+        FieldStatus dateStatus = status(buffer.get());
+        FieldStatus timeStatus = status(buffer.get());
+        FieldStatus peopleStatus = status(buffer.get());
+        int epochDay = buffer.getInt();
+        int minuteOfDay = buffer.getShort();
+        int people = buffer.get();
+        int nameLength = buffer.getShort();
+
+        String name = null;
+        if (nameLength >= 0) {
+            if (!fill(nameLength)) {
+                throw new EOFException("Name unvollständig");
+            }
+            name = new String(buffer.array(), buffer.position(), nameLength, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + nameLength);
+        }
+        LocalDate date = epochDay != BinaryResultWriter.NO_DATE ? LocalDate.ofEpochDay(epochDay) : null;
+        LocalTime time = minuteOfDay >= 0 ? LocalTime.of(minuteOfDay / 60, minuteOfDay % 60) : null;
+        return new ExtractionResult(name, nameStatus, date, dateStatus, time, timeStatus, people, peopleStatus);
+    }
+
+    /** Zeilennummer des zuletzt gelesenen Datensatzes (-1 wenn ohne Zeilennummer geschrieben). */
+    public long getLine() {
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // Sorgt für mindestens bytes lesbare Bytes; false wenn die Eingabe vorher endet
+    private boolean fill(int bytes) throws IOException {
+        while (buffer.remaining() < bytes && !endOfInput) {
+            buffer.compact();
+            endOfInput = channel.read(buffer) < 0;
+            buffer.flip();
+        }
+        return buffer.remaining() >= bytes;
+    }
+
+    private static FieldStatus status(byte ordinal) throws IOException {
+        if (ordinal < 0 || ordinal >= STATUSES.length) {
+            throw new IOException("Ungültiger Status im Datensatz: " + ordinal);
+        }
+        return STATUSES[ordinal];
+    }
+}
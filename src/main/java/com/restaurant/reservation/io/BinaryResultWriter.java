@@ -0,0 +1,85 @@
+package com.restaurant.reservation.io;
+
+import com.restaurant.reservation.model.ExtractionResult;
+import com.restaurant.reservation.model.ReservationField;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.time.LocalTime;
+
+/**
+ * Schreibt Ergebnisse in einem kompakten Binärformat (Big Endian), lesbar mit {@link BinaryResultReader}.
+ *
+ * <p>Die Datei beginnt mit {@code "RSV1"}, danach folgt pro Ergebnis: long Zeilennummer, je ein Byte
+ * Status-Ordinal für Name, Datum, Uhrzeit und Personen, int Epochentag ({@link #NO_DATE} wenn fehlend),
+ * short Minute des Tages (-1 wenn fehlend), byte Personenanzahl (0 wenn fehlend) und short Länge des
+ * UTF-8-kodierten Namens (-1 wenn fehlend) mit den Namensbytes.
+ */
+public class BinaryResultWriter extends ResultWriter {
+
+    static final byte[] MAGIC = {'R', 'S', 'V', '1'};
+
+    /** Epochentag für fehlende Daten. */
+    public static final int NO_DATE = Integer.MIN_VALUE;
+
+    private static final ReservationField[] FIELDS = ReservationField.values();
+
+    private boolean magicWritten;
+
+    public BinaryResultWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public BinaryResultWriter(WritableByteChannel channel, int bufferSize) {
+        super(channel, bufferSize);
+    }
+
+    @Override
+    public void write(long line, ExtractionResult result) throws IOException {
+        LocalTime time = result.getTime();
+        if (time != null && (time.getSecond() != 0 || time.getNano() != 0)) {
+            throw new IllegalArgumentException("Uhrzeit mit Sekunden kann nicht binär geschrieben werden: " + time);
+        }
+        long epochDay = result.getDate() != null ? result.getDate().toEpochDay() : NO_DATE;
+        if (result.getDate() != null && (epochDay <= NO_DATE || epochDay > Integer.MAX_VALUE)) {
+            throw new IllegalArgumentException("Datum kann nicht binär geschrieben werden: " + result.getDate());
+        }
+        Integer people = result.getNumberOfPeople();
+        if (people != null && (people < 0 || people > Byte.MAX_VALUE)) {
+            throw new IllegalArgumentException("Personenanzahl passt nicht in ein Byte: " + people);
+        }
+        String name = result.getCustomerName();
+        int nameLength = name != null ? utf8Length(name, 0, name.length()) : -1;
+        if (nameLength > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Name ist zu lang für das Binärformat");
+        }
+
+        writeMagic();
+        putLong(line);
+        for (ReservationField field : FIELDS) {
+            putByte(result.getStatus(field).ordinal());
+        }
+        putInt((int) epochDay);
+        putShort(time != null ? time.getHour() * 60 + time.getMinute() : -1);
+        putByte(people != null ? people : 0);
+        putShort(nameLength);
+        if (name != null) {
+            putUtf8(name, 0, name.length());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writeMagic();
+        super.close();
+    }
+
+    private void writeMagic() throws IOException {
+        if (!magicWritten) {
+            magicWritten = true;
+            for (byte b : MAGIC) {
+                putByte(b);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.restaurant.reservation.io;
+
+import com.restaurant.reservation.model.ExtractionResult;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+/** Schreibt Ergebnisse als CSV nach RFC 4180 mit Kopfzeile und '\n' als Zeilenende. */
+public class CsvResultWriter extends ResultWriter {
+
+    public static final String HEADER = "line,complete,customerName,date,time,numberOfPeople,error";
+
+    private boolean headerWritten;
+
+    public CsvResultWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public CsvResultWriter(WritableByteChannel channel, int bufferSize) {
+        super(channel, bufferSize);
+    }
+
+    @Override
+    public void write(long line, ExtractionResult result) throws IOException {
+        writeHeader();
+        if (line >= 0) {
+            putDecimal(line);
+        }
+        putAscii(result.isComplete() ? ",true," : ",false,");
+        String name = result.getCustomerName();
+        if (name != null) {
+            putField(name);
+        }
+        putByte(',');
+        if (result.getDate() != null) {
+            putDate(result.getDate());
+        }
+        putByte(',');
+        if (result.getTime() != null) {
+            putTime(result.getTime());
+        }
+        putByte(',');
+        Integer people = result.getNumberOfPeople();
+        if (people != null) {
+            putDecimal(people);
+        }
+        putByte(',');
+        if (!result.isComplete()) {
+            putByte('"');
+            putErrorMessage(result);
+            putByte('"');
+        }
+        putByte('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        writeHeader();
+        super.close();
+    }
+
+    @Override
+    protected void putMessage(String text) throws IOException {
+        putQuoted(text);
+    }
+
+    private void writeHeader() throws IOException {
+        if (!headerWritten) {
+            headerWritten = true;
+            putAscii(HEADER);
+            putByte('\n');
+        }
+    }
+
+    // Anführungszeichen nur, wenn der Wert Trennzeichen, Anführungszeichen oder Zeilenumbrüche enthält
+    private void putField(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            putUtf8(value, 0, value.length());
+            return;
+        }
+        putByte('"');
+        putQuoted(value);
+        putByte('"');
+    }
+
+    // Inhalt eines Feldes in Anführungszeichen: '"' wird verdoppelt
+    private void putQuoted(String value) throws IOException {
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                putUtf8(value, start, i + 1);
+                putByte('"');
+                start = i + 1;
+            }
+        }
+        putUtf8(value, start, value.length());
+    }
+}
@@ -0,0 +1,136 @@
+package com.restaurant.reservation.io;
+
+import com.restaurant.reservation.model.ExtractionResult;
+import com.restaurant.reservation.model.ReservationField;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+/** Schreibt ein JSON-Objekt pro Ergebnis und Zeile (NDJSON); Duplikate tragen {@code "duplicateOf"}. */
+public class NdjsonResultWriter extends ResultWriter {
+
+    private static final ReservationField[] FIELDS = ReservationField.values();
+    private static final String[] FIELD_NAMES = {"customerName", "date", "time", "numberOfPeople"};
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    public NdjsonResultWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public NdjsonResultWriter(WritableByteChannel channel, int bufferSize) {
+        super(channel, bufferSize);
+    }
+
+    @Override
+    public void write(long line, ExtractionResult result) throws IOException {
+        writeObject(line, result);
+        putByte('\n');
+    }
+
+    @Override
+    public void writeDuplicate(long line, ExtractionResult result, long originalLine) throws IOException {
+        writeObject(line, result, originalLine);
+        putByte('\n');
+    }
+
+    /** Schreibt das JSON-Objekt ohne Zeilenumbruch; line &lt; 0 lässt die Zeilennummer weg. */
+    public void writeObject(long line, ExtractionResult result) throws IOException {
+        writeObject(line, result, -1);
+    }
+
+    private void writeObject(long line, ExtractionResult result, long duplicateOf) throws IOException {
+        putByte('{');
+        if (line >= 0) {
+            putAscii("\"line\":");
+            putDecimal(line);
+            putByte(',');
+        }
+        putAscii(result.isComplete() ? "\"complete\":true" : "\"complete\":false");
+        if (result.getCustomerName() != null) {
+            putAscii(",\"customerName\":");
+            putString(result.getCustomerName());
+        }
+        if (result.getDate() != null) {
+            putAscii(",\"date\":\"");
+            putDate(result.getDate());
+            putByte('"');
+        }
+        if (result.getTime() != null) {
+            putAscii(",\"time\":\"");
+            putTime(result.getTime());
+            putByte('"');
+        }
+        Integer people = result.getNumberOfPeople();
+        if (people != null) {
+            putAscii(",\"numberOfPeople\":");
+            putDecimal(people);
+        }
+        if (!result.isComplete()) {
+            putAscii(",\"error\":\"");
+            putErrorMessage(result);
+            putAscii("\",\"status\":{");
+            for (int i = 0; i < FIELDS.length; i++) {
+                if (i > 0) {
+                    putByte(',');
+                }
+                putByte('"');
+                putAscii(FIELD_NAMES[i]);
+                putAscii("\":\"");
+                putAscii(result.getStatus(FIELDS[i]).name());
+                putByte('"');
+            }
+            putByte('}');
+        }
+        if (duplicateOf >= 0) {
+            putAscii(",\"duplicateOf\":");
+            putDecimal(duplicateOf);
+        }
+        putByte('}');
+    }
+
+    @Override
+    protected void putMessage(String text) throws IOException {
+        putEscaped(text);
+    }
+
+    private void putString(String value) throws IOException {
+        putByte('"');
+        putEscaped(value);
+        putByte('"');
+    }
+
+    private void putEscaped(String value) throws IOException {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    putAscii("\\\"");
+                    break;
+                case '\\':
+                    putAscii("\\\\");
+                    break;
+                case '\n':
+                    putAscii("\\n");
+                    break;
+                case '\r':
+                    putAscii("\\r");
+                    break;
+                case '\t':
+                    putAscii("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        putAscii("\\u00");
+                        putByte(HEX[c >> 4]);
+                        putByte(HEX[c & 0xF]);
+                    } else {
+                        putUtf8Char(value, i, length);
+                        if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                            i++;
+                        }
+                    }
+            }
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.restaurant.reservation.io;
+
+import com.restaurant.reservation.model.ExtractionResult;
+import com.restaurant.reservation.model.Reservation;
+import com.restaurant.reservation.model.ReservationField;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Basis der Ergebnis-Writer: Zahlen, Datum, Uhrzeit und Texte werden direkt als Bytes in einen
+ * wiederverwendeten Puffer geschrieben und blockweise an den Kanal übergeben. Nicht threadsicher.
+ */
+public abstract class ResultWriter implements Closeable, Flushable {
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private static final ReservationField[] FIELDS = ReservationField.values();
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+
+    protected ResultWriter(WritableByteChannel channel, int bufferSize) {
+        if (channel == null) {
+            throw new IllegalArgumentException("Kanal darf nicht null sein");
+        }
+        // Mindestgröße für die längsten festen Einzelschreibvorgänge (Zahlen, Datum, ein Zeichen)
+        if (bufferSize < 64) {
+            throw new IllegalArgumentException("Puffergröße muss mindestens 64 Bytes betragen");
+        }
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+    }
+
+    /** Schreibt ein Ergebnis; line &lt; 0 lässt die Zeilennummer weg. */
+    public abstract void write(long line, ExtractionResult result) throws IOException;
+
+    /**
+     * Schreibt das übernommene Ergebnis eines Duplikats von Datensatz originalLine. Formate ohne eigene Kennzeichnung
+     * schreiben es wie {@link #write(long, ExtractionResult)}.
+     */
+    public void writeDuplicate(long line, ExtractionResult result, long originalLine) throws IOException {
+        write(line, result);
+    }
+
+    /** Schreibt eine vollständige Reservierung ohne Zeilennummer. */
+    public void write(Reservation reservation) throws IOException {
+        write(-1, ExtractionResult.of(reservation));
+    }
+
+    /** Übergibt den Pufferinhalt vollständig an den Kanal. */
+    @Override
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /** Stellt sicher, dass mindestens bytes freie Bytes im Puffer sind. */
+    protected final void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    protected final void putByte(int b) throws IOException {
+        ensure(1);
+        buffer.put((byte) b);
+    }
+
+    protected final void putShort(int value) throws IOException {
+        ensure(2);
+        buffer.putShort((short) value);
+    }
+
+    protected final void putInt(int value) throws IOException {
+        ensure(4);
+        buffer.putInt(value);
+    }
+
+    protected final void putLong(long value) throws IOException {
+        ensure(8);
+        buffer.putLong(value);
+    }
+
+    /** Schreibt einen reinen ASCII-Text (Feldnamen, Konstanten). */
+    protected final void putAscii(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            putByte(text.charAt(i));
+        }
+    }
+
+    /** Schreibt die Dezimaldarstellung ohne Zwischenstring. */
+    protected final void putDecimal(long value) throws IOException {
+        ensure(20);
+        if (value < 0) {
+            buffer.put((byte) '-');
+            if (value == Long.MIN_VALUE) {
+                // -9223372036854775808 ist nicht negierbar
+                putDecimal(-(value / 10));
+                buffer.put((byte) '8');
+                return;
+            }
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        int end = buffer.position() + digits;
+        for (int pos = end - 1; pos >= buffer.position(); pos--) {
+            buffer.put(pos, (byte) ('0' + value % 10));
+            value /= 10;
+        }
+        buffer.position(end);
+    }
+
+    protected final void putTwoDigits(int value) throws IOException {
+        ensure(2);
+        buffer.put((byte) ('0' + value / 10));
+        buffer.put((byte) ('0' + value % 10));
+    }
+
+    /** Schreibt das Datum im ISO-Format wie LocalDate.toString(). */
+    protected final void putDate(LocalDate date) throws IOException {
+        int year = date.getYear();
+        if (year < 1000 || year > 9999) {
+            putAscii(date.toString());
+            return;
+        }
+        putDecimal(year);
+        putByte('-');
+        putTwoDigits(date.getMonthValue());
+        putByte('-');
+        putTwoDigits(date.getDayOfMonth());
+    }
+
+    /** Schreibt die Uhrzeit wie LocalTime.toString(), im Normalfall also HH:mm. */
+    protected final void putTime(LocalTime time) throws IOException {
+        if (time.getSecond() != 0 || time.getNano() != 0) {
+            putAscii(time.toString());
+            return;
+        }
+        putTwoDigits(time.getHour());
+        putByte(':');
+        putTwoDigits(time.getMinute());
+    }
+
+    /** Kodiert text[from, to) als UTF-8; einzelne Surrogate werden zu '?' wie bei String.getBytes. */
+    protected final void putUtf8(CharSequence text, int from, int to) throws IOException {
+        for (int i = from; i < to; i++) {
+            putUtf8Char(text, i, to);
+            if (Character.isHighSurrogate(text.charAt(i)) && i + 1 < to && Character.isLowSurrogate(text.charAt(i + 1))) {
+                i++;
+            }
+        }
+    }
+
+    /** Kodiert das Zeichen an index (bei gültigem Surrogatpaar den ganzen Codepoint) als UTF-8. */
+    protected final void putUtf8Char(CharSequence text, int index, int to) throws IOException {
+        ensure(4);
+        char c = text.charAt(index);
+        if (c < 0x80) {
+            buffer.put((byte) c);
+        } else if (c < 0x800) {
+            buffer.put((byte) (0xC0 | (c >> 6)));
+            buffer.put((byte) (0x80 | (c & 0x3F)));
+        } else if (!Character.isSurrogate(c)) {
+            buffer.put((byte) (0xE0 | (c >> 12)));
+            buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (c & 0x3F)));
+        } else if (Character.isHighSurrogate(c) && index + 1 < to && Character.isLowSurrogate(text.charAt(index + 1))) {
+            int codePoint = Character.toCodePoint(c, text.charAt(index + 1));
+            buffer.put((byte) (0xF0 | (codePoint >> 18)));
+            buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+            buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+        } else {
+            buffer.put((byte) '?');
+        }
+    }
+
+    /** Anzahl der UTF-8-Bytes von text[from, to), passend zu {@link #putUtf8}. */
+    protected static int utf8Length(CharSequence text, int from, int to) {
+        int length = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += Character.isSurrogate(c) ? 1 : 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Schreibt die Fehlermeldungen wie {@link ExtractionResult#getErrorMessage()}, ohne sie zu einem String
+     * zusammenzusetzen, bzw. {@link ExtractionResult#SKIPPED_MESSAGE}, wenn nur übersprungene Felder fehlen.
+     * Die Meldungen werden über {@link #putMessage} ausgegeben.
+     */
+    protected final void putErrorMessage(ExtractionResult result) throws IOException {
+        String previous = null;
+        for (ReservationField field : FIELDS) {
+            String error = field.errorMessage(result.getStatus(field));
+            if (error != null && !error.equals(previous)) {
+                if (previous != null) {
+                    putMessage(" ");
+                }
+                putMessage(error);
+                previous = error;
+            }
+        }
+        if (previous == null) {
+            putMessage(ExtractionResult.SKIPPED_MESSAGE);
+        }
+    }
+
+    /** Gibt einen Teil der Fehlermeldung aus; Unterklassen maskieren hier nach ihrem Format. */
+    protected void putMessage(String text) throws IOException {
+        putUtf8(text, 0, text.length());
+    }
+}
@@ -0,0 +1,66 @@
+package com.restaurant.reservation.io;
+
+import com.restaurant.reservation.model.ExtractionResult;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Schreibt Zeilennummer, Tabulator und Reservierung im Format von Reservation.toString() bzw. die Fehlermeldung;
+ * Duplikate erhalten zusätzlich Tabulator und "Duplikat von Zeile N".
+ */
+public class TextResultWriter extends ResultWriter {
+
+    public TextResultWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public TextResultWriter(WritableByteChannel channel, int bufferSize) {
+        super(channel, bufferSize);
+    }
+
+    @Override
+    public void write(long line, ExtractionResult result) throws IOException {
+        writeRecord(line, result);
+        putByte('\n');
+    }
+
+    @Override
+    public void writeDuplicate(long line, ExtractionResult result, long originalLine) throws IOException {
+        writeRecord(line, result);
+        putAscii("\tDuplikat von Zeile ");
+        putDecimal(originalLine);
+        putByte('\n');
+    }
+
+    private void writeRecord(long line, ExtractionResult result) throws IOException {
+        if (line >= 0) {
+            putDecimal(line);
+            putByte('\t');
+        }
+        if (result.isComplete()) {
+            // (Name, TT.MM., HH:mm, N)
+            String name = result.getCustomerName();
+            LocalDate date = result.getDate();
+            LocalTime time = result.getTime();
+            putByte('(');
+            putUtf8(name, 0, name.length());
+            putAscii(", ");
+            putTwoDigits(date.getDayOfMonth());
+            putByte('.');
+            putTwoDigits(date.getMonthValue());
+            putAscii("., ");
+            putTwoDigits(time.getHour());
+            putByte(':');
+            putTwoDigits(time.getMinute());
+            putAscii(", ");
+            putDecimal(result.getNumberOfPeople());
+            putByte(')');
+        } else {
+            putAscii("Fehler: ");
+            putErrorMessage(result);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.restaurant.reservation.mail;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Wandelt HTML in Text: Tags entfernt, Entitäten dekodiert, Block-Elemente als Zeilenumbruch, Leerraum
+ * zusammengefasst. Skripte, Stile und zitierte Blöcke ({@code <blockquote>}, Gmail-Zitate) entfallen samt Inhalt.
+ */
+final class HtmlStripper {
+
+    private static final Set<String> BLOCK_TAGS = new HashSet<>(Arrays.asList(
+            "br", "p", "div", "tr", "li", "ul", "ol", "table", "h1", "h2", "h3", "h4", "h5", "h6", "hr", "pre"));
+
+    private static final Set<String> DROPPED_TAGS = new HashSet<>(Arrays.asList(
+            "script", "style", "head", "title", "blockquote"));
+
+    private static final Map<String, Character> ENTITIES = new HashMap<>();
+
+    static {
+        String[] names = {"amp", "lt", "gt", "quot", "apos", "nbsp", "auml", "ouml", "uuml", "Auml", "Ouml", "Uuml",
+            "szlig", "euro", "ndash", "mdash", "hellip", "shy"};
+        char[] chars = {'&', '<', '>', '"', '\'', ' ', 'ä', 'ö', 'ü', 'Ä', 'Ö', 'Ü', 'ß', '€', '–', '—', '…', 0};
+        for (int i = 0; i < names.length; i++) {
+            ENTITIES.put(names[i], chars[i]);
+        }
+    }
+
+    // Längster Entitätsname bzw. längste numerische Entität, nach der die Suche nach ';' aufgibt
+    private static final int MAX_ENTITY_LENGTH = 10;
+
+    private HtmlStripper() {
+    }
+
+    /** Text des HTML-Dokuments; die Quellpositionen zeigen in html. */
+    static MappedText strip(String html) {
+        MappedText out = new MappedText(html.length() / 2);
+        int length = html.length();
+        int i = 0;
+        while (i < length) {
+            char c = html.charAt(i);
+            if (c == '<') {
+                i = tag(html, i, out);
+            } else if (c == '&') {
+                i = entity(html, i, out);
+            } else if (Character.isWhitespace(c)) {
+                if (out.length() > 0 && out.last() != ' ' && out.last() != '\n') {
+                    out.append(' ', i);
+                }
+                i++;
+            } else {
+                out.append(c, i);
+                i++;
+            }
+        }
+        return out;
+    }
+
+    // Verarbeitet das Tag ab start und liefert die Position dahinter
+    private static int tag(String html, int start, MappedText out) {
+        if (html.startsWith("<!--", start)) {
+            int end = html.indexOf("-->", start + 4);
+            return end < 0 ? html.length() : end + 3;
+        }
+        int close = html.indexOf('>', start + 1);
+        if (close < 0) {
+            return html.length();
+        }
+        int pos = start + 1;
+        boolean endTag = pos < close && html.charAt(pos) == '/';
+        if (endTag) {
+            pos++;
+        }
+        int nameStart = pos;
+        while (pos < close && Character.isLetterOrDigit(html.charAt(pos))) {
+            pos++;
+        }
+        String name = html.substring(nameStart, pos).toLowerCase(Locale.ROOT);
+        if (!endTag && (DROPPED_TAGS.contains(name) || isQuoteContainer(html, pos, close))) {
+            newline(out, start);
+            return skipElement(html, close + 1, name);
+        }
+        if (BLOCK_TAGS.contains(name)) {
+            newline(out, start);
+        }
+        return close + 1;
+    }
+
+    // Gmail und Thunderbird kennzeichnen zitierte Vorgänger-Nachrichten über die Klasse
+    private static boolean isQuoteContainer(String html, int from, int to) {
+        String attributes = html.substring(from, to);
+        return attributes.contains("gmail_quote") || attributes.contains("moz-cite-prefix");
+    }
+
+    // Überspringt bis hinter das passende End-Tag, verschachtelte Elemente gleichen Namens eingeschlossen
+    private static int skipElement(String html, int from, String name) {
+        int depth = 1;
+        int pos = from;
+        while (true) {
+            int open = html.indexOf('<', pos);
+            if (open < 0) {
+                return html.length();
+            }
+            boolean endTag = open + 1 < html.length() && html.charAt(open + 1) == '/';
+            int nameStart = endTag ? open + 2 : open + 1;
+            if (html.regionMatches(true, nameStart, name, 0, name.length())
+                    && (nameStart + name.length() >= html.length()
+                        || !Character.isLetterOrDigit(html.charAt(nameStart + name.length())))) {
+                depth += endTag ? -1 : 1;
+                if (depth == 0) {
+                    int close = html.indexOf('>', nameStart);
+                    return close < 0 ? html.length() : close + 1;
+                }
+            }
+            pos = open + 1;
+        }
+    }
+
+    private static void newline(MappedText out, int source) {
+        if (out.length() == 0 || out.last() == '\n') {
+            return;
+        }
+        if (out.last() == ' ') {
+            out.truncate(out.length() - 1);
+        }
+        out.append('\n', source);
+    }
+
+    // Dekodiert die Entität ab start; unbekannte oder unvollständige Entitäten bleiben als '&' stehen
+    private static int entity(String html, int start, MappedText out) {
+        int semicolon = -1;
+        int limit = Math.min(html.length(), start + 2 + MAX_ENTITY_LENGTH);
+        for (int i = start + 1; i < limit; i++) {
+            if (html.charAt(i) == ';') {
+                semicolon = i;
+                break;
+            }
+        }
+        if (semicolon > start + 1) {
+            int codePoint = decode(html.substring(start + 1, semicolon));
+            if (codePoint >= 0) {
+                if (codePoint == ' ') {
+                    if (out.length() > 0 && out.last() != ' ' && out.last() != '\n') {
+                        out.append(' ', start);
+                    }
+                } else if (codePoint != 0) {
+                    for (char c : Character.toChars(codePoint)) {
+                        out.append(c, start);
+                    }
+                }
+                return semicolon + 1;
+            }
+        }
+        out.append('&', start);
+        return start + 1;
+    }
+
+    // Codepunkt der Entität, 0 für unsichtbare Zeichen, -1 wenn unbekannt
+    private static int decode(String name) {
+        if (name.charAt(0) != '#') {
+            Character c = ENTITIES.get(name);
+            return c != null ? c : -1;
+        }
+        try {
+            int codePoint = name.length() > 1 && (name.charAt(1) == 'x' || name.charAt(1) == 'X')
+                    ? Integer.parseInt(name.substring(2), 16)
+                    : Integer.parseInt(name.substring(1));
+            if (codePoint == 0xA0) {
+                return ' ';
+            }
+            return Character.isValidCodePoint(codePoint) ? codePoint : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.restaurant.reservation.mail;
+
+/**
+ * Für die Extraktion relevanter Text einer E-Mail: der gewählte Textteil, dekodiert, ohne HTML, Zitate und Signatur.
+ * Jede Position lässt sich auf den dekodierten Textteil ({@link #getSource()}) zurückführen; dessen Rohdaten beginnen
+ * bei {@link #getPartOffset()} in der Nachricht.
+ */
+public final class MailBody implements CharSequence {
+
+    private final String text;
+    private final MappedText mapping;
+    private final String source;
+    private final String contentType;
+    private final int partOffset;
+
+    MailBody(MappedText mapping, String source, String contentType, int partOffset) {
+        this.text = mapping.toString();
+        this.mapping = mapping;
+        this.source = source;
+        this.contentType = contentType;
+        this.partOffset = partOffset;
+    }
+
+    /** Dekodierter Text des gewählten Teils vor der Bereinigung. */
+    public String getSource() {
+        return source;
+    }
+
+    /** Medientyp des gewählten Teils, z. B. {@code text/plain}; null wenn die Nachricht keinen Textteil hat. */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /** Byte-Position des gewählten Teils (hinter seinen Kopfzeilen) in der Nachricht. */
+    public int getPartOffset() {
+        return partOffset;
+    }
+
+    /** Position von Zeichen index in {@link #getSource()}; für index == length() die Position hinter dem letzten Zeichen. */
+    public int sourceIndex(int index) {
+        return mapping.sourceIndex(index);
+    }
+
+    @Override
+    public char charAt(int index) {
+        return text.charAt(index);
+    }
+
+    @Override
+    public int length() {
+        return text.length();
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return text.substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -0,0 +1,268 @@
+package com.restaurant.reservation.mail;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Vorstufe für E-Mails: wählt aus der MIME-Struktur den Textteil ({@code text/plain} vor {@code text/html},
+ * Anhänge ausgenommen), dekodiert Transfer-Encoding und Zeichensatz, entfernt HTML, Zitate, Antwortköpfe und
+ * Signatur und liefert nur den verbleibenden Text für die Extraktion. Zustandslos und threadsicher.
+ */
+public final class MailPreprocessor {
+
+    // Tiefer verschachtelte multipart-Teile werden nicht mehr durchsucht
+    private static final int MAX_DEPTH = 8;
+
+    /** Verarbeitet eine vollständige Nachricht (Kopfzeilen und Inhalt). */
+    public MailBody process(byte[] message) {
+        if (message == null) {
+            throw new IllegalArgumentException("Nachricht darf nicht null sein");
+        }
+        return process(message, 0, message.length);
+    }
+
+    /** Verarbeitet die Nachricht in message[offset, offset + length); Positionen im Ergebnis zählen ab offset. */
+    public MailBody process(byte[] message, int offset, int length) {
+        if (message == null) {
+            throw new IllegalArgumentException("Nachricht darf nicht null sein");
+        }
+        if (offset < 0 || length < 0 || offset + length > message.length) {
+            throw new IndexOutOfBoundsException("Bereich " + offset + "+" + length + " außerhalb von 0.." + message.length);
+        }
+        Entity part = select(message, Entity.parse(message, offset, offset + length), 0);
+        if (part == null) {
+            return new MailBody(new MappedText(0), "", null, length);
+        }
+        String source = decodeText(message, part);
+        MappedText text = part.mimeType.equals("text/html") ? HtmlStripper.strip(source) : MappedText.identity(source);
+        return new MailBody(ReplyCleaner.clean(text), source, part.mimeType, part.bodyStart - offset);
+    }
+
+    // Erster passender Textteil; in multipart/alternative wird text/plain bevorzugt
+    private static Entity select(byte[] bytes, Entity entity, int depth) {
+        if (entity.mimeType.startsWith("multipart/")) {
+            String boundary = parameter(entity.header("content-type"), "boundary");
+            if (boundary == null || boundary.isEmpty() || depth >= MAX_DEPTH) {
+                return null;
+            }
+            boolean alternative = entity.mimeType.equals("multipart/alternative");
+            Entity fallback = null;
+            for (Entity part : split(bytes, entity, boundary)) {
+                Entity candidate = select(bytes, part, depth + 1);
+                if (candidate == null) {
+                    continue;
+                }
+                if (!alternative || candidate.mimeType.equals("text/plain")) {
+                    return candidate;
+                }
+                if (fallback == null) {
+                    fallback = candidate;
+                }
+            }
+            return fallback;
+        }
+        String disposition = entity.header("content-disposition");
+        if (disposition != null && disposition.toLowerCase(Locale.ROOT).startsWith("attachment")) {
+            return null;
+        }
+        return entity.mimeType.equals("text/plain") || entity.mimeType.equals("text/html") ? entity : null;
+    }
+
+    private static List<Entity> split(byte[] bytes, Entity entity, String boundary) {
+        byte[] delimiter = ("--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        List<Entity> parts = new ArrayList<>();
+        int partStart = -1;
+        int pos = entity.bodyStart;
+        while (pos < entity.end) {
+            int lineEnd = lineEnd(bytes, pos, entity.end);
+            if (startsWith(bytes, pos, lineEnd, delimiter)) {
+                if (partStart >= 0) {
+                    parts.add(Entity.parse(bytes, partStart, withoutLineBreak(bytes, partStart, pos)));
+                }
+                int after = pos + delimiter.length;
+                if (after + 1 < lineEnd && bytes[after] == '-' && bytes[after + 1] == '-') {
+                    return parts;
+                }
+                partStart = Math.min(lineEnd + 1, entity.end);
+            }
+            pos = lineEnd + 1;
+        }
+        // Fehlender Abschlusstrenner: der letzte Teil reicht bis zum Ende
+        if (partStart >= 0 && partStart < entity.end) {
+            parts.add(Entity.parse(bytes, partStart, entity.end));
+        }
+        return parts;
+    }
+
+    // Der Zeilenumbruch vor einem Trenner gehört zum Trenner
+    private static int withoutLineBreak(byte[] bytes, int start, int end) {
+        if (end > start && bytes[end - 1] == '\n') {
+            end--;
+        }
+        if (end > start && bytes[end - 1] == '\r') {
+            end--;
+        }
+        return end;
+    }
+
+    private static String decodeText(byte[] bytes, Entity part) {
+        String encoding = part.header("content-transfer-encoding");
+        byte[] decoded = TransferDecoder.decode(bytes, part.bodyStart, part.end,
+                encoding != null ? encoding.trim().toLowerCase(Locale.ROOT) : null);
+        Charset charset = charset(parameter(part.header("content-type"), "charset"));
+        if (charset != null) {
+            return new String(decoded, charset);
+        }
+        // Ohne (brauchbare) Angabe: UTF-8, wenn die Bytes gültig sind, sonst Latin-1
+        try {
+            return StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(decoded)).toString();
+        } catch (CharacterCodingException e) {
+            return new String(decoded, StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    // null für fehlende, unbekannte oder US-ASCII-Angaben, die in der Praxis oft 8-Bit-Text verschweigen
+    private static Charset charset(String name) {
+        if (name == null || name.equalsIgnoreCase("us-ascii")) {
+            return null;
+        }
+        try {
+            return Charset.forName(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /** Wert des Parameters name in einem Kopfzeilenwert wie {@code text/plain; charset="utf-8"} oder null. */
+    static String parameter(String value, String name) {
+        if (value == null) {
+            return null;
+        }
+        int length = value.length();
+        int pos = value.indexOf(';');
+        while (pos >= 0 && pos < length) {
+            int start = pos + 1;
+            int end = start;
+            boolean quoted = false;
+            while (end < length && (quoted || value.charAt(end) != ';')) {
+                if (value.charAt(end) == '"') {
+                    quoted = !quoted;
+                }
+                end++;
+            }
+            String parameter = value.substring(start, end).trim();
+            int equals = parameter.indexOf('=');
+            if (equals > 0 && parameter.substring(0, equals).trim().equalsIgnoreCase(name)) {
+                String result = parameter.substring(equals + 1).trim();
+                if (result.length() >= 2 && result.charAt(0) == '"' && result.charAt(result.length() - 1) == '"') {
+                    result = result.substring(1, result.length() - 1);
+                }
+                return result;
+            }
+            pos = end;
+        }
+        return null;
+    }
+
+    private static int lineEnd(byte[] bytes, int from, int end) {
+        int pos = from;
+        while (pos < end && bytes[pos] != '\n') {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean startsWith(byte[] bytes, int from, int end, byte[] prefix) {
+        if (end - from < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[from + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** MIME-Einheit: Kopfzeilen und Lage des Inhalts in der Nachricht. */
+    private static final class Entity {
+        final Map<String, String> headers;
+        final String mimeType;
+        final int bodyStart;
+        final int end;
+
+        private Entity(Map<String, String> headers, int bodyStart, int end) {
+            this.headers = headers;
+            this.bodyStart = bodyStart;
+            this.end = end;
+            String contentType = headers.get("content-type");
+            int semicolon = contentType != null ? contentType.indexOf(';') : -1;
+            String type = contentType == null ? "" : (semicolon >= 0 ? contentType.substring(0, semicolon) : contentType);
+            type = type.trim().toLowerCase(Locale.ROOT);
+            this.mimeType = type.isEmpty() ? "text/plain" : type;
+        }
+
+        String header(String name) {
+            return headers.get(name);
+        }
+
+        // Kopfzeilen bis zur ersten Leerzeile, Fortsetzungszeilen zusammengefügt; Text ohne Kopf ist reiner Inhalt
+        static Entity parse(byte[] bytes, int start, int end) {
+            Map<String, String> headers = new HashMap<>();
+            if (!startsWithHeader(bytes, start, end)) {
+                return new Entity(headers, start, end);
+            }
+            String last = null;
+            int pos = start;
+            while (pos < end) {
+                int lineEnd = lineEnd(bytes, pos, end);
+                int contentEnd = lineEnd > pos && bytes[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+                if (contentEnd == pos) {
+                    return new Entity(headers, Math.min(lineEnd + 1, end), end);
+                }
+                String line = new String(bytes, pos, contentEnd - pos, StandardCharsets.ISO_8859_1);
+                if ((line.charAt(0) == ' ' || line.charAt(0) == '\t') && last != null) {
+                    headers.put(last, headers.get(last) + " " + line.trim());
+                } else {
+                    int colon = line.indexOf(':');
+                    if (colon > 0) {
+                        last = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+                        headers.putIfAbsent(last, line.substring(colon + 1).trim());
+                    }
+                }
+                pos = lineEnd + 1;
+            }
+            return new Entity(headers, end, end);
+        }
+
+        // Erste Zeile leer (Teil ohne Kopf) oder "Name:" mit druckbarem Feldnamen ohne Leerzeichen
+        private static boolean startsWithHeader(byte[] bytes, int start, int end) {
+            int pos = start;
+            while (pos < end) {
+                byte b = bytes[pos];
+                if (b == ':') {
+                    return pos > start;
+                }
+                if (b == '\n' || b == '\r') {
+                    return pos == start;
+                }
+                if (b <= ' ' || b >= 127) {
+                    return false;
+                }
+                pos++;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.restaurant.reservation.mail;
+
+import java.util.Arrays;
+
+/**
+ * Text, der stückweise aus einem Quelltext zusammengesetzt wird und zu jedem Zeichen die Position in der Quelle
+ * kennt. Zusammenhängend übernommene Zeichen teilen sich einen Abschnitt, daher braucht die Abbildung nur Platz
+ * je Lücke, nicht je Zeichen.
+ */
+final class MappedText implements CharSequence {
+
+    private final StringBuilder text;
+    // Abschnitt r beginnt im Text bei runStarts[r] und in der Quelle bei runSources[r]
+    private int[] runStarts = new int[16];
+    private int[] runSources = new int[16];
+    private int runs;
+
+    MappedText(int capacity) {
+        this.text = new StringBuilder(capacity);
+    }
+
+    /** Unveränderte Abbildung: jedes Zeichen zeigt auf sich selbst. */
+    static MappedText identity(CharSequence source) {
+        MappedText mapped = new MappedText(source.length());
+        mapped.append(source, 0, source.length());
+        return mapped;
+    }
+
+    /** Hängt c an, das aus der Quellposition source stammt. */
+    void append(char c, int source) {
+        int index = text.length();
+        int last = runs - 1;
+        if (last < 0 || runSources[last] + (index - runStarts[last]) != source) {
+            if (runs == runStarts.length) {
+                runStarts = Arrays.copyOf(runStarts, runs * 2);
+                runSources = Arrays.copyOf(runSources, runs * 2);
+            }
+            runStarts[runs] = index;
+            runSources[runs] = source;
+            runs++;
+        }
+        text.append(c);
+    }
+
+    /** Hängt source[from, to) an; die Indizes des Ausschnitts sind die Quellpositionen. */
+    void append(CharSequence source, int from, int to) {
+        for (int i = from; i < to; i++) {
+            append(source.charAt(i), i);
+        }
+    }
+
+    /** Hängt in[from, to) an und übernimmt dessen Quellpositionen, sodass Abbildungen verkettet werden. */
+    void appendMapped(MappedText in, int from, int to) {
+        for (int i = from; i < to; i++) {
+            append(in.text.charAt(i), in.sourceIndex(i));
+        }
+    }
+
+    /** Kürzt auf length Zeichen. */
+    void truncate(int length) {
+        text.setLength(length);
+        while (runs > 0 && runStarts[runs - 1] >= length) {
+            runs--;
+        }
+    }
+
+    /** Quellposition von Zeichen index; für index == length() die Position hinter dem letzten Zeichen. */
+    int sourceIndex(int index) {
+        int length = text.length();
+        if (index < 0 || index > length) {
+            throw new IndexOutOfBoundsException("Index " + index + " außerhalb von 0.." + length);
+        }
+        if (index == length) {
+            return length == 0 ? 0 : sourceIndex(length - 1) + 1;
+        }
+        int low = 0;
+        int high = runs - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (runStarts[middle] <= index) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return runSources[low] + (index - runStarts[low]);
+    }
+
+    char last() {
+        return text.charAt(text.length() - 1);
+    }
+
+    @Override
+    public char charAt(int index) {
+        return text.charAt(index);
+    }
+
+    @Override
+    public int length() {
+        return text.length();
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return text.substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return text.toString();
+    }
+}
@@ -0,0 +1,186 @@
+package com.restaurant.reservation.mail;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Liest eine mbox-Datei Nachricht für Nachricht aus einem Stream, ohne die Datei als Ganzes zu laden. Eine
+ * Nachricht beginnt nach einer {@code "From "}-Zeile am Dateianfang oder nach einer Leerzeile; maskierte Zeilen
+ * ({@code ">From "}, mboxrd) werden zurückgewandelt. Ein Stream ohne Trennzeile ist eine einzelne Nachricht.
+ */
+public final class MboxReader implements Closeable {
+
+    public static final int DEFAULT_MAX_MESSAGE_BYTES = 16 << 20;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte[] SEPARATOR = {'F', 'r', 'o', 'm', ' '};
+
+    private final InputStream in;
+    private final int maxMessageBytes;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    private byte[] line = new byte[256];
+    private int lineLength;
+    private byte[] message = new byte[4096];
+    private int messageLength;
+
+    private long consumed;
+    private long nextOffset;
+    private boolean previousBlank = true;
+    private boolean finished;
+
+    private long messageNumber;
+    private long messageOffset;
+    private boolean truncated;
+
+    public MboxReader(InputStream in) {
+        this(in, DEFAULT_MAX_MESSAGE_BYTES);
+    }
+
+    /** Nachrichten über maxMessageBytes werden abgeschnitten (siehe {@link #wasTruncated()}). */
+    public MboxReader(InputStream in, int maxMessageBytes) {
+        if (in == null) {
+            throw new IllegalArgumentException("Eingabe darf nicht null sein");
+        }
+        if (maxMessageBytes < 1) {
+            throw new IllegalArgumentException("Nachrichtengröße muss positiv sein");
+        }
+        this.in = in;
+        this.maxMessageBytes = maxMessageBytes;
+    }
+
+    /** Die nächste Nachricht ohne Trennzeile oder null am Ende des Streams. */
+    public byte[] read() throws IOException {
+        if (finished) {
+            return null;
+        }
+        messageLength = 0;
+        truncated = false;
+        long start = nextOffset;
+        boolean content = false;
+        while (readLine()) {
+            if (previousBlank && startsWith(SEPARATOR, 0)) {
+                previousBlank = false;
+                nextOffset = consumed;
+                if (content) {
+                    return finish(start);
+                }
+                start = nextOffset;
+                continue;
+            }
+            previousBlank = isBlankLine();
+            content = true;
+            append(isEscapedSeparator() ? 1 : 0);
+        }
+        finished = true;
+        return content ? finish(start) : null;
+    }
+
+    /** Laufende Nummer der zuletzt gelesenen Nachricht, ab 1. */
+    public long getMessageNumber() {
+        return messageNumber;
+    }
+
+    /** Byte-Position der zuletzt gelesenen Nachricht (hinter ihrer Trennzeile) im Stream. */
+    public long getMessageOffset() {
+        return messageOffset;
+    }
+
+    /** Ob die zuletzt gelesene Nachricht wegen Überlänge abgeschnitten wurde. */
+    public boolean wasTruncated() {
+        return truncated;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private byte[] finish(long start) {
+        messageNumber++;
+        messageOffset = start;
+        return Arrays.copyOf(message, messageLength);
+    }
+
+    // Liest die nächste Zeile samt Umbruch; Zeilen über der Nachrichtengröße werden nur gezählt
+    private boolean readLine() throws IOException {
+        lineLength = 0;
+        boolean read = false;
+        while (true) {
+            if (position == limit) {
+                limit = in.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return read;
+                }
+            }
+            read = true;
+            int start = position;
+            while (position < limit && buffer[position] != '\n') {
+                position++;
+            }
+            boolean complete = position < limit;
+            if (complete) {
+                position++;
+            }
+            int count = position - start;
+            consumed += count;
+            if (lineLength + count > line.length && line.length <= maxMessageBytes) {
+                line = Arrays.copyOf(line, Math.min(Math.max(line.length * 2, lineLength + count), maxMessageBytes + 1));
+            }
+            int copy = Math.min(count, line.length - lineLength);
+            System.arraycopy(buffer, start, line, lineLength, copy);
+            lineLength += copy;
+            if (copy < count) {
+                truncated = true;
+            }
+            if (complete) {
+                return true;
+            }
+        }
+    }
+
+    private void append(int from) {
+        int count = lineLength - from;
+        int room = maxMessageBytes - messageLength;
+        if (count > room) {
+            count = room;
+            truncated = true;
+        }
+        if (messageLength + count > message.length) {
+            message = Arrays.copyOf(message, Math.min(Math.max(message.length * 2, messageLength + count), maxMessageBytes));
+        }
+        System.arraycopy(line, from, message, messageLength, count);
+        messageLength += count;
+    }
+
+    private boolean startsWith(byte[] prefix, int from) {
+        if (lineLength - from < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (line[from + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isEscapedSeparator() {
+        int pos = 0;
+        while (pos < lineLength && line[pos] == '>') {
+            pos++;
+        }
+        return pos > 0 && startsWith(SEPARATOR, pos);
+    }
+
+    private boolean isBlankLine() {
+        return lineLength == 0 || (lineLength == 1 && line[0] == '\n')
+                || (lineLength == 2 && line[0] == '\r' && line[1] == '\n');
+    }
+}
@@ -0,0 +1,133 @@
+package com.restaurant.reservation.mail;
+
+import java.util.Locale;
+
+/**
+ * Kürzt einen Nachrichtentext auf den neu geschriebenen Teil: zitierte Zeilen ({@code >}) entfallen, ab einem
+ * Antwortkopf ("Am ... schrieb ...:", "-----Ursprüngliche Nachricht-----", Outlook-Block "Von:/Gesendet:"), dem
+ * Signaturtrenner {@code "-- "} oder einem rechtlichen Hinweis wird der Rest verworfen. Leerzeilen und Leerraum am
+ * Zeilenrand entfallen.
+ */
+final class ReplyCleaner {
+
+    private static final String[] FOOTER_PREFIXES = {
+        "diese e-mail enthält", "diese nachricht enthält", "diese e-mail ist vertraulich", "this e-mail",
+        "this email", "this message", "disclaimer", "sitz der gesellschaft", "registergericht", "amtsgericht",
+        "geschäftsführer:", "von meinem iphone", "gesendet von", "sent from my"
+    };
+
+    // Zeilen nach "Von:", in denen der übrige Outlook-Kopf spätestens folgt
+    private static final int HEADER_BLOCK_LINES = 4;
+
+    private ReplyCleaner() {
+    }
+
+    /** Der bereinigte Text; die Quellpositionen werden von in übernommen. */
+    static MappedText clean(MappedText in) {
+        MappedText out = new MappedText(in.length());
+        int length = in.length();
+        int pos = 0;
+        int previousLineEnd = -1;
+        while (pos < length) {
+            int lineEnd = lineEnd(in, pos);
+            int start = trimStart(in, pos, lineEnd);
+            int end = trimEnd(in, start, lineEnd);
+            String line = in.subSequence(start, end).toString();
+            if (isCut(in, line, lineEnd)) {
+                break;
+            }
+            if (!line.isEmpty() && line.charAt(0) != '>') {
+                if (out.length() > 0) {
+                    out.append('\n', in.sourceIndex(previousLineEnd));
+                }
+                out.appendMapped(in, start, end);
+                previousLineEnd = lineEnd;
+            }
+            pos = lineEnd + 1;
+        }
+        return out;
+    }
+
+    private static int lineEnd(CharSequence text, int from) {
+        int end = from;
+        while (end < text.length() && text.charAt(end) != '\n') {
+            end++;
+        }
+        return end;
+    }
+
+    // Zeile ohne Leerraum am Rand
+    private static String line(CharSequence text, int from, int to) {
+        int start = trimStart(text, from, to);
+        return text.subSequence(start, trimEnd(text, start, to)).toString();
+    }
+
+    private static int trimStart(CharSequence text, int from, int to) {
+        while (from < to && isBlank(text.charAt(from))) {
+            from++;
+        }
+        return from;
+    }
+
+    private static int trimEnd(CharSequence text, int from, int to) {
+        while (to > from && isBlank(text.charAt(to - 1))) {
+            to--;
+        }
+        return to;
+    }
+
+    // Leerraum am Zeilenrand: Steuerzeichen wie bei String.trim() sowie Unicode-Leerzeichen (Geviert, NBSP)
+    private static boolean isBlank(char c) {
+        return c <= ' ' || Character.isWhitespace(c) || Character.isSpaceChar(c);
+    }
+
+    private static boolean isCut(MappedText in, String line, int lineEnd) {
+        if (line.isEmpty()) {
+            return false;
+        }
+        // Der Signaturtrenner ist "-- "; das Leerzeichen geht beim Kürzen verloren, daher zählt auch "--"
+        if (line.equals("--")) {
+            return true;
+        }
+        String lower = line.toLowerCase(Locale.ROOT);
+        if (lower.startsWith("-----")
+                && (lower.contains("ursprüngliche nachricht") || lower.contains("original message"))) {
+            return true;
+        }
+        if ((lower.startsWith("am ") || lower.startsWith("on "))
+                && (lower.contains(" schrieb") || lower.contains(" wrote"))) {
+            // Der Kopf kann umbrechen ("... schrieb Anna\n<anna@example.org>:"); ohne Doppelpunkt ist es Fließtext
+            return line.endsWith(":") || nextLine(in, lineEnd).endsWith(":");
+        }
+        if (lower.startsWith("von:") || lower.startsWith("from:")) {
+            return isHeaderBlock(in, lineEnd);
+        }
+        for (String prefix : FOOTER_PREFIXES) {
+            if (lower.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String nextLine(MappedText in, int lineEnd) {
+        if (lineEnd >= in.length()) {
+            return "";
+        }
+        return line(in, lineEnd + 1, lineEnd(in, lineEnd + 1));
+    }
+
+    private static boolean isHeaderBlock(MappedText in, int lineEnd) {
+        int pos = lineEnd;
+        for (int i = 0; i < HEADER_BLOCK_LINES && pos < in.length(); i++) {
+            int end = lineEnd(in, pos + 1);
+            String lower = line(in, pos + 1, end).toLowerCase(Locale.ROOT);
+            if (lower.startsWith("gesendet:") || lower.startsWith("sent:")
+                    || lower.startsWith("datum:") || lower.startsWith("date:")) {
+                return true;
+            }
+            pos = end;
+        }
+        return false;
+    }
+}
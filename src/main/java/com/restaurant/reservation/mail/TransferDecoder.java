@@ -0,0 +1,96 @@
+package com.restaurant.reservation.mail;
+
+import java.util.Arrays;
+
+/** Dekodiert die Content-Transfer-Encodings {@code quoted-printable} und {@code base64}. */
+final class TransferDecoder {
+
+    private static final byte[] BASE64 = new byte[128];
+
+    static {
+        Arrays.fill(BASE64, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private TransferDecoder() {
+    }
+
+    /** Dekodiert bytes[from, to) gemäß encoding; unbekannte Verfahren (7bit, 8bit, binary) bleiben unverändert. */
+    static byte[] decode(byte[] bytes, int from, int to, String encoding) {
+        if ("quoted-printable".equals(encoding)) {
+            return quotedPrintable(bytes, from, to);
+        }
+        if ("base64".equals(encoding)) {
+            return base64(bytes, from, to);
+        }
+        return Arrays.copyOfRange(bytes, from, to);
+    }
+
+    /** Weiche Umbrüche ("=" am Zeilenende) entfallen; ungültige Sequenzen bleiben wörtlich erhalten. */
+    static byte[] quotedPrintable(byte[] bytes, int from, int to) {
+        byte[] out = new byte[to - from];
+        int count = 0;
+        int i = from;
+        while (i < to) {
+            byte b = bytes[i];
+            if (b != '=') {
+                out[count++] = b;
+                i++;
+                continue;
+            }
+            if (i + 1 < to && bytes[i + 1] == '\n') {
+                i += 2;
+            } else if (i + 2 < to && bytes[i + 1] == '\r' && bytes[i + 2] == '\n') {
+                i += 3;
+            } else if (i + 2 < to && hex(bytes[i + 1]) >= 0 && hex(bytes[i + 2]) >= 0) {
+                out[count++] = (byte) (hex(bytes[i + 1]) << 4 | hex(bytes[i + 2]));
+                i += 3;
+            } else {
+                out[count++] = b;
+                i++;
+            }
+        }
+        return Arrays.copyOf(out, count);
+    }
+
+    /** Zeichen außerhalb des Alphabets (Zeilenumbrüche) werden übersprungen, '=' beendet die Daten. */
+    static byte[] base64(byte[] bytes, int from, int to) {
+        byte[] out = new byte[(to - from) / 4 * 3 + 3];
+        int count = 0;
+        int bits = 0;
+        int buffered = 0;
+        for (int i = from; i < to; i++) {
+            int b = bytes[i] & 0xFF;
+            if (b == '=') {
+                break;
+            }
+            int value = b < 128 ? BASE64[b] : -1;
+            if (value < 0) {
+                continue;
+            }
+            bits = bits << 6 | value;
+            buffered += 6;
+            if (buffered >= 8) {
+                buffered -= 8;
+                out[count++] = (byte) (bits >> buffered);
+            }
+        }
+        return Arrays.copyOf(out, count);
+    }
+
+    private static int hex(byte b) {
+        if (b >= '0' && b <= '9') {
+            return b - '0';
+        }
+        if (b >= 'A' && b <= 'F') {
+            return b - 'A' + 10;
+        }
+        if (b >= 'a' && b <= 'f') {
+            return b - 'a' + 10;
+        }
+        return -1;
+    }
+}
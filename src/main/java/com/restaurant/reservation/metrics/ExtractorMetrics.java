@@ -0,0 +1,108 @@
+package com.restaurant.reservation.metrics;
+
+import com.restaurant.reservation.model.FieldStatus;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Latenz-Histogramm und Zähler für Treffer, Fehlschläge, ungültige Werte und Grenzüberschreitungen eines Extraktors. */
+public final class ExtractorMetrics implements ExtractorMetricsMBean {
+
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder matches = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalid = new LongAdder();
+    private final LongAdder limitExceeded = new LongAdder();
+
+    ExtractorMetrics(String name) {
+        this.name = name;
+    }
+
+    /** Zeichnet einen Aufruf mit Ergebnisstatus und Dauer auf. */
+    public void record(FieldStatus status, long nanos) {
+        latency.record(nanos);
+        switch (status) {
+            case FOUND:
+                matches.increment();
+                break;
+            case OUT_OF_RANGE:
+            case INVALID:
+                invalid.increment();
+                break;
+            case INPUT_TOO_LONG:
+            case TIMEOUT:
+                limitExceeded.increment();
+                break;
+            default:
+                misses.increment();
+        }
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCount() {
+        return latency.getCount();
+    }
+
+    @Override
+    public long getMatches() {
+        return matches.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getInvalid() {
+        return invalid.sum();
+    }
+
+    @Override
+    public long getLimitExceeded() {
+        return limitExceeded.sum();
+    }
+
+    @Override
+    public double getMeanMicros() {
+        return latency.getMean() / 1000.0;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return latency.getPercentile(50) / 1000.0;
+    }
+
+    @Override
+    public double getP90Micros() {
+        return latency.getPercentile(90) / 1000.0;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return latency.getPercentile(99) / 1000.0;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return latency.getMax() / 1000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "%s: n=%d, Treffer=%d, nicht gefunden=%d, ungültig=%d, Limit=%d, Mittel=%.1fµs, p50=%.1fµs, p99=%.1fµs, max=%.1fµs",
+                name, getCount(), getMatches(), getMisses(), getInvalid(), getLimitExceeded(),
+                getMeanMicros(), getP50Micros(), getP99Micros(), getMaxMicros());
+    }
+}
@@ -0,0 +1,28 @@
+package com.restaurant.reservation.metrics;
+
+/** JMX-Sicht auf die Kennzahlen eines Extraktors; Zeiten in Mikrosekunden. */
+public interface ExtractorMetricsMBean {
+
+    String getName();
+
+    long getCount();
+
+    long getMatches();
+
+    long getMisses();
+
+    long getInvalid();
+
+    /** Aufrufe, die an Höchstlänge oder Zeitbudget gescheitert sind. */
+    long getLimitExceeded();
+
+    double getMeanMicros();
+
+    double getP50Micros();
+
+    double getP90Micros();
+
+    double getP99Micros();
+
+    double getMaxMicros();
+}
@@ -0,0 +1,97 @@
+package com.restaurant.reservation.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sperrfreies Latenz-Histogramm in Nanosekunden mit logarithmischen Buckets (ca. 12,5 % Auflösung). Jeder Bucket
+ * ist ein {@link LongAdder}: Threads mit ähnlicher Latenz treffen denselben Bucket, der sich dann auf eigene Zellen
+ * je Thread verteilt, statt eine gemeinsame Cache-Zeile per CAS zu belagern.
+ */
+public final class LatencyHistogram {
+
+    // 2^SUB_BITS Unter-Buckets je Zweierpotenz; Werte unter 2^(SUB_BITS+1) werden exakt gezählt
+    private static final int SUB_BITS = 3;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int LINEAR_LIMIT = SUB_COUNT << 1;
+    private static final int BUCKETS = LINEAR_LIMIT + (63 - (SUB_BITS + 1)) * SUB_COUNT;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS];
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    /** Zeichnet eine Dauer auf; negative Werte zählen als 0. */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[bucketOf(value)].increment();
+        total.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    public long getCount() {
+        return total.sum();
+    }
+
+    /** Mittelwert in Nanosekunden oder 0 ohne Messwerte. */
+    public double getMean() {
+        long count = total.sum();
+        return count == 0 ? 0 : (double) sum.sum() / count;
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /** Obere Grenze des Buckets, in dem das Perzentil (0 bis 100) liegt, oder 0 ohne Messwerte. */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Perzentil muss zwischen 0 und 100 liegen");
+        }
+        // Eigene Summe über die Buckets, damit nebenläufige Aufzeichnungen das Ergebnis nicht verfälschen
+        long[] snapshot = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts[i].sum();
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    static int bucketOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+        return LINEAR_LIMIT + (exponent - SUB_BITS - 1) * SUB_COUNT + sub;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR_LIMIT) / SUB_COUNT + SUB_BITS + 1;
+        int sub = (bucket - LINEAR_LIMIT) % SUB_COUNT;
+        long width = 1L << (exponent - SUB_BITS);
+        return ((long) (SUB_COUNT + sub) << (exponent - SUB_BITS)) + width - 1;
+    }
+}
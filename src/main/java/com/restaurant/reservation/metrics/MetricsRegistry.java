@@ -0,0 +1,89 @@
+package com.restaurant.reservation.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/** Verzeichnis der Extraktor-Kennzahlen; jede Kennzahl wird beim ersten Zugriff als JMX-MBean registriert. */
+public final class MetricsRegistry {
+
+    public static final String JMX_DOMAIN = "com.restaurant.reservation";
+
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry(true);
+
+    private final Map<String, ExtractorMetrics> extractors = new ConcurrentSkipListMap<>();
+    private final Map<String, Boolean> registered = new ConcurrentHashMap<>();
+    private final boolean registerMBeans;
+
+    /** Erstellt ein eigenes Verzeichnis; registerMBeans steuert die JMX-Veröffentlichung. */
+    public MetricsRegistry(boolean registerMBeans) {
+        this.registerMBeans = registerMBeans;
+    }
+
+    /** Gemeinsames Verzeichnis, in das alle Services aufzeichnen. */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /** Liefert die Kennzahlen des Extraktors und legt sie bei Bedarf an. */
+    public ExtractorMetrics extractor(String name) {
+        ExtractorMetrics metrics = extractors.get(name);
+        if (metrics != null) {
+            return metrics;
+        }
+        metrics = extractors.computeIfAbsent(name, ExtractorMetrics::new);
+        if (registerMBeans && registered.putIfAbsent(name, Boolean.TRUE) == null) {
+            register(metrics);
+        }
+        return metrics;
+    }
+
+    /** Alle Kennzahlen als Text, eine Zeile pro Extraktor, nach Namen sortiert. */
+    public String dump() {
+        StringBuilder out = new StringBuilder();
+        for (ExtractorMetrics metrics : extractors.values()) {
+            out.append(metrics).append(System.lineSeparator());
+        }
+        return out.toString();
+    }
+
+    /** Gibt {@link #dump()} periodisch an sink aus, bis der zurückgegebene Executor beendet wird. */
+    public ScheduledExecutorService startPeriodicDump(long period, TimeUnit unit, Consumer<String> sink) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Intervall muss positiv sein");
+        }
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reservation-metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(() -> sink.accept(dump()), period, period, unit);
+        return executor;
+    }
+
+    /** ObjectName, unter dem die Kennzahlen des Extraktors veröffentlicht werden. */
+    public static ObjectName objectName(String name) throws JMException {
+        return new ObjectName(JMX_DOMAIN + ":type=Extractor,name=" + ObjectName.quote(name));
+    }
+
+    private static void register(ExtractorMetrics metrics) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = objectName(metrics.getName());
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(metrics, objectName);
+            }
+        } catch (JMException | SecurityException e) {
+            // Kennzahlen bleiben ohne JMX über dump() verfügbar
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.restaurant.reservation.model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/** Speichersparende Reservierung: Epochentag als int, Minute des Tages als short, Personenanzahl als byte. */
+public final class CompactReservation {
+
+    private final String customerName;
+    private final int epochDay;
+    private final short minuteOfDay;
+    private final byte numberOfPeople;
+
+    /**
+     * Erstellt die kompakte Reservierung.
+     *
+     * @param epochDay       Tage seit 1970-01-01, wie {@link LocalDate#toEpochDay()}
+     * @param minuteOfDay    0 bis 1439
+     * @param numberOfPeople 0 bis 127
+     */
+    public CompactReservation(String customerName, int epochDay, int minuteOfDay, int numberOfPeople) {
+        if (minuteOfDay < 0 || minuteOfDay >= 24 * 60) {
+            throw new IllegalArgumentException("Minute des Tages muss zwischen 0 und 1439 liegen");
+        }
+        if (numberOfPeople < 0 || numberOfPeople > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Personenanzahl passt nicht in ein Byte");
+        }
+        this.customerName = customerName;
+        this.epochDay = epochDay;
+        this.minuteOfDay = (short) minuteOfDay;
+        this.numberOfPeople = (byte) numberOfPeople;
+    }
+
+    /** Wandelt eine Reservierung um; Sekunden sind nicht darstellbar und werden abgelehnt. */
+    public static CompactReservation of(Reservation reservation) {
+        return new CompactReservation(reservation.getCustomerName(), epochDayOf(reservation.getDate()),
+                minuteOfDayOf(reservation.getTime()), reservation.getNumberOfPeople());
+    }
+
+    public Reservation toReservation() {
+        return new Reservation(customerName, getDate(), getTime(), numberOfPeople);
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public int getEpochDay() {
+        return epochDay;
+    }
+
+    public int getMinuteOfDay() {
+        return minuteOfDay;
+    }
+
+    public int getNumberOfPeople() {
+        return numberOfPeople;
+    }
+
+    public LocalDate getDate() {
+        return LocalDate.ofEpochDay(epochDay);
+    }
+
+    public LocalTime getTime() {
+        return LocalTime.of(minuteOfDay / 60, minuteOfDay % 60);
+    }
+
+    static int epochDayOf(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        if (epochDay < Integer.MIN_VALUE || epochDay > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Datum ist nicht kompakt darstellbar");
+        }
+        return (int) epochDay;
+    }
+
+    static int minuteOfDayOf(LocalTime time) {
+        if (time.getSecond() != 0 || time.getNano() != 0) {
+            throw new IllegalArgumentException("Uhrzeit mit Sekunden ist nicht kompakt darstellbar");
+        }
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    @Override
+    public String toString() {
+        LocalDate date = getDate();
+        return Reservation.appendTo(new StringBuilder(32), customerName, date.getDayOfMonth(), date.getMonthValue(),
+                minuteOfDay / 60, minuteOfDay % 60, numberOfPeople).toString();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        CompactReservation that = (CompactReservation) obj;
+        return epochDay == that.epochDay &&
+                minuteOfDay == that.minuteOfDay &&
+                numberOfPeople == that.numberOfPeople &&
+                customerName.equals(that.customerName);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = customerName.hashCode();
+        result = 31 * result + epochDay;
+        result = 31 * result + minuteOfDay;
+        result = 31 * result + numberOfPeople;
+        return result;
+    }
+}
@@ -0,0 +1,165 @@
+package com.restaurant.reservation.model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/** Ergebnis einer Reservierungs-Extraktion: teilweise gefüllte Werte plus Status je Feld. */
+public final class ExtractionResult {
+
+    private static final ReservationField[] FIELDS = ReservationField.values();
+
+    /** Meldung eines unvollständigen Ergebnisses, in dem nur übersprungene Felder fehlen. */
+    public static final String SKIPPED_MESSAGE = "Nicht alle Felder wurden ausgewertet.";
+
+    private static final ExtractionResult EMPTY_INPUT = new ExtractionResult(
+            null, FieldStatus.EMPTY_INPUT, null, FieldStatus.EMPTY_INPUT,
+            null, FieldStatus.EMPTY_INPUT, 0, FieldStatus.EMPTY_INPUT);
+
+    private static final ExtractionResult INPUT_TOO_LONG = new ExtractionResult(
+            null, FieldStatus.INPUT_TOO_LONG, null, FieldStatus.INPUT_TOO_LONG,
+            null, FieldStatus.INPUT_TOO_LONG, 0, FieldStatus.INPUT_TOO_LONG);
+
+    private final String customerName;
+    private final FieldStatus customerNameStatus;
+    private final LocalDate date;
+    private final FieldStatus dateStatus;
+    private final LocalTime time;
+    private final FieldStatus timeStatus;
+    private final int numberOfPeople;
+    private final FieldStatus numberOfPeopleStatus;
+
+    public ExtractionResult(String customerName, FieldStatus customerNameStatus,
+                            LocalDate date, FieldStatus dateStatus,
+                            LocalTime time, FieldStatus timeStatus,
+                            int numberOfPeople, FieldStatus numberOfPeopleStatus) {
+        this.customerName = customerName;
+        this.customerNameStatus = customerNameStatus;
+        this.date = date;
+        this.dateStatus = dateStatus;
+        this.time = time;
+        this.timeStatus = timeStatus;
+        this.numberOfPeople = numberOfPeople;
+        this.numberOfPeopleStatus = numberOfPeopleStatus;
+    }
+
+    /** Ergebnis für leeren Eingabetext. */
+    public static ExtractionResult emptyInput() {
+        return EMPTY_INPUT;
+    }
+
+    /** Ergebnis für Eingabetext über der Höchstlänge. */
+    public static ExtractionResult inputTooLong() {
+        return INPUT_TOO_LONG;
+    }
+
+    /** Vollständiges Ergebnis mit den Werten der Reservierung. */
+    public static ExtractionResult of(Reservation reservation) {
+        return new ExtractionResult(reservation.getCustomerName(), FieldStatus.FOUND, reservation.getDate(), FieldStatus.FOUND,
+                reservation.getTime(), FieldStatus.FOUND, reservation.getNumberOfPeople(), FieldStatus.FOUND);
+    }
+
+    /** Prüft ob alle vier Felder gefunden wurden. */
+    public boolean isComplete() {
+        return customerNameStatus == FieldStatus.FOUND && dateStatus == FieldStatus.FOUND
+                && timeStatus == FieldStatus.FOUND && numberOfPeopleStatus == FieldStatus.FOUND;
+    }
+
+    public boolean isEmptyInput() {
+        return customerNameStatus == FieldStatus.EMPTY_INPUT;
+    }
+
+    /** Prüft ob mindestens ein Feld wegen Höchstlänge oder Zeitbudget nicht ausgewertet wurde. */
+    public boolean isLimitExceeded() {
+        for (ReservationField field : FIELDS) {
+            FieldStatus status = getStatus(field);
+            if (status == FieldStatus.INPUT_TOO_LONG || status == FieldStatus.TIMEOUT) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public FieldStatus getStatus(ReservationField field) {
+        switch (field) {
+            case CUSTOMER_NAME:
+                return customerNameStatus;
+            case DATE:
+                return dateStatus;
+            case TIME:
+                return timeStatus;
+            default:
+                return numberOfPeopleStatus;
+        }
+    }
+
+    /** Kundenname oder null. */
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    /** Datum oder null. */
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /** Uhrzeit oder null. */
+    public LocalTime getTime() {
+        return time;
+    }
+
+    /** Personenanzahl oder null. */
+    public Integer getNumberOfPeople() {
+        return numberOfPeopleStatus == FieldStatus.FOUND ? numberOfPeople : null;
+    }
+
+    /** Vollständige Reservierung oder null, wenn mindestens ein Feld fehlt. */
+    public Reservation getReservation() {
+        return isComplete() ? new Reservation(customerName, date, time, numberOfPeople) : null;
+    }
+
+    /**
+     * Fehlermeldungen aller fehlenden Felder in Extraktionsreihenfolge (gleiche Meldungen nur einmal) oder null bei
+     * Erfolg; übersprungene Felder ergeben keine Meldung.
+     */
+    public String getErrorMessage() {
+        if (isEmptyInput()) {
+            return ReservationField.EMPTY_INPUT_MESSAGE;
+        }
+        if (isComplete()) {
+            return null;
+        }
+        StringBuilder errors = new StringBuilder();
+        String previous = null;
+        for (ReservationField field : FIELDS) {
+            String error = field.errorMessage(getStatus(field));
+            // Grenzüberschreitungen betreffen meist mehrere Felder und werden nur einmal gemeldet
+            if (error != null && !error.equals(previous)) {
+                if (errors.length() > 0) {
+                    errors.append(' ');
+                }
+                errors.append(error);
+                previous = error;
+            }
+        }
+        // Nur übersprungene Felder fehlen: kein Fehler
+        return errors.length() > 0 ? errors.toString() : null;
+    }
+
+    /** Liefert die Reservierung oder wirft IllegalArgumentException mit allen Fehlermeldungen. */
+    public Reservation toReservation() {
+        if (!isComplete()) {
+            throw new IllegalArgumentException(incompleteMessage());
+        }
+        return new Reservation(customerName, date, time, numberOfPeople);
+    }
+
+    private String incompleteMessage() {
+        String error = getErrorMessage();
+        return error != null ? error : SKIPPED_MESSAGE;
+    }
+
+    @Override
+    public String toString() {
+        return isComplete() ? toReservation().toString() : "(" + incompleteMessage() + ")";
+    }
+}
@@ -0,0 +1,77 @@
+package com.restaurant.reservation.model;
+
+/** Ergebnis der Extraktion eines einzelnen Feldes: Wert oder Status, ohne Exception. */
+public final class FieldResult<T> {
+
+    // Geteilte Instanzen für Fehlschläge, damit Misserfolge nichts allokieren
+    private static final FieldResult<?>[][] MISSES = new FieldResult<?>[ReservationField.values().length][];
+
+    static {
+        for (ReservationField field : ReservationField.values()) {
+            FieldStatus[] statuses = FieldStatus.values();
+            MISSES[field.ordinal()] = new FieldResult<?>[statuses.length];
+            for (FieldStatus status : statuses) {
+                MISSES[field.ordinal()][status.ordinal()] = new FieldResult<>(field, status, null);
+            }
+        }
+    }
+
+    private final ReservationField field;
+    private final FieldStatus status;
+    private final T value;
+
+    private FieldResult(ReservationField field, FieldStatus status, T value) {
+        this.field = field;
+        this.status = status;
+        this.value = value;
+    }
+
+    /** Erfolgreich extrahierter Wert. */
+    public static <T> FieldResult<T> found(ReservationField field, T value) {
+        return new FieldResult<>(field, FieldStatus.FOUND, value);
+    }
+
+    /** Fehlgeschlagene Extraktion mit dem gegebenen Status. */
+    @SuppressWarnings("unchecked")
+    public static <T> FieldResult<T> missing(ReservationField field, FieldStatus status) {
+        if (status == FieldStatus.FOUND) {
+            throw new IllegalArgumentException("Status FOUND benötigt einen Wert");
+        }
+        return (FieldResult<T>) MISSES[field.ordinal()][status.ordinal()];
+    }
+
+    public ReservationField getField() {
+        return field;
+    }
+
+    public FieldStatus getStatus() {
+        return status;
+    }
+
+    public boolean isFound() {
+        return status == FieldStatus.FOUND;
+    }
+
+    /** Wert oder null, wenn das Feld nicht extrahiert wurde. */
+    public T getValue() {
+        return value;
+    }
+
+    /** Fehlermeldung oder null bei Erfolg. */
+    public String getErrorMessage() {
+        return field.errorMessage(status);
+    }
+
+    /** Liefert den Wert oder wirft IllegalArgumentException mit der Fehlermeldung. */
+    public T orElseThrow() {
+        if (status != FieldStatus.FOUND) {
+            throw new IllegalArgumentException(getErrorMessage());
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return status == FieldStatus.FOUND ? field + "=" + value : field + ":" + status;
+    }
+}
@@ -0,0 +1,21 @@
+package com.restaurant.reservation.model;
+
+/** Status der Extraktion eines einzelnen Reservierungsfeldes. */
+public enum FieldStatus {
+    /** Wert wurde gefunden und ist gültig. */
+    FOUND,
+    /** Im Text wurde kein passendes Muster gefunden. */
+    NOT_FOUND,
+    /** Muster gefunden, Wert liegt aber außerhalb des erlaubten Bereichs. */
+    OUT_OF_RANGE,
+    /** Muster gefunden, Wert ergibt aber kein gültiges Datum bzw. keine gültige Uhrzeit. */
+    INVALID,
+    /** Eingabetext war leer. */
+    EMPTY_INPUT,
+    /** Eingabetext überschreitet die konfigurierte Höchstlänge. */
+    INPUT_TOO_LONG,
+    /** Zeitbudget des Aufrufs war erschöpft, bevor das Feld ausgewertet wurde. */
+    TIMEOUT,
+    /** Feld war nicht angefordert oder wurde im Fail-fast-Modus nach einem fehlenden Pflichtfeld übersprungen. */
+    SKIPPED
+}
@@ -35,13 +35,26 @@ public class Reservation {
 
     @Override
     public String toString() {
-        return String.format("(%s, %02d.%02d., %02d:%02d, %d)",
-                customerName,
-                date.getDayOfMonth(),
-                date.getMonthValue(),
-                time.getHour(),
-                time.getMinute(),
-                numberOfPeople);
+        return appendTo(new StringBuilder(32), customerName, date.getDayOfMonth(), date.getMonthValue(),
+                time.getHour(), time.getMinute(), numberOfPeople).toString();
+    }
+
+    // Format "(Name, TT.MM., HH:mm, N)" ohne String.format, auch für die kompakten Darstellungen
+    static StringBuilder appendTo(StringBuilder out, String customerName, int day, int month,
+                                  int hour, int minute, int numberOfPeople) {
+        out.append('(').append(customerName).append(", ");
+        appendTwoDigits(out, day).append('.');
+        appendTwoDigits(out, month).append("., ");
+        appendTwoDigits(out, hour).append(':');
+        appendTwoDigits(out, minute).append(", ");
+        return out.append(numberOfPeople).append(')');
+    }
+
+    private static StringBuilder appendTwoDigits(StringBuilder out, int value) {
+        if (value < 10) {
+            out.append('0');
+        }
+        return out.append(value);
     }
 
     @Override
@@ -0,0 +1,217 @@
+package com.restaurant.reservation.model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Spaltenweise Sammlung vieler Reservierungen in primitiven Arrays; Namen werden über ein Wörterbuch
+ * nur einmal gespeichert. Nicht threadsicher.
+ */
+public final class ReservationBatch implements Iterable<Reservation> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] nameIds;
+    private int[] epochDays;
+    private short[] minutesOfDay;
+    private byte[] numberOfPeople;
+    private int size;
+
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> nameIndex = new HashMap<>();
+
+    public ReservationBatch() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ReservationBatch(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Kapazität darf nicht negativ sein");
+        }
+        nameIds = new int[initialCapacity];
+        epochDays = new int[initialCapacity];
+        minutesOfDay = new short[initialCapacity];
+        numberOfPeople = new byte[initialCapacity];
+    }
+
+    /** Erstellt einen Batch aus allen Reservierungen in Iterationsreihenfolge. */
+    public static ReservationBatch of(Iterable<Reservation> reservations) {
+        ReservationBatch batch = new ReservationBatch();
+        for (Reservation reservation : reservations) {
+            batch.add(reservation);
+        }
+        return batch;
+    }
+
+    public void add(Reservation reservation) {
+        add(reservation.getCustomerName(), CompactReservation.epochDayOf(reservation.getDate()),
+                CompactReservation.minuteOfDayOf(reservation.getTime()), reservation.getNumberOfPeople());
+    }
+
+    public void add(CompactReservation reservation) {
+        add(reservation.getCustomerName(), reservation.getEpochDay(), reservation.getMinuteOfDay(),
+                reservation.getNumberOfPeople());
+    }
+
+    /** Fügt eine Reservierung in kompakter Form an; Wertebereiche wie bei {@link CompactReservation}. */
+    public void add(String customerName, int epochDay, int minuteOfDay, int people) {
+        if (minuteOfDay < 0 || minuteOfDay >= 24 * 60) {
+            throw new IllegalArgumentException("Minute des Tages muss zwischen 0 und 1439 liegen");
+        }
+        if (people < 0 || people > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Personenanzahl passt nicht in ein Byte");
+        }
+        if (size == epochDays.length) {
+            grow();
+        }
+        nameIds[size] = nameIdOf(customerName);
+        epochDays[size] = epochDay;
+        minutesOfDay[size] = (short) minuteOfDay;
+        numberOfPeople[size] = (byte) people;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public Reservation get(int index) {
+        return new Reservation(getCustomerName(index), getDate(index), getTime(index), getNumberOfPeople(index));
+    }
+
+    public CompactReservation getCompact(int index) {
+        return new CompactReservation(getCustomerName(index), getEpochDay(index), getMinuteOfDay(index),
+                getNumberOfPeople(index));
+    }
+
+    public String getCustomerName(int index) {
+        return names.get(getNameId(index));
+    }
+
+    /** Index des Namens im Wörterbuch; gleiche Namen haben dieselbe Id. */
+    public int getNameId(int index) {
+        return nameIds[checkIndex(index)];
+    }
+
+    public int getEpochDay(int index) {
+        return epochDays[checkIndex(index)];
+    }
+
+    public int getMinuteOfDay(int index) {
+        return minutesOfDay[checkIndex(index)];
+    }
+
+    public int getNumberOfPeople(int index) {
+        return numberOfPeople[checkIndex(index)];
+    }
+
+    public LocalDate getDate(int index) {
+        return LocalDate.ofEpochDay(getEpochDay(index));
+    }
+
+    public LocalTime getTime(int index) {
+        int minute = getMinuteOfDay(index);
+        return LocalTime.of(minute / 60, minute % 60);
+    }
+
+    /** Anzahl verschiedener Namen. */
+    public int getNameCount() {
+        return names.size();
+    }
+
+    /** Name zur Wörterbuch-Id. */
+    public String getName(int nameId) {
+        return names.get(nameId);
+    }
+
+    /** Wandelt alle Einträge in Reservation-Objekte um. */
+    public List<Reservation> toReservations() {
+        List<Reservation> reservations = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            reservations.add(get(i));
+        }
+        return reservations;
+    }
+
+    /** Gibt ungenutzte Kapazität der Spalten frei. */
+    public void trimToSize() {
+        nameIds = Arrays.copyOf(nameIds, size);
+        epochDays = Arrays.copyOf(epochDays, size);
+        minutesOfDay = Arrays.copyOf(minutesOfDay, size);
+        numberOfPeople = Arrays.copyOf(numberOfPeople, size);
+    }
+
+    @Override
+    public Iterator<Reservation> iterator() {
+        return new Iterator<Reservation>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Reservation next() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return get(next++);
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder(size * 40 + 2).append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                out.append(", ");
+            }
+            LocalDate date = getDate(i);
+            int minute = minutesOfDay[i];
+            Reservation.appendTo(out, getCustomerName(i), date.getDayOfMonth(), date.getMonthValue(),
+                    minute / 60, minute % 60, numberOfPeople[i]);
+        }
+        return out.append(']').toString();
+    }
+
+    private int nameIdOf(String customerName) {
+        if (customerName == null) {
+            throw new IllegalArgumentException("Name darf nicht null sein");
+        }
+        Integer id = nameIndex.get(customerName);
+        if (id == null) {
+            id = names.size();
+            names.add(customerName);
+            nameIndex.put(customerName, id);
+        }
+        return id;
+    }
+
+    private void grow() {
+        int capacity = Math.max(DEFAULT_CAPACITY, epochDays.length + (epochDays.length >> 1));
+        nameIds = Arrays.copyOf(nameIds, capacity);
+        epochDays = Arrays.copyOf(epochDays, capacity);
+        minutesOfDay = Arrays.copyOf(minutesOfDay, capacity);
+        numberOfPeople = Arrays.copyOf(numberOfPeople, capacity);
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + ", Größe " + size);
+        }
+        return index;
+    }
+}
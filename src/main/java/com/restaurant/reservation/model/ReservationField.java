@@ -0,0 +1,44 @@
+package com.restaurant.reservation.model;
+
+/** Felder einer Reservierung mit ihren Fehlermeldungen je Status. */
+public enum ReservationField {
+    CUSTOMER_NAME("Name nicht gefunden.", null, null),
+    DATE("Datum nicht gefunden.", "Jahr muss zwischen 2000 und 2100 liegen.", "Ungültiges Datumsformat."),
+    TIME("Uhrzeit nicht gefunden.", null, null),
+    NUMBER_OF_PEOPLE("Personenanzahl nicht gefunden.", "Personenanzahl muss zwischen 1 und 99 liegen.", null);
+
+    static final String EMPTY_INPUT_MESSAGE = "Text darf nicht leer sein";
+    static final String INPUT_TOO_LONG_MESSAGE = "Text überschreitet die maximale Länge.";
+    static final String TIMEOUT_MESSAGE = "Zeitbudget überschritten.";
+
+    private final String notFoundMessage;
+    private final String outOfRangeMessage;
+    private final String invalidMessage;
+
+    ReservationField(String notFoundMessage, String outOfRangeMessage, String invalidMessage) {
+        this.notFoundMessage = notFoundMessage;
+        this.outOfRangeMessage = outOfRangeMessage;
+        this.invalidMessage = invalidMessage;
+    }
+
+    /** Liefert die Fehlermeldung für den Status oder null bei FOUND und SKIPPED. */
+    public String errorMessage(FieldStatus status) {
+        switch (status) {
+            case FOUND:
+            case SKIPPED:
+                return null;
+            case OUT_OF_RANGE:
+                return outOfRangeMessage != null ? outOfRangeMessage : notFoundMessage;
+            case INVALID:
+                return invalidMessage != null ? invalidMessage : notFoundMessage;
+            case EMPTY_INPUT:
+                return EMPTY_INPUT_MESSAGE;
+            case INPUT_TOO_LONG:
+                return INPUT_TOO_LONG_MESSAGE;
+            case TIMEOUT:
+                return TIMEOUT_MESSAGE;
+            default:
+                return notFoundMessage;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.restaurant.reservation.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ausführung der asynchronen Extraktion: Anzahl Worker-Threads, Länge der Warteschlange, Verhalten bei voller
+ * Warteschlange und Standard-Zeitlimit je Aufruf.
+ */
+public final class AsyncExecutionPolicy {
+
+    /** Verhalten, wenn alle Worker beschäftigt sind und die Warteschlange voll ist. */
+    public enum Rejection {
+        /** Der neue Auftrag endet sofort mit RejectedExecutionException. */
+        ABORT,
+        /** Der neue Auftrag läuft im aufrufenden Thread; bremst Erzeuger, ungeeignet für Event-Loop-Threads. */
+        CALLER_RUNS,
+        /** Der älteste wartende Auftrag endet mit RejectedExecutionException, der neue rückt nach. */
+        DISCARD_OLDEST
+    }
+
+    /** Ein Worker je Prozessor, 1024 wartende Aufträge, Abweisung ohne Zeitlimit. */
+    public static final AsyncExecutionPolicy DEFAULT = new AsyncExecutionPolicy(
+            Runtime.getRuntime().availableProcessors(), 1024, Rejection.ABORT, 0, TimeUnit.NANOSECONDS);
+
+    private final int threads;
+    private final int queueCapacity;
+    private final Rejection rejection;
+    private final long timeoutNanos;
+
+    /**
+     * Erstellt die Richtlinie.
+     *
+     * @param threads       Anzahl Worker-Threads und damit höchstens gleichzeitig laufender Extraktionen
+     * @param queueCapacity Aufträge, die zusätzlich zu den laufenden warten dürfen
+     * @param rejection     Verhalten bei voller Warteschlange
+     * @param timeout       Standard-Zeitlimit je Aufruf einschließlich Wartezeit, 0 für unbegrenzt
+     */
+    public AsyncExecutionPolicy(int threads, int queueCapacity, Rejection rejection, long timeout, TimeUnit unit) {
+        if (threads < 1 || queueCapacity < 1 || rejection == null || timeout < 0) {
+            throw new IllegalArgumentException(
+                    "Threads und Warteschlange müssen positiv, Abweisung gesetzt und Zeitlimit nicht negativ sein");
+        }
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+        this.rejection = rejection;
+        this.timeoutNanos = unit.toNanos(timeout);
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public Rejection getRejection() {
+        return rejection;
+    }
+
+    /** Standard-Zeitlimit in Nanosekunden, 0 für unbegrenzt. */
+    public long getTimeoutNanos() {
+        return timeoutNanos;
+    }
+
+    @Override
+    public String toString() {
+        return threads + " Threads, " + queueCapacity + " wartende Aufträge, " + rejection + ", "
+                + (timeoutNanos > 0 ? TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + "ms" : "ohne Zeitlimit");
+    }
+}
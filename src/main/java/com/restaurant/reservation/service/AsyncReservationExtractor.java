@@ -0,0 +1,319 @@
+package com.restaurant.reservation.service;
+
+import com.restaurant.reservation.model.ExtractionResult;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+
+/**
+ * Asynchrone Extraktion über einem {@link ReservationExtractorService}, z. B. für Event-Loop-Threads: Aufrufe kehren
+ * sofort mit einem {@link CompletableFuture} zurück und laufen in einem begrenzten Thread-Pool mit begrenzter
+ * Warteschlange ({@link AsyncExecutionPolicy}). Ein Zeitlimit umfasst Warte- und Laufzeit; nach Ablauf endet das
+ * Future mit TimeoutException, und eine laufende Extraktion bricht an derselben Frist ab. Ein abgebrochenes oder
+ * abgelaufenes Future gibt seinen Platz in der Warteschlange sofort frei.
+ */
+public final class AsyncReservationExtractor implements AutoCloseable {
+
+    private final ReservationExtractorService service;
+    private final AsyncExecutionPolicy policy;
+    private final ThreadPoolExecutor executor;
+    private final LongAdder rejected = new LongAdder();
+
+    public AsyncReservationExtractor(ReservationExtractorService service) {
+        this(service, AsyncExecutionPolicy.DEFAULT);
+    }
+
+    public AsyncReservationExtractor(ReservationExtractorService service, AsyncExecutionPolicy policy) {
+        if (service == null || policy == null) {
+            throw new IllegalArgumentException("Service und Richtlinie dürfen nicht null sein");
+        }
+        this.service = service;
+        this.policy = policy;
+        this.executor = new ThreadPoolExecutor(policy.getThreads(), policy.getThreads(), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(policy.getQueueCapacity()), threadFactory(), (job, pool) -> reject(job));
+    }
+
+    public AsyncExecutionPolicy getPolicy() {
+        return policy;
+    }
+
+    /** Extrahiert asynchron mit dem Standardplan des Services und dem Zeitlimit der Richtlinie. */
+    public CompletableFuture<ExtractionResult> extractAsync(String text) {
+        return extractAsync(text, service.getDefaultPlan());
+    }
+
+    /** Wie {@link #extractAsync(String)} mit den Feldern des Plans. */
+    public CompletableFuture<ExtractionResult> extractAsync(CharSequence text, ExtractionPlan plan) {
+        return extractAsync(text, plan, policy.getTimeoutNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Wie {@link #extractAsync(CharSequence, ExtractionPlan)} mit eigenem Zeitlimit (0 für unbegrenzt). Der Text
+     * wird nicht kopiert und darf bis zum Ende des Futures nicht verändert werden. Bei voller Warteschlange endet
+     * das Future je nach Richtlinie mit RejectedExecutionException.
+     */
+    public CompletableFuture<ExtractionResult> extractAsync(CharSequence text, ExtractionPlan plan,
+                                                            long timeout, TimeUnit unit) {
+        if (plan == null) {
+            throw new IllegalArgumentException("Plan darf nicht null sein");
+        }
+        return submit(deadline -> service.tryExtractReservationInfo(text, plan, deadline), timeout, unit);
+    }
+
+    /** Extrahiert alle Texte asynchron als ein Auftrag; Ergebnisse in Eingabereihenfolge. */
+    public CompletableFuture<List<ExtractionResult>> extractAllAsync(List<String> texts) {
+        return extractAllAsync(texts, service.getDefaultPlan(), policy.getTimeoutNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Wie {@link #extractAllAsync(List)} mit den Feldern des Plans und einem Zeitlimit für den ganzen Batch. Der
+     * Batch belegt einen Platz in der Warteschlange und läuft im Batch-Pool des Services.
+     */
+    public CompletableFuture<List<ExtractionResult>> extractAllAsync(List<String> texts, ExtractionPlan plan,
+                                                                     long timeout, TimeUnit unit) {
+        if (texts == null || plan == null) {
+            throw new IllegalArgumentException("Texte und Plan dürfen nicht null sein");
+        }
+        List<String> input = new ArrayList<>(texts);
+        return submit(deadline -> service.extractAll(input, plan, deadline), timeout, unit);
+    }
+
+    /** Liefert die Ergebnisse zu texts als Publisher mit dem Standardplan des Services. */
+    public Flow.Publisher<ExtractionResult> publisher(Iterable<String> texts) {
+        return publisher(texts, service.getDefaultPlan());
+    }
+
+    /**
+     * Liefert die Ergebnisse zu texts in Eingabereihenfolge als Publisher mit Gegendruck: ein Text wird erst
+     * gelesen und extrahiert, wenn der Abonnent Ergebnisse angefordert hat. Jedes Abonnement iteriert texts neu und
+     * belegt höchstens einen Worker; das Zeitlimit der Richtlinie gilt je Text, offene Felder erhalten TIMEOUT.
+     */
+    public Flow.Publisher<ExtractionResult> publisher(Iterable<String> texts, ExtractionPlan plan) {
+        if (texts == null || plan == null) {
+            throw new IllegalArgumentException("Texte und Plan dürfen nicht null sein");
+        }
+        return subscriber -> {
+            Objects.requireNonNull(subscriber, "Abonnent darf nicht null sein");
+            subscriber.onSubscribe(new ResultSubscription(subscriber, texts, plan));
+        };
+    }
+
+    /** Anzahl wartender Aufträge. */
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    /** Anzahl gerade laufender Aufträge. */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /** Anzahl der wegen voller Warteschlange oder nach dem Schließen abgewiesenen Aufträge. */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /** Nimmt keine neuen Aufträge mehr an; angenommene laufen zu Ende. */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /** Wartet nach {@link #close()} höchstens timeout auf das Ende aller angenommenen Aufträge. */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    private <T> CompletableFuture<T> submit(LongFunction<T> work, long timeout, TimeUnit unit) {
+        if (timeout < 0 || unit == null) {
+            throw new IllegalArgumentException("Zeitlimit darf nicht negativ und Einheit nicht null sein");
+        }
+        long timeoutNanos = unit.toNanos(timeout);
+        Call<T> call = new Call<>(work, deadlineAfter(timeoutNanos));
+        if (timeoutNanos > 0) {
+            call.future.orTimeout(timeoutNanos, TimeUnit.NANOSECONDS);
+        }
+        call.future.whenComplete((result, failure) -> {
+            if (failure != null) {
+                executor.remove(call);
+            }
+        });
+        executor.execute(call);
+        return call.future;
+    }
+
+    // Frist für die Extraktion (System.nanoTime()), 0 für keine
+    private static long deadlineAfter(long timeoutNanos) {
+        if (timeoutNanos <= 0) {
+            return 0;
+        }
+        long deadline = System.nanoTime() + timeoutNanos;
+        return deadline == 0 ? 1 : deadline;
+    }
+
+    private void reject(Runnable job) {
+        if (!executor.isShutdown()) {
+            switch (policy.getRejection()) {
+                case CALLER_RUNS:
+                    job.run();
+                    return;
+                case DISCARD_OLDEST:
+                    Runnable oldest = executor.getQueue().poll();
+                    if (oldest != null) {
+                        fail(oldest, "Auftrag wurde von einem neueren verdrängt");
+                        executor.execute(job);
+                        return;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        fail(job, executor.isShutdown() ? "Extraktor ist geschlossen" : "Warteschlange ist voll");
+    }
+
+    private void fail(Runnable job, String message) {
+        rejected.increment();
+        ((Job) job).reject(new RejectedExecutionException(message));
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "reservation-async-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // Auftrag im Pool, der bei Abweisung seinen Empfänger benachrichtigt
+    private abstract static class Job implements Runnable {
+        abstract void reject(RejectedExecutionException e);
+    }
+
+    private static final class Call<T> extends Job {
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final LongFunction<T> work;
+        private final long deadline;
+
+        Call(LongFunction<T> work, long deadline) {
+            this.work = work;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void run() {
+            // Abgebrochen oder abgelaufen, bevor ein Worker frei wurde
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                future.complete(work.apply(deadline));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        void reject(RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    // Liest und extrahiert nur so viele Texte wie angefordert; höchstens ein Durchlauf je Abonnement gleichzeitig
+    private final class ResultSubscription extends Job implements Flow.Subscription {
+        private final Flow.Subscriber<? super ExtractionResult> subscriber;
+        private final Iterable<String> texts;
+        private final ExtractionPlan plan;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger pending = new AtomicInteger();
+        private Iterator<String> iterator;
+        private volatile boolean done;
+        private volatile IllegalArgumentException invalidRequest;
+
+        ResultSubscription(Flow.Subscriber<? super ExtractionResult> subscriber, Iterable<String> texts,
+                           ExtractionPlan plan) {
+            this.subscriber = subscriber;
+            this.texts = texts;
+            this.plan = plan;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Angeforderte Anzahl muss positiv sein, war " + n);
+            } else {
+                demand.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            if (pending.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                if (!done) {
+                    drain();
+                }
+                missed = pending.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drain() {
+            try {
+                if (invalidRequest != null) {
+                    terminate(invalidRequest);
+                    return;
+                }
+                if (iterator == null) {
+                    iterator = texts.iterator();
+                }
+                while (!done && demand.get() > 0) {
+                    if (!iterator.hasNext()) {
+                        done = true;
+                        subscriber.onComplete();
+                        return;
+                    }
+                    ExtractionResult result = service.tryExtractReservationInfo(
+                            iterator.next(), plan, deadlineAfter(policy.getTimeoutNanos()));
+                    demand.decrementAndGet();
+                    subscriber.onNext(result);
+                }
+            } catch (RuntimeException e) {
+                terminate(e);
+            }
+        }
+
+        private void terminate(Throwable failure) {
+            if (!done) {
+                done = true;
+                subscriber.onError(failure);
+            }
+        }
+
+        @Override
+        void reject(RejectedExecutionException e) {
+            terminate(e);
+        }
+    }
+}
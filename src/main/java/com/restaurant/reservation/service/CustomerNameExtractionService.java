@@ -1,15 +1,24 @@
 package com.restaurant.reservation.service;
 
+import com.restaurant.reservation.metrics.ExtractorMetrics;
+import com.restaurant.reservation.metrics.MetricsRegistry;
+import com.restaurant.reservation.model.FieldResult;
+import com.restaurant.reservation.model.FieldStatus;
+import com.restaurant.reservation.model.ReservationField;
+
+import java.nio.ByteBuffer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /** Service zur Extraktion von Kundennamen aus deutschem Text. */
-public class CustomerNameExtractionService {
+public class CustomerNameExtractionService implements Extractor<String> {
+
+    private static final ExtractorMetrics METRICS = MetricsRegistry.getDefault().extractor("CustomerNameExtractionService");
 
     // Unterstützte Formate:
     // 1. Grußformeln (voll/abgekürzt): "Vielen Dank Klaus", "vG Klaus", "mfG Maria"
     // 2. Selbstvorstellungen: "Ich bin Franz Schulze"
-    private static final Pattern NAME_PATTERN = Pattern.compile(
+    static final Pattern NAME_PATTERN = Pattern.compile(
         "(?:dank|gruß|grüße|grüßen|vG|mfG|vd|bg|ich\\s+bin|hier\\s+ist)" +  // Grußformel/Vorstellung
         "\\s+" +
         "([A-ZÄÖÜ][a-zäöüß]+" +  // Erster Name (großgeschrieben)
@@ -19,22 +28,108 @@ public class CustomerNameExtractionService {
         Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE
     );
 
+    private final MatchingEngine engine;
+    private final NameRecognizer nameRecognizer = new NameRecognizer();
+
+    /** Erstellt den Service mit der Voreinstellung {@link MatchingEngine#getDefault()}. */
+    public CustomerNameExtractionService() {
+        this(MatchingEngine.getDefault());
+    }
+
+    public CustomerNameExtractionService(MatchingEngine engine) {
+        if (engine == null) {
+            throw new IllegalArgumentException("Matching-Engine darf nicht null sein");
+        }
+        this.engine = engine;
+    }
+
     /** Extrahiert Kundenname aus Text. */
     public String extractCustomerName(String text) {
-        if (text == null || text.trim().isEmpty()) {
-            throw new IllegalArgumentException("Text darf nicht leer sein");
+        return tryExtractCustomerName(text).orElseThrow();
+    }
+
+    /** Extrahiert Kundenname aus Text ohne Exceptions. */
+    public FieldResult<String> tryExtractCustomerName(String text) {
+        return tryExtractCustomerName((CharSequence) text);
+    }
+
+    @Override
+    public ReservationField getField() {
+        return ReservationField.CUSTOMER_NAME;
+    }
+
+    /** Entspricht {@link #tryExtractCustomerName(CharSequence)}. */
+    @Override
+    public FieldResult<String> extract(CharSequence text) {
+        return tryExtractCustomerName(text);
+    }
+
+    /** Wie {@link #tryExtractCustomerName(String)}, direkt auf einer beliebigen Zeichenfolge (z. B. CharBuffer) ohne Kopie. */
+    public FieldResult<String> tryExtractCustomerName(CharSequence text) {
+        long start = System.nanoTime();
+        FieldResult<String> result = scan(text);
+        METRICS.record(result.getStatus(), System.nanoTime() - start);
+        return result;
+    }
+
+    /** Wie {@link #tryExtractCustomerName(String)} für UTF-8-Bytes in bytes[offset, offset + length). */
+    public FieldResult<String> tryExtractCustomerName(ByteBuffer bytes, int offset, int length) {
+        return tryExtractCustomerName(Utf8Input.decode(bytes, offset, length));
+    }
+
+    private FieldResult<String> scan(CharSequence text) {
+        if (ScanSupport.isBlank(text)) {
+            return FieldResult.missing(ReservationField.CUSTOMER_NAME, FieldStatus.EMPTY_INPUT);
+        }
+        if (!KeywordGate.mayMatch(text, KeywordGate.NAME)) {
+            return FieldResult.missing(ReservationField.CUSTOMER_NAME, FieldStatus.NOT_FOUND);
+        }
+        ExtractionContext context = ExtractionContext.acquire();
+        try {
+            return scan(text, context);
+        } finally {
+            context.release();
+        }
+    }
+
+    private FieldResult<String> scan(CharSequence text, ExtractionContext context) {
+        ScanResult result = context.result(null);
+        if (engine == MatchingEngine.DETERMINISTIC) {
+            nameRecognizer.recognize(context.tokenize(text), result);
+            return result.customerNameStatus == FieldStatus.FOUND
+                    ? FieldResult.found(ReservationField.CUSTOMER_NAME, result.customerName)
+                    : FieldResult.missing(ReservationField.CUSTOMER_NAME, result.customerNameStatus);
         }
 
-        Matcher matcher = NAME_PATTERN.matcher(text);
+        Matcher matcher = context.matcher(NAME_PATTERN, text);
         if (matcher.find()) {
-            return matcher.group(1).replaceAll("\\s+", " ").trim();
+            // Leerraum direkt beim Kopieren zusammenfassen; angelegt wird nur der fertige Name
+            int start = matcher.start(1);
+            int end = matcher.end(1);
+            return FieldResult.found(ReservationField.CUSTOMER_NAME,
+                    ScanSupport.collapseSpaces(text, start, end, result.chars(end - start)));
         }
         
-        throw new IllegalArgumentException("Name nicht gefunden.");
+        return FieldResult.missing(ReservationField.CUSTOMER_NAME, FieldStatus.NOT_FOUND);
     }
 
     /** Prüft ob Text ein Namenmuster enthält. */
     public boolean containsCustomerName(String text) {
-        return text != null && NAME_PATTERN.matcher(text).find();
+        return containsCustomerName((CharSequence) text);
+    }
+
+    /** Prüft ohne Kopie, ob die Zeichenfolge ein passendes Muster enthält. */
+    public boolean containsCustomerName(CharSequence text) {
+        if (text == null || !KeywordGate.mayMatch(text, KeywordGate.NAME)) {
+            return false;
+        }
+        ExtractionContext context = ExtractionContext.acquire();
+        try {
+            return engine == MatchingEngine.DETERMINISTIC
+                    ? nameRecognizer.recognize(context.tokenize(text), context.result(null))
+                    : context.matcher(NAME_PATTERN, text).find();
+        } finally {
+            context.release();
+        }
     }
 }
\ No newline at end of file
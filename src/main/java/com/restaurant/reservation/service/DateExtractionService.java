@@ -1,50 +1,33 @@
 package com.restaurant.reservation.service;
 
+import com.restaurant.reservation.metrics.ExtractorMetrics;
+import com.restaurant.reservation.metrics.MetricsRegistry;
+import com.restaurant.reservation.model.FieldResult;
+import com.restaurant.reservation.model.FieldStatus;
+import com.restaurant.reservation.model.ReservationField;
+
+import java.nio.ByteBuffer;
+import java.time.Clock;
 import java.time.LocalDate;
+import java.time.Month;
 import java.time.Year;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-/** Service zur Extraktion von Datumswerten aus deutschem Text. */
-public class DateExtractionService {
-    
-    private static final Map<String, Integer> GERMAN_MONTHS = new HashMap<>();
-
-    static {
-        GERMAN_MONTHS.put("januar", 1);
-        GERMAN_MONTHS.put("februar", 2);
-        GERMAN_MONTHS.put("märz", 3);
-        GERMAN_MONTHS.put("april", 4);
-        GERMAN_MONTHS.put("mai", 5);
-        GERMAN_MONTHS.put("juni", 6);
-        GERMAN_MONTHS.put("juli", 7);
-        GERMAN_MONTHS.put("august", 8);
-        GERMAN_MONTHS.put("september", 9);
-        GERMAN_MONTHS.put("oktober", 10);
-        GERMAN_MONTHS.put("november", 11);
-        GERMAN_MONTHS.put("dezember", 12);
-        
-        GERMAN_MONTHS.put("jan", 1);
-        GERMAN_MONTHS.put("feb", 2);
-        GERMAN_MONTHS.put("mär", 3);
-        GERMAN_MONTHS.put("apr", 4);
-        GERMAN_MONTHS.put("jun", 6);
-        GERMAN_MONTHS.put("jul", 7);
-        GERMAN_MONTHS.put("aug", 8);
-        GERMAN_MONTHS.put("sep", 9);
-        GERMAN_MONTHS.put("okt", 10);
-        GERMAN_MONTHS.put("nov", 11);
-        GERMAN_MONTHS.put("dez", 12);
-    }
+/**
+ * Service zur Extraktion von Datumswerten aus deutschem Text. Angaben ohne Jahr und relative Angaben wie "morgen"
+ * werden über den Bezugstag der Uhr aufgelöst.
+ */
+public class DateExtractionService implements Extractor<LocalDate> {
 
+    private static final ExtractorMetrics METRICS = MetricsRegistry.getDefault().extractor("DateExtractionService");
+    
     // Unterstützte Formate:
     // 1. dd.mm Format: "15.03", "am 15.03"
     // 2. dd.mm. Format: "15.03.", "am 15.03."
     // 3. dd.mm.yyyy Format: "15.03.2025", "am 15.03.2025"
     // 4. dd. Monat Format: "15. März", "am 15. März", "15. mar"
-    private static final Pattern DATE_PATTERN = Pattern.compile(
+    static final Pattern DATE_PATTERN = Pattern.compile(
         "(?:am\\s+)?" +  // optional "am"
         "(\\d{1,2})\\." +  // Tag (1-2 Ziffern) mit Punkt
         "(?:" +
@@ -57,45 +40,159 @@ public class DateExtractionService {
         Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE
     );
 
+    private final MatchingEngine engine;
+    private final ReferenceDateSource referenceDates;
+    private final DateRecognizer dateRecognizer = new DateRecognizer(new GermanNumberParserService());
+
+    /** Erstellt den Service mit der Voreinstellung {@link MatchingEngine#getDefault()}. */
+    public DateExtractionService() {
+        this(MatchingEngine.getDefault());
+    }
+
+    public DateExtractionService(MatchingEngine engine) {
+        this(engine, Clock.systemDefaultZone());
+    }
+
+    /** Erstellt den Service mit eigener Uhr für den Bezugstag, z. B. Clock.fixed für reproduzierbare Ergebnisse. */
+    public DateExtractionService(MatchingEngine engine, Clock clock) {
+        if (engine == null) {
+            throw new IllegalArgumentException("Matching-Engine darf nicht null sein");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("Uhr darf nicht null sein");
+        }
+        this.engine = engine;
+        this.referenceDates = new ReferenceDateSource(clock);
+    }
+
+    public Clock getClock() {
+        return referenceDates.getClock();
+    }
+
     /** Extrahiert Datum aus Text. */
     public LocalDate extractDate(String text) {
-        if (text == null || text.trim().isEmpty()) {
-            throw new IllegalArgumentException("Text darf nicht leer sein");
+        return tryExtractDate(text).orElseThrow();
+    }
+
+    /** Extrahiert Datum aus Text ohne Exceptions. */
+    public FieldResult<LocalDate> tryExtractDate(String text) {
+        return tryExtractDate((CharSequence) text);
+    }
+
+    @Override
+    public ReservationField getField() {
+        return ReservationField.DATE;
+    }
+
+    /** Entspricht {@link #tryExtractDate(CharSequence)}. */
+    @Override
+    public FieldResult<LocalDate> extract(CharSequence text) {
+        return tryExtractDate(text);
+    }
+
+    /** Wie {@link #tryExtractDate(String)}, direkt auf einer beliebigen Zeichenfolge (z. B. CharBuffer) ohne Kopie. */
+    public FieldResult<LocalDate> tryExtractDate(CharSequence text) {
+        long start = System.nanoTime();
+        FieldResult<LocalDate> result = scan(text);
+        METRICS.record(result.getStatus(), System.nanoTime() - start);
+        return result;
+    }
+
+    /** Wie {@link #tryExtractDate(String)} für UTF-8-Bytes in bytes[offset, offset + length). */
+    public FieldResult<LocalDate> tryExtractDate(ByteBuffer bytes, int offset, int length) {
+        return tryExtractDate(Utf8Input.decode(bytes, offset, length));
+    }
+
+    private FieldResult<LocalDate> scan(CharSequence text) {
+        if (ScanSupport.isBlank(text)) {
+            return FieldResult.missing(ReservationField.DATE, FieldStatus.EMPTY_INPUT);
+        }
+        if (!KeywordGate.mayMatch(text, KeywordGate.DATE)) {
+            return FieldResult.missing(ReservationField.DATE, FieldStatus.NOT_FOUND);
+        }
+        ExtractionContext context = ExtractionContext.acquire();
+        try {
+            return scan(text, referenceDates.get(), context);
+        } finally {
+            context.release();
+        }
+    }
+
+    private FieldResult<LocalDate> scan(CharSequence text, ReferenceDate reference, ExtractionContext context) {
+        if (engine == MatchingEngine.DETERMINISTIC) {
+            ScanResult result = context.result(reference);
+            dateRecognizer.recognize(context.tokenize(text), result);
+            return toFieldResult(result);
         }
 
-        Matcher matcher = DATE_PATTERN.matcher(text);
+        // Gruppen direkt im Text auswerten, ohne Teilstrings anzulegen
+        Matcher matcher = context.matcher(DATE_PATTERN, text);
         if (matcher.find()) {
-            try {
-                int day = Integer.parseInt(matcher.group(1));
+            int day = ScanSupport.parseDigits(text, matcher.start(1), matcher.end(1));
+            
+            if (matcher.start(2) >= 0) {
+                int month = ScanSupport.parseDigits(text, matcher.start(2), matcher.end(2));
+                int year = matcher.start(3) >= 0
+                        ? ScanSupport.parseDigits(text, matcher.start(3), matcher.end(3))
+                        : reference.yearOf(month, day);
+                
+                if (year < 2000 || year > 2100) {
+                    return FieldResult.missing(ReservationField.DATE, FieldStatus.OUT_OF_RANGE);
+                }
                 
-                if (matcher.group(2) != null) {
-                    int month = Integer.parseInt(matcher.group(2));
-                    int year = matcher.group(3) != null ? Integer.parseInt(matcher.group(3)) : Year.now().getValue();
-                    
-                    if (year < 2000 || year > 2100) {
-                        throw new IllegalArgumentException("Jahr muss zwischen 2000 und 2100 liegen.");
-                    }
-                    
-                    return LocalDate.of(year, month, day);
-                } else if (matcher.group(4) != null) {
-                    Integer month = GERMAN_MONTHS.get(matcher.group(4).toLowerCase());
-                    
-                    if (month != null) {
-                        return LocalDate.of(Year.now().getValue(), month, day);
-                    }
+                return toDate(year, month, day);
+            } else if (matcher.start(4) >= 0) {
+                int month = DateRecognizer.monthOf(text, matcher.start(4), matcher.end(4));
+                
+                if (month > 0) {
+                    return toDate(reference.yearOf(month, day), month, day);
                 }
-            } catch (IllegalArgumentException e) {
-                throw e;
-            } catch (Exception e) {
-                throw new IllegalArgumentException("Ungültiges Datumsformat.");
             }
+            return FieldResult.missing(ReservationField.DATE, FieldStatus.NOT_FOUND);
         }
 
-        throw new IllegalArgumentException("Datum nicht gefunden.");
+        // Relative Angaben sind kein Teil von DATE_PATTERN; beide Engines lösen sie gleich auf
+        ScanResult result = context.result(reference);
+        dateRecognizer.searchFallback(context.tokenize(text), result);
+        return toFieldResult(result);
+    }
+
+    private static FieldResult<LocalDate> toFieldResult(ScanResult result) {
+        return result.dateStatus == FieldStatus.FOUND
+                ? FieldResult.found(ReservationField.DATE, result.date)
+                : FieldResult.missing(ReservationField.DATE, result.dateStatus);
+    }
+
+    // Prüft Tag und Monat vorab, statt DateTimeException von LocalDate.of abzufangen
+    private static FieldResult<LocalDate> toDate(int year, int month, int day) {
+        if (month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year))) {
+            return FieldResult.missing(ReservationField.DATE, FieldStatus.INVALID);
+        }
+        return FieldResult.found(ReservationField.DATE, LocalDate.of(year, month, day));
     }
 
     /** Prüft ob Text ein Datums-Muster enthält. */
     public boolean containsDate(String text) {
-        return text != null && DATE_PATTERN.matcher(text).find();
+        return containsDate((CharSequence) text);
+    }
+
+    /** Prüft ohne Kopie, ob die Zeichenfolge ein passendes Muster oder eine relative Angabe enthält. */
+    public boolean containsDate(CharSequence text) {
+        if (text == null || !KeywordGate.mayMatch(text, KeywordGate.DATE)) {
+            return false;
+        }
+        ExtractionContext context = ExtractionContext.acquire();
+        try {
+            if (engine == MatchingEngine.REGEX && context.matcher(DATE_PATTERN, text).find()) {
+                return true;
+            }
+            ScanResult result = context.result(referenceDates.get());
+            TokenStream tokens = context.tokenize(text);
+            return engine == MatchingEngine.DETERMINISTIC
+                    ? dateRecognizer.recognize(tokens, result)
+                    : dateRecognizer.searchFallback(tokens, result);
+        } finally {
+            context.release();
+        }
     }
 }
\ No newline at end of file
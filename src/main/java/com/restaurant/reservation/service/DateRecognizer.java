@@ -0,0 +1,254 @@
+package com.restaurant.reservation.service;
+
+import com.restaurant.reservation.model.FieldStatus;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+
+/**
+ * Tokenbasierter Erkenner für Datumswerte, äquivalent zu DATE_PATTERN. Ohne Treffer folgen relative Angaben
+ * ("heute", "morgen", "übermorgen", "nächsten Freitag", "in zwei Wochen"), aufgelöst über den Bezugstag.
+ */
+final class DateRecognizer implements FieldRecognizer {
+
+    // Monatsnamen und Abkürzungen, auch für die Monatswörter aus DATE_PATTERN
+    static final String[] MONTH_NAMES = {
+        "januar", "februar", "märz", "april", "mai", "juni", "juli", "august",
+        "september", "oktober", "november", "dezember",
+        "jan", "feb", "mär", "apr", "jun", "jul", "aug", "sep", "okt", "nov", "dez"
+    };
+    private static final int[] MONTH_VALUES = {
+        1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12,
+        1, 2, 3, 4, 6, 7, 8, 9, 10, 11, 12
+    };
+
+    // Wochentage in der Reihenfolge von DayOfWeek; "sonnabend" steht für Samstag
+    static final String[] WEEKDAYS = {
+        "montag", "dienstag", "mittwoch", "donnerstag", "freitag", "samstag", "sonntag", "sonnabend"
+    };
+    static final String[] NEXT_WORDS = {
+        "nächsten", "nächste", "naechsten", "naechste", "kommenden", "kommende"
+    };
+    static final String[] DAY_AFTER_TOMORROW = {"übermorgen", "uebermorgen"};
+    // Vor "morgen" ist die Tageszeit oder ein Gruß gemeint ("Guten Morgen", "jeden Morgen", "gestern morgen")
+    static final String[] MORNING_WORDS = {
+        "guten", "schönen", "schoenen", "einen", "jeden", "den", "diesen", "am", "gestern"
+    };
+    static final String[] ONE_WORDS = {"einem", "einer"};
+    static final String[] DAY_UNITS = {"tag", "tage", "tagen"};
+    static final String[] WEEK_UNITS = {"woche", "wochen"};
+
+    private final GermanNumberParserService germanNumberParser;
+
+    DateRecognizer(GermanNumberParserService germanNumberParser) {
+        this.germanNumberParser = germanNumberParser;
+    }
+
+    /**
+     * Wertet den ersten Datumstreffer aus und trägt Datum oder Fehler in das Ergebnis ein.
+     *
+     * @return ob DATE_PATTERN oder eine relative Angabe im Text trifft (auch wenn der Wert ungültig ist)
+     */
+    @Override
+    public boolean recognize(TokenStream tokens, ScanResult result) {
+        if (search(tokens, 0, tokens.size(), 0, result) == DECIDED || searchFallback(tokens, result)) {
+            return true;
+        }
+        result.dateStatus = FieldStatus.NOT_FOUND;
+        return false;
+    }
+
+    /** Sucht die erste relative Angabe; ein Datum wie "19.3." hat stets Vorrang. */
+    @Override
+    public boolean searchFallback(TokenStream tokens, ScanResult result) {
+        ReferenceDate reference = result.reference;
+        for (int i = 0; i < tokens.size(); i++) {
+            if (tokens.kind(i) != TokenStream.WORD) {
+                continue;
+            }
+            LocalDate date = null;
+            if (tokens.equalsFolded(i, "heute")) {
+                date = reference.today();
+            } else if (tokens.equalsFolded(i, "morgen")) {
+                int previous = previousWord(tokens, i);
+                if (previous < 0 || indexOfWord(tokens, previous, MORNING_WORDS) < 0) {
+                    date = reference.plusDays(1);
+                }
+            } else if (indexOfWord(tokens, i, DAY_AFTER_TOMORROW) >= 0) {
+                date = reference.plusDays(2);
+            } else if (indexOfWord(tokens, i, NEXT_WORDS) >= 0) {
+                int weekday = indexOfWord(tokens, nextWord(tokens, i), WEEKDAYS);
+                if (weekday >= 0) {
+                    date = reference.next(DayOfWeek.of(Math.min(weekday, 5) + 1));
+                }
+            } else if (tokens.equalsFolded(i, "in")) {
+                date = matchOffset(tokens, nextWord(tokens, i), reference);
+            }
+            if (date != null) {
+                // Der Bereich 2000 bis 2100 gilt nur für geschriebene Jahreszahlen
+                result.date = date;
+                result.dateStatus = FieldStatus.FOUND;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // "<Anzahl> Tag(e/en)|Woche(n)" nach "in"; Anzahl als Ziffern, Zahlwort oder "einem"/"einer"
+    private LocalDate matchOffset(TokenStream tokens, int countToken, ReferenceDate reference) {
+        if (countToken < 0) {
+            return null;
+        }
+        CharSequence text = tokens.text();
+        int count;
+        if (tokens.kind(countToken) == TokenStream.DIGITS) {
+            if (tokens.length(countToken) > 3) {
+                return null;
+            }
+            count = ScanSupport.parseDigits(text, tokens.start(countToken), tokens.end(countToken));
+        } else if (indexOfWord(tokens, countToken, ONE_WORDS) >= 0) {
+            count = 1;
+        } else {
+            count = germanNumberParser.parseNumber(text, tokens.start(countToken), tokens.end(countToken));
+            if (count == GermanNumberParserService.NO_NUMBER) {
+                return null;
+            }
+        }
+        int unit = nextWord(tokens, countToken);
+        if (indexOfWord(tokens, unit, DAY_UNITS) >= 0) {
+            return reference.plusDays(count);
+        }
+        if (indexOfWord(tokens, unit, WEEK_UNITS) >= 0) {
+            return reference.plusDays(count * 7);
+        }
+        return null;
+    }
+
+    // Index des Wort- oder Zahl-Tokens nach höchstens einem Leerraum-Token oder -1
+    private static int nextWord(TokenStream tokens, int index) {
+        int next = tokens.is(index + 1, TokenStream.SPACE) ? index + 2 : index + 1;
+        return tokens.is(next, TokenStream.WORD) || tokens.is(next, TokenStream.DIGITS) ? next : -1;
+    }
+
+    private static int previousWord(TokenStream tokens, int index) {
+        int previous = tokens.is(index - 1, TokenStream.SPACE) ? index - 2 : index - 1;
+        return tokens.is(previous, TokenStream.WORD) ? previous : -1;
+    }
+
+    // Index des Schlüsselworts, dem das Token genau entspricht, oder -1 (auch für index -1)
+    private static int indexOfWord(TokenStream tokens, int index, String[] words) {
+        if (index < 0) {
+            return -1;
+        }
+        for (int i = 0; i < words.length; i++) {
+            if (tokens.equalsFolded(index, words[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Der erste Treffer entscheidet, auch wenn er ungültig ist: from bleibt unverändert
+    @Override
+    public int search(TokenStream tokens, int fromToken, int toToken, int from, ScanResult result) {
+        CharSequence text = tokens.text();
+        for (int i = fromToken; i < toToken; i++) {
+            if (tokens.kind(i) != TokenStream.DIGITS || !tokens.isChar(i + 1, '.')) {
+                continue;
+            }
+            int dayStart = Math.max(tokens.start(i), tokens.end(i) - 2);
+            int day = ScanSupport.parseDigits(text, dayStart, tokens.end(i));
+            int afterDot = tokens.end(i) + 1;
+
+            if (tokens.is(i + 2, TokenStream.DIGITS)) {
+                if (matchNumericMonth(tokens, i + 2, day, result)) {
+                    return DECIDED;
+                }
+            } else if (matchMonthName(text, afterDot, day, result)) {
+                return DECIDED;
+            }
+        }
+        return from;
+    }
+
+    // (\d{1,2})\.?(?:\s*(\d{4}))? mit Rücksetzen, bis keine Zeitangabe folgt
+    private boolean matchNumericMonth(TokenStream tokens, int monthToken, int day, ScanResult result) {
+        CharSequence text = tokens.text();
+        int monthStart = tokens.start(monthToken);
+        for (int monthLength = Math.min(2, tokens.length(monthToken)); monthLength >= 1; monthLength--) {
+            int monthEnd = monthStart + monthLength;
+            boolean hasDot = monthEnd < text.length() && text.charAt(monthEnd) == '.';
+            for (int dot = hasDot ? 1 : 0; dot >= 0; dot--) {
+                int afterMonth = monthEnd + dot;
+                int yearStart = ScanSupport.skipSpaces(text, afterMonth);
+                boolean hasYear = isFourDigits(text, yearStart);
+                for (int year = hasYear ? 1 : 0; year >= 0; year--) {
+                    int end = year == 1 ? yearStart + 4 : afterMonth;
+                    if (!ScanSupport.followedBy(text, end, ScanSupport.DATE_TIME_SUFFIXES)) {
+                        int month = ScanSupport.parseDigits(text, monthStart, monthEnd);
+                        int yearValue = year == 1
+                                ? ScanSupport.parseDigits(text, yearStart, yearStart + 4)
+                                : result.reference.yearOf(month, day);
+                        resolve(yearValue, month, day, result);
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    // \s*([a-zäöüß]+) mit Rücksetzen, bis keine Zeitangabe folgt
+    private boolean matchMonthName(CharSequence text, int afterDot, int day, ScanResult result) {
+        int wordStart = ScanSupport.skipSpaces(text, afterDot);
+        int wordEnd = wordStart;
+        while (wordEnd < text.length() && ScanSupport.isLetter(text.charAt(wordEnd))) {
+            wordEnd++;
+        }
+        for (int end = wordEnd; end > wordStart; end--) {
+            if (!ScanSupport.followedBy(text, end, ScanSupport.DATE_TIME_SUFFIXES)) {
+                int month = monthOf(text, wordStart, end);
+                if (month < 0) {
+                    result.dateStatus = FieldStatus.NOT_FOUND;
+                } else {
+                    resolve(result.reference.yearOf(month, day), month, day, result);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isFourDigits(CharSequence text, int pos) {
+        for (int i = 0; i < 4; i++) {
+            if (!ScanSupport.isDigitAt(text, pos + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Monat zum Monatsnamen oder zur Abkürzung in text[start, end), ohne Beachtung der Schreibweise; sonst -1. */
+    static int monthOf(CharSequence text, int start, int end) {
+        int length = end - start;
+        for (int i = 0; i < MONTH_NAMES.length; i++) {
+            if (MONTH_NAMES[i].length() == length && ScanSupport.startsWithFolded(text, start, MONTH_NAMES[i])) {
+                return MONTH_VALUES[i];
+            }
+        }
+        return -1;
+    }
+
+    private static void resolve(int year, int month, int day, ScanResult result) {
+        if (year < 2000 || year > 2100) {
+            result.dateStatus = FieldStatus.OUT_OF_RANGE;
+        } else if (month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year))) {
+            result.dateStatus = FieldStatus.INVALID;
+        } else {
+            result.date = LocalDate.of(year, month, day);
+            result.dateStatus = FieldStatus.FOUND;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.restaurant.reservation.service;
+
+/**
+ * Zeichenfolge, die beim Lesen regelmäßig die Uhr prüft und nach Ablauf der Frist abbricht. Greift auch
+ * innerhalb von java.util.regex, da der Matcher jedes Zeichen über charAt liest.
+ */
+final class DeadlineCharSequence implements CharSequence {
+
+    // Zeichenzugriffe zwischen zwei Uhrzeitabfragen
+    private static final int CHECK_INTERVAL = 256;
+
+    private final CharSequence text;
+    private final long deadline;
+    // Bei paralleler Auswertung teilen sich mehrere Threads den Zähler; Wettläufe verschieben nur den Prüfzeitpunkt
+    private int countdown = CHECK_INTERVAL;
+
+    /** @param deadline Zeitpunkt im Maßstab von System.nanoTime() */
+    DeadlineCharSequence(CharSequence text, long deadline) {
+        this.text = text;
+        this.deadline = deadline;
+    }
+
+    /** Die umhüllte Zeichenfolge, für Zugriffe ohne Fristprüfung. */
+    CharSequence unwrap() {
+        return text;
+    }
+
+    /** Eine andere Zeichenfolge mit derselben Frist. */
+    DeadlineCharSequence withText(CharSequence other) {
+        return new DeadlineCharSequence(other, deadline);
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (--countdown < 0) {
+            countdown = CHECK_INTERVAL;
+            if (System.nanoTime() - deadline > 0) {
+                throw DeadlineExceededException.INSTANCE;
+            }
+        }
+        return text.charAt(index);
+    }
+
+    @Override
+    public int length() {
+        return text.length();
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new DeadlineCharSequence(text.subSequence(start, end), deadline);
+    }
+
+    @Override
+    public String toString() {
+        return text.toString();
+    }
+
+    /** Signal für die abgelaufene Frist; eine geteilte Instanz ohne Stacktrace, da sie nur intern gefangen wird. */
+    static final class DeadlineExceededException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        static final DeadlineExceededException INSTANCE = new DeadlineExceededException();
+
+        private DeadlineExceededException() {
+            super("Zeitbudget überschritten", null, false, false);
+        }
+    }
+}
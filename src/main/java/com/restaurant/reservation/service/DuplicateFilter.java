@@ -0,0 +1,367 @@
+package com.restaurant.reservation.service;
+
+import com.restaurant.reservation.model.ExtractionResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Vorstufe der Batch-Verarbeitung vor {@link ReservationExtractorService}: mehrfach gesendete Anfragen werden über
+ * einen exakten Hash des Textes mit zusammengefasstem Leerraum (wie der Schlüssel von {@link ExtractionCache}),
+ * leicht veränderte über SimHash (64 Bit, Hamming-Abstand) des normalisierten Textes erkannt und erhalten das
+ * Ergebnis ihres ersten Vorkommens, ohne erneut extrahiert zu werden.
+ *
+ * <p>Ein Beinahe-Duplikat zählt nur, wenn zusätzlich alle wertrelevanten Wörter in der Schreibweise des Originals
+ * übereinstimmen (Ziffern, Zahlwörter, der Wortschatz der Erkenner wie Monatsnamen, Tageszeiten, Personenwörter und
+ * relative Angaben, Einzelbuchstaben wie in "p.m." sowie großgeschriebene Wörter außer dem ersten), ebenso die
+ * Leerzeichen und Satzzeichen direkt davor und danach, damit ein geändertes Datum, eine geänderte Uhrzeit oder ein
+ * anderer Name nie ein fremdes Ergebnis erhält. Der Index hält höchstens maxEntries Texte und verdrängt die
+ * ältesten; wechselt der Bezugstag des Services, wird er geleert, da Angaben wie "morgen" dann einen anderen Tag
+ * bezeichnen. Nicht threadsicher; die Extraktion selbst läuft parallel im Service.
+ */
+public final class DuplicateFilter {
+
+    /**
+     * Bei kurzen Anfragen kippt schon ein eingefügtes Wort mehrere Bits; fremde Texte liegen um 32 Bit auseinander
+     * und müssten zudem in allen wertrelevanten Wörtern übereinstimmen.
+     */
+    public static final int DEFAULT_MAX_DISTANCE = 12;
+
+    // Kandidaten für Beinahe-Duplikate: nur die jüngsten Einträge mit denselben wertrelevanten Wörtern
+    private static final int MAX_CANDIDATES = 32;
+
+    // Wortschatz der Erkenner: jedes dieser Wörter kann einen Feldwert ändern, auch kleingeschrieben ("15. märz")
+    private static final Set<String> VALUE_WORDS = new HashSet<>(RecognizerVocabulary.WORDS);
+
+    static {
+        VALUE_WORDS.addAll(Arrays.asList("früh", "halb", "viertel"));
+    }
+
+    private final ReservationExtractorService service;
+    private final GermanNumberParserService parser = new GermanNumberParserService();
+    private final int maxDistance;
+
+    // Ringpuffer der Einträge; serials unterscheidet nacheinander belegte Plätze
+    private final long[] exactHashes;
+    private final long[] simHashes;
+    private final long[] valueHashes;
+    private final long[] ids;
+    private final long[] serials;
+    private final ExtractionResult[] results;
+    private final int[] pending;
+    private final Map<Long, Integer> exactIndex = new HashMap<>();
+    private final Map<Long, List<Integer>> valueIndex = new HashMap<>();
+    private int size;
+    private int next;
+    private long serial;
+    // Bezugstag des Services, zu dem die gemerkten Ergebnisse gehören
+    private long referenceDay = Long.MIN_VALUE;
+
+    private long exactDuplicates;
+    private long nearDuplicates;
+
+    // Fingerabdruck des zuletzt berechneten Textes
+    private long exactHash;
+    private long simHash;
+    private long valueHash;
+    private boolean nearComparable;
+
+    public DuplicateFilter(ReservationExtractorService service, int maxEntries) {
+        this(service, maxEntries, DEFAULT_MAX_DISTANCE);
+    }
+
+    /**
+     * Erstellt den Filter.
+     *
+     * @param maxEntries  Obergrenze der gemerkten Texte
+     * @param maxDistance höchster Hamming-Abstand der SimHashes für ein Beinahe-Duplikat (0 bis 64, 0 = nur exakt)
+     */
+    public DuplicateFilter(ReservationExtractorService service, int maxEntries, int maxDistance) {
+        if (service == null) {
+            throw new IllegalArgumentException("Service darf nicht null sein");
+        }
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Indexgröße muss positiv sein");
+        }
+        if (maxDistance < 0 || maxDistance > Long.SIZE) {
+            throw new IllegalArgumentException("Abstand muss zwischen 0 und " + Long.SIZE + " liegen");
+        }
+        this.service = service;
+        this.maxDistance = maxDistance;
+        this.exactHashes = new long[maxEntries];
+        this.simHashes = new long[maxEntries];
+        this.valueHashes = new long[maxEntries];
+        this.ids = new long[maxEntries];
+        this.serials = new long[maxEntries];
+        this.results = new ExtractionResult[maxEntries];
+        this.pending = new int[maxEntries];
+    }
+
+    /**
+     * Extrahiert die Texte eines Blocks mit dem Standardplan des Services; Duplikate früherer Texte, auch aus
+     * demselben Block, übernehmen deren Ergebnis. duplicateOf[i] erhält die Kennung des ersten Vorkommens aus ids
+     * oder -1, wenn texts[i] selbst extrahiert wurde.
+     */
+    public List<ExtractionResult> extractAll(List<String> texts, long[] ids, long[] duplicateOf) {
+        int count = texts.size();
+        if (ids.length < count || duplicateOf.length < count) {
+            throw new IllegalArgumentException("Kennungen und Duplikat-Array müssen so lang wie die Textliste sein");
+        }
+        long day = service.referenceDay();
+        if (day != referenceDay) {
+            for (int slot = 0; slot < serials.length; slot++) {
+                remove(slot);
+            }
+            referenceDay = day;
+        }
+        ExtractionResult[] out = new ExtractionResult[count];
+        // Index in unique oder -1, wenn das Ergebnis bereits feststeht
+        int[] extractIndex = new int[count];
+        List<String> unique = new ArrayList<>();
+        int[] uniqueSlots = new int[count];
+        long[] uniqueSerials = new long[count];
+
+        for (int i = 0; i < count; i++) {
+            String text = texts.get(i);
+            duplicateOf[i] = -1;
+            if (!fingerprint(text)) {
+                // Leere Texte werden nicht gemerkt
+                uniqueSlots[unique.size()] = -1;
+                extractIndex[i] = unique.size();
+                unique.add(text);
+                continue;
+            }
+            int slot = find();
+            if (slot >= 0) {
+                duplicateOf[i] = this.ids[slot];
+                out[i] = results[slot];
+                extractIndex[i] = results[slot] == null ? pending[slot] : -1;
+                continue;
+            }
+            slot = add(ids[i], unique.size());
+            uniqueSlots[unique.size()] = slot;
+            uniqueSerials[unique.size()] = serials[slot];
+            extractIndex[i] = unique.size();
+            unique.add(text);
+        }
+
+        List<ExtractionResult> extracted = service.extractAll(unique);
+        for (int j = 0; j < extracted.size(); j++) {
+            int slot = uniqueSlots[j];
+            if (slot >= 0 && serials[slot] == uniqueSerials[j]) {
+                ExtractionResult result = extracted.get(j);
+                // Ein Zeitbudget-Abbruch hängt von der Last ab, nicht vom Text
+                if (result.isLimitExceeded()) {
+                    remove(slot);
+                } else {
+                    results[slot] = result;
+                }
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            if (extractIndex[i] >= 0) {
+                out[i] = extracted.get(extractIndex[i]);
+            }
+        }
+        return Arrays.asList(out);
+    }
+
+    /** Berechnet den Fingerabdruck in die Felder; false bei leerem Text. */
+    private boolean fingerprint(CharSequence text) {
+        NormalizedText normalized = NormalizedText.of(text);
+        if (normalized.length() == 0) {
+            return false;
+        }
+        CharSequence original = normalized.original();
+        TokenStream tokens = TokenStream.of(normalized);
+        int[] weights = new int[Long.SIZE];
+        boolean[] values = new boolean[tokens.size()];
+        long previous = 0;
+        int words = 0;
+        for (int t = 0; t < tokens.size(); t++) {
+            byte kind = tokens.kind(t);
+            if (kind != TokenStream.WORD && kind != TokenStream.DIGITS) {
+                continue;
+            }
+            int start = tokens.start(t);
+            int end = tokens.end(t);
+            long hash = 0xcbf29ce484222325L;
+            for (int i = start; i < end; i++) {
+                hash = (hash ^ normalized.charAt(i)) * 0x100000001b3L;
+            }
+            // Einzelwörter und Wortpaare als Merkmale
+            addFeature(weights, mix(hash));
+            if (words > 0) {
+                addFeature(weights, mix(previous * 31 + hash));
+            }
+            values[t] = kind == TokenStream.DIGITS || isValueWord(normalized, original, start, end, words == 0);
+            previous = hash;
+            words++;
+        }
+        // Wertrelevante Token samt angrenzender Trenner: "15.10." und "15:10" oder "Eva Berg" und "Eva-Berg"
+        // ergeben verschiedene Felder
+        long value = 0;
+        for (int t = 0; t < tokens.size(); t++) {
+            byte kind = tokens.kind(t);
+            boolean separator = kind == TokenStream.SPACE || kind == TokenStream.OTHER;
+            if (!values[t] && !(separator && (t > 0 && values[t - 1] || t + 1 < tokens.size() && values[t + 1]))) {
+                continue;
+            }
+            long exact = 0xcbf29ce484222325L;
+            if (kind == TokenStream.SPACE) {
+                exact = (exact ^ ' ') * 0x100000001b3L;
+            } else {
+                // Über das Original, damit "Jörg" und "Joerg" verschiedene Ergebnisse behalten
+                int end = normalized.originalIndex(tokens.end(t));
+                for (int i = normalized.originalIndex(tokens.start(t)); i < end; i++) {
+                    exact = (exact ^ original.charAt(i)) * 0x100000001b3L;
+                }
+            }
+            value = mix(value * 31 + exact);
+        }
+        long sim = 0;
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            if (weights[bit] > 0) {
+                sim |= 1L << bit;
+            }
+        }
+        this.exactHash = exactHash(text);
+        this.simHash = sim;
+        this.valueHash = value;
+        // Bei sehr kurzen Texten kippt ein Wort zu viele Bits; nur exakte Treffer
+        this.nearComparable = words >= 4;
+        return true;
+    }
+
+    // FNV-1a über den Originaltext; Leerraum-Folgen zählen als ein Leerzeichen, am Rand gar nicht
+    private static long exactHash(CharSequence text) {
+        long hash = 0xcbf29ce484222325L;
+        boolean space = false;
+        boolean any = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (ScanSupport.isSpace(c)) {
+                space = any;
+                continue;
+            }
+            if (space) {
+                hash = (hash ^ ' ') * 0x100000001b3L;
+                space = false;
+            }
+            hash = (hash ^ c) * 0x100000001b3L;
+            any = true;
+        }
+        return hash;
+    }
+
+    private boolean isValueWord(NormalizedText normalized, CharSequence original, int start, int end, boolean first) {
+        if (end - start == 1 || parser.parseNumber(normalized, start, end) != GermanNumberParserService.NO_NUMBER) {
+            return true;
+        }
+        if (!first && Character.isUpperCase(original.charAt(normalized.originalIndex(start)))) {
+            return true;
+        }
+        return VALUE_WORDS.contains(normalized.subSequence(start, end).toString());
+    }
+
+    private static void addFeature(int[] weights, long feature) {
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            weights[bit] += (feature >>> bit & 1) != 0 ? 1 : -1;
+        }
+    }
+
+    // Finalisierer von SplitMix64: verteilt ähnliche Eingaben auf unabhängige Bits
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private int find() {
+        Integer slot = exactIndex.get(exactHash);
+        if (slot != null) {
+            exactDuplicates++;
+            return slot;
+        }
+        if (maxDistance == 0 || !nearComparable) {
+            return -1;
+        }
+        List<Integer> candidates = valueIndex.get(valueHash);
+        if (candidates == null) {
+            return -1;
+        }
+        // Jüngste zuerst: wiederholte Anfragen folgen meist kurz aufeinander
+        for (int i = candidates.size() - 1; i >= 0; i--) {
+            int candidate = candidates.get(i);
+            if (Long.bitCount(simHashes[candidate] ^ simHash) <= maxDistance) {
+                nearDuplicates++;
+                return candidate;
+            }
+        }
+        return -1;
+    }
+
+    private int add(long id, int pendingIndex) {
+        int slot = next;
+        remove(slot);
+        next = (next + 1) % exactHashes.length;
+        size++;
+        exactHashes[slot] = exactHash;
+        simHashes[slot] = simHash;
+        valueHashes[slot] = valueHash;
+        ids[slot] = id;
+        serials[slot] = ++serial;
+        results[slot] = null;
+        pending[slot] = pendingIndex;
+        exactIndex.put(exactHash, slot);
+        if (maxDistance > 0 && nearComparable) {
+            List<Integer> candidates = valueIndex.computeIfAbsent(valueHash, key -> new ArrayList<>(1));
+            if (candidates.size() == MAX_CANDIDATES) {
+                candidates.remove(0);
+            }
+            candidates.add(slot);
+        }
+        return slot;
+    }
+
+    private void remove(int slot) {
+        if (serials[slot] == 0) {
+            return;
+        }
+        exactIndex.remove(exactHashes[slot], slot);
+        List<Integer> candidates = valueIndex.get(valueHashes[slot]);
+        if (candidates != null) {
+            candidates.remove(Integer.valueOf(slot));
+            if (candidates.isEmpty()) {
+                valueIndex.remove(valueHashes[slot]);
+            }
+        }
+        serials[slot] = 0;
+        results[slot] = null;
+        size--;
+    }
+
+    public long getExactDuplicateCount() {
+        return exactDuplicates;
+    }
+
+    public long getNearDuplicateCount() {
+        return nearDuplicates;
+    }
+
+    /** Anzahl der gemerkten Texte. */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Duplikate: %d exakt, %d ähnlich, %d Einträge im Index",
+                exactDuplicates, nearDuplicates, size);
+    }
+}
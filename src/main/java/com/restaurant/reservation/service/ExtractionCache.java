@@ -0,0 +1,185 @@
+package com.restaurant.reservation.service;
+
+import com.restaurant.reservation.model.ExtractionResult;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/** Begrenzter LRU-Cache für Extraktionsergebnisse, Schlüssel ist der Text mit zusammengefassten Leerzeichen. */
+public class ExtractionCache {
+
+    public static final int DEFAULT_MAX_TEXT_LENGTH = 16 * 1024;
+
+    // Segmente mit eigener Sperre, damit die Batch-Verarbeitung nicht an einem Monitor hängt
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final int maxTextLength;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ExtractionCache(int maxEntries) {
+        this(maxEntries, DEFAULT_MAX_TEXT_LENGTH);
+    }
+
+    /**
+     * Erstellt den Cache.
+     *
+     * @param maxEntries    Obergrenze der Einträge, verteilt auf die Segmente
+     * @param maxTextLength längere Texte werden nicht gecacht
+     */
+    public ExtractionCache(int maxEntries, int maxTextLength) {
+        if (maxEntries < 1 || maxTextLength < 1) {
+            throw new IllegalArgumentException("Cachegröße und Textlänge müssen positiv sein");
+        }
+        int perSegment = Math.max(1, (maxEntries + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+        this.maxTextLength = maxTextLength;
+    }
+
+    /**
+     * Liefert das gecachte Ergebnis zum Bezugstag oder berechnet, speichert und liefert es. Einträge eines anderen
+     * Bezugstags gelten als Fehlzugriff, da Angaben ohne Jahr und relative Angaben von ihm abhängen.
+     */
+    ExtractionResult get(CharSequence text, ReferenceDate reference,
+                         BiFunction<CharSequence, ReferenceDate, ExtractionResult> extractor) {
+        if (text.length() > maxTextLength) {
+            return extractor.apply(text, reference);
+        }
+        long day = reference.epochDay();
+        String key = normalize(text);
+        Segment segment = segments[(key.hashCode() ^ (key.hashCode() >>> 16)) & (SEGMENTS - 1)];
+
+        Entry entry;
+        synchronized (segment) {
+            entry = segment.get(key);
+        }
+        if (entry != null && entry.day == day) {
+            hits.increment();
+            return entry.result;
+        }
+
+        misses.increment();
+        ExtractionResult result = extractor.apply(text, reference);
+        // Ein Zeitbudget-Abbruch hängt von der Last ab, nicht vom Text
+        if (!result.isLimitExceeded()) {
+            synchronized (segment) {
+                segment.put(key, new Entry(result, day));
+            }
+        }
+        return result;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /** Anteil der Treffer an allen Zugriffen oder 0 ohne Zugriffe. */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Cache: %d Einträge, %d Treffer, %d Fehlzugriffe, %d verdrängt",
+                size(), getHitCount(), getMissCount(), getEvictionCount());
+    }
+
+    /**
+     * Fasst Leerraum-Folgen ({@code \s}) zu einem Leerzeichen zusammen und entfernt ihn am Rand.
+     * Alle Muster prüfen Leerraum nur mit {@code \s+}, {@code \s*} oder {@code $}, daher bleibt das Ergebnis gleich.
+     */
+    static String normalize(CharSequence text) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && ScanSupport.isSpace(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && ScanSupport.isSpace(text.charAt(end - 1))) {
+            end--;
+        }
+        StringBuilder key = null;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (!ScanSupport.isSpace(c)) {
+                if (key != null) {
+                    key.append(c);
+                }
+                continue;
+            }
+            int runEnd = i + 1;
+            while (ScanSupport.isSpace(text.charAt(runEnd))) {
+                runEnd++;
+            }
+            if (key == null && (c != ' ' || runEnd > i + 1)) {
+                key = new StringBuilder(end - start).append(text, start, i);
+            }
+            if (key != null) {
+                key.append(' ');
+            }
+            i = runEnd - 1;
+        }
+        return key != null ? key.toString() : text.subSequence(start, end).toString();
+    }
+
+    private static final class Entry {
+        final ExtractionResult result;
+        final long day;
+
+        Entry(ExtractionResult result, long day) {
+            this.result = result;
+            this.day = day;
+        }
+    }
+
+    private final class Segment extends LinkedHashMap<String, Entry> {
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
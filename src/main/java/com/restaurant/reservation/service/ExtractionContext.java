@@ -0,0 +1,107 @@
+package com.restaurant.reservation.service;
+
+import com.restaurant.reservation.model.ReservationField;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Wiederverwendbarer Arbeitsspeicher eines Extraktionsaufrufs: normalisierter Text, Token-Strom, Zwischenergebnis,
+ * Feldreihenfolge und die Matcher der Regex-Services. Einer je Thread, zurückgesetzt je Eingabe; ein Aufruf legt
+ * im eingeschwungenen Zustand nur noch seine Ergebniswerte an. Ein verschachtelter Aufruf im selben Thread, etwa
+ * ein registrierter Extraktor oder ein während der parallelen Auswertung übernommener Fork-Join-Task, erhält einen
+ * eigenen Kontext, der ebenfalls für spätere Aufrufe derselben Tiefe behalten wird.
+ */
+final class ExtractionContext {
+
+    private static final ThreadLocal<ExtractionContext> CURRENT = ThreadLocal.withInitial(ExtractionContext::new);
+
+    private static final int FIELD_COUNT = ReservationField.values().length;
+
+    // Größere Token-Puffer werden nach dem Aufruf verworfen, damit Threads keine Riesenpuffer behalten
+    private static final int INITIAL_TOKENS = 256;
+    private static final int MAX_RETAINED_TOKENS = 1 << 16;
+
+    // Je ein Muster der vier Regex-Services; weitere Muster erhalten einen einmaligen Matcher
+    private static final int MAX_MATCHERS = 4;
+
+    private NormalizedText normalized;
+    private TokenStream tokens = TokenStream.allocate(INITIAL_TOKENS);
+    private final ScanResult result = new ScanResult();
+    private final Pattern[] patterns = new Pattern[MAX_MATCHERS];
+    private final Matcher[] matchers = new Matcher[MAX_MATCHERS];
+    private int matcherCount;
+    private boolean inUse;
+    // Kontext für einen verschachtelten Aufruf, angelegt beim ersten Bedarf
+    private ExtractionContext nested;
+
+    /** Reihenfolge der Felder für {@link ExtractionScheduler#order(int, boolean, int[], double[])}. */
+    final int[] order = new int[FIELD_COUNT];
+    final double[] ranks = new double[FIELD_COUNT];
+
+    /** Kontext des aktuellen Threads; mit {@link #release()} freigeben. */
+    static ExtractionContext acquire() {
+        ExtractionContext context = CURRENT.get();
+        while (context.inUse) {
+            if (context.nested == null) {
+                context.nested = new ExtractionContext();
+            }
+            context = context.nested;
+        }
+        context.inUse = true;
+        return context;
+    }
+
+    /** Gibt den Kontext frei und löst alle Verweise auf die Eingabe. */
+    void release() {
+        if (normalized != null) {
+            normalized.clear();
+        }
+        if (tokens.capacity() > MAX_RETAINED_TOKENS) {
+            tokens = TokenStream.allocate(INITIAL_TOKENS);
+        } else {
+            tokens.reset("");
+        }
+        for (int i = 0; i < matcherCount; i++) {
+            matchers[i].reset("");
+        }
+        result.reset();
+        inUse = false;
+    }
+
+    /** Normalisiert text in den Puffer des Kontexts. */
+    NormalizedText normalize(CharSequence text) {
+        NormalizedText out = NormalizedText.of(text, normalized);
+        if (out.isRetainable()) {
+            normalized = out;
+        }
+        return out;
+    }
+
+    /** Zerlegt text in den Token-Puffer des Kontexts; gültig bis zum nächsten Aufruf. */
+    TokenStream tokenize(CharSequence text) {
+        return tokens.reset(text);
+    }
+
+    /** Das zurückgesetzte Zwischenergebnis mit dem Bezugstag reference (darf null sein, wenn kein Datum läuft). */
+    ScanResult result(ReferenceDate reference) {
+        result.reset();
+        result.reference = reference;
+        return result;
+    }
+
+    /** Matcher für pattern auf text, je Muster einmal angelegt und danach nur zurückgesetzt. */
+    Matcher matcher(Pattern pattern, CharSequence text) {
+        for (int i = 0; i < matcherCount; i++) {
+            if (patterns[i] == pattern) {
+                return matchers[i].reset(text);
+            }
+        }
+        Matcher matcher = pattern.matcher(text);
+        if (matcherCount < MAX_MATCHERS) {
+            patterns[matcherCount] = pattern;
+            matchers[matcherCount++] = matcher;
+        }
+        return matcher;
+    }
+}
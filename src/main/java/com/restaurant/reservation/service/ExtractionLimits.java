@@ -0,0 +1,46 @@
+package com.restaurant.reservation.service;
+
+import java.util.concurrent.TimeUnit;
+
+/** Obergrenzen je Extraktionsaufruf: Textlänge in Zeichen und Zeitbudget. */
+public final class ExtractionLimits {
+
+    /** Keine Begrenzung. */
+    public static final ExtractionLimits NONE = new ExtractionLimits(Integer.MAX_VALUE, 0, TimeUnit.NANOSECONDS);
+
+    private final int maxInputLength;
+    private final long timeBudgetNanos;
+
+    /**
+     * Erstellt die Grenzen.
+     *
+     * @param maxInputLength längere Texte werden ohne Auswertung mit INPUT_TOO_LONG beantwortet
+     * @param timeBudget     Zeitbudget je Aufruf, 0 für unbegrenzt; danach erhalten offene Felder TIMEOUT
+     */
+    public ExtractionLimits(int maxInputLength, long timeBudget, TimeUnit unit) {
+        if (maxInputLength < 1 || timeBudget < 0) {
+            throw new IllegalArgumentException("Höchstlänge muss positiv und Zeitbudget darf nicht negativ sein");
+        }
+        this.maxInputLength = maxInputLength;
+        this.timeBudgetNanos = unit.toNanos(timeBudget);
+    }
+
+    public int getMaxInputLength() {
+        return maxInputLength;
+    }
+
+    /** Zeitbudget in Nanosekunden, 0 für unbegrenzt. */
+    public long getTimeBudgetNanos() {
+        return timeBudgetNanos;
+    }
+
+    public boolean hasTimeBudget() {
+        return timeBudgetNanos > 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Grenzen: " + (maxInputLength == Integer.MAX_VALUE ? "beliebig viele" : maxInputLength) + " Zeichen, "
+                + (hasTimeBudget() ? TimeUnit.NANOSECONDS.toMicros(timeBudgetNanos) + "µs" : "ohne Zeitbudget");
+    }
+}
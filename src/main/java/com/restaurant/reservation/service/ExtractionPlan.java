@@ -0,0 +1,90 @@
+package com.restaurant.reservation.service;
+
+import com.restaurant.reservation.model.ExtractionResult;
+import com.restaurant.reservation.model.FieldStatus;
+import com.restaurant.reservation.model.ReservationField;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Angeforderte Felder eines Extraktionsaufrufs. Nicht angeforderte Felder erhalten SKIPPED; im Fail-fast-Modus
+ * endet die Auswertung beim ersten angeforderten Feld, das nicht gefunden wird.
+ */
+public final class ExtractionPlan {
+
+    /** Alle vier Felder, vollständig ausgewertet (bisheriges Verhalten). */
+    public static final ExtractionPlan ALL = new ExtractionPlan(EnumSet.allOf(ReservationField.class), false);
+
+    private final Set<ReservationField> fields;
+    private final boolean failFast;
+    // Felder als KeywordGate-Bits (1 << ordinal)
+    private final int mask;
+
+    private ExtractionPlan(Set<ReservationField> fields, boolean failFast) {
+        this.fields = Collections.unmodifiableSet(fields);
+        this.failFast = failFast;
+        int bits = 0;
+        for (ReservationField field : fields) {
+            bits |= 1 << field.ordinal();
+        }
+        this.mask = bits;
+    }
+
+    /** Plan für die gegebenen Felder, z. B. nur Datum und Uhrzeit für eine Kapazitätsprüfung. */
+    public static ExtractionPlan of(ReservationField... fields) {
+        if (fields == null || fields.length == 0) {
+            throw new IllegalArgumentException("Mindestens ein Feld muss angefordert werden");
+        }
+        EnumSet<ReservationField> set = EnumSet.noneOf(ReservationField.class);
+        for (ReservationField field : fields) {
+            if (field == null) {
+                throw new IllegalArgumentException("Feld darf nicht null sein");
+            }
+            set.add(field);
+        }
+        return new ExtractionPlan(set, false);
+    }
+
+    /** Derselbe Plan im Fail-fast-Modus. */
+    public ExtractionPlan failFast() {
+        return failFast ? this : new ExtractionPlan(EnumSet.copyOf(fields), true);
+    }
+
+    public Set<ReservationField> getFields() {
+        return fields;
+    }
+
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+    public boolean includes(ReservationField field) {
+        return (mask & (1 << field.ordinal())) != 0;
+    }
+
+    /** Prüft ob alle angeforderten Felder im Ergebnis gefunden wurden. */
+    public boolean isSatisfiedBy(ExtractionResult result) {
+        for (ReservationField field : fields) {
+            if (result.getStatus(field) != FieldStatus.FOUND) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int mask() {
+        return mask;
+    }
+
+    /** Alle Felder ohne Fail-fast: Ergebnis entspricht dem ohne Plan und darf gecacht werden. */
+    boolean isFull() {
+        return mask == KeywordGate.ALL && !failFast;
+    }
+
+    @Override
+    public String toString() {
+        return (failFast ? "Fail-fast " : "") + fields;
+    }
+}
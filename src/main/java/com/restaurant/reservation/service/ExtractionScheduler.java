@@ -0,0 +1,94 @@
+package com.restaurant.reservation.service;
+
+import com.restaurant.reservation.model.ReservationField;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Legt die Reihenfolge der Feld-Extraktoren nach gemessenen Kosten fest. Je Feld werden Laufzeit und
+ * Fehlschlagquote als gleitende Mittel (EWMA) geführt. Im Fail-fast-Modus laufen zuerst die Felder mit dem
+ * kleinsten Verhältnis von Kosten zu Fehlschlagquote, da sie einen aussichtslosen Text am billigsten beenden.
+ */
+final class ExtractionScheduler {
+
+    private static final int FIELD_COUNT = ReservationField.values().length;
+
+    // Gewicht einer neuen Messung
+    private static final double ALPHA = 0.02;
+    // Untergrenze der Fehlschlagquote, damit fast immer treffende Felder nicht unendlich teuer werden
+    private static final double MIN_MISS_RATE = 0.01;
+
+    // Double-Bits je Feld; NaN bis zur ersten Messung. Verlorene Updates bei Konkurrenz sind für eine Heuristik unkritisch
+    private final AtomicLongArray costNanos = new AtomicLongArray(FIELD_COUNT);
+    private final AtomicLongArray missRate = new AtomicLongArray(FIELD_COUNT);
+
+    ExtractionScheduler() {
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            costNanos.set(i, Double.doubleToRawLongBits(Double.NaN));
+            missRate.set(i, Double.doubleToRawLongBits(Double.NaN));
+        }
+    }
+
+    /** Zeichnet einen Lauf des Extraktors für das Feld (Ordinal) auf. */
+    void record(int field, long nanos, boolean found) {
+        update(costNanos, field, Math.max(nanos, 0));
+        update(missRate, field, found ? 0 : 1);
+    }
+
+    private static void update(AtomicLongArray values, int index, double sample) {
+        double old = Double.longBitsToDouble(values.get(index));
+        double next = Double.isNaN(old) ? sample : old + ALPHA * (sample - old);
+        values.set(index, Double.doubleToRawLongBits(next));
+    }
+
+    /**
+     * Schreibt die Ordinals der Felder aus mask (Bit 1 &lt;&lt; ordinal) in aufsteigender Rangfolge nach order und
+     * liefert ihre Anzahl. Ungemessene Felder kommen zuerst, bei Gleichstand gilt die Feldreihenfolge.
+     */
+    int order(int mask, boolean failFast, int[] order) {
+        return order(mask, failFast, order, new double[FIELD_COUNT]);
+    }
+
+    /** Wie {@link #order(int, boolean, int[])} mit Arbeitsspeicher ranks für die Ränge (Länge ≥ Feldanzahl). */
+    int order(int mask, boolean failFast, int[] order, double[] ranks) {
+        int count = 0;
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            if ((mask & (1 << field)) == 0) {
+                continue;
+            }
+            double rank = rank(field, failFast);
+            // Einfügesortierung, stabil bei Gleichstand
+            int pos = count++;
+            while (pos > 0 && ranks[pos - 1] > rank) {
+                ranks[pos] = ranks[pos - 1];
+                order[pos] = order[pos - 1];
+                pos--;
+            }
+            ranks[pos] = rank;
+            order[pos] = field;
+        }
+        return count;
+    }
+
+    private double rank(int field, boolean failFast) {
+        double cost = Double.longBitsToDouble(costNanos.get(field));
+        if (Double.isNaN(cost)) {
+            return 0;
+        }
+        if (!failFast) {
+            return cost;
+        }
+        double misses = Double.longBitsToDouble(missRate.get(field));
+        return cost / Math.max(misses, MIN_MISS_RATE);
+    }
+
+    /** Gemittelte Laufzeit des Feldes in Nanosekunden, NaN vor der ersten Messung. */
+    double getCostNanos(ReservationField field) {
+        return Double.longBitsToDouble(costNanos.get(field.ordinal()));
+    }
+
+    /** Gemittelte Fehlschlagquote des Feldes, NaN vor der ersten Messung. */
+    double getMissRate(ReservationField field) {
+        return Double.longBitsToDouble(missRate.get(field.ordinal()));
+    }
+}
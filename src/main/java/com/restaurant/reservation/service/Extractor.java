@@ -0,0 +1,19 @@
+package com.restaurant.reservation.service;
+
+import com.restaurant.reservation.model.FieldResult;
+import com.restaurant.reservation.model.ReservationField;
+
+/**
+ * Erweiterungspunkt für die Extraktion eines Reservierungsfeldes. Implementierungen werden über
+ * {@link ExtractorRegistry} anstelle des eingebauten Erkenners für ihr Feld eingesetzt.
+ *
+ * @param <T> Werttyp des Feldes: String, LocalDate, LocalTime bzw. Integer
+ */
+public interface Extractor<T> {
+
+    /** Das Feld, das dieser Extraktor liefert. */
+    ReservationField getField();
+
+    /** Extrahiert das Feld ohne Exceptions; der Text ist das unveränderte Original. */
+    FieldResult<T> extract(CharSequence text);
+}
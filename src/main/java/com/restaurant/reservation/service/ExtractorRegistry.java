@@ -0,0 +1,52 @@
+package com.restaurant.reservation.service;
+
+import com.restaurant.reservation.model.ReservationField;
+
+/**
+ * Zuordnung von Feldern zu Extraktoren. Felder ohne Eintrag verwenden die eingebauten tokenbasierten Erkenner,
+ * die sich einen Tokenisierungsdurchlauf teilen. Der Service übernimmt beim Erstellen eine Kopie.
+ */
+public final class ExtractorRegistry {
+
+    private static final ReservationField[] FIELDS = ReservationField.values();
+
+    private final Extractor<?>[] extractors = new Extractor<?>[FIELDS.length];
+
+    /** Registriert einen Extraktor und ersetzt einen vorherigen für dasselbe Feld. */
+    public ExtractorRegistry register(Extractor<?> extractor) {
+        if (extractor == null || extractor.getField() == null) {
+            throw new IllegalArgumentException("Extraktor und sein Feld dürfen nicht null sein");
+        }
+        extractors[extractor.getField().ordinal()] = extractor;
+        return this;
+    }
+
+    /** Entfernt den Extraktor des Feldes; danach gilt wieder der eingebaute Erkenner. */
+    public ExtractorRegistry unregister(ReservationField field) {
+        extractors[field.ordinal()] = null;
+        return this;
+    }
+
+    /** Registrierter Extraktor oder null, wenn der eingebaute Erkenner gilt. */
+    public Extractor<?> get(ReservationField field) {
+        return extractors[field.ordinal()];
+    }
+
+    /** Kopie der Einträge nach Feld-Ordinal. */
+    Extractor<?>[] snapshot() {
+        return extractors.clone();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("Extraktoren: ");
+        for (ReservationField field : FIELDS) {
+            Extractor<?> extractor = extractors[field.ordinal()];
+            if (field.ordinal() > 0) {
+                text.append(", ");
+            }
+            text.append(field).append('=').append(extractor != null ? extractor.getClass().getSimpleName() : "eingebaut");
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,34 @@
+package com.restaurant.reservation.service;
+
+/**
+ * Gemeinsame Schnittstelle der tokenbasierten Feld-Erkenner. Die Suche lässt sich auf Trefferanfänge in einem
+ * Tokenbereich beschränken, gelesen wird bei Bedarf darüber hinaus; so können Abschnitte eines langen Textes
+ * unabhängig voneinander durchsucht werden.
+ */
+interface FieldRecognizer {
+
+    /** Rückgabe von {@link #search}, wenn der erste Treffer ausgewertet und ins Ergebnis eingetragen wurde. */
+    int DECIDED = -1;
+
+    /**
+     * Sucht den ersten Treffer, der in einem Token aus [fromToken, toToken) beginnt.
+     *
+     * @param from Suchbeginn im Text wie bei Matcher.find() nach einem verworfenen Treffer, sonst 0
+     * @return {@link #DECIDED} oder den Suchbeginn nach allen verworfenen Treffern des Bereichs (mindestens from);
+     *         ein Wert größer from bedeutet, dass das Muster getroffen hat, der Wert aber nicht auswertbar war
+     */
+    int search(TokenStream tokens, int fromToken, int toToken, int from, ScanResult result);
+
+    /**
+     * Nachrangige Suche über den ganzen Token-Strom, wenn {@link #search} nirgends entschieden hat; trägt nur einen
+     * Treffer ein.
+     *
+     * @return ob ein Treffer eingetragen wurde
+     */
+    default boolean searchFallback(TokenStream tokens, ScanResult result) {
+        return false;
+    }
+
+    /** Durchsucht den ganzen Token-Strom; trägt bei fehlendem Treffer NOT_FOUND ein. */
+    boolean recognize(TokenStream tokens, ScanResult result);
+}
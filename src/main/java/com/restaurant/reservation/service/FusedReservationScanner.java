@@ -0,0 +1,327 @@
+package com.restaurant.reservation.service;
+
+import com.restaurant.reservation.metrics.ExtractorMetrics;
+import com.restaurant.reservation.metrics.MetricsRegistry;
+import com.restaurant.reservation.model.FieldStatus;
+import com.restaurant.reservation.model.ReservationField;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Zerlegt den Text einmal in Token und lässt alle Feld-Erkenner über denselben Token-Strom laufen. Felder mit
+ * registriertem {@link Extractor} werden stattdessen von diesem auf dem Originaltext ausgewertet; die Reihenfolge
+ * legt der {@link ExtractionScheduler} nach gemessenen Kosten fest. Lange Texte werden laut
+ * {@link ParallelScanPolicy} abschnittsweise im Fork-Join-Pool zerlegt und durchsucht.
+ */
+final class FusedReservationScanner {
+
+    private static final ReservationField[] FIELDS = ReservationField.values();
+
+    // Suchzustand eines Abschnitts, der wegen eines früher entschiedenen Abschnitts nicht gesucht hat
+    private static final int NOT_SEARCHED = -2;
+
+    // Kennzahlen je Feld-Erkenner (nach Feld-Ordinal), getrennt von den einzelnen Regex-Services
+    private static final ExtractorMetrics[] FIELD_METRICS = {
+        fieldMetrics("customerName"), fieldMetrics("date"), fieldMetrics("time"), fieldMetrics("numberOfPeople")
+    };
+
+    // Eingebaute Erkenner nach Feld-Ordinal
+    private final FieldRecognizer[] recognizers;
+    // Registrierte Extraktoren nach Feld-Ordinal, null für den eingebauten Erkenner
+    private final Extractor<?>[] extractors;
+    // Felder mit eingebautem Erkenner als KeywordGate-Bits
+    private final int builtIn;
+    private final ExtractionScheduler scheduler = new ExtractionScheduler();
+    private final ForkJoinPool pool;
+    private final ParallelScanPolicy policy;
+
+    FusedReservationScanner(GermanNumberParserService germanNumberParser) {
+        this(germanNumberParser, new ExtractorRegistry(), ForkJoinPool.commonPool(), ParallelScanPolicy.SEQUENTIAL);
+    }
+
+    FusedReservationScanner(GermanNumberParserService germanNumberParser, ExtractorRegistry registry,
+                            ForkJoinPool pool, ParallelScanPolicy policy) {
+        this.recognizers = new FieldRecognizer[] {
+            new NameRecognizer(), new DateRecognizer(germanNumberParser), new TimeRecognizer(), new PeopleCountRecognizer(germanNumberParser)
+        };
+        this.pool = pool;
+        this.policy = policy;
+        this.extractors = registry.snapshot();
+        int bits = 0;
+        for (int field = 0; field < extractors.length; field++) {
+            if (extractors[field] == null) {
+                bits |= 1 << field;
+            }
+        }
+        this.builtIn = bits;
+    }
+
+    ExtractionScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /** Scannt den Text und liefert Werte bzw. Status aller vier Felder; Bezugstag ist der Tag der Systemuhr. */
+    ScanResult scan(CharSequence text) {
+        return scan(text, ExtractionPlan.ALL, ReferenceDateSource.SYSTEM.get());
+    }
+
+    /** Wie {@link #scan(CharSequence, ExtractionPlan, ReferenceDate, ExtractionContext)} mit eigenem Arbeitsspeicher. */
+    ScanResult scan(CharSequence text, ExtractionPlan plan, ReferenceDate reference) {
+        return scan(text, plan, reference, new ExtractionContext());
+    }
+
+    /**
+     * Scannt den Text für die Felder des Plans; alle übrigen erhalten SKIPPED. Datumsangaben ohne Jahr und relative
+     * Angaben gelten zum Bezugstag reference. Ergebnis und Token-Strom liegen im Kontext und gelten bis zu dessen
+     * nächster Verwendung.
+     */
+    ScanResult scan(CharSequence text, ExtractionPlan plan, ReferenceDate reference, ExtractionContext context) {
+        ScanResult result = context.result(reference);
+        scan(text, plan, result, context);
+        return result;
+    }
+
+    /**
+     * Wie {@link #scan(CharSequence, ExtractionPlan, ReferenceDate, ExtractionContext)}, bricht aber zum Zeitpunkt
+     * deadline (System.nanoTime()) ab. Bereits ausgewertete Felder bleiben erhalten, alle übrigen erhalten TIMEOUT.
+     */
+    ScanResult scan(CharSequence text, ExtractionPlan plan, ReferenceDate reference, ExtractionContext context,
+                    long deadline) {
+        ScanResult result = context.result(reference);
+        try {
+            scan(new DeadlineCharSequence(text, deadline), plan, result, context);
+        } catch (DeadlineCharSequence.DeadlineExceededException e) {
+            result.timeOutUnfinished();
+        }
+        return result;
+    }
+
+    private void scan(CharSequence text, ExtractionPlan plan, ScanResult result, ExtractionContext context) {
+        // Fail-fast soll Arbeit sparen, nicht Latenz: bleibt sequentiell; ebenso ohne zweiten Worker im Pool
+        if (!plan.isFailFast() && policy.isParallel(text.length()) && pool.getParallelism() > 1) {
+            scanParallel(text, plan, result);
+            return;
+        }
+        long start = System.nanoTime();
+        int wanted = plan.mask();
+        boolean failFast = plan.isFailFast();
+        result.skip(KeywordGate.ALL & ~wanted);
+
+        // Eingebaute Erkenner, die laut Vorfilter nicht treffen können, bleiben bei NOT_FOUND
+        int gated = wanted & builtIn;
+        int candidates = gated != 0 ? KeywordGate.scan(text, gated) : 0;
+        if (failFast && (candidates & gated) != gated) {
+            // Ein Pflichtfeld scheitert schon am Vorfilter: kein Erkenner muss laufen
+            int missing = Integer.numberOfTrailingZeros(gated & ~candidates);
+            result.finished |= 1 << missing;
+            FIELD_METRICS[missing].record(FieldStatus.NOT_FOUND, System.nanoTime() - start);
+            result.skip(KeywordGate.ALL & ~result.finished);
+            return;
+        }
+
+        int[] order = context.order;
+        int count = scheduler.order(wanted, failFast, order, context.ranks);
+        TokenStream tokens = null;
+        CharSequence original = null;
+        // Vorfilter und Tokenisierung zählen in den Kennzahlen zum ersten Extraktor, nicht aber in dessen Kosten
+        long stepStart = start;
+        for (int k = 0; k < count; k++) {
+            int field = order[k];
+            int bit = 1 << field;
+            long runStart = System.nanoTime();
+            boolean ran = true;
+            if (extractors[field] != null) {
+                if (original == null) {
+                    original = originalText(text);
+                }
+                result.set(FIELDS[field], extractors[field].extract(original));
+            } else if ((candidates & bit) != 0) {
+                if (tokens == null) {
+                    tokens = context.tokenize(text);
+                    runStart = System.nanoTime();
+                }
+                recognizers[field].recognize(tokens, result);
+            } else {
+                ran = false;
+            }
+            result.finished |= bit;
+            long end = System.nanoTime();
+            FieldStatus status = result.status(field);
+            FIELD_METRICS[field].record(status, end - stepStart);
+            if (ran) {
+                scheduler.record(field, end - runStart, status == FieldStatus.FOUND);
+            }
+            if (failFast && status != FieldStatus.FOUND) {
+                result.skip(KeywordGate.ALL & ~result.finished);
+                return;
+            }
+            stepStart = end;
+        }
+    }
+
+    /**
+     * Parallele Auswertung: Zerlegung je Abschnitt und registrierte Extraktoren, danach die Suche je Feld und
+     * Abschnitt, wobei nur Trefferanfänge auf den Abschnitt beschränkt sind. Je Feld gilt der erste entschiedene
+     * Abschnitt; reicht ein verworfener Treffer über eine Abschnittsgrenze, wird ab dort sequentiell weitergesucht.
+     * Das Ergebnis ist daher identisch zum sequentiellen Durchlauf. Der Vorfilter entfällt, da ohnehin alle
+     * Erkenner laufen.
+     */
+    private void scanParallel(CharSequence text, ExtractionPlan plan, ScanResult result) {
+        long start = System.nanoTime();
+        int wanted = plan.mask();
+        result.skip(KeywordGate.ALL & ~wanted);
+
+        int length = text.length();
+        int segments = policy.segmentCount(length);
+        int[] bounds = new int[segments + 1];
+        for (int s = 0; s <= segments; s++) {
+            bounds[s] = (int) ((long) length * s / segments);
+        }
+
+        TokenStream[] parts = new TokenStream[segments];
+        ScanResult[] extracted = new ScanResult[FIELDS.length];
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        int searched = wanted & builtIn;
+        CharSequence original = originalText(text);
+        for (int field = 0; field < FIELDS.length; field++) {
+            if ((wanted & (1 << field)) != 0 && extractors[field] != null) {
+                int f = field;
+                tasks.add(ForkJoinTask.adapt(() -> {
+                    ScanResult partial = new ScanResult();
+                    partial.set(FIELDS[f], extractors[f].extract(original));
+                    extracted[f] = partial;
+                }));
+            }
+        }
+        if (searched != 0) {
+            for (int s = 0; s < segments; s++) {
+                int segment = s;
+                tasks.add(ForkJoinTask.adapt(() -> parts[segment] = TokenStream.of(text, bounds[segment], bounds[segment + 1])));
+            }
+        }
+        invokeAll(tasks);
+
+        for (int field = 0; field < FIELDS.length; field++) {
+            if (extracted[field] != null) {
+                result.copy(field, extracted[field]);
+                result.finished |= 1 << field;
+            }
+        }
+        if (searched != 0) {
+            TokenStream tokens = TokenStream.concat(parts);
+            int[] firstTokens = new int[segments + 1];
+            for (int s = 0; s < segments; s++) {
+                firstTokens[s] = tokens.firstTokenAt(bounds[s]);
+            }
+            firstTokens[segments] = tokens.size();
+            searchParallel(tokens, firstTokens, searched, result);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        for (int field = 0; field < FIELDS.length; field++) {
+            if ((wanted & (1 << field)) != 0) {
+                FIELD_METRICS[field].record(result.status(field), elapsed);
+            }
+        }
+    }
+
+    private void searchParallel(TokenStream tokens, int[] firstTokens, int fields, ScanResult result) {
+        int segments = firstTokens.length - 1;
+        int[][] states = new int[FIELDS.length][segments];
+        ScanResult[][] partials = new ScanResult[FIELDS.length][segments];
+        // Frühester entschiedener Abschnitt je Feld: spätere Abschnitte müssen nicht mehr suchen
+        AtomicIntegerArray firstDecided = new AtomicIntegerArray(FIELDS.length);
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int field = 0; field < FIELDS.length; field++) {
+            if ((fields & (1 << field)) == 0) {
+                continue;
+            }
+            firstDecided.set(field, Integer.MAX_VALUE);
+            for (int s = 0; s < segments; s++) {
+                int f = field;
+                int segment = s;
+                states[f][segment] = NOT_SEARCHED;
+                tasks.add(ForkJoinTask.adapt(() -> {
+                    if (firstDecided.get(f) < segment) {
+                        return;
+                    }
+                    ScanResult partial = new ScanResult();
+                    partial.reference = result.reference;
+                    int state = recognizers[f].search(tokens, firstTokens[segment], firstTokens[segment + 1], 0, partial);
+                    partials[f][segment] = partial;
+                    states[f][segment] = state;
+                    if (state == FieldRecognizer.DECIDED) {
+                        firstDecided.accumulateAndGet(f, segment, Math::min);
+                    }
+                }));
+            }
+        }
+        invokeAll(tasks);
+
+        for (int field = 0; field < FIELDS.length; field++) {
+            if ((fields & (1 << field)) != 0) {
+                if (!merge(field, tokens, firstTokens, states[field], partials[field], result)) {
+                    recognizers[field].searchFallback(tokens, result);
+                }
+                result.finished |= 1 << field;
+            }
+        }
+    }
+
+    // Übernimmt den ersten entschiedenen Abschnitt, solange die Annahme "Suchbeginn 0" je Abschnitt zutrifft;
+    // false, wenn kein Abschnitt entschieden hat
+    private boolean merge(int field, TokenStream tokens, int[] firstTokens, int[] states, ScanResult[] partials,
+                          ScanResult result) {
+        int from = 0;
+        for (int s = 0; s < states.length; s++) {
+            int first = firstTokens[s];
+            if (states[s] == NOT_SEARCHED || (first < tokens.size() && from > tokens.start(first))) {
+                // Schreibt nur bei einem Treffer; sonst bleibt NOT_FOUND
+                return recognizers[field].search(tokens, first, tokens.size(), from, result) == FieldRecognizer.DECIDED;
+            }
+            if (states[s] == FieldRecognizer.DECIDED) {
+                result.copy(field, partials[s]);
+                return true;
+            }
+            from = Math.max(from, states[s]);
+        }
+        return false;
+    }
+
+    private void invokeAll(List<ForkJoinTask<?>> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        if (ForkJoinTask.getPool() == pool) {
+            ForkJoinTask.invokeAll(tasks);
+        } else {
+            pool.invoke(new RecursiveAction() {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+        }
+    }
+
+    // Registrierte Extraktoren erhalten den Originaltext, bei Zeitbudget ebenfalls mit Fristprüfung
+    private static CharSequence originalText(CharSequence text) {
+        if (text instanceof DeadlineCharSequence) {
+            DeadlineCharSequence checked = (DeadlineCharSequence) text;
+            CharSequence inner = checked.unwrap();
+            return inner instanceof NormalizedText ? checked.withText(((NormalizedText) inner).original()) : text;
+        }
+        return text instanceof NormalizedText ? ((NormalizedText) text).original() : text;
+    }
+
+    private static ExtractorMetrics fieldMetrics(String field) {
+        return MetricsRegistry.getDefault().extractor(ReservationExtractorService.METRICS_NAME + "." + field);
+    }
+}
@@ -1,69 +1,219 @@
 package com.restaurant.reservation.service;
 
-import java.util.HashMap;
-import java.util.Map;
-
-/** Service zum Parsen deutscher Zahlwörter (1-99) in Integer-Werte. */
+/** Service zum Parsen deutscher Zahlwörter (1-999) und numerischer Strings in Integer-Werte. */
 public class GermanNumberParserService {
-    
-    private static final Map<String, Integer> GERMAN_NUMBERS = new HashMap<>();
+
+    /** Rückgabewert von {@link #parseNumber(CharSequence, int, int)}, wenn der Bereich keine Zahl ist. */
+    public static final int NO_NUMBER = Integer.MIN_VALUE;
+
+    // Wortarten im Trie
+    private static final byte UNIT = 1;      // 1-9, Einer in "einundzwanzig" und Faktor vor "hundert"
+    private static final byte TEEN = 2;      // 10-19
+    private static final byte TENS = 3;      // 20-90
+    private static final byte HUNDRED = 4;
+    private static final byte AND = 5;
+
+    // a-z, ä, ö, ü, ß
+    private static final int ALPHABET = 30;
+
+    // Trie über alle Zahlwörter: Kindknoten je Buchstabe, 0 = kein Kind (Knoten 0 ist die Wurzel)
+    private static final int[][] NEXT = new int[160][ALPHABET];
+    private static final byte[] KIND = new byte[NEXT.length];
+    private static final int[] VALUE = new int[NEXT.length];
+    // Einer, die vor "hundert" stehen dürfen ("einhundert", nicht "einshundert")
+    private static final boolean[] FACTOR = new boolean[NEXT.length];
+    private static int nodeCount = 1;
+
     static {
-        GERMAN_NUMBERS.put("ein", 1);
-        GERMAN_NUMBERS.put("eine", 1);
-        GERMAN_NUMBERS.put("eins", 1);
-        GERMAN_NUMBERS.put("zwei", 2);
-        GERMAN_NUMBERS.put("drei", 3);
-        GERMAN_NUMBERS.put("vier", 4);
-        GERMAN_NUMBERS.put("fünf", 5);
-        GERMAN_NUMBERS.put("sechs", 6);
-        GERMAN_NUMBERS.put("sieben", 7);
-        GERMAN_NUMBERS.put("acht", 8);
-        GERMAN_NUMBERS.put("neun", 9);
-        GERMAN_NUMBERS.put("zehn", 10);
-        GERMAN_NUMBERS.put("elf", 11);
-        GERMAN_NUMBERS.put("zwölf", 12);
-        GERMAN_NUMBERS.put("dreizehn", 13);
-        GERMAN_NUMBERS.put("vierzehn", 14);
-        GERMAN_NUMBERS.put("fünfzehn", 15);
-        GERMAN_NUMBERS.put("sechzehn", 16);
-        GERMAN_NUMBERS.put("siebzehn", 17);
-        GERMAN_NUMBERS.put("achtzehn", 18);
-        GERMAN_NUMBERS.put("neunzehn", 19);
-        GERMAN_NUMBERS.put("zwanzig", 20);
-        
-        GERMAN_NUMBERS.put("dreißig", 30);
-        GERMAN_NUMBERS.put("vierzig", 40);
-        GERMAN_NUMBERS.put("fünfzig", 50);
-        GERMAN_NUMBERS.put("sechzig", 60);
-        GERMAN_NUMBERS.put("siebzig", 70);
-        GERMAN_NUMBERS.put("achtzig", 80);
-        GERMAN_NUMBERS.put("neunzig", 90);
+        String[] units = {"ein", "eine", "eins", "zwei", "drei", "vier", "fünf", "sechs", "sieben", "acht", "neun"};
+        int[] unitValues = {1, 1, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+        for (int i = 0; i < units.length; i++) {
+            FACTOR[add(units[i], UNIT, unitValues[i])] = !units[i].equals("eine") && !units[i].equals("eins");
+        }
+        String[] teens = {"zehn", "elf", "zwölf", "dreizehn", "vierzehn", "fünfzehn", "sechzehn", "siebzehn",
+            "achtzehn", "neunzehn"};
+        for (int i = 0; i < teens.length; i++) {
+            add(teens[i], TEEN, 10 + i);
+        }
+        String[] tens = {"zwanzig", "dreißig", "vierzig", "fünfzig", "sechzig", "siebzig", "achtzig", "neunzig"};
+        for (int i = 0; i < tens.length; i++) {
+            add(tens[i], TENS, 20 + 10 * i);
+        }
+        add("hundert", HUNDRED, 100);
+        add("und", AND, 0);
     }
 
     /** Parst deutsche Zahlwörter oder numerische Strings. */
     public Integer parseNumberString(String text) {
-        if (text == null || text.trim().isEmpty()) return null;
-        
-        String number = text.toLowerCase().trim();
-        
-        Integer germanNumber = GERMAN_NUMBERS.get(number);
-        if (germanNumber != null) return germanNumber;
-        
-        if (number.contains("und")) {
-            String[] parts = number.split("und");
-            if (parts.length == 2) {
-                Integer ones = GERMAN_NUMBERS.get(parts[0].trim());
-                Integer tens = GERMAN_NUMBERS.get(parts[1].trim());
-                if (ones != null && tens != null && ones < 10 && tens >= 20) {
-                    return tens + ones;
+        if (text == null) return null;
+        int number = parseNumber(text, 0, text.length());
+        return number != NO_NUMBER ? number : null;
+    }
+
+    /**
+     * Parst den Bereich [start, end) ohne Objekte anzulegen: Ziffern mit optionalem Vorzeichen oder
+     * Zahlwörter bis "neunhundertneunundneunzig", Groß-/Kleinschreibung egal, Leerraum am Rand wird ignoriert.
+     *
+     * @return der Wert oder {@link #NO_NUMBER}
+     */
+    public int parseNumber(CharSequence text, int start, int end) {
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return NO_NUMBER;
+        }
+        char first = text.charAt(start);
+        if (first == '+' || first == '-' || (first >= '0' && first <= '9')) {
+            return parseDigits(text, start, end);
+        }
+
+        int below100 = parseBelow100(text, start, end);
+        if (below100 != NO_NUMBER) {
+            return below100;
+        }
+        return parseHundreds(text, start, end);
+    }
+
+    // "[einer]hundert[und][rest]"
+    private static int parseHundreds(CharSequence text, int start, int end) {
+        for (int node = 0, pos = start; pos < end; pos++) {
+            node = step(node, text.charAt(pos));
+            if (node == 0) {
+                break;
+            }
+            int factor;
+            int next = pos + 1;
+            if (KIND[node] == HUNDRED) {
+                factor = 1;
+            } else if (FACTOR[node]) {
+                int hundredEnd = wordEnd(text, next, end, HUNDRED);
+                if (hundredEnd < 0) {
+                    continue;
                 }
+                factor = VALUE[node];
+                next = hundredEnd;
+            } else {
+                continue;
+            }
+            if (next == end) {
+                return factor * 100;
+            }
+            int rest = parseBelow100(text, next, end);
+            if (rest == NO_NUMBER) {
+                int andEnd = wordEnd(text, next, end, AND);
+                rest = andEnd > 0 ? parseBelow100(text, andEnd, end) : NO_NUMBER;
+            }
+            if (rest != NO_NUMBER) {
+                return factor * 100 + rest;
             }
         }
-        
-        try {
-            return Integer.parseInt(number);
-        } catch (NumberFormatException e) {
-            return null;
+        return NO_NUMBER;
+    }
+
+    // Genau ein Einer-, Zehner- oder Zehnerwort, oder "<einer>und<zehner>"
+    private static int parseBelow100(CharSequence text, int start, int end) {
+        for (int node = 0, pos = start; pos < end; pos++) {
+            node = step(node, text.charAt(pos));
+            if (node == 0) {
+                return NO_NUMBER;
+            }
+            byte kind = KIND[node];
+            if (pos + 1 == end) {
+                return kind == UNIT || kind == TEEN || kind == TENS ? VALUE[node] : NO_NUMBER;
+            }
+            if (kind == UNIT) {
+                int andEnd = wordEnd(text, pos + 1, end, AND);
+                if (andEnd > 0 && wordEnd(text, andEnd, end, TENS) == end) {
+                    return VALUE[node] + VALUE[lastNode(text, andEnd, end)];
+                }
+            }
+        }
+        return NO_NUMBER;
+    }
+
+    // Ende des längsten Wortes der Art ab start oder -1
+    private static int wordEnd(CharSequence text, int start, int end, byte kind) {
+        int found = -1;
+        for (int node = 0, pos = start; pos < end; pos++) {
+            node = step(node, text.charAt(pos));
+            if (node == 0) {
+                break;
+            }
+            if (KIND[node] == kind) {
+                found = pos + 1;
+            }
+        }
+        return found;
+    }
+
+    private static int lastNode(CharSequence text, int start, int end) {
+        int node = 0;
+        for (int pos = start; pos < end; pos++) {
+            node = step(node, text.charAt(pos));
+        }
+        return node;
+    }
+
+    private static int step(int node, char c) {
+        int letter = letterIndex(c);
+        return letter < 0 ? 0 : NEXT[node][letter];
+    }
+
+    private static int letterIndex(char c) {
+        char lower = c < 0x80 ? (c >= 'A' && c <= 'Z' ? (char) (c + 32) : c) : Character.toLowerCase(c);
+        if (lower >= 'a' && lower <= 'z') {
+            return lower - 'a';
+        }
+        switch (lower) {
+            case 'ä':
+                return 26;
+            case 'ö':
+                return 27;
+            case 'ü':
+                return 28;
+            case 'ß':
+                return 29;
+            default:
+                return -1;
+        }
+    }
+
+    // Wie Integer.parseInt, aber NO_NUMBER statt Exception bei ungültigem Format oder Überlauf
+    private static int parseDigits(CharSequence text, int start, int end) {
+        boolean negative = text.charAt(start) == '-';
+        int pos = text.charAt(start) == '+' || negative ? start + 1 : start;
+        if (pos == end) {
+            return NO_NUMBER;
+        }
+        long value = 0;
+        for (; pos < end; pos++) {
+            char c = text.charAt(pos);
+            if (c < '0' || c > '9') {
+                return NO_NUMBER;
+            }
+            value = value * 10 + (c - '0');
+            if (value > Integer.MAX_VALUE) {
+                return NO_NUMBER;  // Integer.MIN_VALUE ist als NO_NUMBER reserviert
+            }
+        }
+        return negative ? (int) -value : (int) value;
+    }
+
+    private static int add(String word, byte kind, int value) {
+        int node = 0;
+        for (int i = 0; i < word.length(); i++) {
+            int letter = letterIndex(word.charAt(i));
+            if (NEXT[node][letter] == 0) {
+                NEXT[node][letter] = nodeCount++;
+            }
+            node = NEXT[node][letter];
         }
+        KIND[node] = kind;
+        VALUE[node] = value;
+        return node;
     }
 }
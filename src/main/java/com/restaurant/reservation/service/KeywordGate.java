@@ -0,0 +1,183 @@
+package com.restaurant.reservation.service;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * Vorfilter in einem linearen Durchlauf: ein Aho-Corasick-Automat über die Ankerwörter aller Muster plus
+ * Ziffernprüfungen entscheidet, welche Extraktoren überhaupt treffen können. Ein fehlendes Bit bedeutet
+ * sicher keinen Treffer; ein gesetztes Bit nur, dass das Muster laufen muss.
+ */
+final class KeywordGate {
+
+    static final int NAME = 1;
+    static final int DATE = 1 << 1;
+    static final int TIME = 1 << 2;
+    static final int PEOPLE = 1 << 3;
+    static final int ALL = NAME | DATE | TIME | PEOPLE;
+
+    // Funde im Text; NAME usw. werden am Ende daraus abgeleitet
+    private static final int SALUTATION = 1;      // dank, gruß, grüß(e/en), vG, mfG, vd, bg
+    private static final int ICH = 1 << 1;
+    private static final int BIN = 1 << 2;
+    private static final int HIER = 1 << 3;
+    private static final int IST = 1 << 4;
+    private static final int TIME_WORD = 1 << 5;  // uhr und Tageszeiten
+    private static final int PEOPLE_WORD = 1 << 6; // für, mit und Personenwörter
+    private static final int RELATIVE_DATE = 1 << 7; // Anker relativer Datumsangaben
+    private static final int DIGIT = 1 << 8;
+    private static final int DIGIT_DOT = 1 << 9;  // \d\. wie am Anfang von DATE_PATTERN
+    private static final int DIGIT_COLON = 1 << 10;
+
+    // Gruppe i setzt das Bit 1 << i, Reihenfolge wie die Konstanten oben
+    private static final String[][] KEYWORDS = {
+        {"dank", "gruß", "grüß", "vg", "mfg", "vd", "bg"},
+        {"ich"},
+        {"bin"},
+        {"hier"},
+        {"ist"},
+        // "mittags" deckt "vormittags" und "nachmittags" ab
+        {"uhr", "morgens", "mittags", "abends", "pm", "am", "p.m.", "a.m."},
+        // "leute" deckt "leuten" ab
+        {"für", "mit", "personen", "leute", "mann", "menschen"},
+        // "morgen" deckt "übermorgen" ab, "tag" auch "tage(n)"
+        {"heute", "morgen", "nächst", "naechst", "kommend", "tag", "woche"}
+    };
+
+    // Eingabealphabet: gefaltete Buchstaben der Schlüsselwörter; alle anderen Zeichen führen zur Wurzel
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyzäöüß.";
+
+    private static final int[][] DELTA;
+    private static final int[] OUTPUT;
+
+    static {
+        int capacity = 1;
+        for (String[] group : KEYWORDS) {
+            for (String keyword : group) {
+                capacity += keyword.length();
+            }
+        }
+        int[][] next = new int[capacity][ALPHABET.length()];
+        int[] output = new int[capacity];
+        int states = 1;
+        for (int g = 0; g < KEYWORDS.length; g++) {
+            for (String keyword : KEYWORDS[g]) {
+                int state = 0;
+                for (int i = 0; i < keyword.length(); i++) {
+                    int letter = ALPHABET.indexOf(keyword.charAt(i));
+                    if (next[state][letter] == 0) {
+                        next[state][letter] = states++;
+                    }
+                    state = next[state][letter];
+                }
+                output[state] |= 1 << g;
+            }
+        }
+
+        // Fehlerlinks in Breitensuche; fehlende Übergänge werden über sie zu einem vollständigen DFA aufgefüllt
+        int[] fail = new int[states];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int letter = 0; letter < ALPHABET.length(); letter++) {
+            if (next[0][letter] != 0) {
+                queue.add(next[0][letter]);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.remove();
+            output[state] |= output[fail[state]];
+            for (int letter = 0; letter < ALPHABET.length(); letter++) {
+                int child = next[state][letter];
+                if (child != 0) {
+                    fail[child] = next[fail[state]][letter];
+                    queue.add(child);
+                } else {
+                    next[state][letter] = next[fail[state]][letter];
+                }
+            }
+        }
+
+        DELTA = new int[states][];
+        System.arraycopy(next, 0, DELTA, 0, states);
+        OUTPUT = new int[states];
+        System.arraycopy(output, 0, OUTPUT, 0, states);
+    }
+
+    private KeywordGate() {
+    }
+
+    /** Extraktoren (Bitmaske), die für den Text treffen können. */
+    static int scan(CharSequence text) {
+        return scan(text, ALL);
+    }
+
+    /** Wie {@link #scan(CharSequence)}, bricht aber ab, sobald alle gesuchten Bits feststehen. */
+    static int scan(CharSequence text, int wanted) {
+        int found = 0;
+        int state = 0;
+        boolean afterDigit = false;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            int before = found;
+            if (c >= '0' && c <= '9') {
+                found |= DIGIT;
+                afterDigit = true;
+                state = 0;
+            } else {
+                if (afterDigit) {
+                    found |= c == '.' ? DIGIT_DOT : c == ':' ? DIGIT_COLON : 0;
+                    afterDigit = false;
+                }
+                int letter = letterIndex(c);
+                state = letter < 0 ? 0 : DELTA[state][letter];
+                found |= OUTPUT[state];
+            }
+            if (found != before && (extractors(found) & wanted) == wanted) {
+                return extractors(found);
+            }
+        }
+        return extractors(found);
+    }
+
+    /** Prüft ob der Extraktor für den Text treffen kann. */
+    static boolean mayMatch(CharSequence text, int extractor) {
+        return (scan(text, extractor) & extractor) != 0;
+    }
+
+    private static int extractors(int found) {
+        int result = 0;
+        if ((found & SALUTATION) != 0 || (found & (ICH | BIN)) == (ICH | BIN) || (found & (HIER | IST)) == (HIER | IST)) {
+            result |= NAME;
+        }
+        if ((found & (DIGIT_DOT | RELATIVE_DATE)) != 0) {
+            result |= DATE;
+        }
+        if ((found & DIGIT_COLON) != 0 || (found & (DIGIT | TIME_WORD)) == (DIGIT | TIME_WORD)) {
+            result |= TIME;
+        }
+        if ((found & PEOPLE_WORD) != 0) {
+            result |= PEOPLE;
+        }
+        return result;
+    }
+
+    private static int letterIndex(char c) {
+        char folded = ScanSupport.fold(c);
+        if (folded >= 'a' && folded <= 'z') {
+            return folded - 'a';
+        }
+        switch (folded) {
+            case 'ä':
+                return 26;
+            case 'ö':
+                return 27;
+            case 'ü':
+                return 28;
+            case 'ß':
+                return 29;
+            case '.':
+                return 30;
+            default:
+                return -1;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.restaurant.reservation.service;
+
+import java.util.Locale;
+
+/** Auswahl der Mustererkennung in den Feld-Services. */
+public enum MatchingEngine {
+    /** java.util.regex mit Backtracking (bisheriges Verhalten). */
+    REGEX,
+    /** Tokenbasierte Erkenner ohne Backtracking über den Text: gleiche Treffer, linearer Aufwand je Zeichen. */
+    DETERMINISTIC;
+
+    /** Systemeigenschaft für die Voreinstellung, z. B. {@code -Dreservation.matchingEngine=deterministic}. */
+    public static final String SYSTEM_PROPERTY = "reservation.matchingEngine";
+
+    /** Voreinstellung aus {@link #SYSTEM_PROPERTY}, sonst {@link #REGEX}. */
+    public static MatchingEngine getDefault() {
+        String value = System.getProperty(SYSTEM_PROPERTY);
+        if (value == null || value.trim().isEmpty()) {
+            return REGEX;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unbekannte Matching-Engine: " + value);
+        }
+    }
+}
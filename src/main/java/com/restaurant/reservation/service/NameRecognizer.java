@@ -0,0 +1,137 @@
+package com.restaurant.reservation.service;
+
+import com.restaurant.reservation.model.FieldStatus;
+
+/** Tokenbasierter Erkenner für Kundennamen, äquivalent zu NAME_PATTERN. */
+final class NameRecognizer implements FieldRecognizer {
+
+    // Grußformeln aus NAME_PATTERN (ohne "ich bin"/"hier ist")
+    static final String[] GREETINGS = {"dank", "gruß", "grüße", "grüßen", "vg", "mfg", "vd", "bg"};
+
+    private static final int MAX_NAME_WORDS = 3;
+
+    /**
+     * Sucht den ersten Kundennamen und trägt ihn in das Ergebnis ein.
+     *
+     * @return ob ein Name gefunden wurde
+     */
+    @Override
+    public boolean recognize(TokenStream tokens, ScanResult result) {
+        if (search(tokens, 0, tokens.size(), 0, result) == DECIDED) {
+            return true;
+        }
+        result.customerNameStatus = FieldStatus.NOT_FOUND;
+        return false;
+    }
+
+    @Override
+    public int search(TokenStream tokens, int fromToken, int toToken, int from, ScanResult result) {
+        String name = findName(tokens, fromToken, toToken, result);
+        if (name != null) {
+            result.customerName = name;
+            result.customerNameStatus = FieldStatus.FOUND;
+            return DECIDED;
+        }
+        return from;
+    }
+
+    private String findName(TokenStream tokens, int fromToken, int toToken, ScanResult result) {
+        for (int i = fromToken; i < toToken; i++) {
+            byte kind = tokens.kind(i);
+            if ((kind != TokenStream.WORD && kind != TokenStream.OTHER) || !tokens.is(i + 1, TokenStream.SPACE)) {
+                continue;
+            }
+
+            int nameToken = -1;
+            if (tokens.endsWithFolded(i, "ich")) {
+                nameToken = introducedName(tokens, i, "bin");
+            } else if (tokens.endsWithFolded(i, "hier")) {
+                nameToken = introducedName(tokens, i, "ist");
+            } else if (endsWithGreeting(tokens, i)) {
+                nameToken = i + 2;
+            }
+
+            if (nameToken >= 0) {
+                String name = matchName(tokens, nameToken, result);
+                if (name != null) {
+                    return name;
+                }
+            }
+        }
+        return null;
+    }
+
+    // "ich bin Name" / "hier ist Name": liefert das Token nach dem Verb
+    private int introducedName(TokenStream tokens, int index, String verb) {
+        int verbToken = index + 2;
+        if (tokens.is(verbToken, TokenStream.WORD) && tokens.equalsFolded(verbToken, verb)
+                && tokens.is(verbToken + 1, TokenStream.SPACE)) {
+            return verbToken + 2;
+        }
+        return -1;
+    }
+
+    // Über Tokengrenzen hinweg, da "gruß" wie im Muster auch "GRUẞ" trifft und ẞ kein Buchstabe ist
+    private boolean endsWithGreeting(TokenStream tokens, int index) {
+        int end = tokens.end(index);
+        for (String greeting : GREETINGS) {
+            if (ScanSupport.startsWithFolded(tokens.text(), end - greeting.length(), greeting)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Bis zu drei Namenswörter, von hinten gekürzt bis der Abschluss passt
+    private String matchName(TokenStream tokens, int first, ScanResult result) {
+        if (!isNameWord(tokens, first)) {
+            return null;
+        }
+        int count = 1;
+        int last = first;
+        while (count < MAX_NAME_WORDS && tokens.is(last + 1, TokenStream.SPACE) && isNameWord(tokens, last + 2)) {
+            last += 2;
+            count++;
+        }
+
+        CharSequence text = tokens.text();
+        for (; count > 0; count--, last -= 2) {
+            if (isNameEnd(text, tokens.end(last))) {
+                return joinWords(tokens, first, last, result);
+            }
+        }
+        return null;
+    }
+
+    private boolean isNameWord(TokenStream tokens, int index) {
+        return tokens.is(index, TokenStream.WORD) && tokens.length(index) >= 2
+                && ScanSupport.isNameInitial(tokens.text().charAt(tokens.start(index)));
+    }
+
+    // Entspricht (?=\s*[,]|\s+und|\s*$)
+    private boolean isNameEnd(CharSequence text, int pos) {
+        int next = ScanSupport.skipSpaces(text, pos);
+        if (next < text.length() && text.charAt(next) == ',') {
+            return true;
+        }
+        if (next > pos && ScanSupport.startsWithFolded(text, next, "und")) {
+            return true;
+        }
+        return ScanSupport.atEnd(text, next);
+    }
+
+    private String joinWords(TokenStream tokens, int first, int last, ScanResult result) {
+        CharSequence text = tokens.text();
+        if (text instanceof DeadlineCharSequence) {
+            text = ((DeadlineCharSequence) text).unwrap();
+        }
+        if (text instanceof NormalizedText) {
+            // Der Name stammt aus dem Original, nicht aus der gefalteten Fassung
+            return ((NormalizedText) text).originalText(tokens.start(first), tokens.end(last));
+        }
+        // Zwischen den Namenswörtern steht nur Leerraum; angelegt wird nur der fertige Name
+        int start = tokens.start(first);
+        int end = tokens.end(last);
+        return ScanSupport.collapseSpaces(text, start, end, result.chars(end - start));
+    }
+}
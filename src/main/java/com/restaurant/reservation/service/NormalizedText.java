@@ -0,0 +1,229 @@
+package com.restaurant.reservation.service;
+
+/**
+ * Für die Erkenner vorbereitete Fassung eines Textes: Groß-/Kleinschreibung gefaltet, Leerraum zu einem
+ * Leerzeichen zusammengefasst und am Rand entfernt, die Umschreibungen ae/oe/ue/ss als ä/ö/ü/ß in Schlüssel- und
+ * Zahlwörtern. Zu jedem Zeichen wird die Startposition im Original festgehalten, damit Fundstellen auf den
+ * Originaltext zeigen.
+ * Ein wiederverwendeter Puffer pro Thread; das Ergebnis gilt nur bis zum nächsten Aufruf im selben Thread.
+ */
+final class NormalizedText implements CharSequence {
+
+    // Größere Puffer werden nur für den einen Aufruf angelegt, damit Threads keine Riesenpuffer behalten
+    private static final int MAX_RETAINED_CHARS = 1 << 20;
+
+    private static final GermanNumberParserService NUMBER_PARSER = new GermanNumberParserService();
+
+    private static final ThreadLocal<NormalizedText> BUFFER = ThreadLocal.withInitial(() -> new NormalizedText(4096));
+
+    private char[] chars;
+    // offsets[i] = Startindex von Zeichen i im Original; offsets[length] = Ende des letzten Zeichens
+    private int[] offsets;
+    private int length;
+    private CharSequence original;
+    // Arbeitsspeicher für originalText, angelegt beim ersten Bedarf
+    private char[] scratch;
+    // Wort mit zurückgeführten Umschreibungen für den Abgleich mit dem Wortschatz
+    private final StringBuilder word = new StringBuilder(32);
+
+    private NormalizedText(int capacity) {
+        this.chars = new char[capacity];
+        this.offsets = new int[capacity + 1];
+    }
+
+    /** Normalisiert text in den Puffer des aktuellen Threads. */
+    static NormalizedText of(CharSequence text) {
+        NormalizedText buffer = BUFFER.get();
+        NormalizedText out = of(text, buffer);
+        if (out != buffer && out.isRetainable()) {
+            BUFFER.set(out);
+        }
+        return out;
+    }
+
+    /**
+     * Normalisiert text in buffer, falls er groß genug ist, sonst in einen neuen, größeren Puffer; buffer darf null
+     * sein. Der Aufrufer behält den gelieferten Puffer nur, wenn {@link #isRetainable()} gilt.
+     */
+    static NormalizedText of(CharSequence text, NormalizedText buffer) {
+        if (text == null) {
+            throw new IllegalArgumentException("Text darf nicht null sein");
+        }
+        NormalizedText out = buffer;
+        // Die Normalisierung verlängert nie
+        if (out == null || out.chars.length < text.length()) {
+            out = new NormalizedText(Math.max(text.length(), out == null ? 4096 : out.chars.length * 2));
+        }
+        out.normalize(text);
+        return out;
+    }
+
+    /** Ob der Puffer klein genug ist, um über den Aufruf hinaus behalten zu werden. */
+    boolean isRetainable() {
+        return chars.length <= MAX_RETAINED_CHARS;
+    }
+
+    /** Löst den Verweis auf das Original, damit ein behaltener Puffer die Eingabe nicht am Leben hält. */
+    void clear() {
+        length = 0;
+        original = null;
+    }
+
+    private void normalize(CharSequence text) {
+        char[] out = chars;
+        int[] map = offsets;
+        int end = text.length();
+        while (end > 0 && ScanSupport.isSpace(text.charAt(end - 1))) {
+            end--;
+        }
+        int count = 0;
+        int i = ScanSupport.skipSpaces(text, 0);
+        while (i < end) {
+            char c = text.charAt(i);
+            map[count] = i;
+            if (ScanSupport.isSpace(c)) {
+                out[count++] = ' ';
+                i = ScanSupport.skipSpaces(text, i);
+                continue;
+            }
+            // ẞ, İ und K bleiben, damit die Erkenner sie wie die Zeichenklassen der Muster behandeln
+            out[count++] = ScanSupport.isClassFoldException(c) ? c : ScanSupport.fold(c);
+            i++;
+        }
+        this.length = transliterateWords(count);
+        map[length] = end;
+        this.original = text;
+    }
+
+    /**
+     * Führt ae/oe/ue/ss in einem Wort nur dann auf ä/ö/ü/ß zurück, wenn das ganze Wort damit ein Schlüsselwort der
+     * Erkenner oder ein Zahlwort wird ("Maerz", "fuer", "fuenf"); sonst bleibt es unverändert, damit etwa
+     * "AbendsSchulze" nicht zu "abendßchulze" wird und wie bei den Regex-Services "abends" enthält.
+     *
+     * @return die neue Länge
+     */
+    private int transliterateWords(int count) {
+        char[] out = chars;
+        int[] map = offsets;
+        int write = 0;
+        int read = 0;
+        while (read < count) {
+            if (!ScanSupport.isLetter(out[read])) {
+                map[write] = map[read];
+                out[write++] = out[read++];
+                continue;
+            }
+            int wordEnd = read + 1;
+            while (wordEnd < count && ScanSupport.isLetter(out[wordEnd])) {
+                wordEnd++;
+            }
+            boolean transliterate = spellsKeyword(read, wordEnd);
+            for (int j = read; j < wordEnd; j++) {
+                char umlaut = transliterate && j + 1 < wordEnd ? transliterate(out[j], out[j + 1], j > read) : 0;
+                map[write] = map[j];
+                out[write++] = umlaut != 0 ? umlaut : out[j];
+                if (umlaut != 0) {
+                    j++;
+                }
+            }
+            read = wordEnd;
+        }
+        return write;
+    }
+
+    // Ob chars[start, end) mit zurückgeführten Umschreibungen ein Schlüssel- oder Zahlwort ist
+    private boolean spellsKeyword(int start, int end) {
+        int first = start;
+        while (first + 1 < end && transliterate(chars[first], chars[first + 1], first > start) == 0) {
+            first++;
+        }
+        if (first + 1 >= end) {
+            return false;
+        }
+        StringBuilder candidate = word;
+        candidate.setLength(0);
+        candidate.append(chars, start, first - start);
+        for (int j = first; j < end; j++) {
+            char umlaut = j + 1 < end ? transliterate(chars[j], chars[j + 1], j > start) : 0;
+            if (umlaut != 0) {
+                candidate.append(umlaut);
+                j++;
+            } else {
+                candidate.append(chars[j]);
+            }
+        }
+        for (String keyword : RecognizerVocabulary.UMLAUT_WORDS) {
+            if (keyword.contentEquals(candidate)) {
+                return true;
+            }
+        }
+        return NUMBER_PARSER.parseNumber(candidate, 0, candidate.length()) != GermanNumberParserService.NO_NUMBER;
+    }
+
+    // ae/oe/ue -> ä/ö/ü; ss -> ß nur im Wortinneren, da ß kein Wort beginnt
+    private static char transliterate(char first, char second, boolean afterLetter) {
+        if (second == 'e') {
+            switch (first) {
+                case 'a':
+                    return 'ä';
+                case 'o':
+                    return 'ö';
+                case 'u':
+                    return 'ü';
+                default:
+                    return 0;
+            }
+        }
+        return first == 's' && second == 's' && afterLetter ? 'ß' : 0;
+    }
+
+    /** Der ursprüngliche Text. */
+    CharSequence original() {
+        return original;
+    }
+
+    /** Index im Original, an dem Zeichen index beginnt; für index == length() das Ende des letzten Zeichens. */
+    int originalIndex(int index) {
+        if (index < 0 || index > length) {
+            throw new IndexOutOfBoundsException("Index " + index + " außerhalb von 0.." + length);
+        }
+        return offsets[index];
+    }
+
+    /** Der Originaltext zu [start, end), Leerraum wie bei den Regex-Services zu einem Leerzeichen zusammengefasst. */
+    String originalText(int start, int end) {
+        int from = originalIndex(start);
+        int to = originalIndex(end);
+        if (scratch == null || scratch.length < to - from) {
+            scratch = new char[Math.max(64, to - from)];
+        }
+        // Nur der fertige Name wird angelegt, kein StringBuilder
+        return ScanSupport.collapseSpaces(original, from, to, scratch);
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " außerhalb von 0.." + length);
+        }
+        return chars[index];
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || start > end || end > length) {
+            throw new IndexOutOfBoundsException("Bereich " + start + ".." + end + " außerhalb von 0.." + length);
+        }
+        return new String(chars, start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+}
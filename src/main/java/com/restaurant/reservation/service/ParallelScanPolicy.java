@@ -0,0 +1,56 @@
+package com.restaurant.reservation.service;
+
+/**
+ * Parallelität innerhalb eines Aufrufs: Texte ab einer Mindestlänge werden in Abschnitte geteilt, die im
+ * Fork-Join-Pool des Services parallel zerlegt und je Feld parallel durchsucht werden. Kürzere Texte laufen
+ * ohne jeden Koordinationsaufwand sequentiell.
+ */
+public final class ParallelScanPolicy {
+
+    /** Immer sequentiell. */
+    public static final ParallelScanPolicy SEQUENTIAL = new ParallelScanPolicy(Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    /** Parallel ab 64 Ki Zeichen in Abschnitten von 16 Ki Zeichen. */
+    public static final ParallelScanPolicy DEFAULT = new ParallelScanPolicy(64 * 1024, 16 * 1024);
+
+    private final int minParallelLength;
+    private final int segmentLength;
+
+    /**
+     * Erstellt die Richtlinie.
+     *
+     * @param minParallelLength Texte ab dieser Länge (nach der Normalisierung) werden parallel ausgewertet
+     * @param segmentLength     Zielgröße eines Abschnitts in Zeichen
+     */
+    public ParallelScanPolicy(int minParallelLength, int segmentLength) {
+        if (minParallelLength < 1 || segmentLength < 1) {
+            throw new IllegalArgumentException("Mindestlänge und Abschnittsgröße müssen positiv sein");
+        }
+        this.minParallelLength = minParallelLength;
+        this.segmentLength = segmentLength;
+    }
+
+    public int getMinParallelLength() {
+        return minParallelLength;
+    }
+
+    public int getSegmentLength() {
+        return segmentLength;
+    }
+
+    /** Prüft ob ein Text dieser Länge parallel ausgewertet wird. */
+    public boolean isParallel(int length) {
+        return length >= minParallelLength;
+    }
+
+    /** Anzahl der Abschnitte für einen Text dieser Länge. */
+    int segmentCount(int length) {
+        return (int) Math.max(1, ((long) length + segmentLength - 1) / segmentLength);
+    }
+
+    @Override
+    public String toString() {
+        return minParallelLength == Integer.MAX_VALUE ? "sequentiell"
+                : "parallel ab " + minParallelLength + " Zeichen, Abschnitte zu " + segmentLength + " Zeichen";
+    }
+}
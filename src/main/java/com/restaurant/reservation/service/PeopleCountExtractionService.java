@@ -1,10 +1,19 @@
 package com.restaurant.reservation.service;
 
+import com.restaurant.reservation.metrics.ExtractorMetrics;
+import com.restaurant.reservation.metrics.MetricsRegistry;
+import com.restaurant.reservation.model.FieldResult;
+import com.restaurant.reservation.model.FieldStatus;
+import com.restaurant.reservation.model.ReservationField;
+
+import java.nio.ByteBuffer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /** Service zur Extraktion der Personenanzahl aus deutschem Text. */
-public class PeopleCountExtractionService {
+public class PeopleCountExtractionService implements Extractor<Integer> {
+
+    private static final ExtractorMetrics METRICS = MetricsRegistry.getDefault().extractor("PeopleCountExtractionService");
 
     // Unterstützte Formate:
     // 1. Numerisch mit Präposition: "für 4 Personen", "mit 8 Leuten"
@@ -13,7 +22,7 @@ public class PeopleCountExtractionService {
     // 4. Zahlwörter ohne Präposition: "zwei Personen", "acht Menschen"
     // 5. Nur Zahl mit Präposition: "für 2" (nur mit "für"/"mit")
 
-    private static final Pattern PEOPLE_PATTERN = Pattern.compile(
+    static final Pattern PEOPLE_PATTERN = Pattern.compile(
         // Pattern 1: Mit Präposition "für" oder "mit"
         "(?:für|mit)\\s+" +
         "(\\d+|[a-zäöüß]+)" +  // Anzahl (Zahl oder Wort)
@@ -31,42 +40,114 @@ public class PeopleCountExtractionService {
     );
 
     private final GermanNumberParserService germanNumberParser;
+    private final MatchingEngine engine;
+    private final PeopleCountRecognizer peopleCountRecognizer;
 
+    /** Erstellt den Service mit der Voreinstellung {@link MatchingEngine#getDefault()}. */
     public PeopleCountExtractionService(GermanNumberParserService germanNumberParser) {
+        this(germanNumberParser, MatchingEngine.getDefault());
+    }
+
+    public PeopleCountExtractionService(GermanNumberParserService germanNumberParser, MatchingEngine engine) {
+        if (engine == null) {
+            throw new IllegalArgumentException("Matching-Engine darf nicht null sein");
+        }
         this.germanNumberParser = germanNumberParser;
+        this.engine = engine;
+        this.peopleCountRecognizer = new PeopleCountRecognizer(germanNumberParser);
     }
 
     /** Extrahiert Personenanzahl aus Text. */
     public int extractNumberOfPeople(String text) {
-        if (text == null || text.trim().isEmpty()) {
-            throw new IllegalArgumentException("Text darf nicht leer sein");
+        return tryExtractNumberOfPeople(text).orElseThrow();
+    }
+
+    /** Extrahiert Personenanzahl aus Text ohne Exceptions. */
+    public FieldResult<Integer> tryExtractNumberOfPeople(String text) {
+        return tryExtractNumberOfPeople((CharSequence) text);
+    }
+
+    @Override
+    public ReservationField getField() {
+        return ReservationField.NUMBER_OF_PEOPLE;
+    }
+
+    /** Entspricht {@link #tryExtractNumberOfPeople(CharSequence)}. */
+    @Override
+    public FieldResult<Integer> extract(CharSequence text) {
+        return tryExtractNumberOfPeople(text);
+    }
+
+    /** Wie {@link #tryExtractNumberOfPeople(String)}, direkt auf einer beliebigen Zeichenfolge (z. B. CharBuffer) ohne Kopie. */
+    public FieldResult<Integer> tryExtractNumberOfPeople(CharSequence text) {
+        long start = System.nanoTime();
+        FieldResult<Integer> result = scan(text);
+        METRICS.record(result.getStatus(), System.nanoTime() - start);
+        return result;
+    }
+
+    /** Wie {@link #tryExtractNumberOfPeople(String)} für UTF-8-Bytes in bytes[offset, offset + length). */
+    public FieldResult<Integer> tryExtractNumberOfPeople(ByteBuffer bytes, int offset, int length) {
+        return tryExtractNumberOfPeople(Utf8Input.decode(bytes, offset, length));
+    }
+
+    private FieldResult<Integer> scan(CharSequence text) {
+        if (ScanSupport.isBlank(text)) {
+            return FieldResult.missing(ReservationField.NUMBER_OF_PEOPLE, FieldStatus.EMPTY_INPUT);
+        }
+        if (!KeywordGate.mayMatch(text, KeywordGate.PEOPLE)) {
+            return FieldResult.missing(ReservationField.NUMBER_OF_PEOPLE, FieldStatus.NOT_FOUND);
         }
+        ExtractionContext context = ExtractionContext.acquire();
+        try {
+            return scan(text, context);
+        } finally {
+            context.release();
+        }
+    }
 
-        Matcher matcher = PEOPLE_PATTERN.matcher(text);
+    private FieldResult<Integer> scan(CharSequence text, ExtractionContext context) {
+        if (engine == MatchingEngine.DETERMINISTIC) {
+            ScanResult result = context.result(null);
+            peopleCountRecognizer.recognize(context.tokenize(text), result);
+            return result.numberOfPeopleStatus == FieldStatus.FOUND
+                    ? FieldResult.found(ReservationField.NUMBER_OF_PEOPLE, result.numberOfPeople)
+                    : FieldResult.missing(ReservationField.NUMBER_OF_PEOPLE, result.numberOfPeopleStatus);
+        }
+
+        Matcher matcher = context.matcher(PEOPLE_PATTERN, text);
         while (matcher.find()) {
-            String countText = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
-            try {
-                int count = Integer.parseInt(countText);
+            int group = matcher.start(1) >= 0 ? 1 : 2;
+            // Zahlwörter und Ziffern direkt im Text parsen, ohne Teilstring anzulegen
+            int count = germanNumberParser.parseNumber(text, matcher.start(group), matcher.end(group));
+            if (count != GermanNumberParserService.NO_NUMBER) {
                 if (count < 1 || count > 99) {
-                    throw new IllegalArgumentException("Personenanzahl muss zwischen 1 und 99 liegen.");
-                }
-                return count;
-            } catch (NumberFormatException e) {
-                Integer count = germanNumberParser.parseNumberString(countText.toLowerCase());
-                if (count != null) {
-                    if (count < 1 || count > 99) {
-                        throw new IllegalArgumentException("Personenanzahl muss zwischen 1 und 99 liegen.");
-                    }
-                    return count;
+                    return FieldResult.missing(ReservationField.NUMBER_OF_PEOPLE, FieldStatus.OUT_OF_RANGE);
                 }
+                return FieldResult.found(ReservationField.NUMBER_OF_PEOPLE, count);
             }
         }
 
-        throw new IllegalArgumentException("Personenanzahl nicht gefunden.");
+        return FieldResult.missing(ReservationField.NUMBER_OF_PEOPLE, FieldStatus.NOT_FOUND);
     }
 
     /** Prüft ob Text ein Personenanzahl-Muster enthält. */
     public boolean containsPeopleCount(String text) {
-        return text != null && PEOPLE_PATTERN.matcher(text).find();
+        return containsPeopleCount((CharSequence) text);
+    }
+
+    /** Prüft ohne Kopie, ob die Zeichenfolge ein passendes Muster enthält. */
+    public boolean containsPeopleCount(CharSequence text) {
+        if (text == null || !KeywordGate.mayMatch(text, KeywordGate.PEOPLE)) {
+            return false;
+        }
+        ExtractionContext context = ExtractionContext.acquire();
+        try {
+            return engine == MatchingEngine.DETERMINISTIC
+                    ? peopleCountRecognizer.recognize(context.tokenize(text), context.result(null))
+                    : context.matcher(PEOPLE_PATTERN, text).find();
+        } finally {
+            context.release();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.restaurant.reservation.service;
+
+import com.restaurant.reservation.model.FieldStatus;
+
+/** Tokenbasierter Erkenner für die Personenanzahl, äquivalent zu PEOPLE_PATTERN. */
+final class PeopleCountRecognizer implements FieldRecognizer {
+
+    static final String[] PREPOSITIONS = {"für", "mit"};
+
+    private final GermanNumberParserService germanNumberParser;
+
+    PeopleCountRecognizer(GermanNumberParserService germanNumberParser) {
+        this.germanNumberParser = germanNumberParser;
+    }
+
+    /**
+     * Sucht die erste auswertbare Personenanzahl und trägt sie oder den Fehler in das Ergebnis ein.
+     *
+     * @return ob PEOPLE_PATTERN im Text einen Treffer hätte (auch wenn die Anzahl nicht auswertbar ist)
+     */
+    @Override
+    public boolean recognize(TokenStream tokens, ScanResult result) {
+        int from = search(tokens, 0, tokens.size(), 0, result);
+        if (from == DECIDED) {
+            return true;
+        }
+        result.numberOfPeopleStatus = FieldStatus.NOT_FOUND;
+        return from > 0;
+    }
+
+    // from: Suchbeginn wie bei Matcher.find() nach dem vorherigen, verworfenen Treffer
+    @Override
+    public int search(TokenStream tokens, int fromToken, int toToken, int from, ScanResult result) {
+        CharSequence text = tokens.text();
+        int[] match = result.peopleMatch;
+
+        for (int i = fromToken; i < toToken; i++) {
+            byte kind = tokens.kind(i);
+            int tokenEnd = tokens.end(i);
+            if ((kind != TokenStream.WORD && kind != TokenStream.DIGITS) || tokenEnd <= from) {
+                continue;
+            }
+            int start = Math.max(tokens.start(i), from);
+
+            // Kandidaten in Positionsreihenfolge: Präposition am Tokenanfang, Anzahl ohne Präposition,
+            // Präposition als Wortende ("damit 4 Leute")
+            boolean found = (kind == TokenStream.WORD && tokenEnd - start == 3 && matchWithPreposition(text, start, match))
+                    || matchWithoutPreposition(text, start, tokenEnd, match)
+                    || (kind == TokenStream.WORD && tokenEnd - 3 > start && matchWithPreposition(text, tokenEnd - 3, match));
+            if (!found) {
+                continue;
+            }
+            from = match[2];
+
+            int count = countOf(text, match[0], match[1]);
+            if (count == GermanNumberParserService.NO_NUMBER) {
+                continue;
+            }
+            if (count < 1 || count > 99) {
+                result.numberOfPeopleStatus = FieldStatus.OUT_OF_RANGE;
+            } else {
+                result.numberOfPeople = count;
+                result.numberOfPeopleStatus = FieldStatus.FOUND;
+            }
+            return DECIDED;
+        }
+        return from;
+    }
+
+    // (?:für|mit)\s+(\d+|[a-zäöüß]+)(?:\s+Personenwort|(?=\s|$)(?!\s*Zeitangabe))
+    private boolean matchWithPreposition(CharSequence text, int pos, int[] match) {
+        if (ScanSupport.matchAny(text, pos, PREPOSITIONS) < 0 || !ScanSupport.isSpaceAt(text, pos + 3)) {
+            return false;
+        }
+        int countStart = ScanSupport.skipSpaces(text, pos + 3);
+        int countEnd = runEnd(text, countStart);
+        if (countEnd == countStart) {
+            return false;
+        }
+        int end = peopleWordEnd(text, countEnd);
+        if (end < 0) {
+            if (!(ScanSupport.isSpaceAt(text, countEnd) || ScanSupport.atEnd(text, countEnd))
+                    || ScanSupport.followedBy(text, countEnd, ScanSupport.PEOPLE_TIME_SUFFIXES)) {
+                return false;
+            }
+            end = countEnd;
+        }
+        match[0] = countStart;
+        match[1] = countEnd;
+        match[2] = end;
+        return true;
+    }
+
+    // (\d+|[a-zäöüß]+)(?!\s*Zeitangabe)\s+Personenwort
+    private boolean matchWithoutPreposition(CharSequence text, int countStart, int countEnd, int[] match) {
+        if (ScanSupport.followedBy(text, countEnd, ScanSupport.PEOPLE_TIME_SUFFIXES)) {
+            return false;
+        }
+        int end = peopleWordEnd(text, countEnd);
+        if (end < 0) {
+            return false;
+        }
+        match[0] = countStart;
+        match[1] = countEnd;
+        match[2] = end;
+        return true;
+    }
+
+    // \s+(?:personen|leuten?|mann|menschen): Trefferende oder -1
+    private static int peopleWordEnd(CharSequence text, int pos) {
+        if (!ScanSupport.isSpaceAt(text, pos)) {
+            return -1;
+        }
+        int wordStart = ScanSupport.skipSpaces(text, pos);
+        int length = ScanSupport.matchAny(text, wordStart, ScanSupport.PEOPLE_WORDS);
+        return length < 0 ? -1 : wordStart + length;
+    }
+
+    // Ende der Ziffern- bzw. Buchstabenfolge ab pos
+    private static int runEnd(CharSequence text, int pos) {
+        int end = pos;
+        if (ScanSupport.isDigitAt(text, pos)) {
+            while (ScanSupport.isDigitAt(text, end)) {
+                end++;
+            }
+        } else {
+            while (end < text.length() && ScanSupport.isLetter(text.charAt(end))) {
+                end++;
+            }
+        }
+        return end;
+    }
+
+    // Wert der Anzahl oder GermanNumberParserService.NO_NUMBER, wenn sie nicht auswertbar ist
+    private int countOf(CharSequence text, int start, int end) {
+        if (ScanSupport.isDigit(text.charAt(start))) {
+            int count = ScanSupport.parseDigits(text, start, end);
+            return count < 0 ? GermanNumberParserService.NO_NUMBER : count;
+        }
+        return germanNumberParser.parseNumber(text, start, end);
+    }
+}
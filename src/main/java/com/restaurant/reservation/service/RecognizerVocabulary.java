@@ -0,0 +1,43 @@
+package com.restaurant.reservation.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/** Die Schlüsselwörter der Feld-Erkenner an einer Stelle, kleingeschrieben und mit Umlauten. */
+final class RecognizerVocabulary {
+
+    /** Alle Wörter, die einen Feldwert ändern oder einen Treffer auslösen können. */
+    static final Set<String> WORDS;
+
+    /** Die Wörter mit ä, ö, ü oder ß, deren Umschreibung (ae, oe, ue, ss) {@link NormalizedText} zurückführt. */
+    static final String[] UMLAUT_WORDS;
+
+    static {
+        String[][] vocabularies = {
+            DateRecognizer.MONTH_NAMES, DateRecognizer.WEEKDAYS, DateRecognizer.NEXT_WORDS,
+            DateRecognizer.DAY_AFTER_TOMORROW, DateRecognizer.MORNING_WORDS, DateRecognizer.ONE_WORDS,
+            DateRecognizer.DAY_UNITS, DateRecognizer.WEEK_UNITS, ScanSupport.PERIODS, ScanSupport.PEOPLE_WORDS,
+            PeopleCountRecognizer.PREPOSITIONS, NameRecognizer.GREETINGS,
+            {"heute", "morgen", "in", "uhr", "ich", "bin", "hier", "ist", "und"}
+        };
+        Set<String> words = new HashSet<>();
+        for (String[] vocabulary : vocabularies) {
+            words.addAll(Arrays.asList(vocabulary));
+        }
+        List<String> umlautWords = new ArrayList<>();
+        for (String word : words) {
+            if (word.indexOf('ä') >= 0 || word.indexOf('ö') >= 0 || word.indexOf('ü') >= 0 || word.indexOf('ß') >= 0) {
+                umlautWords.add(word);
+            }
+        }
+        WORDS = Collections.unmodifiableSet(words);
+        UMLAUT_WORDS = umlautWords.toArray(new String[0]);
+    }
+
+    private RecognizerVocabulary() {
+    }
+}
@@ -0,0 +1,89 @@
+package com.restaurant.reservation.service;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Bezugstag für Datumsangaben ohne Jahr und relative Angaben wie "morgen" oder "in zwei Wochen". Die Zieltage der
+ * nächsten zehn Wochen werden einmal je Bezugstag vorberechnet; die Auflösung ist danach ein Array-Zugriff.
+ */
+final class ReferenceDate {
+
+    /** Vorberechnete Tage ab dem Bezugstag (einschließlich); weiter entfernte Angaben werden bei Bedarf berechnet. */
+    static final int TABLE_DAYS = 71;
+
+    /** Angaben ohne Jahr, die höchstens so viele Tage zurückliegen, gelten im Jahr des Bezugstags, sonst im folgenden. */
+    static final int PAST_DAYS = 30;
+
+    private final LocalDate today;
+    private final long startMillis;
+    private final long endMillis;
+    private final LocalDate[] days = new LocalDate[TABLE_DAYS];
+    private final int todayWeekday;
+
+    // Frühester Tag, den eine Angabe ohne Jahr bezeichnen kann, als Jahr und month * 32 + day
+    private final int cutoffYear;
+    private final int cutoffKey;
+
+    private ReferenceDate(LocalDate today, long startMillis, long endMillis) {
+        this.today = today;
+        this.startMillis = startMillis;
+        this.endMillis = endMillis;
+        for (int i = 0; i < TABLE_DAYS; i++) {
+            days[i] = today.plusDays(i);
+        }
+        this.todayWeekday = today.getDayOfWeek().getValue();
+        LocalDate cutoff = today.minusDays(PAST_DAYS);
+        this.cutoffYear = cutoff.getYear();
+        this.cutoffKey = cutoff.getMonthValue() * 32 + cutoff.getDayOfMonth();
+    }
+
+    /** Bezugstag zum Zeitpunkt millis in der Zeitzone; gültig bis Mitternacht dieser Zone. */
+    static ReferenceDate at(long millis, ZoneId zone) {
+        LocalDate today = LocalDate.ofInstant(Instant.ofEpochMilli(millis), zone);
+        return new ReferenceDate(today, today.atStartOfDay(zone).toInstant().toEpochMilli(),
+                today.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+    }
+
+    /** Fester Bezugstag, z. B. für Tests; die Tagesgrenzen gelten in UTC. */
+    static ReferenceDate of(LocalDate today) {
+        return at(today.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli(), ZoneOffset.UTC);
+    }
+
+    LocalDate today() {
+        return today;
+    }
+
+    /** Tage seit 1970-01-01, Schlüssel für vom Bezugstag abhängige Cache-Einträge. */
+    long epochDay() {
+        return today.toEpochDay();
+    }
+
+    /** Prüft ob der Zeitpunkt (Epoch-Millisekunden) in den Bezugstag fällt. */
+    boolean contains(long millis) {
+        return millis >= startMillis && millis < endMillis;
+    }
+
+    /** Der Tag offset Tage nach dem Bezugstag (offset ≥ 0). */
+    LocalDate plusDays(int offset) {
+        return offset < TABLE_DAYS ? days[offset] : today.plusDays(offset);
+    }
+
+    /** Das nächste Vorkommen des Wochentags nach dem Bezugstag, bei gleichem Wochentag also in sieben Tagen. */
+    LocalDate next(DayOfWeek weekday) {
+        return days[(weekday.getValue() - todayWeekday + 6) % 7 + 1];
+    }
+
+    /** Jahr einer Angabe ohne Jahr: das erste Vorkommen ab {@link #PAST_DAYS} Tagen vor dem Bezugstag. */
+    int yearOf(int month, int day) {
+        return month * 32 + day < cutoffKey ? cutoffYear + 1 : cutoffYear;
+    }
+
+    @Override
+    public String toString() {
+        return today.toString();
+    }
+}
@@ -0,0 +1,39 @@
+package com.restaurant.reservation.service;
+
+import java.time.Clock;
+
+/**
+ * Liefert den Bezugstag zur Uhr. Der Bezugstag wird bis Mitternacht zwischengespeichert, sodass ein Aufruf nur
+ * {@link Clock#millis()} liest und nichts anlegt.
+ */
+final class ReferenceDateSource {
+
+    /** Quelle zur Systemuhr in der Standard-Zeitzone. */
+    static final ReferenceDateSource SYSTEM = new ReferenceDateSource(Clock.systemDefaultZone());
+
+    private final Clock clock;
+    private volatile ReferenceDate current;
+
+    ReferenceDateSource(Clock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("Uhr darf nicht null sein");
+        }
+        this.clock = clock;
+    }
+
+    Clock getClock() {
+        return clock;
+    }
+
+    /** Bezugstag zum aktuellen Zeitpunkt der Uhr. */
+    ReferenceDate get() {
+        long now = clock.millis();
+        ReferenceDate reference = current;
+        if (reference == null || !reference.contains(now)) {
+            // Gleichzeitige Neuberechnung ist harmlos: alle Threads erhalten denselben Tag
+            reference = ReferenceDate.at(now, clock.getZone());
+            current = reference;
+        }
+        return reference;
+    }
+}
@@ -1,52 +1,338 @@
 package com.restaurant.reservation.service;
 
+import com.restaurant.reservation.metrics.ExtractorMetrics;
+import com.restaurant.reservation.metrics.MetricsRegistry;
+import com.restaurant.reservation.model.ExtractionResult;
+import com.restaurant.reservation.model.FieldStatus;
 import com.restaurant.reservation.model.Reservation;
+import com.restaurant.reservation.model.ReservationField;
 
-import java.time.LocalDate;
-import java.time.LocalTime;
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-/** Haupt-Service zur Extraktion aller Reservierungsinformationen aus deutschem Text. */
+/**
+ * Haupt-Service zur Extraktion aller Reservierungsinformationen aus deutschem Text. Datumsangaben ohne Jahr und
+ * relative Angaben wie "morgen" gelten zum Bezugstag der Uhr, der je Aufruf bzw. je Batch einmal bestimmt wird.
+ */
 public class ReservationExtractorService {
-    
-    private final CustomerNameExtractionService customerNameExtractor;
-    private final DateExtractionService dateExtractor;
-    private final TimeExtractionService timeExtractor;
-    private final PeopleCountExtractionService peopleCountExtractor;
+
+    /** Name der Gesamt-Kennzahl; die Feld-Erkenner zeichnen unter "ReservationExtractorService.<feld>" auf. */
+    public static final String METRICS_NAME = "ReservationExtractorService";
+
+    private static final ExtractorMetrics METRICS = MetricsRegistry.getDefault().extractor(METRICS_NAME);
+
+    // Texte pro Blatt-Task der Batch-Verarbeitung
+    private static final int BATCH_LEAF_SIZE = 16;
+
+    private static final ReservationField[] FIELDS = ReservationField.values();
+
+    // Ein Token-Durchlauf für Name, Datum, Uhrzeit und Personenanzahl statt vier Regex-Scans
+    private final FusedReservationScanner scanner;
+    private final ForkJoinPool batchPool;
+    private final ExtractionCache cache;
+    private final ExtractionLimits limits;
+    private final ExtractionPlan defaultPlan;
+    private final ReferenceDateSource referenceDates;
 
     public ReservationExtractorService() {
-        this.customerNameExtractor = new CustomerNameExtractionService();
-        this.dateExtractor = new DateExtractionService();
-        this.timeExtractor = new TimeExtractionService();
-        this.peopleCountExtractor = new PeopleCountExtractionService(new GermanNumberParserService());
+        this(builder());
+    }
+
+    /** Erstellt den Service aus der Konfiguration des Builders; für Unterklassen, sonst {@link Builder#build()}. */
+    protected ReservationExtractorService(Builder builder) {
+        if (builder.batchPool == null || builder.limits == null || builder.registry == null
+                || builder.defaultPlan == null || builder.parallelPolicy == null || builder.clock == null) {
+            throw new IllegalArgumentException(
+                    "Fork-Join-Pool, Grenzen, Registry, Plan, Parallelitätsrichtlinie und Uhr dürfen nicht null sein");
+        }
+        this.scanner = new FusedReservationScanner(new GermanNumberParserService(), builder.registry,
+                builder.batchPool, builder.parallelPolicy);
+        this.batchPool = builder.batchPool;
+        this.cache = builder.cache;
+        this.limits = builder.limits;
+        this.defaultPlan = builder.defaultPlan;
+        this.referenceDates = new ReferenceDateSource(builder.clock);
+    }
+
+    /** Builder mit den Voreinstellungen des parameterlosen Konstruktors. */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Konfiguration des Services; nicht gesetzte Werte behalten die Voreinstellung. Geprüft wird beim Erstellen, ein
+     * Builder kann für mehrere Services verwendet werden.
+     */
+    public static final class Builder {
+        private ForkJoinPool batchPool = ForkJoinPool.commonPool();
+        private ExtractionCache cache;
+        private ExtractionLimits limits = ExtractionLimits.NONE;
+        private ExtractorRegistry registry = new ExtractorRegistry();
+        private ExtractionPlan defaultPlan = ExtractionPlan.ALL;
+        private ParallelScanPolicy parallelPolicy = ParallelScanPolicy.DEFAULT;
+        private Clock clock = Clock.systemDefaultZone();
+
+        private Builder() {
+        }
+
+        /** Fork-Join-Pool für die Batch-Extraktion und parallele Abschnitte; Voreinstellung ist der Common Pool. */
+        public Builder batchPool(ForkJoinPool batchPool) {
+            this.batchPool = batchPool;
+            return this;
+        }
+
+        /** Ergebnis-Cache vor der Extraktion; null (Voreinstellung) für keinen Cache. */
+        public Builder cache(ExtractionCache cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        /** Obergrenzen für Textlänge und Zeitbudget je Aufruf. */
+        public Builder limits(ExtractionLimits limits) {
+            this.limits = limits;
+            return this;
+        }
+
+        /** Eigene Extraktoren; die Registry wird beim Erstellen des Services kopiert. */
+        public Builder registry(ExtractorRegistry registry) {
+            this.registry = registry;
+            return this;
+        }
+
+        /** Standardplan für alle Aufrufe ohne expliziten Plan. */
+        public Builder defaultPlan(ExtractionPlan defaultPlan) {
+            this.defaultPlan = defaultPlan;
+            return this;
+        }
+
+        /** Parallelität innerhalb eines Aufrufs; lange Texte werden abschnittsweise im Batch-Pool ausgewertet. */
+        public Builder parallelPolicy(ParallelScanPolicy parallelPolicy) {
+            this.parallelPolicy = parallelPolicy;
+            return this;
+        }
+
+        /**
+         * Uhr für den Bezugstag, z. B. Clock.fixed für reproduzierbare Ergebnisse. Cache-Einträge gelten nur für den
+         * Bezugstag, an dem sie entstanden sind.
+         */
+        public Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public ReservationExtractorService build() {
+            return new ReservationExtractorService(this);
+        }
+    }
+
+    /** Der konfigurierte Cache oder null. */
+    public ExtractionCache getCache() {
+        return cache;
+    }
+
+    public ExtractionLimits getLimits() {
+        return limits;
+    }
+
+    public ExtractionPlan getDefaultPlan() {
+        return defaultPlan;
+    }
+
+    public Clock getClock() {
+        return referenceDates.getClock();
+    }
+
+    // Bezugstag als Epoch-Tag, z. B. damit vorgelagerte Indizes vom Tag abhängige Ergebnisse verwerfen können
+    long referenceDay() {
+        return referenceDates.get().epochDay();
     }
 
     /** Extrahiert alle Reservierungsinformationen aus Text. */
     public Reservation extractReservationInfo(String text) {
-        if (text == null || text.trim().isEmpty()) {
-            throw new IllegalArgumentException("Text darf nicht leer sein");
-        }
-        
-        StringBuilder errors = new StringBuilder();
-        
-        // Lambda-basierte Extraktion
-        String customerName = tryExtract(() -> customerNameExtractor.extractCustomerName(text), errors);
-        LocalDate date = tryExtract(() -> dateExtractor.extractDate(text), errors);
-        LocalTime time = tryExtract(() -> timeExtractor.extractTime(text), errors);
-        Integer numberOfPeople = tryExtract(() -> peopleCountExtractor.extractNumberOfPeople(text), errors);
-
-        if (errors.length() > 0) {
-            throw new IllegalArgumentException(errors.toString().trim());
-        }
-
-        return new Reservation(customerName, date, time, numberOfPeople);
-    }
-    
-    private <T> T tryExtract(java.util.function.Supplier<T> extractor, StringBuilder errors) {
-        try { 
-            return extractor.get();
-        } catch (IllegalArgumentException e) {
-            errors.append(e.getMessage()).append(" ");
-            return null;
+        return tryExtractReservationInfo(text).toReservation();
+    }
+
+    /** Extrahiert alle Reservierungsinformationen ohne Exceptions; fehlende Felder stehen im Status. */
+    public ExtractionResult tryExtractReservationInfo(String text) {
+        return tryExtractReservationInfo((CharSequence) text);
+    }
+
+    /**
+     * Wie {@link #tryExtractReservationInfo(String)}, direkt auf einer Zeichenfolge ohne Kopie. Ein
+     * {@link java.nio.CharBuffer} wird ab seiner Position gelesen.
+     */
+    public ExtractionResult tryExtractReservationInfo(CharSequence text) {
+        return tryExtractReservationInfo(text, defaultPlan);
+    }
+
+    /**
+     * Wie {@link #tryExtractReservationInfo(CharSequence)}, wertet aber nur die Felder des Plans aus; im
+     * Fail-fast-Modus endet die Auswertung beim ersten fehlenden Feld. Der Cache gilt nur für vollständige Pläne.
+     */
+    public ExtractionResult tryExtractReservationInfo(CharSequence text, ExtractionPlan plan) {
+        if (plan == null) {
+            throw new IllegalArgumentException("Plan darf nicht null sein");
+        }
+        return tryExtractReservationInfo(text, plan, referenceDates.get(), 0);
+    }
+
+    /**
+     * Wie {@link #tryExtractReservationInfo(CharSequence, ExtractionPlan)} mit einer Frist (System.nanoTime(), 0 für
+     * keine) zusätzlich zum Zeitbudget der Grenzen; offene Felder erhalten danach TIMEOUT.
+     */
+    ExtractionResult tryExtractReservationInfo(CharSequence text, ExtractionPlan plan, long deadline) {
+        return tryExtractReservationInfo(text, plan, referenceDates.get(), deadline);
+    }
+
+    private ExtractionResult tryExtractReservationInfo(CharSequence text, ExtractionPlan plan, ReferenceDate reference,
+                                                       long deadline) {
+        long start = System.nanoTime();
+        ExtractionResult result;
+        if (text != null && text.length() > limits.getMaxInputLength()) {
+            result = ExtractionResult.inputTooLong();
+        } else if (ScanSupport.isBlank(text)) {
+            result = ExtractionResult.emptyInput();
+        } else if (cache != null && plan.isFull()) {
+            result = deadline == 0 ? cache.get(text, reference, this::scan)
+                    : cache.get(text, reference, (input, day) -> scan(input, plan, day, deadline));
+        } else {
+            result = scan(text, plan, reference, deadline);
+        }
+        METRICS.record(overallStatus(result), System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Wie {@link #tryExtractReservationInfo(String)} für UTF-8-Bytes in bytes[offset, offset + length)
+     * (absolute Indizes), z. B. aus einer gemappten Datei; dekodiert wird in einen wiederverwendeten Puffer.
+     */
+    public ExtractionResult tryExtractReservationInfo(ByteBuffer bytes, int offset, int length) {
+        // Ein Zeichen belegt höchstens drei Bytes: offensichtlich zu lange Eingaben werden gar nicht erst dekodiert
+        if (length / 3 > limits.getMaxInputLength()) {
+            METRICS.record(FieldStatus.INPUT_TOO_LONG, 0);
+            return ExtractionResult.inputTooLong();
+        }
+        return tryExtractReservationInfo(Utf8Input.decode(bytes, offset, length));
+    }
+
+    private ExtractionResult scan(CharSequence text, ReferenceDate reference) {
+        return scan(text, ExtractionPlan.ALL, reference, 0);
+    }
+
+    private ExtractionResult scan(CharSequence text, ExtractionPlan plan, ReferenceDate reference, long deadline) {
+        if (limits.hasTimeBudget()) {
+            long budget = System.nanoTime() + limits.getTimeBudgetNanos();
+            deadline = deadline == 0 || budget - deadline < 0 ? budget : deadline;
+        }
+        // Arbeitsspeicher des Threads: angelegt werden nur das Ergebnis und seine Werte
+        ExtractionContext context = ExtractionContext.acquire();
+        try {
+            // Ein gemeinsamer Normalisierungsdurchlauf für alle Erkenner; Namen werden aus dem Original gelesen
+            NormalizedText normalized = context.normalize(text);
+            ScanResult result = deadline != 0
+                    ? scanner.scan(normalized, plan, reference, context, deadline)
+                    : scanner.scan(normalized, plan, reference, context);
+            return result.toExtractionResult();
+        } finally {
+            context.release();
+        }
+    }
+
+    // FOUND wenn alle ausgewerteten Felder gefunden wurden, ungültig bzw. Grenzüberschreitung sobald ein Feld so
+    // endet, sonst der erste Fehlschlag; übersprungene Felder zählen nicht
+    private static FieldStatus overallStatus(ExtractionResult result) {
+        if (result.isComplete()) {
+            return FieldStatus.FOUND;
+        }
+        FieldStatus overall = FieldStatus.FOUND;
+        for (ReservationField field : FIELDS) {
+            FieldStatus status = result.getStatus(field);
+            if (status == FieldStatus.OUT_OF_RANGE || status == FieldStatus.INVALID
+                    || status == FieldStatus.INPUT_TOO_LONG || status == FieldStatus.TIMEOUT) {
+                return status;
+            }
+            if (overall == FieldStatus.FOUND && status != FieldStatus.SKIPPED) {
+                overall = status;
+            }
+        }
+        return overall;
+    }
+
+    /** Extrahiert alle Texte parallel im Batch-Pool; Ergebnisse in Eingabereihenfolge. */
+    public List<ExtractionResult> extractAll(List<String> texts) {
+        return extractAll(texts, defaultPlan);
+    }
+
+    /** Wie {@link #extractAll(List)} mit den Feldern des Plans; alle Texte gelten zum selben Bezugstag. */
+    public List<ExtractionResult> extractAll(List<String> texts, ExtractionPlan plan) {
+        return extractAll(texts, plan, 0);
+    }
+
+    // Wie extractAll(texts, plan) mit einer gemeinsamen Frist (System.nanoTime(), 0 für keine) für alle Texte
+    List<ExtractionResult> extractAll(List<String> texts, ExtractionPlan plan, long deadline) {
+        if (plan == null) {
+            throw new IllegalArgumentException("Plan darf nicht null sein");
+        }
+        ExtractionResult[] results = new ExtractionResult[texts.size()];
+        if (results.length > 0) {
+            List<String> input = texts instanceof RandomAccess ? texts : new ArrayList<>(texts);
+            batchPool.invoke(new BatchTask(input, plan, referenceDates.get(), deadline, results, 0, results.length));
+        }
+        return Arrays.asList(results);
+    }
+
+    /** Extrahiert alle Texte parallel im Batch-Pool; Ergebnisse in Eingabereihenfolge. */
+    public List<ExtractionResult> extractAll(Iterable<String> texts) {
+        List<String> input = new ArrayList<>();
+        texts.forEach(input::add);
+        return extractAll(input);
+    }
+
+    /** Extrahiert alle Texte parallel im Batch-Pool; Ergebnisse in Stream-Reihenfolge. */
+    public List<ExtractionResult> extractAll(Stream<String> texts) {
+        return extractAll(texts.collect(Collectors.toList()));
+    }
+
+    // Teilt den Indexbereich rekursiv, bis er klein genug für einen sequentiellen Durchlauf ist
+    private class BatchTask extends RecursiveAction {
+        private final List<String> texts;
+        private final ExtractionPlan plan;
+        private final ReferenceDate reference;
+        private final long deadline;
+        private final ExtractionResult[] results;
+        private final int from;
+        private final int to;
+
+        BatchTask(List<String> texts, ExtractionPlan plan, ReferenceDate reference, long deadline,
+                  ExtractionResult[] results, int from, int to) {
+            this.texts = texts;
+            this.plan = plan;
+            this.reference = reference;
+            this.deadline = deadline;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_LEAF_SIZE) {
+                for (int i = from; i < to; i++) {
+                    results[i] = tryExtractReservationInfo(texts.get(i), plan, reference, deadline);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new BatchTask(texts, plan, reference, deadline, results, from, middle),
+                    new BatchTask(texts, plan, reference, deadline, results, middle, to));
         }
     }
 }
@@ -0,0 +1,178 @@
+package com.restaurant.reservation.service;
+
+import com.restaurant.reservation.model.ExtractionResult;
+import com.restaurant.reservation.model.FieldResult;
+import com.restaurant.reservation.model.FieldStatus;
+import com.restaurant.reservation.model.ReservationField;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/** Veränderliches Zwischenergebnis eines Scan-Durchlaufs, in das die Erkenner schreiben. */
+final class ScanResult {
+
+    String customerName;
+    FieldStatus customerNameStatus = FieldStatus.NOT_FOUND;
+
+    LocalDate date;
+    FieldStatus dateStatus = FieldStatus.NOT_FOUND;
+
+    LocalTime time;
+    FieldStatus timeStatus = FieldStatus.NOT_FOUND;
+
+    int numberOfPeople;
+    FieldStatus numberOfPeopleStatus = FieldStatus.NOT_FOUND;
+
+    // Bereits ausgewertete Felder als KeywordGate-Bits (1 << Feld-Ordinal)
+    int finished;
+
+    // Bezugstag für Datumsangaben ohne Jahr und relative Angaben; vom Aufrufer gesetzt, bevor Datumswerte laufen
+    ReferenceDate reference;
+
+    // Arbeitsspeicher des Personen-Erkenners: Anzahl-Beginn, Anzahl-Ende, Trefferende
+    final int[] peopleMatch = new int[3];
+
+    // Arbeitsspeicher zum Zusammensetzen von Namen, angelegt beim ersten Bedarf
+    private char[] chars;
+
+    /** Setzt alle Felder für den nächsten Durchlauf zurück. */
+    void reset() {
+        customerName = null;
+        customerNameStatus = FieldStatus.NOT_FOUND;
+        date = null;
+        dateStatus = FieldStatus.NOT_FOUND;
+        time = null;
+        timeStatus = FieldStatus.NOT_FOUND;
+        numberOfPeople = 0;
+        numberOfPeopleStatus = FieldStatus.NOT_FOUND;
+        finished = 0;
+        reference = null;
+    }
+
+    /** Arbeitsspeicher für mindestens capacity Zeichen; gültig bis zum nächsten Aufruf. */
+    char[] chars(int capacity) {
+        if (chars == null || chars.length < capacity) {
+            chars = new char[Math.max(64, capacity)];
+        }
+        return chars;
+    }
+
+    /** Status des Feldes mit dem Ordinal field. */
+    FieldStatus status(int field) {
+        switch (field) {
+            case 0:
+                return customerNameStatus;
+            case 1:
+                return dateStatus;
+            case 2:
+                return timeStatus;
+            default:
+                return numberOfPeopleStatus;
+        }
+    }
+
+    /** Übernimmt das Ergebnis eines registrierten Extraktors; der Wert muss zum Feld passen. */
+    void set(ReservationField field, FieldResult<?> fieldResult) {
+        if (fieldResult == null || fieldResult.getField() != field) {
+            throw new IllegalArgumentException("Extraktor für " + field + " lieferte kein Ergebnis für dieses Feld");
+        }
+        Object value = fieldResult.getValue();
+        FieldStatus status = fieldResult.getStatus();
+        if (status == FieldStatus.FOUND && value == null) {
+            throw new IllegalArgumentException("Extraktor für " + field + " lieferte FOUND ohne Wert");
+        }
+        switch (field) {
+            case CUSTOMER_NAME:
+                customerName = (String) checkType(field, value, String.class);
+                customerNameStatus = status;
+                break;
+            case DATE:
+                date = (LocalDate) checkType(field, value, LocalDate.class);
+                dateStatus = status;
+                break;
+            case TIME:
+                time = (LocalTime) checkType(field, value, LocalTime.class);
+                timeStatus = status;
+                break;
+            default:
+                Integer people = (Integer) checkType(field, value, Integer.class);
+                numberOfPeople = people != null ? people : 0;
+                numberOfPeopleStatus = status;
+        }
+    }
+
+    private static Object checkType(ReservationField field, Object value, Class<?> type) {
+        if (value != null && !type.isInstance(value)) {
+            throw new IllegalArgumentException("Extraktor für " + field + " lieferte " + value.getClass().getName()
+                    + " statt " + type.getSimpleName());
+        }
+        return value;
+    }
+
+    /** Übernimmt Wert und Status des Feldes mit dem Ordinal field aus einem Teilergebnis. */
+    void copy(int field, ScanResult from) {
+        switch (field) {
+            case 0:
+                customerName = from.customerName;
+                customerNameStatus = from.customerNameStatus;
+                break;
+            case 1:
+                date = from.date;
+                dateStatus = from.dateStatus;
+                break;
+            case 2:
+                time = from.time;
+                timeStatus = from.timeStatus;
+                break;
+            default:
+                numberOfPeople = from.numberOfPeople;
+                numberOfPeopleStatus = from.numberOfPeopleStatus;
+        }
+    }
+
+    /** Setzt die Felder aus fields (KeywordGate-Bits) auf SKIPPED und markiert sie als ausgewertet. */
+    void skip(int fields) {
+        if ((fields & KeywordGate.NAME) != 0) {
+            customerName = null;
+            customerNameStatus = FieldStatus.SKIPPED;
+        }
+        if ((fields & KeywordGate.DATE) != 0) {
+            date = null;
+            dateStatus = FieldStatus.SKIPPED;
+        }
+        if ((fields & KeywordGate.TIME) != 0) {
+            time = null;
+            timeStatus = FieldStatus.SKIPPED;
+        }
+        if ((fields & KeywordGate.PEOPLE) != 0) {
+            numberOfPeople = 0;
+            numberOfPeopleStatus = FieldStatus.SKIPPED;
+        }
+        finished |= fields;
+    }
+
+    /** Setzt alle noch nicht ausgewerteten Felder auf TIMEOUT. */
+    void timeOutUnfinished() {
+        if ((finished & KeywordGate.NAME) == 0) {
+            customerName = null;
+            customerNameStatus = FieldStatus.TIMEOUT;
+        }
+        if ((finished & KeywordGate.DATE) == 0) {
+            date = null;
+            dateStatus = FieldStatus.TIMEOUT;
+        }
+        if ((finished & KeywordGate.TIME) == 0) {
+            time = null;
+            timeStatus = FieldStatus.TIMEOUT;
+        }
+        if ((finished & KeywordGate.PEOPLE) == 0) {
+            numberOfPeople = 0;
+            numberOfPeopleStatus = FieldStatus.TIMEOUT;
+        }
+    }
+
+    ExtractionResult toExtractionResult() {
+        return new ExtractionResult(customerName, customerNameStatus, date, dateStatus,
+                time, timeStatus, numberOfPeople, numberOfPeopleStatus);
+    }
+}
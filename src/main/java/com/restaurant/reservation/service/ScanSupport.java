@@ -0,0 +1,206 @@
+package com.restaurant.reservation.service;
+
+/** Gemeinsame Zeichenklassen und Vergleiche für die tokenbasierten Erkenner. */
+final class ScanSupport {
+
+    // Zeitangaben, vor denen kein Datum stehen darf (wie in DATE_PATTERN)
+    static final String[] DATE_TIME_SUFFIXES = {
+        "uhr", ":", "morgens", "vormittags", "mittags", "nachmittags", "abends", "pm", "am"
+    };
+
+    // Tageszeiten in der Reihenfolge der Alternativen aus TIME_PATTERN
+    static final String[] PERIODS = {
+        "morgens", "vormittags", "mittags", "nachmittags", "abends", "pm", "am", "p.m.", "a.m."
+    };
+
+    // Zeitangaben, vor denen keine Personenanzahl stehen darf (wie in PEOPLE_PATTERN)
+    static final String[] PEOPLE_TIME_SUFFIXES = {
+        "uhr", "morgens", "vormittags", "mittags", "nachmittags", "abends", "pm", "am", "p.m.", "a.m."
+    };
+
+    // Personenwörter; "leuten" vor "leute" entspricht dem gierigen "leuten?"
+    static final String[] PEOPLE_WORDS = {"personen", "leuten", "leute", "mann", "menschen"};
+
+    private ScanSupport() {
+    }
+
+    /**
+     * Faltet ein Zeichen wie java.util.regex mit CASE_INSENSITIVE | UNICODE_CASE beim Vergleich mit einem Literal
+     * ("gruß" trifft auch "GRUẞ"). Zeichenklassen vergleichen anders; dafür {@link #isLetter} und
+     * {@link #isNameInitial}.
+     */
+    static char fold(char c) {
+        if (c < 0x80) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + 32) : c;
+        }
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * Ob c zwar wie ein Buchstabe faltet, seine Faltung in den Zeichenklassen der Muster aber nicht gilt (ẞ, İ,
+     * Kelvinzeichen); {@link NormalizedText} behält solche Zeichen ungefaltet.
+     */
+    static boolean isClassFoldException(char c) {
+        return c == '\u1E9E' || c == '\u0130' || c == '\u212A';
+    }
+
+    /** Entspricht {@code \s} ohne UNICODE_CHARACTER_CLASS. */
+    static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    /**
+     * Kopiert text[start, end) mit zu einem Leerzeichen zusammengefasstem und abgeschnittenem Leerraum, wie
+     * {@code replaceAll("\\s+", " ").trim()}; scratch muss end - start Zeichen fassen, angelegt wird nur der String.
+     */
+    static String collapseSpaces(CharSequence text, int start, int end, char[] scratch) {
+        int count = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (!isSpace(c)) {
+                scratch[count++] = c;
+            } else if (count > 0 && scratch[count - 1] != ' ') {
+                scratch[count++] = ' ';
+            }
+        }
+        if (count > 0 && scratch[count - 1] == ' ') {
+            count--;
+        }
+        return new String(scratch, 0, count);
+    }
+
+    /** Entspricht {@code \d} ohne UNICODE_CHARACTER_CLASS. */
+    static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Entspricht {@code [a-zäöüß]} mit CASE_INSENSITIVE | UNICODE_CASE: auch İ (U+0130) und das Kelvinzeichen
+     * (U+212A), aber nicht ẞ (U+1E9E), obwohl es zu ß faltet.
+     */
+    static boolean isLetter(char c) {
+        if (c == '\u1E9E') {
+            return false;
+        }
+        char f = fold(c);
+        return (f >= 'a' && f <= 'z') || f == 'ä' || f == 'ö' || f == 'ü' || f == 'ß';
+    }
+
+    /** Entspricht {@code [A-ZÄÖÜ]} mit CASE_INSENSITIVE | UNICODE_CASE: anders als {@link #isLetter} ohne İ und K. */
+    static boolean isNameInitial(char c) {
+        if (c == '\u0130' || c == '\u212A') {
+            return false;
+        }
+        char f = fold(c);
+        return (f >= 'a' && f <= 'z') || f == 'ä' || f == 'ö' || f == 'ü';
+    }
+
+    /** Prüft ob text ab pos mit dem (kleingeschriebenen) Schlüsselwort beginnt. */
+    static boolean startsWithFolded(CharSequence text, int pos, String keyword) {
+        int length = keyword.length();
+        if (pos < 0 || pos + length > text.length()) {
+            return false;
+        }
+        if (text instanceof NormalizedText) {
+            // Bereits gefaltet bis auf die Ausnahmen der Zeichenklassen: meist direkter Zeichenvergleich
+            for (int i = 0; i < length; i++) {
+                char c = text.charAt(pos + i);
+                if (c != keyword.charAt(i) && fold(c) != keyword.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (int i = 0; i < length; i++) {
+            if (fold(text.charAt(pos + i)) != keyword.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Liefert die Länge des ersten passenden Schlüsselworts ab pos oder -1. */
+    static int matchAny(CharSequence text, int pos, String[] keywords) {
+        for (String keyword : keywords) {
+            if (startsWithFolded(text, pos, keyword)) {
+                return keyword.length();
+            }
+        }
+        return -1;
+    }
+
+    /** Liefert den Index des ersten passenden Schlüsselworts ab pos oder -1. */
+    static int indexOfAny(CharSequence text, int pos, String[] keywords) {
+        for (int i = 0; i < keywords.length; i++) {
+            if (startsWithFolded(text, pos, keywords[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Überspringt Leerraum ab pos. */
+    static int skipSpaces(CharSequence text, int pos) {
+        int length = text.length();
+        while (pos < length && isSpace(text.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    /** Prüft ob pos am Leerraum liegt. */
+    static boolean isSpaceAt(CharSequence text, int pos) {
+        return pos < text.length() && isSpace(text.charAt(pos));
+    }
+
+    /** Prüft ob pos am Digit liegt. */
+    static boolean isDigitAt(CharSequence text, int pos) {
+        return pos >= 0 && pos < text.length() && isDigit(text.charAt(pos));
+    }
+
+    /** Entspricht {@code $} ohne MULTILINE: Textende oder abschließender Zeilenumbruch. */
+    static boolean atEnd(CharSequence text, int pos) {
+        int length = text.length();
+        if (pos >= length) {
+            return true;
+        }
+        if (pos == length - 2) {
+            return text.charAt(pos) == '\r' && text.charAt(pos + 1) == '\n';
+        }
+        if (pos == length - 1) {
+            char c = text.charAt(pos);
+            return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+        }
+        return false;
+    }
+
+    /** Entspricht {@code (?=\s*(?:...))} für die gegebenen Schlüsselwörter. */
+    static boolean followedBy(CharSequence text, int pos, String[] keywords) {
+        return matchAny(text, skipSpaces(text, pos), keywords) >= 0;
+    }
+
+    /** Prüft ob der Text leer ist wie {@code text.trim().isEmpty()}, ohne zu kopieren. */
+    static boolean isBlank(CharSequence text) {
+        if (text == null) {
+            return true;
+        }
+        for (int i = 0, length = text.length(); i < length; i++) {
+            if (text.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Parst eine kurze Ziffernfolge; -1 bei Überlauf. */
+    static int parseDigits(CharSequence text, int start, int end) {
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+            if (value > Integer.MAX_VALUE) {
+                return -1;
+            }
+        }
+        return (int) value;
+    }
+}
@@ -1,18 +1,27 @@
 package com.restaurant.reservation.service;
 
+import com.restaurant.reservation.metrics.ExtractorMetrics;
+import com.restaurant.reservation.metrics.MetricsRegistry;
+import com.restaurant.reservation.model.FieldResult;
+import com.restaurant.reservation.model.FieldStatus;
+import com.restaurant.reservation.model.ReservationField;
+
+import java.nio.ByteBuffer;
 import java.time.LocalTime;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /** Service zur Extraktion von Uhrzeiten aus deutschem Text. */
-public class TimeExtractionService {
+public class TimeExtractionService implements Extractor<LocalTime> {
+
+    private static final ExtractorMetrics METRICS = MetricsRegistry.getDefault().extractor("TimeExtractionService");
 
     // Unterstützte Formate:
     // 1. HH:mm Format: "14:30", "um 14:30", "14:30 Uhr"
     // 2. H + Uhr: "8 Uhr", "um 8 Uhr", "8 Uhr abends"
     // 3. H + Tageszeit: "8 abends", "um 8 morgens"
     // 4. Mit Punkt: "5 p.m.", "5 a.m."
-    private static final Pattern TIME_PATTERN = Pattern.compile(
+    static final Pattern TIME_PATTERN = Pattern.compile(
         "(?:um\\s+)?" +  // optional "um"
         "(\\d{1,2})(?!\\d)" +  // Stunde (1-2 Ziffern)
         "(?:" +
@@ -27,43 +36,118 @@ public class TimeExtractionService {
         Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE
     );
 
+    private final MatchingEngine engine;
+    private final TimeRecognizer timeRecognizer = new TimeRecognizer();
+
+    /** Erstellt den Service mit der Voreinstellung {@link MatchingEngine#getDefault()}. */
+    public TimeExtractionService() {
+        this(MatchingEngine.getDefault());
+    }
+
+    public TimeExtractionService(MatchingEngine engine) {
+        if (engine == null) {
+            throw new IllegalArgumentException("Matching-Engine darf nicht null sein");
+        }
+        this.engine = engine;
+    }
+
     /** Extrahiert Uhrzeit aus Text. */
     public LocalTime extractTime(String text) {
-        if (text == null || text.trim().isEmpty()) {
-            throw new IllegalArgumentException("Text darf nicht leer sein");
+        return tryExtractTime(text).orElseThrow();
+    }
+
+    /** Extrahiert Uhrzeit aus Text ohne Exceptions. */
+    public FieldResult<LocalTime> tryExtractTime(String text) {
+        return tryExtractTime((CharSequence) text);
+    }
+
+    @Override
+    public ReservationField getField() {
+        return ReservationField.TIME;
+    }
+
+    /** Entspricht {@link #tryExtractTime(CharSequence)}. */
+    @Override
+    public FieldResult<LocalTime> extract(CharSequence text) {
+        return tryExtractTime(text);
+    }
+
+    /** Wie {@link #tryExtractTime(String)}, direkt auf einer beliebigen Zeichenfolge (z. B. CharBuffer) ohne Kopie. */
+    public FieldResult<LocalTime> tryExtractTime(CharSequence text) {
+        long start = System.nanoTime();
+        FieldResult<LocalTime> result = scan(text);
+        METRICS.record(result.getStatus(), System.nanoTime() - start);
+        return result;
+    }
+
+    /** Wie {@link #tryExtractTime(String)} für UTF-8-Bytes in bytes[offset, offset + length). */
+    public FieldResult<LocalTime> tryExtractTime(ByteBuffer bytes, int offset, int length) {
+        return tryExtractTime(Utf8Input.decode(bytes, offset, length));
+    }
+
+    private FieldResult<LocalTime> scan(CharSequence text) {
+        if (ScanSupport.isBlank(text)) {
+            return FieldResult.missing(ReservationField.TIME, FieldStatus.EMPTY_INPUT);
+        }
+        if (!KeywordGate.mayMatch(text, KeywordGate.TIME)) {
+            return FieldResult.missing(ReservationField.TIME, FieldStatus.NOT_FOUND);
+        }
+        ExtractionContext context = ExtractionContext.acquire();
+        try {
+            return scan(text, context);
+        } finally {
+            context.release();
+        }
+    }
+
+    private FieldResult<LocalTime> scan(CharSequence text, ExtractionContext context) {
+        if (engine == MatchingEngine.DETERMINISTIC) {
+            ScanResult result = context.result(null);
+            timeRecognizer.recognize(context.tokenize(text), result);
+            return result.timeStatus == FieldStatus.FOUND
+                    ? FieldResult.found(ReservationField.TIME, result.time)
+                    : FieldResult.missing(ReservationField.TIME, result.timeStatus);
         }
 
-        Matcher matcher = TIME_PATTERN.matcher(text);
+        // Gruppen direkt im Text auswerten, ohne Teilstrings anzulegen
+        Matcher matcher = context.matcher(TIME_PATTERN, text);
         
         while (matcher.find()) {
-            try {
-                int hour = Integer.parseInt(matcher.group(1));
-                int minute = matcher.group(2) != null ? Integer.parseInt(matcher.group(2)) : 0;
-                String period = matcher.group(3) != null ? matcher.group(3) : matcher.group(4);
-                
-                if (hour > 23) continue;
-                
-                if (period != null) {
-                    period = period.toLowerCase();
-                    if (period.equals("nachmittags") || period.equals("abends") || 
-                        period.equals("pm") || period.equals("p.m.")) {
-                        if (hour >= 12) continue;
-                        hour += 12;
-                    }
-                }
-                
-                return LocalTime.of(hour, minute);
-                
-            } catch (Exception e) {
-                continue;
+            int hour = ScanSupport.parseDigits(text, matcher.start(1), matcher.end(1));
+            int minute = matcher.start(2) >= 0 ? ScanSupport.parseDigits(text, matcher.start(2), matcher.end(2)) : 0;
+            int group = matcher.start(3) >= 0 ? 3 : 4;
+            
+            if (hour > 23 || minute > 59) continue;
+            
+            String period = TimeRecognizer.periodOf(text, matcher.start(group), matcher.end(group));
+            if (period != null && TimeRecognizer.isAfternoon(period)) {
+                if (hour >= 12) continue;
+                hour += 12;
             }
+            
+            return FieldResult.found(ReservationField.TIME, LocalTime.of(hour, minute));
         }
 
-        throw new IllegalArgumentException("Uhrzeit nicht gefunden.");
+        return FieldResult.missing(ReservationField.TIME, FieldStatus.NOT_FOUND);
     }
 
     /** Prüft ob Text ein Uhrzeit-Muster enthält. */
     public boolean containsTime(String text) {
-        return text != null && TIME_PATTERN.matcher(text).find();
+        return containsTime((CharSequence) text);
+    }
+
+    /** Prüft ohne Kopie, ob die Zeichenfolge ein passendes Muster enthält. */
+    public boolean containsTime(CharSequence text) {
+        if (text == null || !KeywordGate.mayMatch(text, KeywordGate.TIME)) {
+            return false;
+        }
+        ExtractionContext context = ExtractionContext.acquire();
+        try {
+            return engine == MatchingEngine.DETERMINISTIC
+                    ? timeRecognizer.recognize(context.tokenize(text), context.result(null))
+                    : context.matcher(TIME_PATTERN, text).find();
+        } finally {
+            context.release();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.restaurant.reservation.service;
+
+import com.restaurant.reservation.model.FieldStatus;
+
+import java.time.LocalTime;
+
+/** Tokenbasierter Erkenner für Uhrzeiten, äquivalent zu TIME_PATTERN. */
+final class TimeRecognizer implements FieldRecognizer {
+
+    /**
+     * Sucht die erste gültige Uhrzeit und trägt sie oder den Fehler in das Ergebnis ein.
+     *
+     * @return ob TIME_PATTERN im Text einen Treffer hätte (auch wenn der Wert ungültig ist)
+     */
+    @Override
+    public boolean recognize(TokenStream tokens, ScanResult result) {
+        int from = search(tokens, 0, tokens.size(), 0, result);
+        if (from == DECIDED) {
+            return true;
+        }
+        result.timeStatus = FieldStatus.NOT_FOUND;
+        return from > 0;
+    }
+
+    // from: Suchbeginn wie bei Matcher.find() nach dem vorherigen, verworfenen Treffer
+    @Override
+    public int search(TokenStream tokens, int fromToken, int toToken, int from, ScanResult result) {
+        CharSequence text = tokens.text();
+        for (int i = fromToken; i < toToken; i++) {
+            if (tokens.kind(i) != TokenStream.DIGITS || tokens.end(i) <= from) {
+                continue;
+            }
+            int hourEnd = tokens.end(i);
+            int hourStart = hourEnd - Math.min(2, hourEnd - Math.max(tokens.start(i), from));
+            int hour = ScanSupport.parseDigits(text, hourStart, hourEnd);
+            int minute = 0;
+            int period = -1;
+            int end;
+
+            if (hourEnd + 2 < text.length() && text.charAt(hourEnd) == ':'
+                    && ScanSupport.isDigit(text.charAt(hourEnd + 1)) && ScanSupport.isDigit(text.charAt(hourEnd + 2))) {
+                minute = ScanSupport.parseDigits(text, hourEnd + 1, hourEnd + 3);
+                end = hourEnd + 3;
+            } else if (ScanSupport.isSpaceAt(text, hourEnd)) {
+                int next = ScanSupport.skipSpaces(text, hourEnd);
+                if (ScanSupport.startsWithFolded(text, next, "uhr")) {
+                    end = next + 3;
+                } else {
+                    period = ScanSupport.indexOfAny(text, next, ScanSupport.PERIODS);
+                    if (period < 0) {
+                        continue;
+                    }
+                    end = next + ScanSupport.PERIODS[period].length();
+                }
+            } else {
+                continue;
+            }
+
+            // (?:\s*uhr)?
+            int next = ScanSupport.skipSpaces(text, end);
+            if (ScanSupport.startsWithFolded(text, next, "uhr")) {
+                end = next + 3;
+            }
+            // (?:\s+(Tageszeit))?
+            if (ScanSupport.isSpaceAt(text, end)) {
+                next = ScanSupport.skipSpaces(text, end);
+                int trailing = ScanSupport.indexOfAny(text, next, ScanSupport.PERIODS);
+                if (trailing >= 0) {
+                    end = next + ScanSupport.PERIODS[trailing].length();
+                    if (period < 0) {
+                        period = trailing;
+                    }
+                }
+            }
+            from = end;
+
+            if (hour > 23) {
+                continue;
+            }
+            if (period >= 0 && isAfternoon(ScanSupport.PERIODS[period])) {
+                if (hour >= 12) {
+                    continue;
+                }
+                hour += 12;
+            }
+            if (minute > 59) {
+                continue;
+            }
+            result.time = LocalTime.of(hour, minute);
+            result.timeStatus = FieldStatus.FOUND;
+            return DECIDED;
+        }
+        return from;
+    }
+
+    /** Tageszeit aus {@link ScanSupport#PERIODS} zu text[start, end) ohne Beachtung der Schreibweise; sonst null. */
+    static String periodOf(CharSequence text, int start, int end) {
+        if (start < 0) {
+            return null;
+        }
+        for (String period : ScanSupport.PERIODS) {
+            if (period.length() == end - start && ScanSupport.startsWithFolded(text, start, period)) {
+                return period;
+            }
+        }
+        return null;
+    }
+
+    static boolean isAfternoon(String period) {
+        return period.equals("nachmittags") || period.equals("abends") || period.equals("pm") || period.equals("p.m.");
+    }
+}
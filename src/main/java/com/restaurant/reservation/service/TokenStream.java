@@ -0,0 +1,181 @@
+package com.restaurant.reservation.service;
+
+import java.util.Arrays;
+
+/** Einmalige Zerlegung eines Textes in Wort-, Zahl-, Leerraum- und Satzzeichen-Token. */
+final class TokenStream {
+
+    static final byte WORD = 0;
+    static final byte DIGITS = 1;
+    static final byte SPACE = 2;
+    static final byte OTHER = 3;
+
+    private CharSequence text;
+    private byte[] kinds;
+    private int[] starts;
+    private int[] ends;
+    private int size;
+
+    private TokenStream(CharSequence text, int capacity) {
+        this.text = text;
+        this.kinds = new byte[capacity];
+        this.starts = new int[capacity];
+        this.ends = new int[capacity];
+    }
+
+    /** Zerlegt den Text in einem Durchlauf. */
+    static TokenStream of(CharSequence text) {
+        return of(text, 0, text.length());
+    }
+
+    /**
+     * Zerlegt nur text[from, to); die Indizes bleiben absolut. Token am Bereichsrand werden abgeschnitten und
+     * von {@link #concat} wieder zusammengefügt.
+     */
+    static TokenStream of(CharSequence text, int from, int to) {
+        TokenStream tokens = new TokenStream(text, Math.max(16, (to - from) / 3));
+        tokens.tokenize(from, to);
+        return tokens;
+    }
+
+    /** Leerer Token-Strom mit vorab angelegten Puffern, zur Wiederverwendung über {@link #reset}. */
+    static TokenStream allocate(int capacity) {
+        return new TokenStream("", capacity);
+    }
+
+    /** Zerlegt text neu in die vorhandenen Puffer, die bei Bedarf wachsen. */
+    TokenStream reset(CharSequence text) {
+        this.text = text;
+        this.size = 0;
+        tokenize(0, text.length());
+        return this;
+    }
+
+    /** Anzahl der Token, die ohne Vergrößerung Platz haben. */
+    int capacity() {
+        return kinds.length;
+    }
+
+    private void tokenize(int from, int to) {
+        int pos = from;
+        while (pos < to) {
+            char c = text.charAt(pos);
+            byte kind = classify(c);
+            int end = pos + 1;
+            if (kind != OTHER) {
+                while (end < to && classify(text.charAt(end)) == kind) {
+                    end++;
+                }
+            }
+            add(kind, pos, end);
+            pos = end;
+        }
+    }
+
+    /** Fügt die Zerlegungen aufeinanderfolgender Bereiche desselben Textes zum Token-Strom des Ganzen zusammen. */
+    static TokenStream concat(TokenStream[] parts) {
+        int capacity = 0;
+        for (TokenStream part : parts) {
+            capacity += part.size;
+        }
+        TokenStream tokens = new TokenStream(parts[0].text, Math.max(16, capacity));
+        for (TokenStream part : parts) {
+            int first = 0;
+            // Am Rand geteiltes Wort, Zahl oder Leerraum: mit dem letzten Token verbinden
+            if (part.size > 0 && tokens.size > 0 && part.kinds[0] != OTHER
+                    && tokens.kinds[tokens.size - 1] == part.kinds[0] && tokens.ends[tokens.size - 1] == part.starts[0]) {
+                tokens.ends[tokens.size - 1] = part.ends[0];
+                first = 1;
+            }
+            int count = part.size - first;
+            System.arraycopy(part.kinds, first, tokens.kinds, tokens.size, count);
+            System.arraycopy(part.starts, first, tokens.starts, tokens.size, count);
+            System.arraycopy(part.ends, first, tokens.ends, tokens.size, count);
+            tokens.size += count;
+        }
+        return tokens;
+    }
+
+    private static byte classify(char c) {
+        if (ScanSupport.isSpace(c)) {
+            return SPACE;
+        }
+        if (ScanSupport.isDigit(c)) {
+            return DIGITS;
+        }
+        return ScanSupport.isLetter(c) ? WORD : OTHER;
+    }
+
+    private void add(byte kind, int start, int end) {
+        if (size == kinds.length) {
+            int capacity = size * 2;
+            kinds = Arrays.copyOf(kinds, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+        }
+        kinds[size] = kind;
+        starts[size] = start;
+        ends[size] = end;
+        size++;
+    }
+
+    CharSequence text() {
+        return text;
+    }
+
+    int size() {
+        return size;
+    }
+
+    byte kind(int index) {
+        return kinds[index];
+    }
+
+    int start(int index) {
+        return starts[index];
+    }
+
+    int end(int index) {
+        return ends[index];
+    }
+
+    /** Index des ersten Tokens, das bei pos oder danach beginnt; size() wenn keines. */
+    int firstTokenAt(int pos) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (starts[middle] < pos) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    int length(int index) {
+        return ends[index] - starts[index];
+    }
+
+    /** Prüft ob das Token an index existiert und von der gegebenen Art ist. */
+    boolean is(int index, byte kind) {
+        return index >= 0 && index < size && kinds[index] == kind;
+    }
+
+    /** Prüft ob das Token an index das einzelne Zeichen c ist. */
+    boolean isChar(int index, char c) {
+        return is(index, OTHER) && text.charAt(starts[index]) == c;
+    }
+
+    /** Prüft ob das Token (unabhängig von Groß-/Kleinschreibung) genau dem Schlüsselwort entspricht. */
+    boolean equalsFolded(int index, String keyword) {
+        return length(index) == keyword.length() && ScanSupport.startsWithFolded(text, starts[index], keyword);
+    }
+
+    /** Prüft ob das Token (unabhängig von Groß-/Kleinschreibung) mit dem Schlüsselwort endet. */
+    boolean endsWithFolded(int index, String keyword) {
+        int start = ends[index] - keyword.length();
+        return start >= starts[index] && ScanSupport.startsWithFolded(text, start, keyword);
+    }
+}
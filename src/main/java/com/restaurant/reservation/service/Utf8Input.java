@@ -0,0 +1,98 @@
+package com.restaurant.reservation.service;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+/** Dekodiert UTF-8-Bereiche eines ByteBuffers in einen wiederverwendeten Zeichenpuffer pro Thread. */
+final class Utf8Input {
+
+    private static final char REPLACEMENT = '\uFFFD';
+
+    // Größere Puffer werden nur für den einen Aufruf angelegt, damit Threads keine Riesenpuffer behalten
+    private static final int MAX_RETAINED_CHARS = 1 << 20;
+
+    private static final ThreadLocal<CharBuffer> BUFFER = ThreadLocal.withInitial(() -> CharBuffer.allocate(4096));
+
+    private Utf8Input() {
+    }
+
+    /**
+     * Dekodiert bytes[offset, offset + length) (absolute Indizes, Position und Limit bleiben unverändert).
+     * Ungültige Sequenzen werden durch U+FFFD ersetzt. Das Ergebnis gilt nur bis zum nächsten Aufruf im selben Thread.
+     */
+    static CharBuffer decode(ByteBuffer bytes, int offset, int length) {
+        if (bytes == null) {
+            throw new IllegalArgumentException("Puffer darf nicht null sein");
+        }
+        if (offset < 0 || length < 0 || offset > bytes.limit() - length) {
+            throw new IllegalArgumentException("Bereich liegt außerhalb des Puffers");
+        }
+
+        // UTF-8 ergibt nie mehr Zeichen als Bytes
+        CharBuffer buffer = BUFFER.get();
+        if (buffer.capacity() < length) {
+            buffer = CharBuffer.allocate(Math.max(length, buffer.capacity() * 2));
+            if (buffer.capacity() <= MAX_RETAINED_CHARS) {
+                BUFFER.set(buffer);
+            }
+        }
+        char[] out = buffer.array();
+        int count = 0;
+        int end = offset + length;
+        int i = offset;
+        while (i < end) {
+            int lead = bytes.get(i);
+            if (lead >= 0) {
+                out[count++] = (char) lead;
+                i++;
+                continue;
+            }
+
+            int continuation;
+            int codePoint;
+            int minimum;
+            if ((lead & 0xE0) == 0xC0) {
+                continuation = 1;
+                codePoint = lead & 0x1F;
+                minimum = 0x80;
+            } else if ((lead & 0xF0) == 0xE0) {
+                continuation = 2;
+                codePoint = lead & 0x0F;
+                minimum = 0x800;
+            } else if ((lead & 0xF8) == 0xF0) {
+                continuation = 3;
+                codePoint = lead & 0x07;
+                minimum = 0x10000;
+            } else {
+                out[count++] = REPLACEMENT;
+                i++;
+                continue;
+            }
+
+            int next = i + 1;
+            boolean complete = true;
+            for (int k = 0; k < continuation; k++, next++) {
+                if (next >= end || (bytes.get(next) & 0xC0) != 0x80) {
+                    complete = false;
+                    break;
+                }
+                codePoint = (codePoint << 6) | (bytes.get(next) & 0x3F);
+            }
+            // Abgebrochene Sequenz: ein Ersatzzeichen, das störende Byte wird neu gelesen
+            i = next;
+            if (!complete || codePoint < minimum || codePoint > Character.MAX_CODE_POINT
+                    || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+                out[count++] = REPLACEMENT;
+            } else if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                out[count++] = (char) codePoint;
+            } else {
+                out[count++] = Character.highSurrogate(codePoint);
+                out[count++] = Character.lowSurrogate(codePoint);
+            }
+        }
+
+        buffer.clear();
+        buffer.limit(count);
+        return buffer;
+    }
+}
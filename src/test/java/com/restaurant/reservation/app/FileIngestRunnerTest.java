@@ -0,0 +1,128 @@
+package com.restaurant.reservation.app;
+
+import com.restaurant.reservation.service.ReservationExtractorService;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests für FileIngestRunner. */
+class FileIngestRunnerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testLineDelimitedInput() throws IOException {
+        Path input = write("in.txt",
+            "Hallo, bitte für zwei Personen einen Tisch am 19.3. um 20:00 Uhr, Vielen Dank Klaus Müller",
+            "",
+            "Reservierung für 4 Personen am 15.5. um 20:00 Uhr");
+        Path output = tempDir.resolve("out.txt");
+
+        FileIngestRunner.Summary summary = new FileIngestRunner(
+            new ReservationExtractorService(), FileIngestRunner.OutputFormat.TEXT, 1, 1000, "text").run(input, output);
+
+        List<String> lines = Files.readAllLines(output, StandardCharsets.UTF_8);
+        assertEquals(Arrays.asList("1\t(Klaus Müller, 19.03., 20:00, 2)", "3\tFehler: Name nicht gefunden."), lines);
+        assertEquals(2, summary.getRecords());
+        assertEquals(1, summary.getComplete());
+    }
+
+    @Test
+    void testNdjsonInputAndOutput() throws IOException {
+        Path input = write("in.ndjson",
+            "{\"id\": 7, \"meta\": {\"x\": [1, \"}\"]}, \"text\": \"Ich bin Anna Schmidt, bitte 4 Personen am 15.6. um 19:00 Uhr\"}",
+            "{\"id\": 8}");
+        Path output = tempDir.resolve("out.ndjson");
+
+        new FileIngestRunner(new ReservationExtractorService(), FileIngestRunner.OutputFormat.NDJSON).run(input, output);
+
+        List<String> lines = Files.readAllLines(output, StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"line\":1,\"complete\":true,\"customerName\":\"Anna Schmidt\""));
+        assertTrue(lines.get(1).contains("\"error\":\"Text darf nicht leer sein\""));
+    }
+
+    @Test
+    void testCsvOutput() throws IOException {
+        Path input = write("in.txt", "Ich bin Anna Schmidt, bitte 4 Personen am 15.6.2025 um 19:00 Uhr");
+        Path output = tempDir.resolve("out.csv");
+
+        new FileIngestRunner(new ReservationExtractorService(), FileIngestRunner.OutputFormat.CSV).run(input, output);
+
+        List<String> lines = Files.readAllLines(output, StandardCharsets.UTF_8);
+        assertEquals(Arrays.asList("line,complete,customerName,date,time,numberOfPeople,error",
+            "1,true,Anna Schmidt,2025-06-15,19:00,4,"), lines);
+    }
+
+    @Test
+    void testOverlongLinesAreTruncated() throws IOException {
+        char[] blob = new char[5000];
+        Arrays.fill(blob, 'x');
+        Path input = write("in.txt", new String(blob));
+
+        FileIngestRunner.Summary summary = new FileIngestRunner(
+            new ReservationExtractorService(), FileIngestRunner.OutputFormat.TEXT, 16, 100, "text")
+            .run(input, tempDir.resolve("out.txt"));
+
+        assertEquals(1, summary.getTruncated());
+        assertEquals(1, summary.getIncomplete());
+    }
+
+    @Test
+    void testMboxInput() throws IOException {
+        Path input = write("in.mbox",
+            "From anna@example.org Mon Jun  2 10:00:00 2025",
+            "From: Anna Schmidt <anna@example.org>",
+            "Content-Type: text/html; charset=utf-8",
+            "",
+            "<p>Ich bin Anna Schmidt, bitte 4 Personen am 15.6. um 19:00 Uhr</p>",
+            "",
+            "From max@example.org Mon Jun  2 11:00:00 2025",
+            "Content-Type: text/plain",
+            "",
+            "Danke für die Bestätigung!",
+            "",
+            "> Reservierung für 2 Personen am 1.7. um 18:00 Uhr, Gruß Max Meier");
+        Path output = tempDir.resolve("out.txt");
+
+        FileIngestRunner.Summary summary = new FileIngestRunner(
+            new ReservationExtractorService(), FileIngestRunner.OutputFormat.TEXT).runMbox(input, output);
+
+        List<String> lines = Files.readAllLines(output, StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith("1\t(Anna Schmidt, 15.06., 19:00, 4)"));
+        assertTrue(lines.get(1).startsWith("2\tFehler:"));
+        assertEquals(1, summary.getComplete());
+    }
+
+    @Test
+    void testDuplicatesAreMarked() throws IOException {
+        String request = "Hallo, bitte für zwei Personen einen Tisch am 19.3. um 20:00 Uhr, Vielen Dank Klaus Müller";
+        Path input = write("in.txt", request, "Reservierung für 4 Personen am 15.5. um 20:00 Uhr", request + " ");
+        Path output = tempDir.resolve("out.ndjson");
+
+        FileIngestRunner.Summary summary = new FileIngestRunner(new ReservationExtractorService(),
+            FileIngestRunner.OutputFormat.NDJSON, 2, 1000, "text", 100).run(input, output);
+
+        List<String> lines = Files.readAllLines(output, StandardCharsets.UTF_8);
+        assertFalse(lines.get(0).contains("duplicateOf"));
+        assertTrue(lines.get(2).startsWith("{\"line\":3,\"complete\":true,\"customerName\":\"Klaus Müller\""));
+        assertTrue(lines.get(2).endsWith(",\"duplicateOf\":1}"));
+        assertEquals(1, summary.getDuplicates());
+        assertEquals(2, summary.getComplete());
+    }
+
+    private Path write(String name, String... lines) throws IOException {
+        return Files.write(tempDir.resolve(name), Arrays.asList(lines), StandardCharsets.UTF_8);
+    }
+}
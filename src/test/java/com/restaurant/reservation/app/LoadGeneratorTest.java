@@ -0,0 +1,114 @@
+package com.restaurant.reservation.app;
+
+import com.restaurant.reservation.model.ExtractionResult;
+import com.restaurant.reservation.model.FieldStatus;
+import com.restaurant.reservation.model.ReservationField;
+import com.restaurant.reservation.service.ReservationExtractorService;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests für LoadGenerator. */
+class LoadGeneratorTest {
+
+    private static final String REQUEST =
+        "Hallo, bitte für zwei Personen einen Tisch am 19.3. um 20:00 Uhr, Vielen Dank Klaus Müller";
+
+    @TempDir
+    Path tempDir;
+
+    /** Hängt beim ersten Aufruf der Messphase für die angegebene Zeit. */
+    private static final class StallingService extends ReservationExtractorService {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final long stallMillis;
+
+        StallingService(long stallMillis) {
+            this.stallMillis = stallMillis;
+        }
+
+        @Override
+        public ExtractionResult tryExtractReservationInfo(String text) {
+            if (calls.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(stallMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return super.tryExtractReservationInfo(text);
+        }
+    }
+
+    @Test
+    void testFixedRateAndFailureBreakdown() throws Exception {
+        List<String> corpus = Arrays.asList(REQUEST, "Reservierung für 4 Personen am 15.5. um 20:00 Uhr");
+        LoadGenerator.Report report = new LoadGenerator(new ReservationExtractorService(), 2, 2000)
+            .run(corpus, 0, 250, TimeUnit.MILLISECONDS);
+
+        assertEquals(500, report.getRequests());
+        assertEquals(250, report.getComplete());
+        assertEquals(250, report.getFailures(ReservationField.CUSTOMER_NAME, FieldStatus.NOT_FOUND));
+        assertEquals(0, report.getFailures(ReservationField.DATE, FieldStatus.NOT_FOUND));
+        assertEquals(0, report.getErrors());
+        assertEquals(500, report.getCorrectedLatency().getCount());
+        assertTrue(report.getCorrectedLatency().getPercentile(50) >= report.getServiceTime().getPercentile(50));
+    }
+
+    @Test
+    void testStallShowsInCorrectedLatency() throws Exception {
+        // Ein Thread mit 1000/s: 100 ms Stillstand verzögern die folgenden rund 100 geplanten Aufrufe
+        LoadGenerator.Report report = new LoadGenerator(new StallingService(100), 1, 1000)
+            .run(Arrays.asList(REQUEST), 0, 400, TimeUnit.MILLISECONDS);
+
+        assertEquals(400, report.getRequests());
+        assertTrue(report.getCorrectedLatency().getPercentile(90) >= TimeUnit.MILLISECONDS.toNanos(10),
+            report.toString());
+        assertTrue(report.getServiceTime().getPercentile(90) < TimeUnit.MILLISECONDS.toNanos(10), report.toString());
+        assertTrue(report.getMaxStartLagNanos() >= TimeUnit.MILLISECONDS.toNanos(90));
+    }
+
+    @Test
+    void testReportFile() throws Exception {
+        LoadGenerator.Report report = new LoadGenerator(new ReservationExtractorService(), 1, 500)
+            .run(Arrays.asList(REQUEST), 10, 100, TimeUnit.MILLISECONDS);
+        Path file = tempDir.resolve("report.txt");
+        report.write(file);
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals("threads=1", lines.get(0));
+        assertEquals("rate.target=500", lines.get(1));
+        assertTrue(lines.contains("requests=50"));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("latency.corrected.p99.9.ns=")));
+        assertTrue(lines.contains("failures.customer_name.not_found=0"));
+    }
+
+    @Test
+    void testReadCorpus() throws IOException {
+        Path corpus = Files.write(tempDir.resolve("corpus.ndjson"),
+            Arrays.asList("{\"id\": 1, \"text\": \"für 4 Personen\"}", "", "am 19.3. um 20 Uhr"), StandardCharsets.UTF_8);
+        assertEquals(Arrays.asList("für 4 Personen", "am 19.3. um 20 Uhr"), LoadGenerator.readCorpus(corpus, "text"));
+
+        Path empty = Files.write(tempDir.resolve("empty.txt"), Arrays.asList("", " "), StandardCharsets.UTF_8);
+        assertThrows(IllegalArgumentException.class, () -> LoadGenerator.readCorpus(empty, "text"));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        ReservationExtractorService service = new ReservationExtractorService();
+        assertThrows(IllegalArgumentException.class, () -> new LoadGenerator(service, 0, 100));
+        assertThrows(IllegalArgumentException.class, () -> new LoadGenerator(service, 1, 0));
+        assertThrows(IllegalArgumentException.class,
+            () -> new LoadGenerator(service, 1, 100).run(Arrays.asList(), 0, 1, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,100 @@
+package com.restaurant.reservation.app;
+
+import com.restaurant.reservation.service.ReservationExtractorService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests für ReservationHttpServer. */
+class ReservationHttpServerTest {
+
+    private ReservationHttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new ReservationHttpServer(new ReservationExtractorService(),
+            new InetSocketAddress("127.0.0.1", 0), 2, 4, false);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testExtractPlainText() throws IOException {
+        HttpURLConnection connection = post("/extract", "text/plain",
+            "Hallo, bitte für zwei Personen einen Tisch am 19.3. um 20:00 Uhr, Vielen Dank Klaus Müller");
+        assertEquals(200, connection.getResponseCode());
+        String body = read(connection.getInputStream());
+        assertTrue(body.startsWith("{\"complete\":true,\"customerName\":\"Klaus Müller\""), body);
+        assertTrue(body.contains("\"numberOfPeople\":2"), body);
+    }
+
+    @Test
+    void testExtractJsonReportsMissingFields() throws IOException {
+        HttpURLConnection connection = post("/extract", "application/json",
+            "{\"text\": \"Reservierung für 4 Personen am 15.5. um 20:00 Uhr\"}");
+        assertEquals(200, connection.getResponseCode());
+        String body = read(connection.getInputStream());
+        assertTrue(body.contains("\"error\":\"Name nicht gefunden.\""), body);
+        assertTrue(body.contains("\"customerName\":\"NOT_FOUND\""), body);
+    }
+
+    @Test
+    void testBatchKeepsOrder() throws IOException {
+        HttpURLConnection connection = post("/extract/batch", "text/plain",
+            "Ich bin Anna Schmidt, bitte 4 Personen am 15.6. um 19:00 Uhr\n\nkeine Anfrage\n");
+        assertEquals(200, connection.getResponseCode());
+        String[] lines = read(connection.getInputStream()).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"line\":1,\"complete\":true"), lines[0]);
+        assertTrue(lines[1].startsWith("{\"line\":3,\"complete\":false"), lines[1]);
+    }
+
+    @Test
+    void testRejectsGet() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url("/extract").openConnection();
+        assertEquals(405, connection.getResponseCode());
+    }
+
+    private HttpURLConnection post(String path, String contentType, String body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url(path).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", contentType);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return connection;
+    }
+
+    private URL url(String path) throws IOException {
+        return new URL("http://127.0.0.1:" + server.getPort() + path);
+    }
+
+    private static String read(InputStream in) throws IOException {
+        try (InputStream input = in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = input.read(buffer)) > 0) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
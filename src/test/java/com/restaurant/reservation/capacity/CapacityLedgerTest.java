@@ -0,0 +1,137 @@
+package com.restaurant.reservation.capacity;
+
+import com.restaurant.reservation.model.CompactReservation;
+import com.restaurant.reservation.model.Reservation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests für CapacityLedger. */
+class CapacityLedgerTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 3, 1);
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 19);
+
+    // 10 Plätze, 4 auf der Warteliste, zwei Stunden Verweildauer, Gruppen bis 8
+    private final CapacityLedger ledger = new CapacityLedger(new CapacityPolicy(10, 4, 8, 8), FIRST_DAY, 31);
+
+    @Test
+    void testAcceptWaitlistReject() {
+        assertEquals(CapacityDecision.ACCEPTED, ledger.book(reservation(DAY, 19, 0, 6)));
+        assertEquals(CapacityDecision.ACCEPTED, ledger.book(reservation(DAY, 19, 0, 4)));
+        assertEquals(CapacityDecision.WAITLISTED, ledger.book(reservation(DAY, 19, 0, 3)));
+        assertEquals(CapacityDecision.REJECTED, ledger.book(reservation(DAY, 19, 0, 2)));
+        assertEquals(CapacityDecision.WAITLISTED, ledger.book(reservation(DAY, 19, 0, 1)));
+
+        assertEquals(10, ledger.getBookedSeats(DAY, LocalTime.of(19, 0)));
+        assertEquals(4, ledger.getWaitlistedSeats(DAY, LocalTime.of(19, 0)));
+        assertEquals(0, ledger.getAvailableSeats(DAY, LocalTime.of(19, 0)));
+    }
+
+    @Test
+    void testStayBlocksFollowingSlots() {
+        assertEquals(CapacityDecision.ACCEPTED, ledger.book(reservation(DAY, 19, 10, 8)));
+
+        // 19:10 belegt die Slots 19:00 bis 20:45
+        assertEquals(8, ledger.getBookedSeats(DAY, LocalTime.of(19, 0)));
+        assertEquals(8, ledger.getBookedSeats(DAY, LocalTime.of(20, 45)));
+        assertEquals(0, ledger.getBookedSeats(DAY, LocalTime.of(21, 0)));
+        assertEquals(2, ledger.getAvailableSeats(DAY, LocalTime.of(18, 0)));
+        assertEquals(10, ledger.getAvailableSeats(DAY, LocalTime.of(21, 0)));
+
+        assertEquals(CapacityDecision.WAITLISTED, ledger.book(reservation(DAY, 18, 0, 3)));
+        assertEquals(CapacityDecision.ACCEPTED, ledger.book(reservation(DAY, 21, 0, 8)));
+    }
+
+    @Test
+    void testStayEndsAtMidnight() {
+        assertEquals(CapacityDecision.ACCEPTED, ledger.book(reservation(DAY, 23, 30, 8)));
+        assertEquals(CapacityDecision.ACCEPTED, ledger.book(reservation(DAY.plusDays(1), 0, 0, 8)));
+        assertEquals(8, ledger.getBookedSeats(DAY, LocalTime.of(23, 45)));
+    }
+
+    @Test
+    void testRejectsOutsideRangeAndLargeParties() {
+        assertEquals(CapacityDecision.REJECTED, ledger.book(reservation(FIRST_DAY.minusDays(1), 19, 0, 2)));
+        assertEquals(CapacityDecision.REJECTED, ledger.book(reservation(FIRST_DAY.plusDays(31), 19, 0, 2)));
+        assertEquals(CapacityDecision.ACCEPTED, ledger.book(reservation(FIRST_DAY.plusDays(30), 19, 0, 2)));
+        assertEquals(CapacityDecision.REJECTED, ledger.book(reservation(DAY, 19, 0, 9)));
+        assertEquals(0, ledger.getBookedSeats(DAY, LocalTime.of(19, 0)));
+    }
+
+    @Test
+    void testCancelAndRemoveFromWaitlist() {
+        Reservation reservation = reservation(DAY, 19, 0, 6);
+        assertEquals(CapacityDecision.ACCEPTED, ledger.book(reservation));
+        assertTrue(ledger.cancel(reservation));
+        assertFalse(ledger.cancel(reservation));
+        assertEquals(10, ledger.getAvailableSeats(DAY, LocalTime.of(19, 0)));
+
+        long epochDay = DAY.toEpochDay();
+        ledger.book(epochDay, 19 * 60, 8);
+        ledger.book(epochDay, 19 * 60, 3);
+        assertTrue(ledger.removeFromWaitlist(epochDay, 19 * 60, 3));
+        assertFalse(ledger.removeFromWaitlist(epochDay, 19 * 60, 1));
+    }
+
+    @Test
+    void testCompactReservation() {
+        CompactReservation compact = CompactReservation.of(reservation(DAY, 20, 0, 2));
+        assertEquals(CapacityDecision.ACCEPTED, ledger.book(compact));
+        assertEquals(2, ledger.getBookedSeats(DAY, LocalTime.of(20, 0)));
+    }
+
+    @Test
+    void testConcurrentBookingsNeverOverbook() throws Exception {
+        CapacityLedger shared = new CapacityLedger(new CapacityPolicy(100, 0, 4, 8), FIRST_DAY, 31);
+        AtomicInteger accepted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        LocalDate day = FIRST_DAY.plusDays(i % 3);
+                        if (shared.book(day, LocalTime.of(19, 0), 1) == CapacityDecision.ACCEPTED) {
+                            accepted.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(300, accepted.get());
+        for (int d = 0; d < 3; d++) {
+            assertEquals(100, shared.getBookedSeats(FIRST_DAY.plusDays(d), LocalTime.of(19, 45)));
+        }
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new CapacityPolicy(0, 0, 8, 8));
+        assertThrows(IllegalArgumentException.class, () -> new CapacityPolicy(10, 0, 97, 8));
+        assertThrows(IllegalArgumentException.class, () -> new CapacityLedger(new CapacityPolicy(10, 0, 8, 8), FIRST_DAY, 0));
+        assertThrows(IllegalArgumentException.class, () -> ledger.book(DAY.toEpochDay(), 1440, 2));
+        assertThrows(IllegalArgumentException.class, () -> ledger.book(DAY.toEpochDay(), 600, 0));
+        assertThrows(IllegalArgumentException.class, () -> ledger.book(new Reservation("Anna", null, LocalTime.NOON, 2)));
+    }
+
+    private static Reservation reservation(LocalDate date, int hour, int minute, int people) {
+        return new Reservation("Anna Schmidt", date, LocalTime.of(hour, minute), people);
+    }
+}
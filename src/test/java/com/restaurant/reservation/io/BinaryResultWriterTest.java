@@ -0,0 +1,75 @@
+package com.restaurant.reservation.io;
+
+import com.restaurant.reservation.model.ExtractionResult;
+import com.restaurant.reservation.model.FieldStatus;
+import com.restaurant.reservation.model.ReservationField;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests für BinaryResultWriter und BinaryResultReader. */
+class BinaryResultWriterTest {
+
+    @Test
+    void testRoundTrip() throws IOException {
+        List<ExtractionResult> results = Arrays.asList(
+            new ExtractionResult("Klaus Müller 😀", FieldStatus.FOUND, LocalDate.of(2025, 3, 19), FieldStatus.FOUND,
+                LocalTime.of(20, 0), FieldStatus.FOUND, 2, FieldStatus.FOUND),
+            new ExtractionResult(null, FieldStatus.NOT_FOUND, null, FieldStatus.INVALID,
+                LocalTime.of(0, 0), FieldStatus.FOUND, 0, FieldStatus.OUT_OF_RANGE),
+            ExtractionResult.emptyInput());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BinaryResultWriter writer = new BinaryResultWriter(Channels.newChannel(out), 64)) {
+            for (int i = 0; i < results.size(); i++) {
+                writer.write(i + 1, results.get(i));
+            }
+        }
+
+        try (BinaryResultReader reader = new BinaryResultReader(
+                Channels.newChannel(new ByteArrayInputStream(out.toByteArray())))) {
+            for (int i = 0; i < results.size(); i++) {
+                ExtractionResult expected = results.get(i);
+                ExtractionResult actual = reader.read();
+                assertEquals(i + 1, reader.getLine());
+                assertEquals(expected.getCustomerName(), actual.getCustomerName());
+                assertEquals(expected.getDate(), actual.getDate());
+                assertEquals(expected.getTime(), actual.getTime());
+                assertEquals(expected.getNumberOfPeople(), actual.getNumberOfPeople());
+                for (ReservationField field : ReservationField.values()) {
+                    assertEquals(expected.getStatus(field), actual.getStatus(field));
+                }
+            }
+            assertNull(reader.read());
+        }
+    }
+
+    @Test
+    void testEmptyFileHasMagicOnly() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new BinaryResultWriter(Channels.newChannel(out)).close();
+        assertArrayEquals(BinaryResultWriter.MAGIC, out.toByteArray());
+    }
+
+    @Test
+    void testRejectsInvalidInput() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryResultWriter writer = new BinaryResultWriter(Channels.newChannel(out));
+        ExtractionResult withSeconds = new ExtractionResult("A", FieldStatus.FOUND, null, FieldStatus.NOT_FOUND,
+            LocalTime.of(20, 0, 30), FieldStatus.FOUND, 0, FieldStatus.NOT_FOUND);
+        assertThrows(IllegalArgumentException.class, () -> writer.write(1, withSeconds));
+
+        assertThrows(IOException.class, () -> new BinaryResultReader(
+            Channels.newChannel(new ByteArrayInputStream("XYZ1".getBytes()))).read());
+    }
+}
@@ -0,0 +1,57 @@
+package com.restaurant.reservation.io;
+
+import com.restaurant.reservation.model.ExtractionResult;
+import com.restaurant.reservation.model.FieldStatus;
+import com.restaurant.reservation.model.Reservation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests für CsvResultWriter. */
+class CsvResultWriterTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "Klaus Müller|Klaus Müller",
+        "Müller, Klaus|\"Müller, Klaus\"",
+        "Klaus \"Kalle\" Müller|\"Klaus \"\"Kalle\"\" Müller\""
+    })
+    void testNameQuoting(String name, String expected) throws IOException {
+        Reservation reservation = new Reservation(name, LocalDate.of(2025, 3, 19), LocalTime.of(20, 0), 2);
+        assertEquals(CsvResultWriter.HEADER + "\n7,true," + expected + ",2025-03-19,20:00,2,\n",
+            write(7, ExtractionResult.of(reservation)));
+    }
+
+    @Test
+    void testIncompleteResult() throws IOException {
+        ExtractionResult result = new ExtractionResult(null, FieldStatus.NOT_FOUND, LocalDate.of(2025, 3, 19),
+            FieldStatus.FOUND, null, FieldStatus.NOT_FOUND, 4, FieldStatus.FOUND);
+        assertEquals(CsvResultWriter.HEADER + "\n,false,,2025-03-19,,4,\"Name nicht gefunden. Uhrzeit nicht gefunden.\"\n",
+            write(-1, result));
+    }
+
+    @Test
+    void testHeaderWithoutRecords() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new CsvResultWriter(Channels.newChannel(out)).close();
+        assertEquals(CsvResultWriter.HEADER + "\n", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    private static String write(long line, ExtractionResult result) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CsvResultWriter writer = new CsvResultWriter(Channels.newChannel(out))) {
+            writer.write(line, result);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
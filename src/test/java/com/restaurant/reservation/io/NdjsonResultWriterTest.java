@@ -0,0 +1,78 @@
+package com.restaurant.reservation.io;
+
+import com.restaurant.reservation.model.ExtractionResult;
+import com.restaurant.reservation.model.FieldStatus;
+import com.restaurant.reservation.model.Reservation;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests für NdjsonResultWriter. */
+class NdjsonResultWriterTest {
+
+    @Test
+    void testCompleteResult() throws IOException {
+        Reservation reservation = new Reservation("Klaus Müller", LocalDate.of(2025, 3, 9), LocalTime.of(8, 5), 4);
+        assertEquals("{\"line\":12,\"complete\":true,\"customerName\":\"Klaus Müller\",\"date\":\"2025-03-09\","
+                + "\"time\":\"08:05\",\"numberOfPeople\":4}\n", write(12, ExtractionResult.of(reservation)));
+    }
+
+    @Test
+    void testIncompleteResultWithEscapedName() throws IOException {
+        ExtractionResult result = new ExtractionResult("A \"B\"\\\n\u0001 😀", FieldStatus.FOUND,
+            null, FieldStatus.OUT_OF_RANGE, LocalTime.of(20, 0), FieldStatus.FOUND, 0, FieldStatus.NOT_FOUND);
+        assertEquals("{\"complete\":false,\"customerName\":\"A \\\"B\\\"\\\\\\n\\u0001 😀\",\"time\":\"20:00\","
+                + "\"error\":\"Jahr muss zwischen 2000 und 2100 liegen. Personenanzahl nicht gefunden.\","
+                + "\"status\":{\"customerName\":\"FOUND\",\"date\":\"OUT_OF_RANGE\",\"time\":\"FOUND\","
+                + "\"numberOfPeople\":\"NOT_FOUND\"}}\n", write(-1, result));
+    }
+
+    @Test
+    void testEmptyInputReportsMessageOnce() throws IOException {
+        String json = write(1, ExtractionResult.emptyInput());
+        assertTrue(json.contains("\"error\":\"Text darf nicht leer sein\",\"status\""));
+    }
+
+    @Test
+    void testDuplicate() throws IOException {
+        Reservation reservation = new Reservation("Klaus Müller", LocalDate.of(2025, 3, 9), LocalTime.of(8, 5), 4);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (NdjsonResultWriter writer = new NdjsonResultWriter(Channels.newChannel(out))) {
+            writer.writeDuplicate(12, ExtractionResult.of(reservation), 5);
+        }
+        assertEquals("{\"line\":12,\"complete\":true,\"customerName\":\"Klaus Müller\",\"date\":\"2025-03-09\","
+                + "\"time\":\"08:05\",\"numberOfPeople\":4,\"duplicateOf\":5}\n",
+            new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testManyRecordsWithSmallBuffer() throws IOException {
+        Reservation reservation = new Reservation("Anna Schmidt", LocalDate.of(2026, 12, 31), LocalTime.of(23, 59), 99);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (NdjsonResultWriter writer = new NdjsonResultWriter(Channels.newChannel(out), 64)) {
+            for (int i = 0; i < 1000; i++) {
+                writer.write(i, ExtractionResult.of(reservation));
+            }
+        }
+        String[] lines = new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        assertEquals(1000, lines.length);
+        assertEquals("{\"line\":999,\"complete\":true,\"customerName\":\"Anna Schmidt\",\"date\":\"2026-12-31\","
+                + "\"time\":\"23:59\",\"numberOfPeople\":99}", lines[999]);
+    }
+
+    private static String write(long line, ExtractionResult result) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (NdjsonResultWriter writer = new NdjsonResultWriter(Channels.newChannel(out))) {
+            writer.write(line, result);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,59 @@
+package com.restaurant.reservation.io;
+
+import com.restaurant.reservation.model.ExtractionResult;
+import com.restaurant.reservation.model.FieldStatus;
+import com.restaurant.reservation.model.Reservation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests für TextResultWriter. */
+class TextResultWriterTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "Klaus Müller, 2025-03-19, 20:00, 2",
+        "Anna, 2000-01-01, 00:00, 1",
+        "Eva Berg, 2100-12-31, 23:59, 99"
+    })
+    void testMatchesReservationToString(String name, String date, String time, int people) throws IOException {
+        Reservation reservation = new Reservation(name, LocalDate.parse(date), LocalTime.parse(time), people);
+        assertEquals("3\t" + reservation + "\n", write(3, ExtractionResult.of(reservation)));
+    }
+
+    @Test
+    void testErrorMessage() throws IOException {
+        ExtractionResult result = new ExtractionResult(null, FieldStatus.NOT_FOUND, null, FieldStatus.INVALID,
+            LocalTime.of(20, 0), FieldStatus.FOUND, 2, FieldStatus.FOUND);
+        assertEquals("Fehler: " + result.getErrorMessage() + "\n", write(-1, result));
+        assertEquals("1\tFehler: Text darf nicht leer sein\n", write(1, ExtractionResult.emptyInput()));
+    }
+
+    @Test
+    void testDuplicate() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (TextResultWriter writer = new TextResultWriter(Channels.newChannel(out))) {
+            writer.writeDuplicate(7, ExtractionResult.emptyInput(), 3);
+        }
+        assertEquals("7\tFehler: Text darf nicht leer sein\tDuplikat von Zeile 3\n",
+            new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    private static String write(long line, ExtractionResult result) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (TextResultWriter writer = new TextResultWriter(Channels.newChannel(out))) {
+            writer.write(line, result);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,209 @@
+package com.restaurant.reservation.mail;
+
+import com.restaurant.reservation.model.ExtractionResult;
+import com.restaurant.reservation.service.ReservationExtractorService;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests für MailPreprocessor. */
+class MailPreprocessorTest {
+
+    private final MailPreprocessor preprocessor = new MailPreprocessor();
+
+    private static byte[] mail(String... lines) {
+        return String.join("\r\n", lines).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testPlainTextWithoutQuotesAndSignature() {
+        MailBody body = preprocessor.process(mail(
+            "From: Anna Schmidt <anna@example.org>",
+            "Subject: Tisch",
+            "Content-Type: text/plain; charset=utf-8",
+            "",
+            "Hallo,",
+            "",
+            "  bitte für 4 Personen am 15.6. um 19:00 Uhr.  ",
+            "Viele Grüße Anna Schmidt",
+            "",
+            "Am 1. Juni 2025 um 10:00 schrieb Restaurant <info@restaurant.de>:",
+            "> Wir haben am 20.6. um 18:00 Uhr noch Plätze für 8 Personen.",
+            "",
+            "-- ",
+            "Anna Schmidt, Tel. 0123 456789"));
+
+        assertEquals("Hallo,\nbitte für 4 Personen am 15.6. um 19:00 Uhr.\nViele Grüße Anna Schmidt", body.toString());
+        assertEquals("text/plain", body.getContentType());
+
+        ExtractionResult result = new ReservationExtractorService().tryExtractReservationInfo(body);
+        assertTrue(result.isComplete());
+        assertEquals(LocalTime.of(19, 0), result.getTime());
+        assertEquals(4, result.getNumberOfPeople());
+    }
+
+    @Test
+    void testOffsetsPointToSource() {
+        MailBody body = preprocessor.process(mail(
+            "Content-Type: text/plain",
+            "",
+            "> zitiert",
+            "   Tisch für 2",
+            "Gruß Max"));
+
+        assertEquals("Tisch für 2\nGruß Max", body.toString());
+        String source = body.getSource();
+        assertEquals(source.indexOf("Tisch"), body.sourceIndex(0));
+        int gruss = body.toString().indexOf("Gruß");
+        assertEquals(source.indexOf("Gruß"), body.sourceIndex(gruss));
+        assertEquals(source.length(), body.sourceIndex(body.length()));
+        assertEquals('\n', source.charAt(body.sourceIndex(gruss - 1)));
+    }
+
+    @Test
+    void testQuotedPrintableLatin1() {
+        byte[] message = "Content-Type: text/plain; charset=\"iso-8859-1\"\nContent-Transfer-Encoding: quoted-printable\n\nTisch f=FCr zwei Personen, viele Gr=FC=DFe =\nJ=F6rg\n"
+            .getBytes(StandardCharsets.ISO_8859_1);
+
+        assertEquals("Tisch für zwei Personen, viele Grüße Jörg", preprocessor.process(message).toString());
+    }
+
+    @Test
+    void testMultipartAlternativePrefersPlainText() {
+        byte[] message = mail(
+            "MIME-Version: 1.0",
+            "Content-Type: multipart/alternative; boundary=\"b1\"",
+            "",
+            "Präambel",
+            "--b1",
+            "Content-Type: text/html; charset=utf-8",
+            "",
+            "<p>HTML</p>",
+            "--b1",
+            "Content-Type: text/plain; charset=utf-8",
+            "Content-Transfer-Encoding: base64",
+            "",
+            Base64.getMimeEncoder().encodeToString("Nur Text".getBytes(StandardCharsets.UTF_8)),
+            "--b1--",
+            "Epilog");
+
+        MailBody body = preprocessor.process(message);
+        assertEquals("Nur Text", body.toString());
+        assertEquals("text/plain", body.getContentType());
+        String raw = new String(message, StandardCharsets.ISO_8859_1);
+        assertEquals(raw.indexOf("TnVy"), body.getPartOffset());
+    }
+
+    @Test
+    void testHtmlInMixedWithAttachment() {
+        MailBody body = preprocessor.process(mail(
+            "Content-Type: multipart/mixed; boundary=outer",
+            "",
+            "--outer",
+            "Content-Type: text/plain",
+            "Content-Disposition: attachment; filename=\"alt.txt\"",
+            "",
+            "Anhang am 1.1. um 12:00 Uhr",
+            "--outer",
+            "Content-Type: multipart/related; boundary=inner",
+            "",
+            "--inner",
+            "Content-Type: text/html; charset=utf-8",
+            "",
+            "<html><head><style>p { color: red }</style></head><body>",
+            "<p>Tisch f&uuml;r&nbsp;3&#160;Personen<br>am 9. April</p>",
+            "<script>var x = '<p>19.3.</p>';</script>",
+            "<div class=\"gmail_quote\">Am Montag schrieb X:<div>alter Text 5.5.</div></div>",
+            "<blockquote>zitiert 6.6.</blockquote>",
+            "<p>Gruß Jörg &amp; Co</p></body></html>",
+            "--inner--",
+            "--outer--"));
+
+        assertEquals("text/html", body.getContentType());
+        assertEquals("Tisch für 3 Personen\nam 9. April\nGruß Jörg & Co", body.toString());
+        String source = body.getSource();
+        assertEquals(source.indexOf("Tisch"), body.sourceIndex(0));
+        assertEquals(source.indexOf("&uuml;"), body.sourceIndex(body.toString().indexOf('ü')));
+    }
+
+    @Test
+    void testOutlookHeaderAndFooterAreCut() {
+        MailBody body = preprocessor.process(mail(
+            "Tisch für 2 am Freitag",
+            "",
+            "Von: Restaurant",
+            "Gesendet: Montag, 2. Juni 2025 10:00",
+            "An: Kunde",
+            "Alte Nachricht"));
+        assertEquals("Tisch für 2 am Freitag", body.toString());
+
+        body = preprocessor.process(mail(
+            "Content-Type: text/plain",
+            "",
+            "Am Freitag schrieb ich Ihnen schon wegen des Tisches",
+            "Von meinem iPhone gesendet"));
+        assertEquals("Am Freitag schrieb ich Ihnen schon wegen des Tisches", body.toString());
+    }
+
+    @Test
+    void testUnicodeSpaceAndControlCharsAtLineEdges() {
+        MailBody body = preprocessor.process(mail(
+            "Content-Type: text/plain; charset=utf-8",
+            "",
+            "\u2003Hallo \u2003",
+            "\u0000Tisch für 4 Personen\u0000",
+            "\u00A0am 15.6. um 19:00 Uhr\u00A0",
+            "\u2003Gruß Anna Schmidt"));
+        assertEquals("Hallo\nTisch für 4 Personen\nam 15.6. um 19:00 Uhr\nGruß Anna Schmidt", body.toString());
+        String source = body.getSource();
+        assertEquals(source.indexOf("Tisch"), body.sourceIndex(body.toString().indexOf("Tisch")));
+        assertEquals(4, new ReservationExtractorService().tryExtractReservationInfo(body).getNumberOfPeople());
+
+        assertEquals("Tisch für 2", preprocessor.process(mail("Content-Type: text/plain", "", "\u0000Tisch für 2"))
+            .toString());
+        assertEquals("Tisch für 2", preprocessor.process(mail("Content-Type: text/plain", "", "\u00A0Tisch für 2"))
+            .toString());
+        assertEquals("", preprocessor.process(mail("Content-Type: text/plain", "", "\u2003")).toString());
+    }
+
+    @Test
+    void testHtmlEmSpaceEntityAtLineStart() {
+        MailBody body = preprocessor.process(mail(
+            "Content-Type: text/html; charset=utf-8",
+            "",
+            "<p>&#8195;Tisch für 3</p><p>&#8195;Gruß Max</p>"));
+        assertEquals("Tisch für 3\nGruß Max", body.toString());
+    }
+
+    @Test
+    void testUnknownCharsetAndNoTextPart() {
+        MailBody body = preprocessor.process(mail(
+            "Content-Type: text/plain; charset=x-unbekannt",
+            "",
+            "Grüße"));
+        assertEquals("Grüße", body.toString());
+
+        body = preprocessor.process(mail(
+            "Content-Type: image/png",
+            "",
+            "iVBORw0KGgo="));
+        assertEquals("", body.toString());
+        assertNull(body.getContentType());
+    }
+
+    @Test
+    void testRange() {
+        byte[] message = mail("xxContent-Type: text/plain", "", "Hallo");
+        MailBody body = preprocessor.process(message, 2, message.length - 2);
+        assertEquals("Hallo", body.toString());
+        assertEquals(message.length - 2 - 5, body.getPartOffset());
+
+        assertThrows(IllegalArgumentException.class, () -> preprocessor.process(null));
+        assertThrows(IndexOutOfBoundsException.class, () -> preprocessor.process(message, 1, message.length));
+    }
+}
@@ -0,0 +1,93 @@
+package com.restaurant.reservation.mail;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests für MboxReader. */
+class MboxReaderTest {
+
+    private static MboxReader reader(String mbox, int maxMessageBytes) {
+        return new MboxReader(new ByteArrayInputStream(mbox.getBytes(StandardCharsets.UTF_8)), maxMessageBytes);
+    }
+
+    private static String text(byte[] message) {
+        return new String(message, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testSplitsMessagesAndUnescapes() throws IOException {
+        String mbox = "From a@example.org Mon Jun  2 10:00:00 2025\n"
+            + "Subject: eins\n\nErste\nFrom hier ist keine Trennzeile\n>From maskiert\n\n"
+            + "From b@example.org Mon Jun  2 11:00:00 2025\n"
+            + "Subject: zwei\n\nZweite\n";
+        try (MboxReader reader = reader(mbox, 1000)) {
+            assertEquals("Subject: eins\n\nErste\nFrom hier ist keine Trennzeile\nFrom maskiert\n\n", text(reader.read()));
+            assertEquals(1, reader.getMessageNumber());
+            assertEquals(mbox.indexOf("Subject: eins"), reader.getMessageOffset());
+
+            assertEquals("Subject: zwei\n\nZweite\n", text(reader.read()));
+            assertEquals(2, reader.getMessageNumber());
+            assertEquals(mbox.indexOf("Subject: zwei"), reader.getMessageOffset());
+            assertFalse(reader.wasTruncated());
+
+            assertNull(reader.read());
+            assertNull(reader.read());
+        }
+    }
+
+    @Test
+    void testSingleMessageWithoutSeparator() throws IOException {
+        try (MboxReader reader = reader("Subject: x\r\n\r\nText", 1000)) {
+            assertEquals("Subject: x\r\n\r\nText", text(reader.read()));
+            assertEquals(0, reader.getMessageOffset());
+            assertNull(reader.read());
+        }
+        try (MboxReader reader = reader("", 1000)) {
+            assertNull(reader.read());
+        }
+    }
+
+    @Test
+    void testTruncatesLongMessages() throws IOException {
+        StringBuilder mbox = new StringBuilder("From x\n");
+        for (int i = 0; i < 100; i++) {
+            mbox.append("0123456789");
+        }
+        mbox.append("\n\nFrom y\nkurz\n");
+        try (MboxReader reader = reader(mbox.toString(), 64)) {
+            assertEquals(64, reader.read().length);
+            assertTrue(reader.wasTruncated());
+            assertEquals("kurz\n", text(reader.read()));
+            assertFalse(reader.wasTruncated());
+        }
+    }
+
+    @Test
+    void testReadsStreamIncrementally() throws IOException {
+        // Ein Stream, der je Aufruf nur wenige Bytes liefert, darf Zeilen und Nachrichten nicht zerreißen
+        byte[] bytes = "From a\nEins\n\nFrom b\nZwei\n".getBytes(StandardCharsets.UTF_8);
+        InputStream slow = new ByteArrayInputStream(bytes) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 3));
+            }
+        };
+        try (MboxReader reader = new MboxReader(slow)) {
+            assertEquals("Eins\n\n", text(reader.read()));
+            assertEquals("Zwei\n", text(reader.read()));
+            assertNull(reader.read());
+        }
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new MboxReader(null));
+        assertThrows(IllegalArgumentException.class, () -> reader("", 0));
+    }
+}
@@ -0,0 +1,61 @@
+package com.restaurant.reservation.metrics;
+
+import com.restaurant.reservation.model.FieldStatus;
+import com.restaurant.reservation.service.DateExtractionService;
+import com.restaurant.reservation.service.ReservationExtractorService;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests für MetricsRegistry und die Instrumentierung der Services. */
+class MetricsRegistryTest {
+
+    @Test
+    void testCountsByStatus() {
+        ExtractorMetrics metrics = new MetricsRegistry(false).extractor("test");
+        metrics.record(FieldStatus.FOUND, 100);
+        metrics.record(FieldStatus.NOT_FOUND, 100);
+        metrics.record(FieldStatus.EMPTY_INPUT, 100);
+        metrics.record(FieldStatus.OUT_OF_RANGE, 100);
+        metrics.record(FieldStatus.INVALID, 100);
+        metrics.record(FieldStatus.INPUT_TOO_LONG, 100);
+        metrics.record(FieldStatus.TIMEOUT, 100);
+
+        assertEquals(7, metrics.getCount());
+        assertEquals(1, metrics.getMatches());
+        assertEquals(2, metrics.getMisses());
+        assertEquals(2, metrics.getInvalid());
+        assertEquals(2, metrics.getLimitExceeded());
+    }
+
+    @Test
+    void testSameNameSameInstance() {
+        MetricsRegistry registry = new MetricsRegistry(false);
+        assertSame(registry.extractor("a"), registry.extractor("a"));
+        assertTrue(registry.dump().startsWith("a: n=0"));
+    }
+
+    @Test
+    void testServicesRecordIntoDefaultRegistry() throws Exception {
+        ExtractorMetrics date = MetricsRegistry.getDefault().extractor("DateExtractionService");
+        ExtractorMetrics fusedDate = MetricsRegistry.getDefault()
+                .extractor(ReservationExtractorService.METRICS_NAME + ".date");
+        long matches = date.getMatches();
+        long misses = date.getMisses();
+        long fusedInvalid = fusedDate.getInvalid();
+
+        DateExtractionService dateService = new DateExtractionService();
+        dateService.tryExtractDate("am 19.3.");
+        dateService.tryExtractDate("kein Datum");
+        new ReservationExtractorService().tryExtractReservationInfo("am 31.2. um 20 Uhr");
+
+        assertEquals(matches + 1, date.getMatches());
+        assertEquals(misses + 1, date.getMisses());
+        assertEquals(fusedInvalid + 1, fusedDate.getInvalid());
+        assertTrue(ManagementFactory.getPlatformMBeanServer()
+                .isRegistered(MetricsRegistry.objectName("DateExtractionService")));
+    }
+}
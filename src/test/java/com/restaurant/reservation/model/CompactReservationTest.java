@@ -0,0 +1,45 @@
+package com.restaurant.reservation.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests für CompactReservation. */
+class CompactReservationTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "Klaus Müller, 2025-03-19, 20:00, 2",
+        "Anna, 2000-01-01, 00:00, 1",
+        "Eva Berg, 2100-12-31, 23:59, 99"
+    })
+    void testRoundTrip(String name, String date, String time, int people) {
+        Reservation reservation = new Reservation(name, LocalDate.parse(date), LocalTime.parse(time), people);
+        CompactReservation compact = CompactReservation.of(reservation);
+
+        assertEquals(reservation, compact.toReservation());
+        assertEquals(LocalDate.parse(date).toEpochDay(), compact.getEpochDay());
+        assertEquals(reservation.toString(), compact.toString());
+    }
+
+    @Test
+    void testToStringFormat() {
+        Reservation reservation = new Reservation("Klaus Müller", LocalDate.of(2025, 3, 9), LocalTime.of(8, 5), 4);
+        assertEquals("(Klaus Müller, 09.03., 08:05, 4)", reservation.toString());
+    }
+
+    @Test
+    void testRejectsValuesOutsideCompactRange() {
+        LocalDate date = LocalDate.of(2025, 3, 19);
+        assertThrows(IllegalArgumentException.class,
+            () -> CompactReservation.of(new Reservation("A", date, LocalTime.of(20, 0, 30), 2)));
+        assertThrows(IllegalArgumentException.class,
+            () -> CompactReservation.of(new Reservation("A", date, LocalTime.of(20, 0), 200)));
+        assertThrows(IllegalArgumentException.class, () -> new CompactReservation("A", 0, 1440, 2));
+    }
+}
@@ -0,0 +1,55 @@
+package com.restaurant.reservation.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests für ReservationBatch. */
+class ReservationBatchTest {
+
+    @Test
+    void testRoundTripKeepsOrder() {
+        List<Reservation> reservations = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            reservations.add(new Reservation(i % 3 == 0 ? "Klaus Müller" : "Gast " + (i % 7),
+                    LocalDate.of(2025, 1, 1).plusDays(i), LocalTime.of(i % 24, i % 60), i % 99 + 1));
+        }
+
+        ReservationBatch batch = ReservationBatch.of(reservations);
+        batch.trimToSize();
+
+        assertEquals(reservations.size(), batch.size());
+        assertEquals(reservations, batch.toReservations());
+        List<Reservation> iterated = new ArrayList<>();
+        batch.forEach(iterated::add);
+        assertEquals(reservations, iterated);
+    }
+
+    @Test
+    void testNamesAreDictionaryEncoded() {
+        ReservationBatch batch = new ReservationBatch(0);
+        LocalDate date = LocalDate.of(2025, 3, 19);
+        batch.add(new Reservation("Klaus", date, LocalTime.of(20, 0), 2));
+        batch.add(new Reservation("Anna", date, LocalTime.of(19, 30), 4));
+        batch.add(new CompactReservation("Klaus", (int) date.toEpochDay(), 18 * 60, 3));
+
+        assertEquals(2, batch.getNameCount());
+        assertEquals(batch.getNameId(0), batch.getNameId(2));
+        assertSame(batch.getCustomerName(0), batch.getCustomerName(2));
+        assertEquals(18 * 60, batch.getMinuteOfDay(2));
+        assertEquals(new CompactReservation("Anna", (int) date.toEpochDay(), 19 * 60 + 30, 4), batch.getCompact(1));
+        assertEquals("[(Klaus, 19.03., 20:00, 2), (Anna, 19.03., 19:30, 4), (Klaus, 19.03., 18:00, 3)]",
+                batch.toString());
+    }
+
+    @Test
+    void testIndexOutOfRange() {
+        ReservationBatch batch = new ReservationBatch();
+        assertThrows(IndexOutOfBoundsException.class, () -> batch.get(0));
+    }
+}
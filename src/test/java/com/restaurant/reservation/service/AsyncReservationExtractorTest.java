@@ -0,0 +1,287 @@
+package com.restaurant.reservation.service;
+
+import com.restaurant.reservation.model.ExtractionResult;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests für AsyncReservationExtractor. */
+class AsyncReservationExtractorTest {
+
+    private static final String REQUEST =
+        "Hallo, bitte für zwei Personen einen Tisch am 19.3. um 20:00 Uhr, Vielen Dank Klaus Müller";
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private AsyncReservationExtractor extractor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (extractor != null) {
+            extractor.close();
+        }
+    }
+
+    /** Sammelt Signale und fordert bei Bedarf nach jedem Ergebnis eines nach. */
+    private static final class Collector implements Flow.Subscriber<ExtractionResult> {
+        final List<ExtractionResult> results = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch finished = new CountDownLatch(1);
+        final long initialRequest;
+        final boolean requestMore;
+        volatile Flow.Subscription subscription;
+        volatile Throwable error;
+        volatile boolean completed;
+
+        Collector(long initialRequest, boolean requestMore) {
+            this.initialRequest = initialRequest;
+            this.requestMore = requestMore;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initialRequest);
+        }
+
+        @Override
+        public void onNext(ExtractionResult item) {
+            results.add(item);
+            if (requestMore) {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            finished.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            finished.countDown();
+        }
+    }
+
+    @Test
+    void testExtractAsync() throws Exception {
+        extractor = new AsyncReservationExtractor(new ReservationExtractorService());
+        ExtractionResult result = extractor.extractAsync(REQUEST).get(10, TimeUnit.SECONDS);
+        assertTrue(result.isComplete());
+        assertEquals("Klaus Müller", result.getCustomerName());
+    }
+
+    @Test
+    void testExtractAllAsyncKeepsOrder() throws Exception {
+        extractor = new AsyncReservationExtractor(new ReservationExtractorService());
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            texts.add(i % 2 == 0 ? REQUEST : "für " + (i % 9 + 1) + " Personen");
+        }
+        List<ExtractionResult> results = extractor.extractAllAsync(texts).get(10, TimeUnit.SECONDS);
+        assertEquals(100, results.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i % 2 == 0 ? 2 : i % 9 + 1, results.get(i).getNumberOfPeople());
+        }
+    }
+
+    @Test
+    void testPublisherReadsOnlyRequestedTexts() throws Exception {
+        extractor = new AsyncReservationExtractor(new ReservationExtractorService());
+        AtomicInteger read = new AtomicInteger();
+        Iterable<String> texts = () -> new Iterator<String>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public String next() {
+                read.incrementAndGet();
+                return REQUEST;
+            }
+        };
+
+        Collector collector = new Collector(2, false);
+        extractor.publisher(texts).subscribe(collector);
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (collector.results.size() < 2 && System.nanoTime() < end) {
+            Thread.sleep(1);
+        }
+        Thread.sleep(50);
+        assertEquals(2, collector.results.size());
+        assertEquals(2, read.get());
+
+        collector.subscription.cancel();
+        collector.subscription.request(5);
+        Thread.sleep(50);
+        assertEquals(2, read.get());
+    }
+
+    @Test
+    void testPublisherCompletesInOrder() throws Exception {
+        extractor = new AsyncReservationExtractor(new ReservationExtractorService());
+        List<String> texts = Arrays.asList("für 1 Person", "für 2 Personen", "für 3 Personen", "für 4 Personen");
+        Collector collector = new Collector(1, true);
+        extractor.publisher(texts).subscribe(collector);
+
+        assertTrue(collector.finished.await(10, TimeUnit.SECONDS));
+        assertTrue(collector.completed);
+        assertEquals(4, collector.results.size());
+        assertEquals(4, collector.results.get(3).getNumberOfPeople());
+    }
+
+    @Test
+    void testInvalidRequestSignalsError() throws Exception {
+        extractor = new AsyncReservationExtractor(new ReservationExtractorService());
+        Collector collector = new Collector(0, false);
+        extractor.publisher(Collections.singletonList(REQUEST)).subscribe(collector);
+
+        assertTrue(collector.finished.await(10, TimeUnit.SECONDS));
+        assertTrue(collector.error instanceof IllegalArgumentException);
+    }
+
+    @Test
+    void testFullQueueIsRejected() throws Exception {
+        extractor = singleWorker(AsyncExecutionPolicy.Rejection.ABORT, 0);
+        CompletableFuture<ExtractionResult> queued = extractor.extractAsync(REQUEST);
+        CompletableFuture<ExtractionResult> rejected = extractor.extractAsync(REQUEST);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> rejected.get(10, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+        assertEquals(1, extractor.getRejectedCount());
+
+        release.countDown();
+        assertTrue(queued.get(10, TimeUnit.SECONDS).isComplete());
+    }
+
+    @Test
+    void testCallerRuns() throws Exception {
+        extractor = singleWorker(AsyncExecutionPolicy.Rejection.CALLER_RUNS, 0);
+        CompletableFuture<ExtractionResult> queued = extractor.extractAsync(REQUEST);
+        CompletableFuture<ExtractionResult> inCaller = extractor.extractAsync(REQUEST);
+
+        assertTrue(inCaller.isDone());
+        assertTrue(inCaller.get().isComplete());
+        assertFalse(queued.isDone());
+    }
+
+    @Test
+    void testDiscardOldest() throws Exception {
+        extractor = singleWorker(AsyncExecutionPolicy.Rejection.DISCARD_OLDEST, 0);
+        CompletableFuture<ExtractionResult> oldest = extractor.extractAsync(REQUEST);
+        CompletableFuture<ExtractionResult> newest = extractor.extractAsync(REQUEST);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> oldest.get(10, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+
+        release.countDown();
+        assertTrue(newest.get(10, TimeUnit.SECONDS).isComplete());
+    }
+
+    @Test
+    void testTimeoutWhileQueuedFreesQueue() throws Exception {
+        extractor = singleWorker(AsyncExecutionPolicy.Rejection.ABORT, 0);
+        CompletableFuture<ExtractionResult> future =
+            extractor.extractAsync(REQUEST, ExtractionPlan.ALL, 20, TimeUnit.MILLISECONDS);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof TimeoutException);
+        assertEquals(0, extractor.getQueuedCount());
+
+        // Der freie Platz nimmt den nächsten Auftrag an
+        CompletableFuture<ExtractionResult> next = extractor.extractAsync(REQUEST);
+        release.countDown();
+        assertTrue(next.get(10, TimeUnit.SECONDS).isComplete());
+    }
+
+    @Test
+    void testCancelFreesQueue() throws Exception {
+        extractor = singleWorker(AsyncExecutionPolicy.Rejection.ABORT, 0);
+        CompletableFuture<ExtractionResult> future = extractor.extractAsync(REQUEST);
+        assertEquals(1, extractor.getQueuedCount());
+
+        assertTrue(future.cancel(true));
+        assertThrows(CancellationException.class, future::join);
+        assertEquals(0, extractor.getQueuedCount());
+    }
+
+    @Test
+    void testDefaultTimeoutOfPolicy() throws Exception {
+        extractor = singleWorker(AsyncExecutionPolicy.Rejection.ABORT, 20);
+        CompletableFuture<ExtractionResult> future = extractor.extractAsync(REQUEST);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof TimeoutException);
+    }
+
+    @Test
+    void testClosedExtractorRejects() throws Exception {
+        extractor = new AsyncReservationExtractor(new ReservationExtractorService());
+        extractor.close();
+        CompletableFuture<ExtractionResult> future = extractor.extractAsync(REQUEST);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+        assertTrue(extractor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new AsyncReservationExtractor(null));
+        assertThrows(IllegalArgumentException.class,
+            () -> new AsyncExecutionPolicy(0, 1, AsyncExecutionPolicy.Rejection.ABORT, 0, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class,
+            () -> new AsyncExecutionPolicy(1, 1, null, 0, TimeUnit.SECONDS));
+        extractor = new AsyncReservationExtractor(new ReservationExtractorService());
+        assertThrows(IllegalArgumentException.class,
+            () -> extractor.extractAsync(REQUEST, ExtractionPlan.ALL, -1, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class, () -> extractor.extractAsync(REQUEST, null));
+    }
+
+    // Ein Worker mit einem Platz in der Warteschlange; der Worker ist bis release durch ein Abonnement belegt
+    private AsyncReservationExtractor singleWorker(AsyncExecutionPolicy.Rejection rejection, long timeoutMillis)
+            throws InterruptedException {
+        AsyncReservationExtractor single = new AsyncReservationExtractor(new ReservationExtractorService(),
+            new AsyncExecutionPolicy(1, 1, rejection, timeoutMillis, TimeUnit.MILLISECONDS));
+        CountDownLatch started = new CountDownLatch(1);
+        Iterable<String> blocking = () -> new Iterator<String>() {
+            @Override
+            public boolean hasNext() {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return false;
+            }
+
+            @Override
+            public String next() {
+                throw new IllegalStateException();
+            }
+        };
+        single.publisher(blocking).subscribe(new Collector(1, false));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        return single;
+    }
+}
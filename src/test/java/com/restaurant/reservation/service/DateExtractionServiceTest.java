@@ -1,23 +1,29 @@
 package com.restaurant.reservation.service;
 
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.Year;
+import java.time.ZoneOffset;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 /** Tests für DateExtractionService. */
 class DateExtractionServiceTest {
 
+    // Montag, 10. Februar 2025
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-02-10T10:00:00Z"), ZoneOffset.UTC);
+
     private DateExtractionService service;
 
     @BeforeEach
     void setUp() {
-        service = new DateExtractionService();
+        service = new DateExtractionService(MatchingEngine.getDefault(), CLOCK);
     }
 
     @ParameterizedTest
@@ -29,10 +35,58 @@ class DateExtractionServiceTest {
         "'Tisch für morgen am 20. März bitte', 3, 20"
     })
     void testValidRequests(String text, int month, int day) {
-        LocalDate expected = LocalDate.of(Year.now().getValue(), month, day);
+        LocalDate expected = LocalDate.of(2025, month, day);
         assertEquals(expected, service.extractDate(text));
     }
 
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "Tisch für heute Abend|2025-02-10",
+        "Geht es morgen um 19 Uhr?|2025-02-11",
+        "Guten Morgen, bitte morgen um 19 Uhr|2025-02-11",
+        "Übermorgen für 4 Personen|2025-02-12",
+        "uebermorgen für 4 Personen|2025-02-12",
+        "am nächsten Freitag|2025-02-14",
+        "kommenden Montag|2025-02-17",
+        "naechsten Sonnabend|2025-02-15",
+        "in 3 Tagen|2025-02-13",
+        "in zwei Wochen|2025-02-24",
+        "in einer Woche|2025-02-17",
+        "in zwölf Wochen|2025-05-05",
+        "morgen, nein am 20.3.|2025-03-20"
+    })
+    void testRelativeDates(String text, LocalDate expected) {
+        assertEquals(expected, service.extractDate(text));
+        assertTrue(service.containsDate(text));
+        assertEquals(expected, new DateExtractionService(MatchingEngine.REGEX, CLOCK).extractDate(text));
+        assertEquals(expected, new DateExtractionService(MatchingEngine.DETERMINISTIC, CLOCK).extractDate(text));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "Guten Morgen zusammen",
+        "jeden Morgen geöffnet?",
+        "nächsten Monat",
+        "in drei Monaten",
+        "in Berlin"
+    })
+    void testNoRelativeDate(String text) {
+        assertThrows(IllegalArgumentException.class, () -> service.extractDate(text));
+        assertFalse(service.containsDate(text));
+    }
+
+    @Test
+    void testYearWithoutDateFollowsReferenceDay() {
+        DateExtractionService december = new DateExtractionService(MatchingEngine.getDefault(),
+            Clock.fixed(Instant.parse("2025-12-28T10:00:00Z"), ZoneOffset.UTC));
+        assertEquals(LocalDate.of(2026, 1, 3), december.extractDate("am 3.1."));
+        assertEquals(LocalDate.of(2026, 2, 1), december.extractDate("am 1. Februar"));
+        assertEquals(LocalDate.of(2025, 12, 1), december.extractDate("am 1.12."));
+        assertEquals(LocalDate.of(2026, 11, 27), december.extractDate("am 27.11."));
+        assertEquals(LocalDate.of(2026, 1, 1), december.extractDate("in 4 Tagen"));
+        assertThrows(IllegalArgumentException.class, () -> new DateExtractionService(MatchingEngine.REGEX, null));
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {
         "keine Datum hier",
@@ -0,0 +1,231 @@
+package com.restaurant.reservation.service;
+
+import com.restaurant.reservation.model.ExtractionResult;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests für DuplicateFilter. */
+class DuplicateFilterTest {
+
+    private static final String REQUEST =
+        "Hallo, bitte für zwei Personen einen Tisch am 19.3. um 20:00 Uhr, Vielen Dank Klaus Müller";
+
+    /** Zählt die tatsächlich extrahierten Texte. */
+    private static final class CountingService extends ReservationExtractorService {
+        final AtomicInteger extracted = new AtomicInteger();
+
+        CountingService() {
+        }
+
+        CountingService(Clock clock) {
+            super(ReservationExtractorService.builder().clock(clock));
+        }
+
+        @Override
+        public List<ExtractionResult> extractAll(List<String> texts) {
+            extracted.addAndGet(texts.size());
+            return super.extractAll(texts);
+        }
+    }
+
+    private static long[] ids(int count) {
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = i + 1;
+        }
+        return ids;
+    }
+
+    @Test
+    void testExactDuplicateInSameAndLaterBlock() {
+        CountingService service = new CountingService();
+        DuplicateFilter filter = new DuplicateFilter(service, 100);
+        long[] duplicateOf = new long[3];
+
+        List<ExtractionResult> results = filter.extractAll(
+            Arrays.asList(REQUEST, "  " + REQUEST.replace(" ", " \t ") + "\n", "Anderer Text"),
+            ids(3), duplicateOf);
+
+        assertEquals(2, service.extracted.get());
+        assertArrayEquals(new long[] {-1, 1, -1}, duplicateOf);
+        assertSame(results.get(0), results.get(1));
+        assertTrue(results.get(1).isComplete());
+
+        results = filter.extractAll(Arrays.asList(REQUEST), new long[] {10}, duplicateOf);
+        assertEquals(2, service.extracted.get());
+        assertEquals(1, duplicateOf[0]);
+        assertEquals("Klaus Müller", results.get(0).getCustomerName());
+        assertEquals(2, filter.getExactDuplicateCount());
+    }
+
+    @Test
+    void testNearDuplicateReusesResult() {
+        CountingService service = new CountingService();
+        DuplicateFilter filter = new DuplicateFilter(service, 100);
+        long[] duplicateOf = new long[2];
+
+        filter.extractAll(Arrays.asList(REQUEST,
+            "Hallo! bitte bitte für zwei Personen einen Tisch am 19.3. um 20:00 Uhr, Vielen Dank Klaus Müller"),
+            ids(2), duplicateOf);
+
+        assertEquals(1, service.extracted.get());
+        assertEquals(1, duplicateOf[1]);
+        assertEquals(1, filter.getNearDuplicateCount());
+    }
+
+    @Test
+    void testChangedValuesAreNeverDuplicates() {
+        String[] variants = {
+            "Hallo, bitte für drei Personen einen Tisch am 19.3. um 20:00 Uhr, Vielen Dank Klaus Müller",
+            "Hallo, bitte für zwei Personen einen Tisch am 19.4. um 20:00 Uhr, Vielen Dank Klaus Müller",
+            "Hallo, bitte für zwei Personen einen Tisch am 19.3. um 20:00 Uhr, Vielen Dank Klaus Meier",
+            "Hallo, bitte für zwei Personen einen Tisch am 19.3. um 8 Uhr abends, Vielen Dank Klaus Müller",
+            "Hallo, bitte für zwei Personen einen Tisch am 19.3. um 8 Uhr morgens, Vielen Dank Klaus Müller"
+        };
+        CountingService service = new CountingService();
+        DuplicateFilter filter = new DuplicateFilter(service, 100);
+        long[] duplicateOf = new long[variants.length + 1];
+
+        filter.extractAll(Arrays.asList(REQUEST, variants[0], variants[1], variants[2], variants[3], variants[4]),
+            ids(variants.length + 1), duplicateOf);
+
+        assertEquals(variants.length + 1, service.extracted.get());
+        for (long original : duplicateOf) {
+            assertEquals(-1, original);
+        }
+    }
+
+    @Test
+    void testChangedLowercaseMonthIsNoDuplicate() {
+        CountingService service = new CountingService();
+        DuplicateFilter filter = new DuplicateFilter(service, 100);
+        long[] duplicateOf = new long[2];
+
+        List<ExtractionResult> results = filter.extractAll(Arrays.asList(
+            "Hallo, bitte einen Tisch für zwei Personen am 15. märz um 19:00 Uhr, Viele Grüße Anna Schmidt",
+            "Hallo, bitte einen Tisch für zwei Personen am 15. april um 19:00 Uhr, Viele Grüße Anna Schmidt"),
+            ids(2), duplicateOf);
+
+        assertEquals(2, service.extracted.get());
+        assertArrayEquals(new long[] {-1, -1}, duplicateOf);
+        assertEquals(3, results.get(0).getDate().getMonthValue());
+        assertEquals(4, results.get(1).getDate().getMonthValue());
+    }
+
+    @Test
+    void testChangedSeparatorsAreNeverDuplicates() {
+        String[][] pairs = {
+            {"Hallo, bitte einen Tisch für zwei Personen am 15.10. um 19 Uhr, Viele Grüße Anna Schmidt",
+                "Hallo, bitte einen Tisch für zwei Personen am 15:10 um 19 Uhr, Viele Grüße Anna Schmidt"},
+            {"Hallo, bitte einen Tisch für zwei Personen am 15.10. um 19:30 Uhr, Viele Grüße Anna Schmidt",
+                "Hallo, bitte einen Tisch für zwei Personen am 15.10. um 19.30 Uhr, Viele Grüße Anna Schmidt"},
+            {"Hallo, bitte einen Tisch für zwei Personen am 15.10. um 19 Uhr, Viele Grüße Eva Berg",
+                "Hallo, bitte einen Tisch für zwei Personen am 15.10. um 19 Uhr, Viele Grüße Eva-Berg"}
+        };
+        for (String[] pair : pairs) {
+            CountingService service = new CountingService();
+            DuplicateFilter filter = new DuplicateFilter(service, 100);
+            long[] duplicateOf = new long[2];
+
+            List<ExtractionResult> results = filter.extractAll(Arrays.asList(pair), ids(2), duplicateOf);
+
+            assertEquals(2, service.extracted.get(), pair[1]);
+            assertArrayEquals(new long[] {-1, -1}, duplicateOf, pair[1]);
+            assertEquals(service.tryExtractReservationInfo(pair[1]).toString(), results.get(1).toString(), pair[1]);
+        }
+    }
+
+    @Test
+    void testSpellingOfNameIsKept() {
+        CountingService service = new CountingService();
+        DuplicateFilter filter = new DuplicateFilter(service, 100);
+        long[] duplicateOf = new long[2];
+
+        List<ExtractionResult> results = filter.extractAll(Arrays.asList(
+            "Tisch für 2 Personen am 19.3. um 20:00 Uhr, Gruß Joerg Mueller",
+            "Tisch für 2 Personen am 19.3. um 20:00 Uhr, Gruß Jörg Müller"),
+            ids(2), duplicateOf);
+
+        assertArrayEquals(new long[] {-1, -1}, duplicateOf);
+        assertEquals("Joerg Mueller", results.get(0).getCustomerName());
+        assertEquals("Jörg Müller", results.get(1).getCustomerName());
+    }
+
+    @Test
+    void testNewReferenceDayClearsIndex() {
+        Instant[] now = {Instant.parse("2025-02-10T12:00:00Z")};
+        CountingService service = new CountingService(new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Instant instant() {
+                return now[0];
+            }
+        });
+        DuplicateFilter filter = new DuplicateFilter(service, 100);
+        String request = "Tisch für 2 Personen morgen um 19 Uhr, Gruß Anna Schmidt";
+        long[] duplicateOf = new long[1];
+
+        filter.extractAll(Arrays.asList(request), ids(1), duplicateOf);
+        now[0] = Instant.parse("2025-02-11T12:00:00Z");
+        List<ExtractionResult> results = filter.extractAll(Arrays.asList(request), ids(1), duplicateOf);
+
+        assertEquals(2, service.extracted.get());
+        assertEquals(-1, duplicateOf[0]);
+        assertEquals(LocalDate.of(2025, 2, 12), results.get(0).getDate());
+    }
+
+    @Test
+    void testBoundedIndexEvictsOldest() {
+        CountingService service = new CountingService();
+        DuplicateFilter filter = new DuplicateFilter(service, 2, 0);
+        long[] duplicateOf = new long[4];
+
+        filter.extractAll(Arrays.asList("Text eins", "Text zwei", "Text drei", "Text eins"), ids(4), duplicateOf);
+
+        assertEquals(2, filter.size());
+        assertEquals(4, service.extracted.get());
+        assertEquals(-1, duplicateOf[3]);
+    }
+
+    @Test
+    void testEmptyTextsAreNotDuplicates() {
+        DuplicateFilter filter = new DuplicateFilter(new ReservationExtractorService(), 10);
+        long[] duplicateOf = new long[2];
+
+        List<ExtractionResult> results = filter.extractAll(Arrays.asList(" ", ""), ids(2), duplicateOf);
+
+        assertArrayEquals(new long[] {-1, -1}, duplicateOf);
+        assertTrue(results.get(1).isEmptyInput());
+        assertEquals(0, filter.size());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        ReservationExtractorService service = new ReservationExtractorService();
+        assertThrows(IllegalArgumentException.class, () -> new DuplicateFilter(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> new DuplicateFilter(service, 0));
+        assertThrows(IllegalArgumentException.class, () -> new DuplicateFilter(service, 10, 65));
+        assertThrows(IllegalArgumentException.class,
+            () -> new DuplicateFilter(service, 10).extractAll(Arrays.asList("a", "b"), new long[1], new long[2]));
+    }
+}
@@ -0,0 +1,120 @@
+package com.restaurant.reservation.service;
+
+import com.restaurant.reservation.model.ExtractionResult;
+import com.restaurant.reservation.model.ReservationField;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests für ExtractionCache. */
+class ExtractionCacheTest {
+
+    private static final String[] FRAGMENTS = {
+        "für", "zwei", "4", "Personen", "Leute", "am", "um", "19.3.", "9.", "April", "2025", "20:00", "9",
+        "Uhr", "abends", "p.m.", "Vielen", "Dank", "Gruß", "ich", "bin", "Klaus", "Müller", "und", ",", "."
+    };
+    private static final String[] SPACES = {"", " ", "  ", "\n", "\r\n", "\t ", " \u000B"};
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "am 19.3.|am 19.3.",
+        "'  am 19.3. '|am 19.3.",
+        "'am\t\n 19.3.'|am 19.3.",
+        "'a  b   c'|a b c"
+    })
+    void testNormalize(String text, String expected) {
+        assertEquals(expected, ExtractionCache.normalize(text));
+    }
+
+    @Test
+    void testNormalizedTextGivesSameResult() {
+        ReservationExtractorService service = new ReservationExtractorService();
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            StringBuilder text = new StringBuilder();
+            int words = 1 + random.nextInt(12);
+            for (int w = 0; w < words; w++) {
+                text.append(SPACES[random.nextInt(SPACES.length)]);
+                text.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+            text.append(SPACES[random.nextInt(SPACES.length)]);
+            String original = text.toString();
+            assertEquals(outcome(service.tryExtractReservationInfo(original)),
+                    outcome(service.tryExtractReservationInfo(ExtractionCache.normalize(original))), original);
+        }
+    }
+
+    @Test
+    void testHitSkipsExtraction() {
+        ExtractionCache cache = new ExtractionCache(100);
+        AtomicInteger calls = new AtomicInteger();
+        ReferenceDate day = ReferenceDate.of(LocalDate.of(2025, 2, 10));
+        ExtractionResult first = cache.get("für 4 Personen", day, (text, reference) -> {
+            calls.incrementAndGet();
+            return ExtractionResult.emptyInput();
+        });
+        ExtractionResult second = cache.get(" für  4\nPersonen ", day, (text, reference) -> {
+            calls.incrementAndGet();
+            return ExtractionResult.emptyInput();
+        });
+
+        assertSame(first, second);
+        assertEquals(1, calls.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        // Am nächsten Tag gilt der Eintrag nicht mehr
+        cache.get("für 4 Personen", ReferenceDate.of(LocalDate.of(2025, 2, 11)), (text, reference) -> {
+            calls.incrementAndGet();
+            return ExtractionResult.emptyInput();
+        });
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testSizeIsBounded() {
+        ExtractionCache cache = new ExtractionCache(32);
+        ReferenceDate day = ReferenceDate.of(LocalDate.of(2025, 2, 10));
+        for (int i = 0; i < 1000; i++) {
+            cache.get("Text " + i, day, (text, reference) -> ExtractionResult.emptyInput());
+        }
+        assertTrue(cache.size() <= 32);
+        assertEquals(1000 - cache.size(), cache.getEvictionCount());
+    }
+
+    @Test
+    void testServiceUsesCache() {
+        ExtractionCache cache = new ExtractionCache(100);
+        ReservationExtractorService service = ReservationExtractorService.builder().cache(cache).build();
+        String text = "Hallo, für 4 Personen am 19.3. um 20:00 Uhr, Vielen Dank Klaus Müller";
+
+        ExtractionResult first = service.tryExtractReservationInfo(text);
+        ExtractionResult second = service.tryExtractReservationInfo(text + "\n");
+
+        assertTrue(first.isComplete());
+        assertSame(first, second);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0.5, cache.getHitRate());
+    }
+
+    @Test
+    void testInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ExtractionCache(0));
+    }
+
+    private static String outcome(ExtractionResult result) {
+        StringBuilder out = new StringBuilder();
+        for (ReservationField field : ReservationField.values()) {
+            out.append(result.getStatus(field)).append(' ');
+        }
+        return out.append(result.getCustomerName()).append(' ').append(result.getDate()).append(' ')
+                .append(result.getTime()).append(' ').append(result.getNumberOfPeople()).toString();
+    }
+}
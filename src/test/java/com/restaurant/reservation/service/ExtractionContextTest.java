@@ -0,0 +1,111 @@
+package com.restaurant.reservation.service;
+
+import com.restaurant.reservation.model.ExtractionResult;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/** Tests für ExtractionContext und die Allokationen des Extraktionspfads. */
+class ExtractionContextTest {
+
+    private static final String[] TEXTS = {
+        "Hallo, bitte für zwei Personen einen Tisch am 19.3. um 20:00 Uhr, Vielen Dank Klaus Müller",
+        "Ich bin Anna Schmidt, bitte 4 Personen am 15. Juni um 7 Uhr abends"
+    };
+
+    private static final int WARMUP = 20_000;
+    private static final int CALLS = 10_000;
+
+    // Obergrenzen in Bytes je Aufruf: Ergebniswerte plus Spielraum; vor dem Arbeitsspeicher je Thread lagen sie
+    // beim Vier- bis Zehnfachen
+    private static final long RESULT_BYTES = 256;
+    private static final long RESERVATION_BYTES = 320;
+    private static final long FIELD_BYTES = 128;
+
+    @Test
+    void testNestedAcquireGetsOwnContext() {
+        ExtractionContext outer = ExtractionContext.acquire();
+        try {
+            ExtractionContext inner = ExtractionContext.acquire();
+            assertNotSame(outer, inner);
+            inner.release();
+            ExtractionContext again = ExtractionContext.acquire();
+            assertSame(inner, again);
+            again.release();
+        } finally {
+            outer.release();
+        }
+        ExtractionContext next = ExtractionContext.acquire();
+        assertSame(outer, next);
+        next.release();
+    }
+
+    @Test
+    void testMatcherIsReused() {
+        ExtractionContext context = ExtractionContext.acquire();
+        try {
+            assertSame(context.matcher(TimeExtractionService.TIME_PATTERN, "um 8 Uhr"),
+                    context.matcher(TimeExtractionService.TIME_PATTERN, "um 9 Uhr"));
+        } finally {
+            context.release();
+        }
+    }
+
+    @Test
+    void testSuccessfulExtractionAllocatesOnlyResult() {
+        ReservationExtractorService service = new ReservationExtractorService();
+        for (String text : TEXTS) {
+            ExtractionResult result = service.tryExtractReservationInfo(text);
+            assertTrue(result.isComplete(), text);
+        }
+        assertAllocatesAtMost(RESULT_BYTES, service::tryExtractReservationInfo);
+        assertAllocatesAtMost(RESERVATION_BYTES, service::extractReservationInfo);
+    }
+
+    @Test
+    void testFieldServicesAllocateOnlyResult() {
+        for (MatchingEngine engine : MatchingEngine.values()) {
+            DateExtractionService date = new DateExtractionService(engine);
+            TimeExtractionService time = new TimeExtractionService(engine);
+            PeopleCountExtractionService people =
+                    new PeopleCountExtractionService(new GermanNumberParserService(), engine);
+            CustomerNameExtractionService name = new CustomerNameExtractionService(engine);
+
+            assertAllocatesAtMost(FIELD_BYTES, text -> assertTrue(date.tryExtractDate(text).isFound()));
+            assertAllocatesAtMost(FIELD_BYTES, text -> assertTrue(time.tryExtractTime(text).isFound()));
+            assertAllocatesAtMost(FIELD_BYTES, text -> assertTrue(people.tryExtractNumberOfPeople(text).isFound()));
+            assertAllocatesAtMost(FIELD_BYTES, text -> assertTrue(name.tryExtractCustomerName(text).isFound()));
+            assertAllocatesAtMost(FIELD_BYTES, text -> assertTrue(date.containsDate(text)));
+        }
+    }
+
+    private static void assertAllocatesAtMost(long bytesPerCall, Consumer<String> call) {
+        com.sun.management.ThreadMXBean threads = threadBean();
+        assumeTrue(threads != null && threads.isThreadAllocatedMemorySupported()
+                && threads.isThreadAllocatedMemoryEnabled(), "Allokationszähler je Thread nicht verfügbar");
+        long thread = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP; i++) {
+            call.accept(TEXTS[i & 1]);
+        }
+        // Bester von drei Durchläufen, damit eine einzelne Ausnahme (z. B. Nachkompilierung) nicht stört
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < 3; round++) {
+            long before = threads.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < CALLS; i++) {
+                call.accept(TEXTS[i & 1]);
+            }
+            best = Math.min(best, (threads.getThreadAllocatedBytes(thread) - before) / CALLS);
+        }
+        assertTrue(best <= bytesPerCall, best + " Bytes je Aufruf, erlaubt " + bytesPerCall);
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        return bean instanceof com.sun.management.ThreadMXBean ? (com.sun.management.ThreadMXBean) bean : null;
+    }
+}
@@ -0,0 +1,59 @@
+package com.restaurant.reservation.service;
+
+import com.restaurant.reservation.model.ReservationField;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests für ExtractionScheduler. */
+class ExtractionSchedulerTest {
+
+    private static final int ALL = KeywordGate.ALL;
+
+    @Test
+    void testUnmeasuredFieldsKeepFieldOrder() {
+        int[] order = new int[4];
+        assertEquals(4, new ExtractionScheduler().order(ALL, false, order));
+        assertArrayEquals(new int[] {0, 1, 2, 3}, order);
+    }
+
+    @Test
+    void testCheapestFirst() {
+        ExtractionScheduler scheduler = new ExtractionScheduler();
+        scheduler.record(0, 4000, true);
+        scheduler.record(1, 1000, true);
+        scheduler.record(2, 3000, true);
+        scheduler.record(3, 2000, true);
+        int[] order = new int[4];
+        scheduler.order(ALL, false, order);
+        assertArrayEquals(new int[] {1, 3, 2, 0}, order);
+        assertEquals(1000, scheduler.getCostNanos(ReservationField.DATE), 0.001);
+    }
+
+    @Test
+    void testFailFastPrefersLikelyMisses() {
+        ExtractionScheduler scheduler = new ExtractionScheduler();
+        // Datum ist billig, trifft aber fast immer; der teurere Name scheitert meistens
+        scheduler.record(0, 2000, false);
+        scheduler.record(1, 1000, true);
+        int[] order = new int[4];
+        assertEquals(2, scheduler.order(KeywordGate.NAME | KeywordGate.DATE, true, order));
+        assertEquals(0, order[0]);
+        assertEquals(1, order[1]);
+        scheduler.order(KeywordGate.NAME | KeywordGate.DATE, false, order);
+        assertEquals(1, order[0]);
+    }
+
+    @Test
+    void testMovingAverage() {
+        ExtractionScheduler scheduler = new ExtractionScheduler();
+        assertTrue(Double.isNaN(scheduler.getCostNanos(ReservationField.TIME)));
+        scheduler.record(2, 1000, false);
+        for (int i = 0; i < 500; i++) {
+            scheduler.record(2, 5000, true);
+        }
+        assertEquals(5000, scheduler.getCostNanos(ReservationField.TIME), 10);
+        assertEquals(0, scheduler.getMissRate(ReservationField.TIME), 0.001);
+    }
+}
@@ -0,0 +1,173 @@
+package com.restaurant.reservation.service;
+
+import com.restaurant.reservation.model.ExtractionResult;
+import com.restaurant.reservation.model.FieldResult;
+import com.restaurant.reservation.model.FieldStatus;
+import com.restaurant.reservation.model.ReservationField;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests für FusedReservationScanner und MatchingEngine.DETERMINISTIC: gleiche Ergebnisse wie die Regex-Services. */
+class FusedReservationScannerTest {
+
+    private static final String[] FRAGMENTS = {
+        "Hallo", "bitte", "für", "mit", "damit", "zwei", "sechs", "einundzwanzig", "hundert", "4", "0", "100",
+        "Personen", "Leute", "Leuten", "Mann", "Mannschaft", "Menschen", "am", "um", "19.3.", "9.", "April",
+        "Mai", "Maiuhr", "15.30", "1.5.", "2025", "1999", "32.5.", "15.13.", "29.2.2025", "20:00", "20:60",
+        "25:00", "9:45", "9", "12", "123", "Uhr", "uhr", "abends", "morgens", "nachmittags", "pm", "p.m.",
+        "a.m.", "Vielen", "Dank", "Gruß", "Grüßen", "vG", "mfG", "ich", "bin", "hier", "ist", "Klaus",
+        "Müller", "Maria", "Meier", "und", ",", ".", ":", "\n", "  ", "\t", "ß", "Äpfel", "heute", "morgen",
+        "Guten", "übermorgen", "nächsten", "Freitag", "in", "einer", "Tagen", "Woche",
+        // Zeichen, die zu Buchstaben falten, aber nicht in jeder Zeichenklasse der Muster liegen
+        "\u1E9E", "\u1E9Eelf", "acht\u1E9E", "GRU\u1E9E", "\u0130", "\u0130lse", "\u212A", "\u212Alaus"
+    };
+
+    private FusedReservationScanner scanner;
+    private CustomerNameExtractionService nameService;
+    private DateExtractionService dateService;
+    private TimeExtractionService timeService;
+    private PeopleCountExtractionService peopleService;
+    private CustomerNameExtractionService deterministicNameService;
+    private DateExtractionService deterministicDateService;
+    private TimeExtractionService deterministicTimeService;
+    private PeopleCountExtractionService deterministicPeopleService;
+
+    @BeforeEach
+    void setUp() {
+        GermanNumberParserService numberParser = new GermanNumberParserService();
+        scanner = new FusedReservationScanner(numberParser);
+        nameService = new CustomerNameExtractionService(MatchingEngine.REGEX);
+        dateService = new DateExtractionService(MatchingEngine.REGEX);
+        timeService = new TimeExtractionService(MatchingEngine.REGEX);
+        peopleService = new PeopleCountExtractionService(numberParser, MatchingEngine.REGEX);
+        deterministicNameService = new CustomerNameExtractionService(MatchingEngine.DETERMINISTIC);
+        deterministicDateService = new DateExtractionService(MatchingEngine.DETERMINISTIC);
+        deterministicTimeService = new TimeExtractionService(MatchingEngine.DETERMINISTIC);
+        deterministicPeopleService = new PeopleCountExtractionService(numberParser, MatchingEngine.DETERMINISTIC);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "Hallo, bitte für zwei Personen einen Tisch am 19.3. um 20:00 Uhr, Vielen Dank Klaus Müller",
+        "Guten Tag, einen Tisch für 8 Mann am 1.5. 9 Uhr abends, Gruß Franz Schulze",
+        "Ich bin Anna Schmidt, bitte 4 Personen am 15.6. um 19:00 Uhr",
+        "am 15.30 Uhr für 2 am Abend, damit 3 Leute kommen vG Hans Peter Maier und Co",
+        "Tisch um 20:600 Uhr, 123:45, für 100 Personen, für drei Mannschaften",
+        "am 5. bitte, am 19.3. mit zwölf\n",
+        "hier ist Eva Berg\r\n",
+        "Vielen Dank Klaus Müller bitte",
+        "Guten Morgen, bitte für 2 Personen nächsten Freitag um 19 Uhr",
+        "morgen am 19.3.",
+        "in einer Woche oder in 3 Tagen"
+    })
+    void testSameResultsAsServices(String text) {
+        assertSameResults(text);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "\u1E9Eelf Leute", "mit \u1E9Eelf Leute", "Ich bin acht\u1E9E Klaus abends", "GRU\u1E9E Klaus",
+        "Viele Gr\u00fc\u1E9Ee Klaus", "Gru\u00df \u0130lse", "Gru\u00df \u212Alaus", "\u0130ch bin Anna",
+        "am 3. \u1E9Eai"
+    })
+    void testCharactersOutsidePatternClasses(String text) {
+        assertSameResults(text);
+        ExtractionResult result = new ReservationExtractorService().tryExtractReservationInfo(text);
+        assertEquals(outcome(nameService.tryExtractCustomerName(text)),
+                outcome(result.getStatus(ReservationField.CUSTOMER_NAME), result.getCustomerName()), text);
+        assertEquals(outcome(peopleService.tryExtractNumberOfPeople(text)),
+                outcome(result.getStatus(ReservationField.NUMBER_OF_PEOPLE), result.getNumberOfPeople()), text);
+    }
+
+    @Test
+    void testSameResultsOnRandomInputs() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder text = new StringBuilder();
+            int words = 1 + random.nextInt(14);
+            for (int w = 0; w < words; w++) {
+                text.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+                if (random.nextInt(4) != 0) {
+                    text.append(' ');
+                }
+            }
+            if (!text.toString().trim().isEmpty()) {
+                assertSameResults(text.toString());
+            }
+        }
+    }
+
+    @Test
+    void testParallelSegmentsSameAsSequential() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Random random = new Random(7);
+            GermanNumberParserService numberParser = new GermanNumberParserService();
+            for (int i = 0; i < 3000; i++) {
+                StringBuilder text = new StringBuilder();
+                int words = 1 + random.nextInt(120);
+                for (int w = 0; w < words; w++) {
+                    text.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+                    if (random.nextInt(4) != 0) {
+                        text.append(' ');
+                    }
+                }
+                // Winzige Abschnitte, damit Treffer und verworfene Treffer möglichst oft über Grenzen reichen
+                FusedReservationScanner parallel = new FusedReservationScanner(numberParser, new ExtractorRegistry(),
+                        pool, new ParallelScanPolicy(1, 1 + random.nextInt(24)));
+                ScanResult expected = scanner.scan(text);
+                ScanResult actual = parallel.scan(text);
+                assertEquals(outcome(expected.customerNameStatus, expected.customerName),
+                        outcome(actual.customerNameStatus, actual.customerName), text.toString());
+                assertEquals(outcome(expected.dateStatus, expected.date), outcome(actual.dateStatus, actual.date),
+                        text.toString());
+                assertEquals(outcome(expected.timeStatus, expected.time), outcome(actual.timeStatus, actual.time),
+                        text.toString());
+                assertEquals(outcome(expected.numberOfPeopleStatus, expected.numberOfPeople),
+                        outcome(actual.numberOfPeopleStatus, actual.numberOfPeople), text.toString());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void assertSameResults(String text) {
+        ScanResult result = scanner.scan(text);
+        assertEquals(outcome(nameService.tryExtractCustomerName(text)),
+                outcome(result.customerNameStatus, result.customerName), text);
+        assertEquals(outcome(dateService.tryExtractDate(text)),
+                outcome(result.dateStatus, result.date), text);
+        assertEquals(outcome(timeService.tryExtractTime(text)),
+                outcome(result.timeStatus, result.time), text);
+        assertEquals(outcome(peopleService.tryExtractNumberOfPeople(text)),
+                outcome(result.numberOfPeopleStatus, result.numberOfPeople), text);
+
+        assertEquals(outcome(nameService.tryExtractCustomerName(text)),
+                outcome(deterministicNameService.tryExtractCustomerName(text)), text);
+        assertEquals(outcome(dateService.tryExtractDate(text)), outcome(deterministicDateService.tryExtractDate(text)), text);
+        assertEquals(outcome(timeService.tryExtractTime(text)), outcome(deterministicTimeService.tryExtractTime(text)), text);
+        assertEquals(outcome(peopleService.tryExtractNumberOfPeople(text)),
+                outcome(deterministicPeopleService.tryExtractNumberOfPeople(text)), text);
+
+        assertEquals(nameService.containsCustomerName(text), deterministicNameService.containsCustomerName(text), text);
+        assertEquals(dateService.containsDate(text), deterministicDateService.containsDate(text), text);
+        assertEquals(timeService.containsTime(text), deterministicTimeService.containsTime(text), text);
+        assertEquals(peopleService.containsPeopleCount(text), deterministicPeopleService.containsPeopleCount(text), text);
+    }
+
+    private static String outcome(FieldResult<?> result) {
+        return outcome(result.getStatus(), result.getValue());
+    }
+
+    private static String outcome(FieldStatus status, Object value) {
+        return status == FieldStatus.FOUND ? "ok:" + value : "error:" + status;
+    }
+}
@@ -54,6 +54,46 @@ class GermanNumberParserServiceTest {
         assertNull(service.parseNumberString("invalid"));
         assertNull(service.parseNumberString(""));
         assertNull(service.parseNumberString(null));
-        assertNull(service.parseNumberString("hundert"));
+        assertNull(service.parseNumberString("undzwanzig"));
+        assertNull(service.parseNumberString("zweiund"));
+        assertNull(service.parseNumberString("zwanzigundzwei"));
+        assertNull(service.parseNumberString("einshundert"));
+        assertNull(service.parseNumberString("hunderthundert"));
+        assertNull(service.parseNumberString("99999999999"));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "hundert, 100",
+        "einhundert, 100",
+        "hunderteins, 101",
+        "hundertundzwei, 102",
+        "hundertzwölf, 112",
+        "zweihundertfünfzig, 250",
+        "dreihundertvierundzwanzig, 324",
+        "neunhundertneunundneunzig, 999"
+    })
+    void testParseHundreds(String input, int expected) {
+        assertEquals(expected, service.parseNumberString(input));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "Zwei, 2",
+        "EINUNDZWANZIG, 21",
+        "' acht ', 8",
+        "-5, -5",
+        "+7, 7"
+    })
+    void testParseCaseSignAndWhitespace(String input, int expected) {
+        assertEquals(expected, service.parseNumberString(input));
+    }
+
+    @Test
+    void testParseNumberInRange() {
+        String text = "für zweiundzwanzig Personen";
+        assertEquals(22, service.parseNumber(text, 4, 18));
+        assertEquals(GermanNumberParserService.NO_NUMBER, service.parseNumber(text, 4, 12));
+        assertEquals(GermanNumberParserService.NO_NUMBER, service.parseNumber(text, 19, text.length()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.restaurant.reservation.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests für KeywordGate: ein fehlendes Bit darf nie einen Treffer der Muster verdecken. */
+class KeywordGateTest {
+
+    private static final String[] FRAGMENTS = {
+        "Hallo", "für", "mit", "zwei", "4", "Personen", "Leuten", "Mann", "Menschen", "am", "um", "19.3.", "9.",
+        "April", "2025", "20:00", "9", "Uhr", "abends", "nachmittags", "pm", "p.m.", "a.m.", "Vielen", "Dank",
+        "Gruß", "Grüßen", "GRÜSSE", "vG", "mfG", "VD", "bg", "ich", "bin", "hier", "ist", "Klaus", "Müller",
+        "und", ",", ".", ":", "\n", "  ", "ẞ", "K", "Tisch", "bitte"
+    };
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "Bitte senden Sie mir die Speisekarte zu|0",
+        "Vielen Dank Klaus|1",
+        "Ich bin Anna|1",
+        "19.3.|2",
+        "am 19.3.|6",
+        "um 20:00|4",
+        "9 Uhr|4",
+        "9 Uhr abends und am 19.3.|6",
+        "für 4 Personen|8",
+        "Hallo, für zwei Personen am 19.3. um 20:00 Uhr, Vielen Dank Klaus Müller|15"
+    })
+    void testScan(String text, int expected) {
+        assertEquals(expected, KeywordGate.scan(text));
+    }
+
+    @Test
+    void testFoldsCaseLikeRegex() {
+        assertEquals(KeywordGate.NAME, KeywordGate.scan("GRUẞ Anna"));
+        assertEquals(KeywordGate.NAME, KeywordGate.scan("DANK Anna"));
+        assertTrue(KeywordGate.mayMatch("4 PERSONEN", KeywordGate.PEOPLE));
+    }
+
+    @Test
+    void testNeverHidesPatternMatch() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder text = new StringBuilder();
+            int words = 1 + random.nextInt(10);
+            for (int w = 0; w < words; w++) {
+                String fragment = FRAGMENTS[random.nextInt(FRAGMENTS.length)];
+                text.append(random.nextInt(5) == 0 ? fragment.toUpperCase(Locale.ROOT) : fragment);
+                if (random.nextInt(4) != 0) {
+                    text.append(' ');
+                }
+            }
+            String input = text.toString();
+            int candidates = KeywordGate.scan(input);
+            assertGate(CustomerNameExtractionService.NAME_PATTERN, KeywordGate.NAME, candidates, input);
+            assertGate(DateExtractionService.DATE_PATTERN, KeywordGate.DATE, candidates, input);
+            assertGate(TimeExtractionService.TIME_PATTERN, KeywordGate.TIME, candidates, input);
+            assertGate(PeopleCountExtractionService.PEOPLE_PATTERN, KeywordGate.PEOPLE, candidates, input);
+        }
+    }
+
+    private static void assertGate(Pattern pattern, int extractor, int candidates, String text) {
+        if (pattern.matcher(text).find()) {
+            assertNotEquals(0, candidates & extractor, text);
+            assertTrue(KeywordGate.mayMatch(text, extractor), text);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.restaurant.reservation.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.nio.CharBuffer;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests für NormalizedText. */
+class NormalizedTextTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "'Hallo Welt', 'hallo welt'",
+        "'  Für\t\n zwei   PERSONEN  ', 'für zwei personen'",
+        "'am 3. Maerz fuer fuenf', 'am 3. märz für fünf'",
+        "'Gruesse, Joerg', 'grüße, joerg'",
+        "'Grüsse zum Uebermorgen', 'grüße zum übermorgen'",
+        "'dreissig Strasse', 'dreißig strasse'",
+        "'zweiundfuenfzig neue', 'zweiundfünfzig neue'",
+        "'7 AbendsSchulze', '7 abendsschulze'",
+        "'Ssenn', 'ssenn'",
+        "'', ''"
+    })
+    void testNormalize(String input, String expected) {
+        assertEquals(expected, NormalizedText.of(input).toString());
+    }
+
+    @Test
+    void testOffsetsPointIntoOriginal() {
+        String input = "  Gruss\n\n Maerz";
+        NormalizedText text = NormalizedText.of(input);
+        assertEquals("gruß märz", text.toString());
+        assertEquals(2, text.originalIndex(0));
+        assertEquals(5, text.originalIndex(3));
+        assertEquals(7, text.originalIndex(4));
+        assertEquals(10, text.originalIndex(5));
+        assertEquals(11, text.originalIndex(6));
+        assertEquals(13, text.originalIndex(7));
+        assertEquals(input.length(), text.originalIndex(text.length()));
+    }
+
+    @Test
+    void testOriginalTextKeepsCaseAndSpelling() {
+        NormalizedText text = NormalizedText.of("Vielen Dank Joerg \t Mueller, bis bald");
+        int start = text.toString().indexOf("joerg");
+        int end = text.toString().indexOf(',');
+        assertEquals("Joerg Mueller", text.originalText(start, end));
+    }
+
+    @Test
+    void testAgreesWithFieldServicesOutsideKeywords() {
+        String input = "am 15.03. um 7 AbendsSchulze";
+        assertEquals(LocalTime.of(19, 0), new TimeExtractionService().extractTime(input));
+        assertEquals(LocalTime.of(19, 0),
+            new ReservationExtractorService().tryExtractReservationInfo(input).getTime());
+    }
+
+    @Test
+    void testReadsCharBufferFromPosition() {
+        CharBuffer buffer = CharBuffer.wrap("xx Fuer Uns");
+        buffer.position(3);
+        NormalizedText text = NormalizedText.of(buffer);
+        assertEquals("für uns", text.toString());
+        assertEquals("Fuer", text.originalText(0, 3));
+    }
+
+    @Test
+    void testBufferIsReusedPerThread() {
+        NormalizedText first = NormalizedText.of("eins");
+        assertSame(first, NormalizedText.of("zwei"));
+        assertEquals("zwei", first.toString());
+    }
+
+    @Test
+    void testOutOfBounds() {
+        NormalizedText text = NormalizedText.of("abc");
+        assertThrows(IndexOutOfBoundsException.class, () -> text.charAt(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> text.originalIndex(4));
+        assertThrows(IllegalArgumentException.class, () -> NormalizedText.of(null));
+    }
+}
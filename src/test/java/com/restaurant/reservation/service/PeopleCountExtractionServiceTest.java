@@ -1,5 +1,7 @@
 package com.restaurant.reservation.service;
 
+import com.restaurant.reservation.model.FieldStatus;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
@@ -33,10 +35,20 @@ class PeopleCountExtractionServiceTest {
         "keine Anzahl hier",
         "für 0 Personen",      // below minimum
         "für 100 Personen",    // above maximum
-        "für 150 Leute"        // above maximum
+        "für 150 Leute",       // above maximum
+        "für hundert Personen" // above maximum
     })
     void testBoundaries(String text) {
         assertThrows(IllegalArgumentException.class, () -> 
             service.extractNumberOfPeople(text));
     }
+
+    @ParameterizedTest
+    @CsvSource({
+        "für hundert Personen",
+        "mit zweihundertfünfzig Gästen, also für zweihundertfünfzig Leute"
+    })
+    void testLargeGroupsAreOutOfRange(String text) {
+        assertEquals(FieldStatus.OUT_OF_RANGE, service.tryExtractNumberOfPeople(text).getStatus());
+    }
 }
\ No newline at end of file
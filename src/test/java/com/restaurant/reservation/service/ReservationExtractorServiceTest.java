@@ -1,26 +1,51 @@
 package com.restaurant.reservation.service;
 
+import com.restaurant.reservation.model.ExtractionResult;
+import com.restaurant.reservation.model.FieldResult;
+import com.restaurant.reservation.model.FieldStatus;
 import com.restaurant.reservation.model.Reservation;
+import com.restaurant.reservation.model.ReservationField;
 
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.time.Year;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 /** Tests für ReservationExtractorService. */
 class ReservationExtractorServiceTest {
-    
+
+    // Montag, 10. Februar 2025: Angaben ohne Jahr fallen in 2025
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-02-10T10:00:00Z"), ZoneOffset.UTC);
+
     private ReservationExtractorService service;
+    private ReservationExtractorService fixedDay;
     
     @BeforeEach
     void setUp() {
         service = new ReservationExtractorService();
+        fixedDay = withClock(CLOCK);
+    }
+
+    private static ReservationExtractorService withClock(Clock clock) {
+        return ReservationExtractorService.builder().clock(clock).build();
     }
     
     @ParameterizedTest
@@ -31,13 +56,23 @@ class ReservationExtractorServiceTest {
         "'Ich bin Anna Schmidt, bitte 4 Personen am 15.6. um 19:00 Uhr', Anna Schmidt, 6, 15, 19, 0, 4"
     })
     void testValidRequests(String input, String expectedName, int month, int day, int hour, int minute, int people) {
-        Reservation res = service.extractReservationInfo(input);
+        Reservation res = fixedDay.extractReservationInfo(input);
         assertEquals(expectedName, res.getCustomerName());
-        assertEquals(LocalDate.of(Year.now().getValue(), month, day), res.getDate());
+        assertEquals(LocalDate.of(2025, month, day), res.getDate());
         assertEquals(LocalTime.of(hour, minute), res.getTime());
         assertEquals(people, res.getNumberOfPeople());
     }
     
+    @Test
+    void testTransliteratedUmlautsAndOriginalName() {
+        Reservation res = fixedDay.extractReservationInfo(
+                "Tisch FUER fuenf Personen am 3. Maerz um 19 Uhr, Gruesse   Joerg\n Mueller");
+        assertEquals("Joerg Mueller", res.getCustomerName());
+        assertEquals(LocalDate.of(2025, 3, 3), res.getDate());
+        assertEquals(LocalTime.of(19, 0), res.getTime());
+        assertEquals(5, res.getNumberOfPeople());
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {
         "Reservierung für 4 Personen am 15.5. um 20:00 Uhr",
@@ -47,4 +82,329 @@ class ReservationExtractorServiceTest {
         assertThrows(IllegalArgumentException.class, () -> 
             service.extractReservationInfo(text));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testTryExtractReportsFieldStatus() {
+        ExtractionResult result = service.tryExtractReservationInfo(
+            "Reservierung für 4 Personen am 32.5. um 20:00 Uhr");
+        assertFalse(result.isComplete());
+        assertEquals(FieldStatus.NOT_FOUND, result.getStatus(ReservationField.CUSTOMER_NAME));
+        assertEquals(FieldStatus.INVALID, result.getStatus(ReservationField.DATE));
+        assertEquals(LocalTime.of(20, 0), result.getTime());
+        assertEquals(4, result.getNumberOfPeople());
+        assertNull(result.getReservation());
+        assertEquals("Name nicht gefunden. Ungültiges Datumsformat.", result.getErrorMessage());
+    }
+
+    @Test
+    void testTryExtractEmptyInput() {
+        ExtractionResult result = service.tryExtractReservationInfo("   ");
+        assertTrue(result.isEmptyInput());
+        assertEquals("Text darf nicht leer sein", result.getErrorMessage());
+    }
+
+    @Test
+    void testExtractAllKeepsInputOrder() {
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            texts.add(i % 3 == 0
+                ? "Reservierung für 4 Personen am 15.5. um 20:00 Uhr"
+                : "Tisch für " + (i % 9 + 1) + " Personen am 1.5. um 19:00 Uhr, Gruß Eva Berg");
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<ExtractionResult> results = ReservationExtractorService.builder().batchPool(pool).build().extractAll(texts);
+            assertEquals(texts.size(), results.size());
+            for (int i = 0; i < texts.size(); i++) {
+                assertEquals(i % 3 != 0, results.get(i).isComplete());
+                if (i % 3 != 0) {
+                    assertEquals(i % 9 + 1, results.get(i).getNumberOfPeople());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testExtractAllFromStream() {
+        List<ExtractionResult> results = service.extractAll(Stream.of(
+            "Ich bin Anna Schmidt, bitte 4 Personen am 15.6. um 19:00 Uhr", "", "keine Reservierung"));
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isComplete());
+        assertTrue(results.get(1).isEmptyInput());
+        assertEquals(FieldStatus.NOT_FOUND, results.get(2).getStatus(ReservationField.DATE));
+    }
+
+    @Test
+    void testExtractFromCharSequenceAndBuffers() {
+        String text = "Hallo, für zwei Personen am 19.3. um 20:00 Uhr, Vielen Dank Klaus Müller";
+        Reservation expected = service.extractReservationInfo(text);
+
+        assertEquals(expected, service.tryExtractReservationInfo(new StringBuilder(text)).toReservation());
+
+        CharBuffer chars = CharBuffer.wrap("xxx" + text);
+        chars.position(3);
+        assertEquals(expected, service.tryExtractReservationInfo(chars).toReservation());
+
+        byte[] utf8 = ("Kopf|" + text + "|Ende").getBytes(StandardCharsets.UTF_8);
+        int offset = "Kopf|".length();
+        int length = text.getBytes(StandardCharsets.UTF_8).length;
+        ByteBuffer direct = ByteBuffer.allocateDirect(utf8.length).put(utf8);
+        assertEquals(expected, service.tryExtractReservationInfo(ByteBuffer.wrap(utf8), offset, length).toReservation());
+        assertEquals(expected, service.tryExtractReservationInfo(direct, offset, length).toReservation());
+        assertEquals(direct.capacity(), direct.position());  // absolute Indizes, Position unverändert
+    }
+
+    @Test
+    void testByteRangeOutsideBuffer() {
+        ByteBuffer bytes = ByteBuffer.allocate(8);
+        assertThrows(IllegalArgumentException.class, () -> service.tryExtractReservationInfo(bytes, 4, 5));
+        assertThrows(IllegalArgumentException.class, () -> service.tryExtractReservationInfo(bytes, -1, 2));
+    }
+
+    @Test
+    void testInputTooLong() {
+        ReservationExtractorService limited = ReservationExtractorService.builder()
+            .limits(new ExtractionLimits(40, 0, TimeUnit.MILLISECONDS)).build();
+        String text = "Hallo, bitte für zwei Personen einen Tisch am 19.3. um 20:00 Uhr, Vielen Dank Klaus Müller";
+
+        ExtractionResult result = limited.tryExtractReservationInfo(text);
+        for (ReservationField field : ReservationField.values()) {
+            assertEquals(FieldStatus.INPUT_TOO_LONG, result.getStatus(field));
+        }
+        assertEquals("Text überschreitet die maximale Länge.", result.getErrorMessage());
+        assertTrue(result.isLimitExceeded());
+
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        assertEquals(FieldStatus.INPUT_TOO_LONG, limited.tryExtractReservationInfo(ByteBuffer.wrap(utf8), 0, utf8.length)
+            .getStatus(ReservationField.DATE));
+        assertEquals(FieldStatus.FOUND,
+            limited.tryExtractReservationInfo("Vielen Dank Klaus Müller").getStatus(ReservationField.CUSTOMER_NAME));
+    }
+
+    @Test
+    void testTimeBudgetExceeded() {
+        ExtractionCache cache = new ExtractionCache(100, Integer.MAX_VALUE);
+        ReservationExtractorService limited = ReservationExtractorService.builder()
+            .cache(cache).limits(new ExtractionLimits(Integer.MAX_VALUE, 1, TimeUnit.NANOSECONDS)).build();
+        StringBuilder text = new StringBuilder();
+        while (text.length() < 200_000) {
+            text.append("am 1. um 2 für ");
+        }
+
+        ExtractionResult result = limited.tryExtractReservationInfo(text.toString());
+        assertEquals(FieldStatus.TIMEOUT, result.getStatus(ReservationField.NUMBER_OF_PEOPLE));
+        assertTrue(result.isLimitExceeded());
+        assertTrue(result.getErrorMessage().endsWith("Zeitbudget überschritten."));
+        assertEquals(0, cache.size());  // Abbrüche werden nicht gecacht
+    }
+
+    @Test
+    void testGenerousTimeBudgetKeepsResults() {
+        ReservationExtractorService limited = ReservationExtractorService.builder()
+            .limits(new ExtractionLimits(10_000, 10, TimeUnit.SECONDS)).build();
+        String text = "Hallo, bitte für zwei Personen einen Tisch am 19.3. um 20:00 Uhr, Vielen Dank Klaus Müller";
+        assertEquals(service.tryExtractReservationInfo(text).toReservation(),
+            limited.tryExtractReservationInfo(text).toReservation());
+    }
+
+    @Test
+    void testPlanWithFieldSubset() {
+        String text = "Hallo, bitte einen Tisch am 19.3. um 20:00 Uhr";
+        ExtractionPlan plan = ExtractionPlan.of(ReservationField.DATE, ReservationField.TIME);
+
+        ExtractionResult result = fixedDay.tryExtractReservationInfo(text, plan);
+        assertEquals(LocalDate.of(2025, 3, 19), result.getDate());
+        assertEquals(LocalTime.of(20, 0), result.getTime());
+        assertEquals(FieldStatus.SKIPPED, result.getStatus(ReservationField.CUSTOMER_NAME));
+        assertEquals(FieldStatus.SKIPPED, result.getStatus(ReservationField.NUMBER_OF_PEOPLE));
+        assertTrue(plan.isSatisfiedBy(result));
+        assertFalse(result.isComplete());
+        assertNull(result.getErrorMessage());
+        assertEquals(ExtractionResult.SKIPPED_MESSAGE,
+            assertThrows(IllegalArgumentException.class, result::toReservation).getMessage());
+    }
+
+    @Test
+    void testFailFastStopsAtFirstMissingField() {
+        ExtractionPlan plan = ExtractionPlan.ALL.failFast();
+        // Kein Gruß und keine Vorstellung: der Vorfilter beendet die Auswertung ohne Erkenner
+        ExtractionResult result = service.tryExtractReservationInfo("für 4 Personen am 15.5. um 20:00 Uhr", plan);
+        assertEquals(FieldStatus.NOT_FOUND, result.getStatus(ReservationField.CUSTOMER_NAME));
+        for (ReservationField field : new ReservationField[] {
+                ReservationField.DATE, ReservationField.TIME, ReservationField.NUMBER_OF_PEOPLE}) {
+            assertEquals(FieldStatus.SKIPPED, result.getStatus(field));
+        }
+        assertEquals("Name nicht gefunden.", result.getErrorMessage());
+
+        String complete = "Hallo, bitte für zwei Personen einen Tisch am 19.3. um 20:00 Uhr, Vielen Dank Klaus Müller";
+        assertEquals(service.extractReservationInfo(complete),
+            service.tryExtractReservationInfo(complete, plan).toReservation());
+    }
+
+    @Test
+    void testFailFastAfterRecognizerMiss() {
+        ExtractionPlan plan = ExtractionPlan.of(ReservationField.DATE, ReservationField.NUMBER_OF_PEOPLE).failFast();
+        // Ziffer mit Punkt besteht den Vorfilter, ergibt aber kein Datum
+        ExtractionResult result = service.tryExtractReservationInfo("Version 2.0 für 3 Personen", plan);
+        assertNotEquals(FieldStatus.FOUND, result.getStatus(ReservationField.DATE));
+        // Ungemessene Felder laufen in Feldreihenfolge: die Personenanzahl wird nicht mehr ausgewertet
+        assertEquals(FieldStatus.SKIPPED, result.getStatus(ReservationField.NUMBER_OF_PEOPLE));
+    }
+
+    @Test
+    void testRegisteredExtractorReplacesBuiltIn() {
+        ExtractorRegistry registry = new ExtractorRegistry().register(new Extractor<Integer>() {
+            @Override
+            public ReservationField getField() {
+                return ReservationField.NUMBER_OF_PEOPLE;
+            }
+
+            @Override
+            public FieldResult<Integer> extract(CharSequence text) {
+                return text.toString().contains("Stammtisch")
+                    ? FieldResult.found(ReservationField.NUMBER_OF_PEOPLE, 12)
+                    : FieldResult.missing(ReservationField.NUMBER_OF_PEOPLE, FieldStatus.NOT_FOUND);
+            }
+        }).register(new DateExtractionService(MatchingEngine.REGEX, CLOCK));
+        ReservationExtractorService custom = ReservationExtractorService.builder().registry(registry).build();
+
+        Reservation res = custom.extractReservationInfo("Unser  Stammtisch am 9. April um 19 Uhr, Gruß Anna Schmidt");
+        assertEquals(12, res.getNumberOfPeople());
+        assertEquals(LocalDate.of(2025, 4, 9), res.getDate());
+        assertEquals("Anna Schmidt", res.getCustomerName());
+    }
+
+    @Test
+    void testRegisteredExtractorWithWrongValueType() {
+        ExtractorRegistry registry = new ExtractorRegistry().register(new Extractor<String>() {
+            @Override
+            public ReservationField getField() {
+                return ReservationField.DATE;
+            }
+
+            @Override
+            public FieldResult<String> extract(CharSequence text) {
+                return FieldResult.found(ReservationField.DATE, "morgen");
+            }
+        });
+        ReservationExtractorService custom = ReservationExtractorService.builder().registry(registry).build();
+        assertThrows(IllegalArgumentException.class, () -> custom.tryExtractReservationInfo("am 9. April"));
+    }
+
+    @Test
+    void testDefaultPlanAppliesToBatch() {
+        ReservationExtractorService triage = ReservationExtractorService.builder()
+            .defaultPlan(ExtractionPlan.of(ReservationField.TIME)).build();
+        List<ExtractionResult> results = triage.extractAll(List.of("um 20:00 Uhr", "ohne Uhrzeit"));
+        assertEquals(LocalTime.of(20, 0), results.get(0).getTime());
+        assertEquals(FieldStatus.NOT_FOUND, results.get(1).getStatus(ReservationField.TIME));
+        assertEquals(3, countStatus(results.get(1), FieldStatus.SKIPPED));
+    }
+
+    @Test
+    void testBuilderDefaultsAndValidation() {
+        ReservationExtractorService.Builder builder = ReservationExtractorService.builder();
+        ReservationExtractorService defaults = builder.build();
+        assertNull(defaults.getCache());
+        assertSame(ExtractionLimits.NONE, defaults.getLimits());
+        assertSame(ExtractionPlan.ALL, defaults.getDefaultPlan());
+
+        Clock clock = Clock.fixed(Instant.parse("2025-02-10T12:00:00Z"), ZoneOffset.UTC);
+        ReservationExtractorService fixed = builder.clock(clock).build();
+        assertSame(clock, fixed.getClock());
+        assertNotSame(clock, defaults.getClock());
+
+        assertThrows(IllegalArgumentException.class, () -> ReservationExtractorService.builder().limits(null).build());
+        assertThrows(IllegalArgumentException.class, () -> ReservationExtractorService.builder().clock(null).build());
+        assertThrows(IllegalArgumentException.class,
+            () -> ReservationExtractorService.builder().batchPool(null).build());
+    }
+
+    private static int countStatus(ExtractionResult result, FieldStatus status) {
+        int count = 0;
+        for (ReservationField field : ReservationField.values()) {
+            if (result.getStatus(field) == status) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "Hallo, bitte morgen um 19 Uhr für 4 Personen, Gruß Anna Schmidt|2025-02-11",
+        "Guten Morgen, haben Sie übermorgen um 20 Uhr Platz für 2 Personen, Gruß Anna Schmidt|2025-02-12",
+        "Guten Morgen, nächsten Freitag um 19 Uhr für 2 Personen, Gruß Anna Schmidt|2025-02-14",
+        "Tisch für 6 in zwei Wochen um 20 Uhr, vG Anna Schmidt|2025-02-24",
+        "Morgen geht nicht, aber am 20.3. um 20 Uhr für 2 Personen, Gruß Anna Schmidt|2025-03-20"
+    })
+    void testRelativeDates(String text, LocalDate expected) {
+        ExtractionResult result = fixedDay.tryExtractReservationInfo(text);
+        assertEquals(expected, result.getDate());
+        assertTrue(result.isComplete());
+        assertEquals(expected, fixedDay.extractAll(List.of(text)).get(0).getDate());
+    }
+
+    @Test
+    void testYearRollsOverAtNewYear() {
+        ReservationExtractorService december = withClock(
+            Clock.fixed(Instant.parse("2025-12-28T22:00:00Z"), ZoneOffset.UTC));
+        assertEquals(LocalDate.of(2026, 1, 3), december.tryExtractReservationInfo("am 3.1. um 19 Uhr").getDate());
+        assertEquals(LocalDate.of(2025, 12, 20), december.tryExtractReservationInfo("am 20.12. um 19 Uhr").getDate());
+        assertEquals(LocalDate.of(2026, 1, 4), december.tryExtractReservationInfo("in einer Woche um 19 Uhr").getDate());
+    }
+
+    @Test
+    void testCacheEntriesAreValidForOneDay() {
+        Instant[] now = {Instant.parse("2025-02-10T23:59:00Z")};
+        Clock clock = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Instant instant() {
+                return now[0];
+            }
+        };
+        ExtractionCache cache = new ExtractionCache(100);
+        ReservationExtractorService cached = ReservationExtractorService.builder().cache(cache).clock(clock).build();
+        String text = "morgen um 19 Uhr für 2";
+
+        assertEquals(LocalDate.of(2025, 2, 11), cached.tryExtractReservationInfo(text).getDate());
+        assertEquals(LocalDate.of(2025, 2, 11), cached.tryExtractReservationInfo(text).getDate());
+        now[0] = Instant.parse("2025-02-11T00:01:00Z");
+        assertEquals(LocalDate.of(2025, 2, 12), cached.tryExtractReservationInfo(text).getDate());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void testParallelScanOfLongThread() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ReservationExtractorService parallel = ReservationExtractorService.builder()
+                .batchPool(pool).parallelPolicy(new ParallelScanPolicy(1000, 256)).build();
+            StringBuilder thread = new StringBuilder();
+            while (thread.length() < 20_000) {
+                thread.append("> Am 3. um 25 Uhr schrieb jemand: haben Sie heute geöffnet?\n");
+            }
+            thread.append("Hallo, bitte für zwei Personen einen Tisch am 19.3. um 20:00 Uhr, Vielen Dank Klaus Müller");
+            String text = thread.toString();
+
+            assertEquals(service.tryExtractReservationInfo(text).toString(), parallel.tryExtractReservationInfo(text).toString());
+            List<String> texts = List.of(text, "Gruß Anna Schmidt", text.substring(0, 5000));
+            assertEquals(service.extractAll(texts).toString(), parallel.extractAll(texts).toString());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.restaurant.reservation.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests für Utf8Input. */
+class Utf8InputTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "abc", "Grüße, Müller", "ẞ und ß", "€ 20", "Emoji 😀 ok"})
+    void testDecodeLikeJdk(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        assertEquals(text, Utf8Input.decode(ByteBuffer.wrap(bytes), 0, bytes.length).toString());
+    }
+
+    @Test
+    void testDecodeRandomCodePoints() {
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder text = new StringBuilder();
+            for (int c = random.nextInt(40); c > 0; c--) {
+                int codePoint = random.nextInt(Character.MAX_CODE_POINT + 1);
+                if (codePoint < Character.MIN_SURROGATE || codePoint > Character.MAX_SURROGATE) {
+                    text.appendCodePoint(codePoint);
+                }
+            }
+            byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+            ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 2);
+            direct.put(1, (byte) 'x');
+            for (int b = 0; b < bytes.length; b++) {
+                direct.put(b + 1, bytes[b]);
+            }
+            assertEquals(text.toString(), Utf8Input.decode(direct, 1, bytes.length).toString());
+        }
+    }
+
+    @Test
+    void testMalformedInputIsReplaced() {
+        byte[] bytes = {'a', (byte) 0xC3, 'b', (byte) 0xFF, (byte) 0xE2, (byte) 0x82};
+        assertEquals("a\uFFFDb\uFFFD\uFFFD", Utf8Input.decode(ByteBuffer.wrap(bytes), 0, bytes.length).toString());
+    }
+
+    @Test
+    void testBufferIsReused() {
+        byte[] bytes = "für 4 Personen".getBytes(StandardCharsets.UTF_8);
+        CharBuffer first = Utf8Input.decode(ByteBuffer.wrap(bytes), 0, bytes.length);
+        CharBuffer second = Utf8Input.decode(ByteBuffer.wrap(bytes), 5, 1);  // "ü" belegt zwei Bytes
+        assertSame(first, second);
+        assertEquals("4", second.toString());
+    }
+}